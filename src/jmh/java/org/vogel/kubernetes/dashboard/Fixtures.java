@@ -0,0 +1,271 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.custom.IntOrString;
+import io.kubernetes.client.custom.Quantity;
+import io.kubernetes.client.models.*;
+import org.joda.time.DateTime;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic objects shaped like what a busy cluster returns, so the benchmarks exercise every branch of the view
+ * models rather than the empty defaults.
+ */
+final class Fixtures {
+    private static final DateTime CREATED = DateTime.now()
+            .minusDays(3);
+
+    private Fixtures() {
+    }
+
+    static V1Pod pod(int containers, int envVars, int volumes, int tolerations) {
+        V1PodSpec spec = new V1PodSpec().nodeName("node-17")
+                .priority(1000)
+                .priorityClassName("high")
+                .nodeSelector(labels("node", 4))
+                .volumes(volumes(volumes))
+                .tolerations(tolerations(tolerations))
+                .initContainers(List.of(container("init", 0, envVars, volumes)));
+        V1PodStatus status = new V1PodStatus().phase("Running")
+                .hostIP("10.0.0.17")
+                .podIP("172.16.4.9")
+                .qosClass("Burstable")
+                .startTime(CREATED)
+                .addInitContainerStatusesItem(containerStatus("init", terminated(0)))
+                .addConditionsItem(new V1PodCondition().type("Initialized")
+                                           .status("True"))
+                .addConditionsItem(new V1PodCondition().type("Ready")
+                                           .status("True"))
+                .addConditionsItem(new V1PodCondition().type("PodScheduled")
+                                           .status("True"));
+        for (int i = 0; i < containers; i++) {
+            spec.addContainersItem(container("app-" + i, i, envVars, volumes));
+            status.addContainerStatusesItem(containerStatus("app-" + i, running()));
+        }
+
+        return new V1Pod().metadata(metadata("web-7d9f8c6b5-x2x4q", labels("app", 6)))
+                .spec(spec)
+                .status(status);
+    }
+
+    static V1Container container(String name, int index, int envVars, int volumes) {
+        V1Container container = new V1Container().name(name)
+                .image("registry.example.com/team/" + name + ":1.4." + index)
+                .command(List.of("/bin/server"))
+                .args(List.of("--port=8080", "--verbose"))
+                .addPortsItem(new V1ContainerPort().containerPort(8080)
+                                      .protocol("TCP"))
+                .addPortsItem(new V1ContainerPort().containerPort(9090)
+                                      .hostPort(9090)
+                                      .protocol("TCP"))
+                .resources(new V1ResourceRequirements().limits(quantities("2", "1Gi"))
+                                   .requests(quantities("500m", "256Mi")))
+                .livenessProbe(probe().httpGet(new V1HTTPGetAction().scheme("HTTP")
+                                                       .host("localhost")
+                                                       .port(new IntOrString(8080))
+                                                       .path("healthz")))
+                .readinessProbe(probe().tcpSocket(new V1TCPSocketAction().host("localhost")
+                                                          .port(new IntOrString(8080))))
+                .addEnvFromItem(new V1EnvFromSource().configMapRef(new V1ConfigMapEnvSource().name("settings"))
+                                        .prefix("APP_"))
+                .addEnvFromItem(new V1EnvFromSource().secretRef(new V1SecretEnvSource().name("credentials")
+                                                                        .optional(true)));
+        for (int i = 0; i < envVars; i++) {
+            V1EnvVar envVar = new V1EnvVar().name("VAR_" + i);
+            switch (i % 4) {
+                case 0:
+                    envVar.value("value-" + i);
+                    break;
+                case 1:
+                    envVar.valueFrom(new V1EnvVarSource().fieldRef(new V1ObjectFieldSelector().apiVersion("v1")
+                                                                           .fieldPath("metadata.name")));
+                    break;
+                case 2:
+                    envVar.valueFrom(new V1EnvVarSource().secretKeyRef(new V1SecretKeySelector().name("credentials")
+                                                                               .key("key-" + i)));
+                    break;
+                default:
+                    envVar.valueFrom(new V1EnvVarSource().configMapKeyRef(
+                            new V1ConfigMapKeySelector().name("settings")
+                                    .key("key-" + i)
+                                    .optional(true)));
+            }
+            container.addEnvItem(envVar);
+        }
+        for (int i = 0; i < volumes; i++) {
+            container.addVolumeMountsItem(new V1VolumeMount().name("volume-" + i)
+                                                  .mountPath("/mnt/volume-" + i)
+                                                  .readOnly(i % 2 == 0)
+                                                  .subPath(i % 3 == 0 ? "sub" : null));
+        }
+
+        return container;
+    }
+
+    static List<V1ContainerStatus> containerStatuses(V1Pod pod) {
+        return pod.getStatus()
+                .getContainerStatuses();
+    }
+
+    static List<V1Volume> volumes(int count) {
+        List<V1Volume> volumes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            V1Volume volume = new V1Volume().name("volume-" + i);
+            switch (i % 6) {
+                case 0:
+                    volume.configMap(new V1ConfigMapVolumeSource().name("settings-" + i));
+                    break;
+                case 1:
+                    volume.secret(new V1SecretVolumeSource().secretName("credentials-" + i)
+                                          .optional(false));
+                    break;
+                case 2:
+                    volume.emptyDir(new V1EmptyDirVolumeSource().medium("Memory")
+                                            .sizeLimit("1Gi"));
+                    break;
+                case 3:
+                    volume.persistentVolumeClaim(new V1PersistentVolumeClaimVolumeSource().claimName("data-" + i)
+                                                         .readOnly(false));
+                    break;
+                case 4:
+                    volume.hostPath(new V1HostPathVolumeSource().path("/var/log")
+                                            .type("Directory"));
+                    break;
+                default:
+                    volume.downwardAPI(new V1DownwardAPIVolumeSource().addItemsItem(
+                            new V1DownwardAPIVolumeFile().path("labels")
+                                    .fieldRef(new V1ObjectFieldSelector().fieldPath("metadata.labels"))));
+            }
+            volumes.add(volume);
+        }
+
+        return volumes;
+    }
+
+    static List<V1Toleration> tolerations(int count) {
+        List<V1Toleration> tolerations = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tolerations.add(new V1Toleration().key("node.kubernetes.io/taint-" + i)
+                                    .operator(i % 2 == 0 ? "Exists" : "Equal")
+                                    .value(i % 2 == 0 ? null : "value-" + i)
+                                    .effect("NoExecute")
+                                    .tolerationSeconds(i % 3 == 0 ? 300L : null));
+        }
+
+        return tolerations;
+    }
+
+    static V1LabelSelector labelSelector(int matchLabels, int expressions) {
+        V1LabelSelector selector = new V1LabelSelector().matchLabels(labels("app", matchLabels));
+        for (int i = 0; i < expressions; i++) {
+            V1LabelSelectorRequirement requirement = new V1LabelSelectorRequirement().key("tier-" + i);
+            switch (i % 3) {
+                case 0:
+                    requirement.operator("In")
+                            .addValuesItem("frontend")
+                            .addValuesItem("backend")
+                            .addValuesItem("cache");
+                    break;
+                case 1:
+                    requirement.operator("NotIn")
+                            .addValuesItem("batch");
+                    break;
+                default:
+                    requirement.operator("Exists");
+            }
+            selector.addMatchExpressionsItem(requirement);
+        }
+
+        return selector;
+    }
+
+    static V1Endpoints endpoints(int subsets, int addresses) {
+        V1Endpoints endpoints = new V1Endpoints().metadata(metadata("web", labels("app", 2)));
+        for (int s = 0; s < subsets; s++) {
+            V1EndpointSubset subset = new V1EndpointSubset().addPortsItem(new V1EndpointPort().name("http")
+                                                                                  .port(8080)
+                                                                                  .protocol("TCP"))
+                    .addPortsItem(new V1EndpointPort().name("metrics")
+                                          .port(9090)
+                                          .protocol("TCP"));
+            for (int a = 0; a < addresses; a++) {
+                subset.addAddressesItem(new V1EndpointAddress().ip(String.format("172.16.%d.%d", s, a)));
+            }
+            endpoints.addSubsetsItem(subset);
+        }
+
+        return endpoints;
+    }
+
+    static V1PodTemplateSpec template(V1Pod pod, String hash) {
+        Map<String, String> labels = new HashMap<>(pod.getMetadata()
+                                                           .getLabels());
+        if (hash != null) {
+            labels.put("pod-template-hash", hash);
+        }
+        return new V1PodTemplateSpec().metadata(new V1ObjectMeta().labels(labels))
+                .spec(pod.getSpec());
+    }
+
+    static Map<String, String> labels(String prefix, int count) {
+        Map<String, String> labels = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            labels.put(prefix + "-" + i, "value-" + i);
+        }
+
+        return labels;
+    }
+
+    private static V1ObjectMeta metadata(String name, Map<String, String> labels) {
+        return new V1ObjectMeta().name(name)
+                .namespace("production")
+                .uid("8f14e45f-ceea-467f-a9e2-" + Math.abs(name.hashCode()))
+                .creationTimestamp(CREATED)
+                .labels(labels)
+                .annotations(labels("annotation", 3))
+                .addOwnerReferencesItem(new V1OwnerReference().kind("ReplicaSet")
+                                                .name("web-7d9f8c6b5")
+                                                .uid("c4ca4238-a0b9-3382-8dcc-509a6f75849b")
+                                                .controller(true));
+    }
+
+    private static Map<String, Quantity> quantities(String cpu, String memory) {
+        Map<String, Quantity> quantities = new HashMap<>();
+        quantities.put("cpu", Quantity.fromString(cpu));
+        quantities.put("memory", Quantity.fromString(memory));
+        return quantities;
+    }
+
+    private static V1Probe probe() {
+        return new V1Probe().initialDelaySeconds(10)
+                .timeoutSeconds(1)
+                .periodSeconds(10)
+                .successThreshold(1)
+                .failureThreshold(3);
+    }
+
+    private static V1ContainerStatus containerStatus(String name, V1ContainerState state) {
+        return new V1ContainerStatus().name(name)
+                .containerID("docker://" + Integer.toHexString(name.hashCode()))
+                .image("registry.example.com/team/" + name)
+                .imageID("docker-pullable://registry.example.com/team/" + name)
+                .ready(true)
+                .restartCount(2)
+                .state(state)
+                .lastState(terminated(137));
+    }
+
+    private static V1ContainerState running() {
+        return new V1ContainerState().running(new V1ContainerStateRunning().startedAt(CREATED));
+    }
+
+    private static V1ContainerState terminated(int exitCode) {
+        return new V1ContainerState().terminated(new V1ContainerStateTerminated().exitCode(exitCode)
+                                                         .reason(exitCode == 0 ? "Completed" : "OOMKilled")
+                                                         .startedAt(CREATED)
+                                                         .finishedAt(CREATED.plusMinutes(1)));
+    }
+}
@@ -0,0 +1,47 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.models.V1Endpoints;
+import io.kubernetes.client.models.V1LabelSelector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Formatting and selector validation done for every deployment, replica set, service and ingress row.
+ */
+@State(Scope.Benchmark)
+public class FormatBenchmark {
+    private static final List<String> VALUES = List.of("frontend", "backend", "cache", "batch");
+
+    private V1LabelSelector labelSelector;
+    private V1Endpoints endpoints;
+
+    @Setup
+    public void setUp() {
+        labelSelector = Fixtures.labelSelector(4, 3);
+        endpoints = Fixtures.endpoints(3, 20);
+    }
+
+    @Benchmark
+    public String formatLabelSelector() {
+        return FormatUtils.formatLabelSelector(labelSelector);
+    }
+
+    @Benchmark
+    public String formatEndpoints() {
+        return FormatUtils.formatEndpoints(endpoints, "http");
+    }
+
+    @Benchmark
+    public String formatAllEndpoints() {
+        return FormatUtils.formatEndpoints(endpoints, "");
+    }
+
+    @Benchmark
+    public Requirement requirement() throws RequirementException {
+        return new Requirement("app.kubernetes.io/component", "in", VALUES);
+    }
+}
@@ -0,0 +1,39 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1PodTemplateSpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Matching a deployment's template against one of its replica sets, as done for every replica set of every
+ * deployment shown.
+ */
+@State(Scope.Benchmark)
+public class PodTemplateFingerprintBenchmark {
+    private V1PodTemplateSpec deploymentTemplate;
+    private V1PodTemplateSpec replicaSetTemplate;
+    private PodTemplateFingerprint replicaSetFingerprint;
+
+    @Setup
+    public void setUp() {
+        // separate but equal objects, as they would be after deserializing two API responses
+        deploymentTemplate = Fixtures.template(Fixtures.pod(4, 20, 6, 6), null);
+        replicaSetTemplate = Fixtures.template(Fixtures.pod(4, 20, 6, 6), "7d9f8c6b5");
+        replicaSetFingerprint = PodTemplateFingerprint.of(replicaSetTemplate);
+    }
+
+    @Benchmark
+    public boolean fingerprintBoth() {
+        return PodTemplateFingerprint.of(deploymentTemplate)
+                .equals(PodTemplateFingerprint.of(replicaSetTemplate));
+    }
+
+    @Benchmark
+    public boolean fingerprintDeployment() {
+        return PodTemplateFingerprint.of(deploymentTemplate)
+                .equals(replicaSetFingerprint);
+    }
+}
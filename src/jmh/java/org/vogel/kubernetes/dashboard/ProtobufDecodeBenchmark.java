@@ -0,0 +1,182 @@
+package org.vogel.kubernetes.dashboard;
+
+import com.google.gson.Gson;
+import com.google.gson.annotations.SerializedName;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Message;
+import io.kubernetes.client.JSON;
+import io.kubernetes.client.custom.IntOrString;
+import io.kubernetes.client.custom.Quantity;
+import io.kubernetes.client.models.V1ListMeta;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1PodList;
+import io.kubernetes.client.proto.V1;
+import org.joda.time.DateTime;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.vogel.kubernetes.dashboard.client.ProtobufMapper;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decoding a pod list into the models from the JSON and from the protobuf the API server would send for it.  The
+ * protobuf is encoded from the same synthetic pods, without the envelope, whose cost is a copy of the bytes.
+ */
+@State(Scope.Benchmark)
+public class ProtobufDecodeBenchmark {
+    @Param({"10", "200"})
+    private int pods;
+
+    private Gson gson;
+    private ProtobufMapper mapper;
+    private byte[] json;
+    private ByteString protobuf;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<V1Pod> items = new ArrayList<>();
+        for (int i = 0; i < pods; i++) {
+            items.add(Fixtures.pod(2, 10, 4, 3));
+        }
+        V1PodList list = new V1PodList().metadata(new V1ListMeta().resourceVersion("4711"))
+                .items(items);
+
+        gson = new JSON().getGson();
+        mapper = new ProtobufMapper();
+        json = gson.toJson(list)
+                .getBytes(StandardCharsets.UTF_8);
+        protobuf = encode(list, V1.PodList.newBuilder()).toByteString();
+        if (!json().equals(protobuf())) {
+            throw new IllegalStateException("The pods decode differently from protobuf");
+        }
+    }
+
+    @Benchmark
+    public V1PodList json() {
+        return gson.fromJson(new String(json, StandardCharsets.UTF_8), V1PodList.class);
+    }
+
+    @Benchmark
+    public V1PodList protobuf() throws IOException {
+        return mapper.map(protobuf, V1.PodList.getDescriptor(), V1PodList.class);
+    }
+
+    /**
+     * The reverse of {@link ProtobufMapper}: copies the model into the message, fields missing from the model's
+     * {@code @SerializedName}s being embedded structs.
+     */
+    private static Message encode(Object model, Message.Builder builder) {
+        try {
+            copy(model, builder);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        return builder.build();
+    }
+
+    private static void copy(Object model, Message.Builder builder) throws IllegalAccessException {
+        Map<String, Object> values = new HashMap<>();
+        for (Class<?> type = model.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                SerializedName name = field.getAnnotation(SerializedName.class);
+                if (name != null && !Modifier.isStatic(field.getModifiers())) {
+                    field.setAccessible(true);
+                    values.put(name.value(), field.get(model));
+                }
+            }
+        }
+
+        for (FieldDescriptor descriptor : builder.getDescriptorForType()
+                .getFields()) {
+            Object value = values.get(descriptor.getName());
+            if (!values.containsKey(descriptor.getName())) {
+                if (descriptor.getJavaType() == FieldDescriptor.JavaType.MESSAGE && !descriptor.isRepeated()) {
+                    Message embedded = encode(model, builder.newBuilderForField(descriptor));
+                    if (!embedded.getAllFields()
+                            .isEmpty()) {
+                        builder.setField(descriptor, embedded);
+                    }
+                }
+            } else if (value == null) {
+                continue;
+            } else if (descriptor.isMapField()) {
+                FieldDescriptor key = descriptor.getMessageType()
+                        .findFieldByName("key");
+                FieldDescriptor entryValue = descriptor.getMessageType()
+                        .findFieldByName("value");
+                for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                    Message.Builder entryBuilder = builder.newBuilderForField(descriptor);
+                    entryBuilder.setField(key, entry.getKey());
+                    entryBuilder.setField(entryValue, encodeValue(entryValue, entry.getValue(), entryBuilder));
+                    builder.addRepeatedField(descriptor, entryBuilder.build());
+                }
+            } else if (descriptor.isRepeated()) {
+                for (Object item : (List<?>) value) {
+                    builder.addRepeatedField(descriptor, encodeValue(descriptor, item, builder));
+                }
+            } else {
+                builder.setField(descriptor, encodeValue(descriptor, value, builder));
+            }
+        }
+    }
+
+    private static Object encodeValue(FieldDescriptor descriptor, Object value, Message.Builder parent) {
+        switch (descriptor.getJavaType()) {
+            case INT:
+                return ((Number) value).intValue();
+            case LONG:
+                return ((Number) value).longValue();
+            case FLOAT:
+                return ((Number) value).floatValue();
+            case DOUBLE:
+                return ((Number) value).doubleValue();
+            case BYTE_STRING:
+                return value instanceof byte[] ? ByteString.copyFrom((byte[]) value)
+                        : ByteString.copyFromUtf8((String) value);
+            case MESSAGE:
+                return encodeMessage(value, parent.newBuilderForField(descriptor));
+            default:
+                return value;
+        }
+    }
+
+    private static Message encodeMessage(Object value, Message.Builder builder) {
+        if (value instanceof DateTime) {
+            long millis = ((DateTime) value).getMillis();
+            setField(builder, "seconds", millis / 1000);
+            setField(builder, "nanos", (int) (millis % 1000) * 1000000);
+        } else if (value instanceof IntOrString) {
+            IntOrString intOrString = (IntOrString) value;
+            if (intOrString.isInteger()) {
+                setField(builder, "type", 0L);
+                setField(builder, "intVal", intOrString.getIntValue());
+            } else {
+                setField(builder, "type", 1L);
+                setField(builder, "strVal", intOrString.getStrValue());
+            }
+        } else if (value instanceof Quantity) {
+            setField(builder, "string", ((Quantity) value).toSuffixedString());
+        } else if (value instanceof String) {
+            setField(builder, "string", value);
+        } else {
+            return encode(value, builder);
+        }
+        return builder.build();
+    }
+
+    private static void setField(Message.Builder builder, String name, Object value) {
+        builder.setField(builder.getDescriptorForType()
+                                 .findFieldByName(name), value);
+    }
+}
@@ -0,0 +1,62 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.models.V1Container;
+import io.kubernetes.client.models.V1ContainerStatus;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1Volume;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * Per-object cost of the view models built for every row of the list pages and every describe page.
+ */
+@State(Scope.Benchmark)
+public class ViewModelBenchmark {
+    @Param({"1", "8"})
+    private int containers;
+    @Param({"4", "40"})
+    private int envVars;
+    @Param({"2", "12"})
+    private int volumes;
+
+    private V1Pod pod;
+    private V1Container container;
+    private List<V1ContainerStatus> containerStatuses;
+    private List<V1Volume> podVolumes;
+
+    @Setup
+    public void setUp() {
+        pod = Fixtures.pod(containers, envVars, volumes, 6);
+        container = pod.getSpec()
+                .getContainers()
+                .get(containers - 1);
+        containerStatuses = Fixtures.containerStatuses(pod);
+        podVolumes = pod.getSpec()
+                .getVolumes();
+    }
+
+    @Benchmark
+    public Pod pod() {
+        return new Pod(pod);
+    }
+
+    @Benchmark
+    public PodSummary podSummary() {
+        return new PodSummary(pod);
+    }
+
+    @Benchmark
+    public Container container() {
+        return new Container(container, containerStatuses);
+    }
+
+    @Benchmark
+    public Volumes volumes() {
+        return new Volumes(podVolumes);
+    }
+}
@@ -0,0 +1,8 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.ApiException;
+
+@FunctionalInterface
+public interface ApiCall<T> {
+    T call() throws ApiException;
+}
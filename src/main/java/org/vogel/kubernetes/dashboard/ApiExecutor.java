@@ -0,0 +1,94 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs independent API server calls of a single page side by side.  The pool is bounded; once its queue is full the
+ * request thread makes the call itself, so a burst of pages slows down instead of failing.
+ */
+@Slf4j
+@Component
+public class ApiExecutor {
+    private static final int QUEUE_SIZE = 256;
+
+    private final ThreadPoolExecutor executor;
+    private final long timeoutSeconds;
+
+    public ApiExecutor(@Value("${kube.api.threads:32}") int threads,
+                       @Value("${kube.describe.timeout-seconds:10}") long timeoutSeconds) {
+        this.timeoutSeconds = timeoutSeconds;
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(QUEUE_SIZE),
+                                          runnable -> {
+                                              Thread thread = new Thread(runnable,
+                                                                         "kube-api-" + count.incrementAndGet());
+                                              thread.setDaemon(true);
+                                              return thread;
+                                          }, new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    public <T> CompletableFuture<T> submit(ApiCall<T> apiCall) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return apiCall.call();
+            } catch (ApiException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Waits until all the futures are done or the page deadline passes, whichever comes first.  The first failure is
+     * rethrown as it was thrown by the call.
+     */
+    public void await(CompletableFuture<?>... futures) throws ApiException {
+        try {
+            CompletableFuture.allOf(futures)
+                    .get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+            cancel(futures);
+            throw new ApiException(e);
+        } catch (TimeoutException e) {
+            log.warn("API calls did not finish within {}s", timeoutSeconds);
+            cancel(futures);
+            throw new ApiException(e);
+        } catch (ExecutionException e) {
+            cancel(futures);
+            Throwable cause = e.getCause();
+            if (cause instanceof ApiException) {
+                throw (ApiException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ApiException(cause);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    private void cancel(CompletableFuture<?>... futures) {
+        for (CompletableFuture<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+}
@@ -8,6 +8,8 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @Controller
 public class DashboardController {
@@ -16,28 +18,33 @@ public class DashboardController {
 
     private KubernetesUtils kubernetesUtils;
 
-    public DashboardController(KubernetesUtils kubernetesUtils,
+    private PageExecutor pageExecutor;
+
+    public DashboardController(KubernetesUtils kubernetesUtils, PageExecutor pageExecutor,
                                @Value("${my.pod.namespace:default}") String defaultNamespace) {
         this.kubernetesUtils = kubernetesUtils;
+        this.pageExecutor = pageExecutor;
         this.defaultNamespace = defaultNamespace;
     }
 
     @GetMapping("/")
-    public String index(Model model) {
+    public CompletableFuture<String> index(Model model) {
         log.debug("In index with defaultNamespace: {}", defaultNamespace);
         return namespace(model, defaultNamespace);
     }
 
     @GetMapping("/namespaces/{namespace}")
-    public String namespace(Model model, @PathVariable String namespace) {
+    public CompletableFuture<String> namespace(Model model, @PathVariable String namespace) {
         log.debug("In namespace with namespace: {}", namespace);
-        try {
-            model.addAttribute("namespace", namespace);
-            model.addAttribute("namespaces", kubernetesUtils.getNamespaces());
-        } catch (ApiException e) {
-            log.error("Error getting list of namespaces", e);
-            return "error";
-        }
-        return "index";
+        return pageExecutor.render(() -> {
+            try {
+                model.addAttribute("namespace", namespace);
+                model.addAttribute("namespaces", kubernetesUtils.getNamespaces());
+            } catch (ApiException e) {
+                log.error("Error getting list of namespaces", e);
+                return "error";
+            }
+            return "index";
+        });
     }
 }
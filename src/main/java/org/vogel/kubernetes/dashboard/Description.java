@@ -0,0 +1,13 @@
+package org.vogel.kubernetes.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+public class Description<T> {
+    private T object;
+    private List<Event> events;
+}
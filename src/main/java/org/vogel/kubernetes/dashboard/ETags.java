@@ -0,0 +1,50 @@
+package org.vogel.kubernetes.dashboard;
+
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conditional GET for pages built from cached objects.  A page's ETag is made from the versions of what it shows, so
+ * a browser reloading a page that has not changed gets a 304 before anything is looked up or rendered.
+ * <p>
+ * Pages show ages, which change without their objects changing, so an ETag also changes every minute.  The ETags are
+ * weak, an age on a page that was not modified can be up to a minute behind.
+ */
+public class ETags {
+    static final long AGE_PRECISION_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    // a new build may render the same objects differently
+    private static final String STARTED = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    private ETags() {
+    }
+
+    /**
+     * Sets the ETag made from the versions and returns true when the request already has it, in which case the
+     * response is a 304 and the caller must return without rendering.  When any version is null, there is no ETag and
+     * the page is always rendered.
+     */
+    public static boolean checkNotModified(WebRequest request, String... versions) {
+        return checkNotModified(request, System.currentTimeMillis(), versions);
+    }
+
+    static boolean checkNotModified(WebRequest request, long now, String... versions) {
+        String etag = etag(now, versions);
+        return etag != null && request.checkNotModified(etag);
+    }
+
+    static String etag(long now, String... versions) {
+        if (Arrays.stream(versions)
+                .anyMatch(Objects::isNull)) {
+            return null;
+        }
+
+        String key = STARTED + "/" + now / AGE_PRECISION_MILLIS + "/" + String.join("/", versions);
+        return "W/\"" + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
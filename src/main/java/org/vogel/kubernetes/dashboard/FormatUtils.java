@@ -1,6 +1,5 @@
 package org.vogel.kubernetes.dashboard;
 
-import io.kubernetes.client.ApiException;
 import io.kubernetes.client.models.*;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -86,61 +85,14 @@ public class FormatUtils {
     }
 
     private static String processLabelSelector(@NotNull V1LabelSelector labelSelector) throws RequirementException {
-        Selector selector = new Selector();
-        if (labelSelector.getMatchLabels() != null) {
-            for (Map.Entry<String, String> entry : labelSelector.getMatchLabels()
-                    .entrySet()) {
-                List<String> values = Collections.singletonList(entry.getValue());
-                Requirement requirement = new Requirement(entry.getKey(), "=", values);
-                selector.add(requirement);
-            }
-        }
-        if (labelSelector.getMatchExpressions() != null) {
-            for (V1LabelSelectorRequirement expression : labelSelector.getMatchExpressions()) {
-                String op = convertOperatorValue(expression);
-                Requirement requirement = new Requirement(expression.getKey(), op, expression.getValues());
-                selector.add(requirement);
-            }
-        }
-
-        return StringUtils.defaultIfBlank(selector.string(), "<none>");
+        return StringUtils.defaultIfBlank(Selector.of(labelSelector)
+                                                  .string(), "<none>");
     }
 
-    private static String convertOperatorValue(V1LabelSelectorRequirement expression) throws RequirementException {
-        String op;
-        switch (expression.getOperator()) {
-            case "In":
-                op = "in";
-                break;
-            case "NotIn":
-                op = "notin";
-                break;
-            case "Exists":
-                op = "exists";
-                break;
-            case "DoesNotExist":
-                op = "!";
-                break;
-            default:
-                String msg = String.format("%s is not a valid pod selector operator",
-                                           expression.getOperator());
-                throw new RequirementException(msg);
-        }
-        return op;
-    }
-
-    public static String describeBackend(String namespace, String serviceName, String servicePort,
-                                         KubernetesUtils kubernetesUtils) throws ApiException {
-        V1EndpointsList endpointsList = kubernetesUtils.getEndpoint(namespace, serviceName);
-        V1Endpoints v1Endpoints = null;
-        if (!endpointsList.getItems()
-                .isEmpty()) {
-            v1Endpoints = endpointsList.getItems()
-                    .get(0);
-        }
+    public static String describeBackend(@Nullable V1Service service, @Nullable V1Endpoints v1Endpoints,
+                                         String servicePort) {
         String spName = "";
-        try {
-            V1Service service = kubernetesUtils.getKubeService(namespace, serviceName);
+        if (service != null) {
             List<V1ServicePort> ports = service.getSpec()
                     .getPorts();
             for (V1ServicePort port : ports) {
@@ -149,8 +101,6 @@ public class FormatUtils {
                     spName = port.getName();
                 }
             }
-        } catch (ApiException e) {
-//            e.printStackTrace();
         }
 
         return formatEndpoints(v1Endpoints, spName);
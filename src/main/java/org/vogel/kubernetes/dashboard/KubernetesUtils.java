@@ -1,90 +1,310 @@
 package org.vogel.kubernetes.dashboard;
 
-import com.google.gson.Gson;
-import io.kubernetes.client.ApiClient;
+import com.squareup.okhttp.Call;
+import com.squareup.okhttp.Response;
+import com.squareup.okhttp.ResponseBody;
 import io.kubernetes.client.ApiException;
-import io.kubernetes.client.Configuration;
-import io.kubernetes.client.apis.AppsV1beta2Api;
 import io.kubernetes.client.apis.CoreV1Api;
-import io.kubernetes.client.apis.ExtensionsV1beta1Api;
 import io.kubernetes.client.models.*;
-import io.kubernetes.client.util.Config;
 import org.springframework.stereotype.Component;
+import org.vogel.kubernetes.dashboard.cache.EventIndex;
+import org.vogel.kubernetes.dashboard.cache.KubernetesCache;
+import org.vogel.kubernetes.dashboard.cache.LabelIndex;
+import org.vogel.kubernetes.dashboard.cache.NamespaceRegistry;
+import org.vogel.kubernetes.dashboard.cache.OwnerIndex;
+import org.vogel.kubernetes.dashboard.cache.ResourceCache;
+import org.vogel.kubernetes.dashboard.client.ApiResource;
+import org.vogel.kubernetes.dashboard.client.KubernetesClients;
+import org.vogel.kubernetes.dashboard.client.ResourceClient;
 import org.vogel.kubernetes.dashboard.configmap.ConfigMap;
 import org.vogel.kubernetes.dashboard.deployment.Deployment;
+import org.vogel.kubernetes.dashboard.deployment.DeploymentSummary;
 import org.vogel.kubernetes.dashboard.ingress.Ingress;
 import org.vogel.kubernetes.dashboard.persistentvolume.PersistentVolume;
 import org.vogel.kubernetes.dashboard.persistentvolumeclaim.PersistentVolumeClaim;
 import org.vogel.kubernetes.dashboard.replicaset.ReplicaSet;
+import org.vogel.kubernetes.dashboard.replicaset.ReplicaSetSummary;
 import org.vogel.kubernetes.dashboard.service.Service;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+import static org.apache.commons.lang3.StringUtils.trimToNull;
+import static org.vogel.kubernetes.dashboard.FormatUtils.formatLabelSelector;
+import static org.vogel.kubernetes.dashboard.client.ApiCallType.LOG;
+import static org.vogel.kubernetes.dashboard.client.ApiCallType.WATCH;
+import static org.vogel.kubernetes.dashboard.client.ApiResource.CONFIG_MAPS;
+import static org.vogel.kubernetes.dashboard.client.ApiResource.DEPLOYMENTS;
+import static org.vogel.kubernetes.dashboard.client.ApiResource.ENDPOINTS;
+import static org.vogel.kubernetes.dashboard.client.ApiResource.EVENTS;
+import static org.vogel.kubernetes.dashboard.client.ApiResource.INGRESSES;
+import static org.vogel.kubernetes.dashboard.client.ApiResource.PERSISTENT_VOLUMES;
+import static org.vogel.kubernetes.dashboard.client.ApiResource.PERSISTENT_VOLUME_CLAIMS;
+import static org.vogel.kubernetes.dashboard.client.ApiResource.PODS;
+import static org.vogel.kubernetes.dashboard.client.ApiResource.REPLICA_SETS;
+import static org.vogel.kubernetes.dashboard.client.ApiResource.SERVICES;
 
 @Component
 public class KubernetesUtils {
 
-    public KubernetesUtils() throws IOException {
-        ApiClient client = Config.defaultClient();
-        Configuration.setDefaultApiClient(client);
+    private static final String CACHE_CONTINUE_PREFIX = "cache:";
+
+    private static final int MAX_PAGE_SIZE = 5000;
+
+    private static final int MAX_CONTROLLER_CHAIN = 8;
+
+    private KubernetesCache cache;
+
+    private NamespaceRegistry namespaceRegistry;
+
+    private ApiExecutor apiExecutor;
+
+    private PodTemplateFingerprints fingerprints;
+
+    private KubernetesClients clients;
+
+    private ResourceClient resources;
+
+    public KubernetesUtils(KubernetesClients clients, ResourceClient resources, KubernetesCache cache,
+                           NamespaceRegistry namespaceRegistry, ApiExecutor apiExecutor,
+                           PodTemplateFingerprints fingerprints) {
+        this.clients = clients;
+        this.resources = resources;
+        this.cache = cache;
+        this.namespaceRegistry = namespaceRegistry;
+        this.apiExecutor = apiExecutor;
+        this.fingerprints = fingerprints;
     }
 
     public List<String> getNamespaces() throws ApiException {
-        CoreV1Api api = new CoreV1Api();
-        V1NamespaceList namespaceList = api.listNamespace(null, null, null, null, null, null, null, null, null);
+        return namespaceRegistry.getNamespaces();
+    }
 
-        return createListObjects(namespaceList.getItems(), ns -> ns.getMetadata()
-                .getName());
+    public String getNamespacesVersion() {
+        return namespaceRegistry.getVersion();
     }
 
-    public List<Event> getEvents(String namespace, String kind, String replicaSetName, String uid) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
-        String filter = String.format("involvedObject.kind=%s,involvedObject.name=%s,involvedObject.uid=%s", kind,
-                                      replicaSetName, uid);
-        V1EventList eventList = api.listNamespacedEvent(namespace, "false", null, filter, null, null, null, null, null,
-                                                        null);
+    /**
+     * Returns the version of a page of the kind's objects, or null when the page would not come from the cache.  The
+     * cache's list resource version moves on with every change to any object of the kind, so it is the same only as
+     * long as every page of them is.
+     */
+    public String getListVersion(String kind, String continueToken) {
+        ResourceCache<?> resourceCache = cache.getCache(kind);
+        if (!resourceCache.hasSynced() || continueToken != null && !continueToken.startsWith(CACHE_CONTINUE_PREFIX)) {
+            return null;
+        }
 
-        return createListObjects(eventList.getItems(), Event::new);
+        // the label indexes are updated before the cache's version, so a filtered page is never newer than it
+        return resourceCache.getResourceVersion();
     }
 
-    public List<Pod> getPods(String namespace) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
-        V1PodList podList = api.listNamespacedPod(namespace, null, null, null, null, null, null, null, null, null);
+    /**
+     * Returns the version of an object's describe page: the resource versions of the object, its events and the
+     * objects shown along with it.  Returns null when any of them is not in the cache.
+     */
+    public String getObjectVersion(String kind, String namespace, String name) {
+        ResourceCache<?> resourceCache = cache.getCache(kind);
+        V1ObjectMeta metadata = resourceCache.hasSynced() ? resourceCache.getMetadata(namespace, name) : null;
+        EventIndex eventsByObject = cache.getEventsByObject();
+        if (metadata == null || !eventsByObject.hasSynced()) {
+            return null;
+        }
 
-        return createListObjects(podList.getItems(), Pod::new);
+        List<String> versions = new ArrayList<>();
+        versions.add(metadata.getResourceVersion());
+        eventsByObject.get(metadata.getUid())
+                .forEach(event -> versions.add(event.getMetadata()
+                                                       .getResourceVersion()));
+        switch (kind) {
+            case "replicasets":
+                // the pod status counts
+                OwnerIndex<V1Pod> podsByController = cache.getPodsByController();
+                if (!podsByController.hasSynced()) {
+                    return null;
+                }
+                versions.add(getVersions(podsByController.getChildren(metadata.getUid()), V1Pod::getMetadata));
+                break;
+            case "deployments":
+                // the new and old replica sets
+                OwnerIndex<V1beta2ReplicaSet> replicaSetsByController = cache.getReplicaSetsByController();
+                if (!replicaSetsByController.hasSynced()) {
+                    return null;
+                }
+                versions.add(getVersions(replicaSetsByController.getChildren(metadata.getUid()),
+                                         V1beta2ReplicaSet::getMetadata));
+                break;
+            case "services":
+                ResourceCache<V1Endpoints> endpoints = cache.getEndpoints();
+                V1ObjectMeta endpointsMetadata = endpoints.hasSynced() ? endpoints.getMetadata(namespace, name) : null;
+                if (endpointsMetadata == null) {
+                    return null;
+                }
+                versions.add(endpointsMetadata.getResourceVersion());
+                break;
+            case "ingresses":
+                // the backends can be any of the namespace's services
+                versions.add(getListVersion("services", null));
+                versions.add(getListVersion("endpoints", null));
+                break;
+            default:
+                break;
+        }
+
+        return versions.contains(null) ? null : String.join(",", versions);
+    }
+
+    private <T> String getVersions(List<T> objects, Function<T, V1ObjectMeta> metadataOf) {
+        return objects.stream()
+                .map(metadataOf)
+                .map(metadata -> metadata.getName() + "=" + metadata.getResourceVersion())
+                .sorted()
+                .collect(joining(" "));
+    }
+
+    public List<Event> getEvents(String namespace, String kind, String name, String uid) throws ApiException {
+        EventIndex eventsByObject = cache.getEventsByObject();
+        if (eventsByObject.hasSynced()) {
+            return eventsByObject.get(uid)
+                    .stream()
+                    .map(Event::new)
+                    .collect(toList());
+        }
+
+        return createEvents(listEvents(namespace, kind, name), uid);
+    }
+
+    /**
+     * Events are looked up by kind and name only, so the lookup does not have to wait for the object to learn its uid.
+     */
+    private List<V1Event> listEvents(String namespace, String kind, String name) throws ApiException {
+        EventIndex eventsByObject = cache.getEventsByObject();
+        if (eventsByObject.hasSynced()) {
+            return eventsByObject.get(namespace, kind, name);
+        }
+
+        String filter = String.format("involvedObject.kind=%s,involvedObject.name=%s", kind, name);
+        V1EventList eventList = resources.list(EVENTS, namespace, null, filter, null, null);
+
+        return eventList.getItems();
+    }
+
+    private List<Event> createEvents(List<V1Event> events, String uid) {
+        return events.stream()
+                .filter(event -> uid.equals(event.getInvolvedObject()
+                                                    .getUid()))
+                .map(Event::new)
+                .collect(toList());
+    }
+
+    private <T extends Metadata> Description<T> describe(String namespace, String kind, String name,
+                                                         ApiCall<T> reader) throws ApiException {
+        CompletableFuture<T> object = apiExecutor.submit(reader);
+        CompletableFuture<List<V1Event>> events = apiExecutor.submit(() -> listEvents(namespace, kind, name));
+        apiExecutor.await(object, events);
+
+        T result = object.join();
+        return new Description<>(result, createEvents(events.join(), result.getUid()));
+    }
+
+    public Page<PodSummary> getPodsPage(String namespace, Selector selector, int limit,
+                                        String continueToken) throws ApiException {
+        return pageObjects(cache.getPods(), cache.getPodLabels(), PODS, namespace, selector, limit, continueToken,
+                           PodSummary::new);
     }
 
     public Pod getPod(String namespace, String podName) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
+        V1Pod kubePod = readCached(cache.getPods(), namespace, podName, () -> {
+            return resources.read(PODS, namespace, podName);
+        });
+        Pod pod = new Pod(kubePod);
+        pod.setControllerChain(getControllerChain(kubePod.getMetadata()).stream()
+                                       .map(ref -> String.format("%s/%s", ref.getKind(), ref.getName()))
+                                       .collect(toList()));
+        return pod;
+    }
+
+    public Description<Pod> describePod(String namespace, String podName) throws ApiException {
+        return describe(namespace, "Pod", podName, () -> getPod(namespace, podName));
+    }
 
-        return new Pod(api.readNamespacedPod(podName, namespace, null, null, null));
+    /**
+     * Returns the events of the pod, reading only its uid rather than building its view model.
+     */
+    public List<Event> getPodEvents(String namespace, String podName) throws ApiException {
+        V1Pod pod = readCached(cache.getPods(), namespace, podName, () -> {
+            return resources.read(PODS, namespace, podName);
+        });
+        return getEvents(namespace, "Pod", podName, pod.getMetadata()
+                .getUid());
     }
 
-    public String getPodLogs(String namespace, String podName) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
+    /**
+     * Opens the log of a pod as a stream, so it can be copied to the response without holding it in memory.  The
+     * caller must close the stream.
+     */
+    public InputStream streamPodLogs(String namespace, String podName, LogOptions options) throws ApiException {
+        CoreV1Api api = clients.core(LOG);
+        Call call = api.readNamespacedPodLogCall(podName, namespace, options.getContainer(), false,
+                                                 options.getLimitBytes(), "false", options.isPrevious(),
+                                                 options.getSinceSeconds(), options.getTailLines(),
+                                                 options.isTimestamps(), null, null);
+
+        return openStream(call);
+    }
 
-        return api.readNamespacedPodLog(podName, namespace, null, null, null, "false", null, null, null, null);
+    /**
+     * Opens the log of a container following new lines as they are written, starting with the last {@code tailLines}
+     * lines.  The caller must close the stream.
+     */
+    public InputStream followPodLogs(String namespace, String podName, String container,
+                                     int tailLines) throws ApiException {
+        CoreV1Api api = clients.core(WATCH);
+        Call call = api.readNamespacedPodLogCall(podName, namespace, trimToNull(container), true, null, "false", false,
+                                                 null, tailLines, false, null, null);
+
+        return openStream(call);
     }
 
-    public List<ReplicaSet> getReplicaSets(String namespace) throws ApiException {
-        AppsV1beta2Api api = new AppsV1beta2Api();
+    private InputStream openStream(Call call) throws ApiException {
+        try {
+            Response response = call.execute();
+            if (!response.isSuccessful()) {
+                String body;
+                try (ResponseBody responseBody = response.body()) {
+                    body = responseBody.string();
+                }
+                throw new ApiException(response.message(), response.code(), response.headers()
+                        .toMultimap(), body);
+            }
 
-        V1beta2ReplicaSetList replicaSetList = api.listNamespacedReplicaSet(namespace, "false", null, null, null, null,
-                                                                            null, null, null, null);
+            return response.body()
+                    .byteStream();
+        } catch (IOException e) {
+            throw new ApiException(e);
+        }
+    }
 
-        return createListObjects(replicaSetList.getItems(), ReplicaSet::new);
+    public Page<ReplicaSetSummary> getReplicaSetsPage(String namespace, Selector selector, int limit,
+                                                      String continueToken) throws ApiException {
+        return pageObjects(cache.getReplicaSets(), cache.getReplicaSetLabels(), REPLICA_SETS, namespace, selector,
+                           limit, continueToken, ReplicaSetSummary::new);
     }
 
     public ReplicaSet getReplicaSet(String namespace, String replicaSetName) throws ApiException {
-        AppsV1beta2Api api = new AppsV1beta2Api();
-
-        V1beta2ReplicaSet kubeReplicaSet = api.readNamespacedReplicaSet(replicaSetName, namespace, null, null, null);
+        V1beta2ReplicaSet kubeReplicaSet = readCached(cache.getReplicaSets(), namespace, replicaSetName, () -> {
+            return resources.read(REPLICA_SETS, namespace, replicaSetName);
+        });
         ReplicaSet replicaSet = new ReplicaSet(kubeReplicaSet);
         PodStatus podStatus = getPodStatusForController(namespace, replicaSet.getSelector(),
                                                         kubeReplicaSet.getMetadata()
@@ -93,48 +313,151 @@ public class KubernetesUtils {
         return replicaSet;
     }
 
-    private PodStatus getPodStatusForController(String namespace, String selector, String uid) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
+    public Description<ReplicaSet> describeReplicaSet(String namespace, String replicaSetName) throws ApiException {
+        return describe(namespace, "ReplicaSet", replicaSetName, () -> getReplicaSet(namespace, replicaSetName));
+    }
 
-        V1PodList podList = api.listNamespacedPod(namespace, "false", null, null, null, selector, null, null, null,
-                                                  null);
+    public List<Event> getReplicaSetEvents(String namespace, String replicaSetName) throws ApiException {
+        V1beta2ReplicaSet replicaSet = readCached(cache.getReplicaSets(), namespace, replicaSetName, () -> {
+            return resources.read(REPLICA_SETS, namespace, replicaSetName);
+        });
+        return getEvents(namespace, "ReplicaSet", replicaSetName, replicaSet.getMetadata()
+                .getUid());
+    }
+
+    /**
+     * Returns the names of the pods the replica set controls, sorted.
+     */
+    public List<String> getReplicaSetPodNames(String namespace, String replicaSetName) throws ApiException {
+        V1beta2ReplicaSet replicaSet = readCached(cache.getReplicaSets(), namespace, replicaSetName, () -> {
+            return resources.read(REPLICA_SETS, namespace, replicaSetName);
+        });
 
-        return new PodStatus(podList.getItems(), uid, this);
+        return getPodNames(getControlledPods(namespace, formatLabelSelector(replicaSet.getSpec()
+                                                                                    .getSelector()),
+                                             replicaSet.getMetadata()
+                                                     .getUid()));
     }
 
-    public List<Deployment> getDeployments(String namespace) throws ApiException {
-        AppsV1beta2Api api = new AppsV1beta2Api();
+    /**
+     * Returns the names of the pods of all the deployment's replica sets, old and new, sorted.
+     */
+    public List<String> getDeploymentPodNames(String namespace, String deploymentName) throws ApiException {
+        V1beta2Deployment deployment = readCached(cache.getDeployments(), namespace, deploymentName, () -> {
+            return resources.read(DEPLOYMENTS, namespace, deploymentName);
+        });
+        String selector = formatLabelSelector(deployment.getSpec()
+                                                      .getSelector());
+
+        List<V1Pod> pods = new ArrayList<>();
+        for (V1beta2ReplicaSet replicaSet : getDeploymentReplicaSets(namespace, selector, deployment.getMetadata()
+                .getUid())) {
+            pods.addAll(getControlledPods(namespace, selector, replicaSet.getMetadata()
+                    .getUid()));
+        }
 
-        V1beta2DeploymentList deploymentList = api.listNamespacedDeployment(namespace, "false", null, null, null, null,
-                                                                            null, null, null, null);
+        return getPodNames(pods);
+    }
+
+    private List<V1Pod> getControlledPods(String namespace, String selector, String uid) throws ApiException {
+        OwnerIndex<V1Pod> podsByController = cache.getPodsByController();
+        if (podsByController.hasSynced()) {
+            return podsByController.getChildren(uid);
+        }
 
-        return createListObjects(deploymentList.getItems(), Deployment::new);
+        List<V1Pod> pods = listCached(cache.getPods(), namespace, () -> {
+            return resources.list(PODS, namespace, selector, null, null, null)
+                    .getItems();
+        });
+        return pods.stream()
+                .filter(pod -> isControlledBy(pod.getMetadata(), uid))
+                .collect(toList());
     }
 
-    public Deployment getDeployment(String namespace, String deploymentName) throws ApiException {
-        AppsV1beta2Api api = new AppsV1beta2Api();
+    private List<String> getPodNames(List<V1Pod> pods) {
+        return pods.stream()
+                .map(pod -> pod.getMetadata()
+                        .getName())
+                .sorted()
+                .collect(toList());
+    }
+
+    private PodStatus getPodStatusForController(String namespace, String selector, String uid) throws ApiException {
+        OwnerIndex<V1Pod> podsByController = cache.getPodsByController();
+        if (podsByController.hasSynced()) {
+            return new PodStatus(podsByController.getChildren(uid));
+        }
+
+        // the cached pods are not narrowed by the selector, PodStatus only counts the ones the controller owns
+        List<V1Pod> pods = listCached(cache.getPods(), namespace, () -> {
+            return resources.list(PODS, namespace, selector, null, null, null)
+                    .getItems();
+        });
 
-        V1beta2Deployment kubeDeployment = api.readNamespacedDeployment(deploymentName, namespace, null, null, null);
+        return new PodStatus(pods, uid, this);
+    }
+
+    public Page<DeploymentSummary> getDeploymentsPage(String namespace, Selector selector, int limit,
+                                                      String continueToken) throws ApiException {
+        return pageObjects(cache.getDeployments(), cache.getDeploymentLabels(), DEPLOYMENTS, namespace, selector,
+                           limit, continueToken, DeploymentSummary::new);
+    }
+
+    public Deployment getDeployment(String namespace, String deploymentName) throws ApiException {
+        V1beta2Deployment kubeDeployment = readCached(cache.getDeployments(), namespace, deploymentName, () -> {
+            return resources.read(DEPLOYMENTS, namespace, deploymentName);
+        });
         Deployment deployment = new Deployment(kubeDeployment);
         List<V1beta2ReplicaSet> replicaSetList = getDeploymentReplicaSets(namespace, deployment.getSelector(),
                                                                           kubeDeployment.getMetadata()
                                                                                   .getUid());
-        deployment.setOldReplicaSet(printReplicaSetsByLabels(findOldReplicaSet(kubeDeployment, replicaSetList)));
-        Optional<V1beta2ReplicaSet> newReplicaSet = findNewReplicaSet(kubeDeployment, replicaSetList);
+        replicaSetList.sort(Comparator.comparing((V1beta2ReplicaSet rs) -> rs.getMetadata()
+                .getCreationTimestamp())
+                                    .thenComparing(rs -> rs.getMetadata()
+                                            .getName()));
+
+        // the oldest replica set with the deployment's template is the new one, every other scaled one is old
+        PodTemplateFingerprint template = PodTemplateFingerprint.of(kubeDeployment.getSpec()
+                                                                            .getTemplate());
         List<V1beta2ReplicaSet> newReplicaSetList = new ArrayList<>();
-        newReplicaSet.ifPresent(newReplicaSetList::add);
+        List<V1beta2ReplicaSet> oldReplicaSetList = new ArrayList<>();
+        for (V1beta2ReplicaSet rs : replicaSetList) {
+            if (newReplicaSetList.isEmpty() && template.equals(fingerprints.get(rs))) {
+                newReplicaSetList.add(rs);
+            } else if (rs.getSpec()
+                    .getReplicas() != 0) {
+                oldReplicaSetList.add(rs);
+            }
+        }
+        deployment.setOldReplicaSet(printReplicaSetsByLabels(oldReplicaSetList));
         deployment.setNewReplicaSet(printReplicaSetsByLabels(newReplicaSetList));
 
         return deployment;
     }
 
+    public Description<Deployment> describeDeployment(String namespace, String deploymentName) throws ApiException {
+        return describe(namespace, "Deployment", deploymentName, () -> getDeployment(namespace, deploymentName));
+    }
+
+    public List<Event> getDeploymentEvents(String namespace, String deploymentName) throws ApiException {
+        V1beta2Deployment deployment = readCached(cache.getDeployments(), namespace, deploymentName, () -> {
+            return resources.read(DEPLOYMENTS, namespace, deploymentName);
+        });
+        return getEvents(namespace, "Deployment", deploymentName, deployment.getMetadata()
+                .getUid());
+    }
+
     private List<V1beta2ReplicaSet> getDeploymentReplicaSets(String namespace, String selector,
                                                              String uid) throws ApiException {
-        AppsV1beta2Api api = new AppsV1beta2Api();
+        OwnerIndex<V1beta2ReplicaSet> replicaSetsByController = cache.getReplicaSetsByController();
+        if (replicaSetsByController.hasSynced()) {
+            return replicaSetsByController.getChildren(uid);
+        }
 
-        V1beta2ReplicaSetList replicaSetList = api.listNamespacedReplicaSet(namespace, "false", null, null, null,
-                                                                            selector, null, null, null, null);
-        List<V1beta2ReplicaSet> replicaSets = replicaSetList.getItems();
+        List<V1beta2ReplicaSet> replicaSets = listCached(cache.getReplicaSets(), namespace, () -> {
+            return resources.list(REPLICA_SETS, namespace, selector, null, null, null)
+                    .getItems();
+        });
         return replicaSets.stream()
                 .filter(rs -> isControlledBy(rs.getMetadata(), uid))
                 .collect(toList());
@@ -149,65 +472,24 @@ public class KubernetesUtils {
     }
 
     private Optional<V1OwnerReference> getControllerOf(V1ObjectMeta metadata) {
-        return metadata.getOwnerReferences()
-                .stream()
-                .filter(owner -> owner.isController() != null && Boolean.TRUE.equals(owner.isController()))
-                .findFirst();
-    }
-
-    private Optional<V1beta2ReplicaSet> findNewReplicaSet(V1beta2Deployment deployment,
-                                                          List<V1beta2ReplicaSet> replicaSetList) {
-        replicaSetList.sort((o1, o2) -> {
-            V1ObjectMeta o1Metadata = o1.getMetadata();
-            V1ObjectMeta o2Metadata = o2.getMetadata();
-            if (o1Metadata.getCreationTimestamp()
-                    .equals(o2Metadata.getCreationTimestamp())) {
-                return o1Metadata.getName()
-                        .compareTo(o2Metadata.getName());
-            }
-            return o1Metadata.getCreationTimestamp()
-                    .compareTo(o2Metadata.getCreationTimestamp());
-        });
-
-        return replicaSetList.stream()
-                .filter(rs -> equalIgnoreHash(rs.getSpec()
-                                                      .getTemplate(), deployment.getSpec()
-                                                      .getTemplate()))
-                .findFirst();
+        return OwnerIndex.controllerOf(metadata);
     }
 
-    private List<V1beta2ReplicaSet> findOldReplicaSet(V1beta2Deployment deployment,
-                                                      List<V1beta2ReplicaSet> replicaSetList) {
-        List<V1beta2ReplicaSet> requiredRSs = new ArrayList<>();
-        Optional<V1beta2ReplicaSet> newReplicaSet = findNewReplicaSet(deployment, replicaSetList);
-        for (V1beta2ReplicaSet rs : replicaSetList) {
-            if (newReplicaSet.isPresent() && rs.getMetadata()
-                    .getUid()
-                    .equals(newReplicaSet.get()
-                                    .getMetadata()
-                                    .getUid())) {
-                continue;
-            }
-            if (rs.getSpec()
-                    .getReplicas() != 0) {
-                requiredRSs.add(rs);
-            }
+    /**
+     * Follows controller references up from an object, e.g. Pod to ReplicaSet to Deployment, without asking the API
+     * server.  The chain stops at the first controller that is not an indexed replica set.
+     */
+    public List<V1OwnerReference> getControllerChain(V1ObjectMeta metadata) {
+        List<V1OwnerReference> chain = new ArrayList<>();
+        Optional<V1OwnerReference> controller = getControllerOf(metadata);
+        while (controller.isPresent() && chain.size() < MAX_CONTROLLER_CHAIN) {
+            chain.add(controller.get());
+            controller = Optional.ofNullable(cache.getReplicaSetsByController()
+                                                     .getController(controller.get()
+                                                                            .getUid()));
         }
 
-        return requiredRSs;
-    }
-
-    private boolean equalIgnoreHash(V1PodTemplateSpec template1, V1PodTemplateSpec template2) {
-        Gson gson = new Gson();
-        V1PodTemplateSpec t1Copy = gson.fromJson(gson.toJson(template1), V1PodTemplateSpec.class);
-        V1PodTemplateSpec t2Copy = gson.fromJson(gson.toJson(template2), V1PodTemplateSpec.class);
-        t1Copy.getMetadata()
-                .getLabels()
-                .remove("pod-template-hash");
-        t2Copy.getMetadata()
-                .getLabels()
-                .remove("pod-template-hash");
-        return t1Copy.equals(t2Copy);
+        return chain;
     }
 
     private String printReplicaSetsByLabels(List<V1beta2ReplicaSet> replicaSets) {
@@ -223,13 +505,15 @@ public class KubernetesUtils {
         }
     }
 
-    public List<Service> getServices(String namespace) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
-
-        V1ServiceList serviceList = api.listNamespacedService(namespace, "false", null, null, null, null, null, null,
-                                                              null, null);
+    public List<V1Service> getKubeServices(String namespace) throws ApiException {
+        return listCached(cache.getServices(), namespace, () -> {
+            return resources.list(SERVICES, namespace, null, null, null, null)
+                    .getItems();
+        });
+    }
 
-        return createListObjects(serviceList.getItems(), Service::new);
+    public Page<Service> getServicesPage(String namespace, int limit, String continueToken) throws ApiException {
+        return pageObjects(cache.getServices(), SERVICES, namespace, limit, continueToken, Service::new);
     }
 
     public Service getService(String namespace, String serviceName) throws ApiException {
@@ -241,87 +525,228 @@ public class KubernetesUtils {
         return new Service(kubeService, v1Endpoints);
     }
 
+    public Description<Service> describeService(String namespace, String serviceName) throws ApiException {
+        CompletableFuture<V1Service> kubeService = apiExecutor.submit(() -> getKubeService(namespace, serviceName));
+        CompletableFuture<V1EndpointsList> endpointsList = apiExecutor.submit(
+                () -> getEndpoint(namespace, serviceName));
+        CompletableFuture<List<V1Event>> events = apiExecutor.submit(
+                () -> listEvents(namespace, "Service", serviceName));
+        apiExecutor.await(kubeService, endpointsList, events);
+
+        V1Endpoints v1Endpoints = endpointsList.join()
+                .getItems()
+                .get(0);
+        Service service = new Service(kubeService.join(), v1Endpoints);
+        return new Description<>(service, createEvents(events.join(), service.getUid()));
+    }
+
+    public List<Event> getServiceEvents(String namespace, String serviceName) throws ApiException {
+        return getEvents(namespace, "Service", serviceName, getKubeService(namespace, serviceName).getMetadata()
+                .getUid());
+    }
+
     public V1EndpointsList getEndpoint(String namespace, String name) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
+        ResourceCache<V1Endpoints> endpoints = cache.getEndpoints();
+        V1Endpoints cached = endpoints.hasSynced() ? endpoints.get(namespace, name) : null;
+        if (cached != null) {
+            V1EndpointsList endpointsList = new V1EndpointsList();
+            endpointsList.addItemsItem(cached);
+            return endpointsList;
+        }
 
         String filter = String.format("metadata.name=%s", name);
-        return api.listNamespacedEndpoints(namespace, "false", null, filter, null, null, null, null, null, null);
+        return resources.list(ENDPOINTS, namespace, null, filter, null, null);
     }
 
-    public List<Ingress> getIngresses(String namespace) throws ApiException {
-        ExtensionsV1beta1Api api = new ExtensionsV1beta1Api();
-
-        V1beta1IngressList ingressList = api.listNamespacedIngress(namespace, "false", null, null, null, null, null,
-                                                                   null, null, null);
+    public List<V1Endpoints> getKubeEndpoints(String namespace) throws ApiException {
+        return listCached(cache.getEndpoints(), namespace, () -> {
+            return resources.list(ENDPOINTS, namespace, null, null, null, null)
+                    .getItems();
+        });
+    }
 
-        return createListObjects(ingressList.getItems(), Ingress::new);
+    public Page<Ingress> getIngressesPage(String namespace, int limit, String continueToken) throws ApiException {
+        return pageObjects(cache.getIngresses(), INGRESSES, namespace, limit, continueToken, Ingress::new);
     }
 
     public Ingress getIngress(String namespace, String ingressName) throws ApiException {
-        ExtensionsV1beta1Api api = new ExtensionsV1beta1Api();
-
-        V1beta1Ingress kubeIngress = api.readNamespacedIngress(ingressName, namespace, null, null, null);
+        V1beta1Ingress kubeIngress = readCached(cache.getIngresses(), namespace, ingressName, () -> {
+            return resources.read(INGRESSES, namespace, ingressName);
+        });
 
         return new Ingress(kubeIngress, this);
     }
 
-    public V1Service getKubeService(String namespace, String serviceName) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
-
-        return api.readNamespacedService(serviceName, namespace, null, null, null);
+    public Description<Ingress> describeIngress(String namespace, String ingressName) throws ApiException {
+        return describe(namespace, "Ingress", ingressName, () -> getIngress(namespace, ingressName));
     }
 
-    public List<ConfigMap> getConfigMaps(String namespace) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
+    public List<Event> getIngressEvents(String namespace, String ingressName) throws ApiException {
+        V1beta1Ingress ingress = readCached(cache.getIngresses(), namespace, ingressName, () -> {
+            return resources.read(INGRESSES, namespace, ingressName);
+        });
+        return getEvents(namespace, "Ingress", ingressName, ingress.getMetadata()
+                .getUid());
+    }
 
-        V1ConfigMapList configMapList = api.listNamespacedConfigMap(namespace, "false", null, null, null, null, null,
-                                                                    null,
-                                                                    null, null);
+    public V1Service getKubeService(String namespace, String serviceName) throws ApiException {
+        return readCached(cache.getServices(), namespace, serviceName, () -> {
+            return resources.read(SERVICES, namespace, serviceName);
+        });
+    }
 
-        return createListObjects(configMapList.getItems(), ConfigMap::new);
+    public Page<ConfigMap> getConfigMapsPage(String namespace, int limit, String continueToken) throws ApiException {
+        return pageObjects(cache.getConfigMaps(), CONFIG_MAPS, namespace, limit, continueToken, ConfigMap::new);
     }
 
     public ConfigMap getConfigMap(String namespace, String configMapName) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
-
-        return new ConfigMap(api.readNamespacedConfigMap(configMapName, namespace, null, null, null));
+        return new ConfigMap(readCached(cache.getConfigMaps(), namespace, configMapName, () -> {
+            return resources.read(CONFIG_MAPS, namespace, configMapName);
+        }));
     }
 
-    public List<PersistentVolume> getPersistentVolumes() throws ApiException {
-        CoreV1Api api = new CoreV1Api();
+    public Description<ConfigMap> describeConfigMap(String namespace, String configMapName) throws ApiException {
+        return describe(namespace, "ConfigMap", configMapName, () -> getConfigMap(namespace, configMapName));
+    }
 
-        V1PersistentVolumeList persistentVolumeList = api.listPersistentVolume("false", null, null, null, null, null,
-                                                                               null, null,
-                                                                               null);
+    public List<Event> getConfigMapEvents(String namespace, String configMapName) throws ApiException {
+        V1ConfigMap configMap = readCached(cache.getConfigMaps(), namespace, configMapName, () -> {
+            return resources.read(CONFIG_MAPS, namespace, configMapName);
+        });
+        return getEvents(namespace, "ConfigMap", configMapName, configMap.getMetadata()
+                .getUid());
+    }
 
-        return createListObjects(persistentVolumeList.getItems(), PersistentVolume::new);
+    public Page<PersistentVolume> getPersistentVolumesPage(int limit, String continueToken) throws ApiException {
+        return pageObjects(cache.getPersistentVolumes(), PERSISTENT_VOLUMES, null, limit, continueToken,
+                           PersistentVolume::new);
     }
 
     public PersistentVolume getPersistentVolume(String persistentVolumeName) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
+        return new PersistentVolume(readCached(cache.getPersistentVolumes(), null, persistentVolumeName, () -> {
+            return resources.read(PERSISTENT_VOLUMES, null, persistentVolumeName);
+        }));
+    }
 
-        return new PersistentVolume(api.readPersistentVolume(persistentVolumeName, null, null, null));
+    public Description<PersistentVolume> describePersistentVolume(String namespace,
+                                                                  String persistentVolumeName) throws ApiException {
+        return describe(namespace, "PersistentVolume", persistentVolumeName,
+                        () -> getPersistentVolume(persistentVolumeName));
     }
 
-    public List<PersistentVolumeClaim> getPersistentVolumeClaims(String namespace) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
+    public List<Event> getPersistentVolumeEvents(String namespace, String persistentVolumeName) throws ApiException {
+        V1PersistentVolume persistentVolume = readCached(
+                cache.getPersistentVolumes(), null, persistentVolumeName, () -> {
+                    return resources.read(PERSISTENT_VOLUMES, null, persistentVolumeName);
+                });
+        return getEvents(namespace, "PersistentVolume", persistentVolumeName, persistentVolume.getMetadata()
+                .getUid());
+    }
 
-        V1PersistentVolumeClaimList persistentVolumeClaimList = api.listNamespacedPersistentVolumeClaim(namespace,
-                                                                                                        "false", null,
-                                                                                                        null,
-                                                                                                        null, null,
-                                                                                                        null, null,
-                                                                                                        null,
-                                                                                                        null);
-        return createListObjects(persistentVolumeClaimList.getItems(), PersistentVolumeClaim::new);
+    public Page<PersistentVolumeClaim> getPersistentVolumeClaimsPage(String namespace, int limit,
+                                                                     String continueToken) throws ApiException {
+        return pageObjects(cache.getPersistentVolumeClaims(), PERSISTENT_VOLUME_CLAIMS, namespace, limit,
+                           continueToken, PersistentVolumeClaim::new);
     }
 
     public PersistentVolumeClaim getPersistentVolumeClaim(String namespace,
                                                           String persistentVolumeClaimName) throws ApiException {
-        CoreV1Api api = new CoreV1Api();
-
         return new PersistentVolumeClaim(
-                api.readNamespacedPersistentVolumeClaim(persistentVolumeClaimName, namespace, null, null, null));
+                readCached(cache.getPersistentVolumeClaims(), namespace, persistentVolumeClaimName, () -> {
+                    return resources.read(PERSISTENT_VOLUME_CLAIMS, namespace, persistentVolumeClaimName);
+                }));
+    }
+
+    public Description<PersistentVolumeClaim> describePersistentVolumeClaim(String namespace,
+                                                                            String persistentVolumeClaimName)
+            throws ApiException {
+        return describe(namespace, "PersistentVolumeClaim", persistentVolumeClaimName,
+                        () -> getPersistentVolumeClaim(namespace, persistentVolumeClaimName));
+    }
+
+    public List<Event> getPersistentVolumeClaimEvents(String namespace,
+                                                      String persistentVolumeClaimName) throws ApiException {
+        V1PersistentVolumeClaim persistentVolumeClaim = readCached(
+                cache.getPersistentVolumeClaims(), namespace, persistentVolumeClaimName, () -> {
+                    return resources.read(PERSISTENT_VOLUME_CLAIMS, namespace, persistentVolumeClaimName);
+                });
+        return getEvents(namespace, "PersistentVolumeClaim", persistentVolumeClaimName,
+                         persistentVolumeClaim.getMetadata()
+                                 .getUid());
+    }
+
+    private <T> List<T> listCached(ResourceCache<T> resourceCache, String namespace,
+                                   ApiCall<List<T>> apiCall) throws ApiException {
+        if (resourceCache.hasSynced()) {
+            return resourceCache.list(namespace);
+        }
+
+        return apiCall.call();
+    }
+
+    private <T> T readCached(ResourceCache<T> resourceCache, String namespace, String name,
+                             ApiCall<T> apiCall) throws ApiException {
+        if (resourceCache.hasSynced()) {
+            T cached = resourceCache.get(namespace, name);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // a miss may just be an object the watch has not delivered yet, so ask the API server
+        return apiCall.call();
+    }
+
+    private <T, R> Page<R> pageObjects(ResourceCache<T> resourceCache, ApiResource<T, ?> resource, String namespace,
+                                       int limit, String continueToken, Function<T, R> creator) throws ApiException {
+        return pageObjects(resourceCache.hasSynced(),
+                           (after, pageSize) -> resourceCache.page(namespace, after, pageSize), resource, namespace,
+                           null, limit, continueToken, creator);
+    }
+
+    private <T, R> Page<R> pageObjects(ResourceCache<T> resourceCache, LabelIndex<T> labelIndex,
+                                       ApiResource<T, ?> resource, String namespace, Selector selector, int limit,
+                                       String continueToken, Function<T, R> creator) throws ApiException {
+        if (selector.isEmpty()) {
+            return pageObjects(resourceCache, resource, namespace, limit, continueToken, creator);
+        }
+
+        return pageObjects(labelIndex.hasSynced(),
+                           (after, pageSize) -> labelIndex.page(namespace, selector, after, pageSize), resource,
+                           namespace, selector.string(), limit, continueToken, creator);
+    }
+
+    private <T, R> Page<R> pageObjects(boolean cached, BiFunction<String, Integer, Page<T>> cachePage,
+                                       ApiResource<T, ?> resource, String namespace, String labelSelector, int limit,
+                                       String continueToken, Function<T, R> creator) throws ApiException {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        boolean cacheToken = continueToken != null && continueToken.startsWith(CACHE_CONTINUE_PREFIX);
+        if (cached && (continueToken == null || cacheToken)) {
+            String after = cacheToken ? continueToken.substring(CACHE_CONTINUE_PREFIX.length()) : null;
+            Page<T> page = cachePage.apply(after, pageSize);
+            String next = page.hasMore() ? CACHE_CONTINUE_PREFIX + page.getContinueToken() : null;
+            return new Page<>(createListObjects(page.getItems(), creator), next);
+        }
+
+        // a token handed out by the cache means nothing to the API server, so start over from the first page
+        return listPage(resource, namespace, labelSelector, pageSize, cacheToken ? null : continueToken, creator);
+    }
+
+    /**
+     * Lists the objects from the API server, creating each one's view model as it is decoded, so the objects of the
+     * list are never all held at once.
+     */
+    private <T, R> Page<R> listPage(ApiResource<T, ?> resource, String namespace, String labelSelector, Integer limit,
+                                    String continueToken, Function<T, R> creator) throws ApiException {
+        List<R> items = new ArrayList<>();
+        V1ListMeta listMeta = resources.stream(resource, namespace, labelSelector, null, limit, continueToken,
+                                               item -> items.add(creator.apply(item)));
+        return toPage(items, listMeta);
+    }
+
+    private <T> Page<T> toPage(List<T> items, V1ListMeta listMeta) {
+        String continueToken = listMeta == null ? null : listMeta.getContinue();
+        return new Page<>(items, isEmpty(continueToken) ? null : continueToken);
     }
 
     private <T, R> List<R> createListObjects(List<T> items, Function<T, R> creator) {
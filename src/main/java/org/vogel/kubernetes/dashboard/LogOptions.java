@@ -0,0 +1,42 @@
+package org.vogel.kubernetes.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.joda.time.DateTime;
+import org.joda.time.Seconds;
+
+import static org.apache.commons.lang3.StringUtils.trimToNull;
+
+@AllArgsConstructor
+@Getter
+public class LogOptions {
+    private String container;
+    private Integer tailLines;
+    private DateTime sinceTime;
+    private Integer limitBytes;
+    // prefix each line with the time the container wrote it
+    private boolean timestamps;
+    // the log of the container's previous instance, e.g. the one that crashed
+    private boolean previous;
+
+    public String getContainer() {
+        return trimToNull(container);
+    }
+
+    /**
+     * The log API of this client only takes a relative start, so the time is turned into seconds before now, rounded
+     * up so no line written at the time itself is lost.
+     */
+    public Integer getSinceSeconds() {
+        if (sinceTime == null) {
+            return null;
+        }
+        DateTime now = DateTime.now();
+        if (!sinceTime.isBefore(now)) {
+            return 1;
+        }
+
+        return Seconds.secondsBetween(sinceTime, now)
+                .getSeconds() + 1;
+    }
+}
@@ -0,0 +1,24 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import lombok.Getter;
+
+import static org.vogel.kubernetes.dashboard.FormatUtils.translateTimestamp;
+
+/**
+ * The part of {@link Metadata} shown on the list pages, leaving out the labels and annotations.
+ */
+@Getter
+public class MetadataSummary {
+    private String name;
+    private String namespace;
+    private String age;
+    private String uid;
+
+    protected MetadataSummary(V1ObjectMeta metadata) {
+        name = metadata.getName();
+        namespace = metadata.getNamespace();
+        age = translateTimestamp(metadata.getCreationTimestamp());
+        uid = metadata.getUid();
+    }
+}
@@ -0,0 +1,28 @@
+package org.vogel.kubernetes.dashboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+
+@AllArgsConstructor
+@Getter
+public class Page<T> {
+    public static final String DEFAULT_LIMIT = "500";
+
+    private List<T> items;
+    private String continueToken;
+
+    public boolean hasMore() {
+        return continueToken != null;
+    }
+
+    public <R> Page<R> map(Function<T, R> creator) {
+        return new Page<>(items.stream()
+                                  .map(creator)
+                                  .collect(toList()), continueToken);
+    }
+}
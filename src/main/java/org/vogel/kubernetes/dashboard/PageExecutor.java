@@ -0,0 +1,61 @@
+package org.vogel.kubernetes.dashboard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Builds the model of a page off the request thread.  A page whose objects are not cached waits on the API server,
+ * and the request thread goes back to serving other requests while it does, so a slow API server cannot use them all
+ * up.  Waiting pages queue for a bounded pool; once the queue is full, pages are turned away with a 503.
+ */
+@Slf4j
+@Component
+public class PageExecutor {
+    private final ThreadPoolExecutor executor;
+
+    public PageExecutor(@Value("${kube.pages.threads:64}") int threads,
+                        @Value("${kube.pages.queue-size:2000}") int queueSize) {
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize),
+                                          runnable -> {
+                                              Thread thread = new Thread(runnable,
+                                                                         "kube-page-" + count.incrementAndGet());
+                                              thread.setDaemon(true);
+                                              return thread;
+                                          });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns what the page builder returns once it has done its work, the view of a page once it has filled in the
+     * model or the response of an API call.
+     */
+    public <T> CompletableFuture<T> render(Supplier<T> page) {
+        try {
+            return CompletableFuture.supplyAsync(page, executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("Too many pages are waiting, turning one away");
+            CompletableFuture<T> rejected = new CompletableFuture<>();
+            rejected.completeExceptionally(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                                                                       "Too many pages are loading, try again later"));
+            return rejected;
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+}
@@ -5,7 +5,6 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.joda.time.DateTime;
-import org.thymeleaf.util.StringUtils;
 
 import java.util.*;
 
@@ -34,6 +33,7 @@ public class Pod extends Metadata {
     private String message;
     private String podIp;
     private String controlledBy;
+    private List<String> controllerChain;
     private List<Container> initContainers;
     private List<Container> containers;
     private Map<String, String> conditions;
@@ -44,69 +44,18 @@ public class Pod extends Metadata {
 
     public Pod(V1Pod pod) {
         super(pod.getMetadata());
-        restarts = 0;
-        V1PodSpec podSpec = pod.getSpec();
-        int totalContainers = podSpec.getContainers()
-                .size();
-        int readyContainers = 0;
+        // worked out as for the list pages, so the two agree
+        PodSummary summary = new PodSummary(pod);
+        ready = summary.getReady();
+        reason = summary.getReason();
+        restarts = summary.getRestarts();
 
+        V1PodSpec podSpec = pod.getSpec();
         V1PodStatus podStatus = pod.getStatus();
-        reason = podStatus.getPhase();
         describeReason = podStatus.getReason();
-        if (isNotBlank(describeReason)) {
-            reason = describeReason;
-        }
-
-        boolean initializing = false;
-        List<V1ContainerStatus> initContainerStatuses = podStatus.getInitContainerStatuses();
-        if (initContainerStatuses != null) {
-            initializing = processInitContainerStatuses(podSpec, initializing, initContainerStatuses);
-        }
-
-        List<V1ContainerStatus> containerStatuses = podStatus.getContainerStatuses();
-        if (!initializing) {
-            restarts = 0;
-            boolean hasRunning = false;
-            if (containerStatuses != null) {
-                for (int i = containerStatuses.size() - 1; i >= 0; i--) {
-                    V1ContainerStatus container = containerStatuses.get(i);
-
-                    restarts += container.getRestartCount();
-                    V1ContainerState containerState = container.getState();
-                    V1ContainerStateTerminated terminated = containerState.getTerminated();
-                    V1ContainerStateWaiting waiting = containerState.getWaiting();
-                    if (waiting != null && isNotEmpty(waiting.getReason())) {
-                        reason = waiting.getReason();
-                    } else if (terminated != null && isNotEmpty(terminated.getReason())) {
-                        reason = terminated.getReason();
-                    } else if (terminated != null && isEmpty(terminated.getReason())) {
-                        if (terminated.getSignal() != null && terminated.getSignal() != 0) {
-                            reason = String.format("Signal:%d", terminated.getSignal());
-                        } else {
-                            reason = String.format("ExitCode:%d", terminated.getExitCode());
-                        }
-                    } else if (container.isReady() && containerState.getRunning() != null) {
-                        hasRunning = true;
-                        readyContainers++;
-                    }
-
-                    // change pod status back to "Running" if there is at least one container still reporting as "Running" status
-                    if (reason.equals("Completed") && hasRunning) {
-                        reason = "Running";
-                    }
-                }
-            }
-        }
-
         V1ObjectMeta metadata = pod.getMetadata();
         deletionTimestamp = metadata.getDeletionTimestamp();
-        if (deletionTimestamp != null && StringUtils.equals("NodeLost", describeReason)) {
-            reason = "Unknown";
-        } else {
-            reason = "Terminating";
-        }
-
-        ready = String.format("%d/%d", readyContainers, totalContainers);
+        List<V1ContainerStatus> containerStatuses = podStatus.getContainerStatuses();
 
         priority = podSpec.getPriority();
         if (priority != null) {
@@ -164,41 +113,8 @@ public class Pod extends Metadata {
         printPodTolerations(podSpec.getTolerations());
     }
 
-    private boolean processInitContainerStatuses(V1PodSpec podSpec, boolean initializing,
-                                                 List<V1ContainerStatus> initContainerStatuses) {
-        for (int i = 0; i < initContainerStatuses.size(); i++) {
-            V1ContainerStatus container = initContainerStatuses.get(i);
-            restarts += container.getRestartCount();
-
-            V1ContainerState containerState = container.getState();
-            V1ContainerStateTerminated terminated = containerState.getTerminated();
-            V1ContainerStateWaiting waiting = containerState.getWaiting();
-            if (terminated != null && terminated.getExitCode() == 0) {
-                continue;
-            } else if (terminated != null) {
-                // initialization is failed
-                if (isBlank(terminated.getReason())) {
-                    if (terminated.getSignal() != 0) {
-                        reason = String.format("Init:Signal:%d", terminated.getSignal());
-                    } else {
-                        reason = String.format("Init:ExitCode:%d", terminated.getExitCode());
-                    }
-                } else {
-                    reason = "Init:" + terminated.getReason();
-                }
-                initializing = true;
-            } else if (waiting != null && isNotBlank(waiting.getReason()) && !waiting.getReason()
-                    .equals("PodInitializing")) {
-                reason = "Init:" + waiting.getReason();
-                initializing = true;
-            } else {
-                reason = String.format("Init:%d/%d", i, podSpec.getInitContainers()
-                        .size());
-                initializing = true;
-            }
-            break;
-        }
-        return initializing;
+    public void setControllerChain(List<String> controllerChain) {
+        this.controllerChain = controllerChain;
     }
 
     private void printPodTolerations(List<V1Toleration> podSpecTolerations) {
@@ -2,77 +2,258 @@ package org.vogel.kubernetes.dashboard;
 
 import io.kubernetes.client.ApiException;
 import lombok.extern.slf4j.Slf4j;
+import org.joda.time.DateTime;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.constraints.NotNull;
-import java.util.Arrays;
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 
-import static java.util.stream.Collectors.toList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.stream.Collectors.joining;
+import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
+import static org.apache.commons.lang3.StringUtils.isBlank;
 
 @Slf4j
 @Controller
 @RequestMapping("/namespaces/{namespace}/pods")
 public class PodController {
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+    private static final int LOG_BUFFER_SIZE = 8192;
 
     private KubernetesUtils kubeUtils;
 
-    public PodController(KubernetesUtils kubeUtils) {
+    private PageExecutor pageExecutor;
+
+    public PodController(KubernetesUtils kubeUtils, PageExecutor pageExecutor) {
         this.kubeUtils = kubeUtils;
+        this.pageExecutor = pageExecutor;
     }
 
     @GetMapping
-    public String listPods(Model model, @PathVariable("namespace") String namespace) {
+    public CompletableFuture<String> listPods(
+            Model model, WebRequest request, @PathVariable("namespace") String namespace,
+            @RequestParam(value = "limit", defaultValue = Page.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "continue", required = false) String continueToken,
+            @RequestParam(value = "labelSelector", required = false) String labelSelector) {
         log.debug("In listPods with namespace: {}", namespace);
-        try {
-            model.addAttribute("pods", kubeUtils.getPods(namespace));
-            model.addAttribute("namespace", namespace);
-            model.addAttribute("namespaces", kubeUtils.getNamespaces());
-            return "pods";
-        } catch (ApiException e) {
-            log.error("Error getting list of pods", e);
-            return "error";
+        // read before the page, which the live updates then bring forward from this version
+        String listVersion = kubeUtils.getListVersion("pods", continueToken);
+        if (ETags.checkNotModified(request, listVersion, kubeUtils.getNamespacesVersion())) {
+            return null;
         }
+        return pageExecutor.render(() -> {
+            Selector selector = new Selector();
+            try {
+                selector = Selector.parse(labelSelector);
+            } catch (RequirementException e) {
+                model.addAttribute("labelSelectorError", e.getMessage());
+            }
+            try {
+                Page<PodSummary> page = kubeUtils.getPodsPage(namespace, selector, limit, continueToken);
+                model.addAttribute("pods", page.getItems());
+                model.addAttribute("limit", limit);
+                model.addAttribute("continueToken", page.getContinueToken());
+                model.addAttribute("labelSelector", labelSelector);
+                model.addAttribute("listVersion", listVersion);
+                model.addAttribute("namespace", namespace);
+                model.addAttribute("namespaces", kubeUtils.getNamespaces());
+                return "pods";
+            } catch (ApiException e) {
+                log.error("Error getting list of pods", e);
+                return "error";
+            }
+        });
     }
 
     @GetMapping("/{podName}")
-    public String describePod(Model model, @PathVariable("namespace") @NotNull String namespace,
-                              @PathVariable @NotNull String podName) {
+    public CompletableFuture<String> describePod(Model model, WebRequest request,
+                                                 @PathVariable("namespace") @NotNull String namespace,
+                                                 @PathVariable @NotNull String podName) {
         log.debug("In describePod with namespace: {} and pod: {}", namespace, podName);
-        try {
-            Pod pod = kubeUtils.getPod(namespace, podName);
-            model.addAttribute("pod", pod);
-            model.addAttribute("podName", podName);
-            model.addAttribute("events", kubeUtils.getEvents(namespace, "Pod", podName, pod.getUid()));
-            model.addAttribute("namespace", namespace);
-            return "pod_describe";
-        } catch (ApiException e) {
-            log.error("Error getting pod", e);
-            return "error";
+        if (ETags.checkNotModified(request, kubeUtils.getObjectVersion("pods", namespace, podName))) {
+            return null;
         }
+        return pageExecutor.render(() -> {
+            try {
+                Description<Pod> description = kubeUtils.describePod(namespace, podName);
+                model.addAttribute("pod", description.getObject());
+                model.addAttribute("podName", podName);
+                model.addAttribute("events", description.getEvents());
+                model.addAttribute("namespace", namespace);
+                return "pod_describe";
+            } catch (ApiException e) {
+                log.error("Error getting pod", e);
+                return "error";
+            }
+        });
     }
 
     @GetMapping("/{podName}/logs")
     public String showPodLogs(Model model, @PathVariable("namespace") @NotNull String namespace,
-                              @PathVariable @NotNull String podName) {
+                              @PathVariable @NotNull String podName,
+                              @RequestParam(value = "container", required = false) String container,
+                              @RequestParam(value = "tailLines", required = false) Integer tailLines,
+                              @RequestParam(value = "sinceTime", required = false) String sinceTime,
+                              @RequestParam(value = "limitBytes", required = false) Integer limitBytes,
+                              @RequestParam(value = "view", required = false) String view) {
         log.debug("In showPodLogs with namespace: {} and pod: {}", namespace, podName);
+        if (isBlank(view)) {
+            // pages always cover the whole log, so a log asked for by its tail, start or size is shown whole
+            view = tailLines == null && isBlank(sinceTime) && limitBytes == null ? "page" : "stream";
+        }
+        model.addAttribute("podName", podName);
+        model.addAttribute("namespace", namespace);
+        model.addAttribute("container", container);
+        model.addAttribute("tailLines", tailLines);
+        model.addAttribute("sinceTime", sinceTime);
+        model.addAttribute("limitBytes", limitBytes);
+        model.addAttribute("view", view);
+        return "logs";
+    }
+
+    @GetMapping(value = "/{podName}/logs/raw", produces = MediaType.TEXT_PLAIN_VALUE)
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> streamPodLogs(
+            @PathVariable("namespace") @NotNull String namespace, @PathVariable @NotNull String podName,
+            @RequestParam(value = "container", required = false) String container,
+            @RequestParam(value = "tailLines", required = false) Integer tailLines,
+            @RequestParam(value = "sinceTime", required = false) String sinceTime,
+            @RequestParam(value = "limitBytes", required = false) Integer limitBytes) {
+        log.debug("In streamPodLogs with namespace: {} and pod: {}", namespace, podName);
+        LogOptions options;
         try {
-            String[] splitLogs = kubeUtils.getPodLogs(namespace, podName)
-                    .split("\n");
-            List<String> logs = Arrays.stream(splitLogs)
-                    .map(line -> line.replace("\t", "        "))
-                    .collect(toList());
-            model.addAttribute("logs", logs);
-            model.addAttribute("podName", podName);
-            model.addAttribute("namespace", namespace);
-            return "logs";
-        } catch (ApiException e) {
-            log.error("Error getting logs for pod {}", podName, e);
-            return "error";
+            options = new LogOptions(container, tailLines, isBlank(sinceTime) ? null : DateTime.parse(sinceTime),
+                                     limitBytes, false, false);
+        } catch (IllegalArgumentException e) {
+            return completedFuture(textResponse(HttpStatus.BAD_REQUEST, "Invalid sinceTime " + sinceTime));
+        }
+        // opening the log waits on the API server for the response headers
+        return pageExecutor.render(() -> {
+            try {
+                InputStream logs = kubeUtils.streamPodLogs(namespace, podName, options);
+                return ResponseEntity.ok()
+                        .contentType(TEXT_PLAIN_UTF8)
+                        .body(out -> copy(logs, out));
+            } catch (ApiException e) {
+                return logsError(podName, e);
+            }
+        });
+    }
+
+    /**
+     * Sends the log as a file.  Clients that accept gzip get it compressed on the way through, which shrinks a typical
+     * log several times over; the length of a compressed stream is not known up front, so it is sent chunked.
+     */
+    @GetMapping("/{podName}/logs/download")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> downloadPodLogs(
+            @PathVariable("namespace") @NotNull String namespace, @PathVariable @NotNull String podName,
+            @RequestParam(value = "container", required = false) String container,
+            @RequestParam(value = "previous", defaultValue = "false") boolean previous,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.debug("In downloadPodLogs with namespace: {} and pod: {}", namespace, podName);
+        LogOptions options = new LogOptions(container, null, null, null, false, previous);
+        return pageExecutor.render(() -> {
+            InputStream logs;
+            try {
+                logs = kubeUtils.streamPodLogs(namespace, podName, options);
+            } catch (ApiException e) {
+                return logsError(podName, e);
+            }
+
+            String fileName = Stream.of(podName, options.getContainer(), previous ? "previous" : null)
+                    .filter(Objects::nonNull)
+                    .collect(joining("-")) + ".log";
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(TEXT_PLAIN_UTF8)
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder("attachment")
+                            .filename(fileName)
+                            .build()
+                            .toString())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (!acceptsGzip(acceptEncoding)) {
+                return response.body(out -> copy(logs, out));
+            }
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(out -> {
+                        GZIPOutputStream gzip = new FastGZIPOutputStream(out);
+                        copy(logs, gzip);
+                        gzip.finish();
+                    });
+        });
+    }
+
+    private ResponseEntity<StreamingResponseBody> logsError(String podName, ApiException e) {
+        log.error("Error getting logs for pod {}", podName, e);
+        String message = defaultIfBlank(e.getResponseBody(), "Error getting logs for pod " + podName);
+        return textResponse(e.getCode() == HttpStatus.NOT_FOUND.value() ? HttpStatus.NOT_FOUND : HttpStatus.BAD_GATEWAY,
+                            message);
+    }
+
+    private ResponseEntity<StreamingResponseBody> textResponse(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(TEXT_PLAIN_UTF8)
+                .body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim()
+                    .split(";");
+            if (parts[0].trim()
+                    .equalsIgnoreCase("gzip")) {
+                // gzip;q=0 means anything but gzip
+                return parts.length < 2 || !parts[1].trim()
+                        .matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Copies the log a buffer at a time, flushing each one so the client sees lines as they arrive.
+     */
+    private static void copy(InputStream logs, OutputStream out) throws IOException {
+        try (InputStream in = logs) {
+            byte[] buffer = new byte[LOG_BUFFER_SIZE];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+                out.flush();
+            }
+        }
+    }
+
+    /**
+     * Trades some compression for speed, since the whole log goes through the deflater as it streams.  Logs are
+     * repetitive enough that the fastest level still shrinks them several times.
+     */
+    private static class FastGZIPOutputStream extends GZIPOutputStream {
+        FastGZIPOutputStream(OutputStream out) throws IOException {
+            super(out, LOG_BUFFER_SIZE);
+            def.setLevel(Deflater.BEST_SPEED);
         }
     }
 }
@@ -5,6 +5,8 @@ import lombok.Getter;
 
 import java.util.List;
 
+import static java.util.stream.Collectors.toList;
+
 @Getter
 public class PodStatus {
     private int running;
@@ -13,10 +15,13 @@ public class PodStatus {
     private int failed;
 
     public PodStatus(List<V1Pod> pods, String uid, KubernetesUtils kubeUtil) {
-        for (V1Pod pod : pods) {
-            if (!kubeUtil.isControlledBy(pod.getMetadata(), uid)) {
-                continue;
-            }
+        this(pods.stream()
+                     .filter(pod -> kubeUtil.isControlledBy(pod.getMetadata(), uid))
+                     .collect(toList()));
+    }
+
+    public PodStatus(List<V1Pod> ownedPods) {
+        for (V1Pod pod : ownedPods) {
             String phase = pod.getStatus()
                     .getPhase();
             if ("Running".equals(phase)) {
@@ -0,0 +1,113 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.models.*;
+import lombok.Getter;
+
+import java.util.List;
+
+import static org.apache.commons.lang3.StringUtils.isNotBlank;
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+/**
+ * The columns of a pod on the list pages, worked out the way {@code kubectl get pods} does from the statuses alone,
+ * without building the containers, volumes and the rest of the {@link Pod} the describe page shows.
+ */
+@Getter
+public class PodSummary extends MetadataSummary {
+    private String ready;
+    private String reason;
+    private int restarts;
+    private String status;
+
+    public PodSummary(V1Pod pod) {
+        super(pod.getMetadata());
+        V1PodSpec podSpec = pod.getSpec();
+        V1PodStatus podStatus = pod.getStatus();
+        status = podStatus.getPhase();
+        reason = status;
+        if (isNotBlank(podStatus.getReason())) {
+            reason = podStatus.getReason();
+        }
+
+        boolean initializing = false;
+        List<V1ContainerStatus> initContainerStatuses = podStatus.getInitContainerStatuses();
+        if (initContainerStatuses != null) {
+            initializing = processInitContainerStatuses(podSpec, initContainerStatuses);
+        }
+
+        int readyContainers = 0;
+        List<V1ContainerStatus> containerStatuses = podStatus.getContainerStatuses();
+        if (!initializing) {
+            restarts = 0;
+            boolean hasRunning = false;
+            if (containerStatuses != null) {
+                for (int i = containerStatuses.size() - 1; i >= 0; i--) {
+                    V1ContainerStatus container = containerStatuses.get(i);
+
+                    restarts += container.getRestartCount();
+                    V1ContainerState containerState = container.getState();
+                    V1ContainerStateTerminated terminated = containerState.getTerminated();
+                    V1ContainerStateWaiting waiting = containerState.getWaiting();
+                    if (waiting != null && isNotEmpty(waiting.getReason())) {
+                        reason = waiting.getReason();
+                    } else if (terminated != null && isNotEmpty(terminated.getReason())) {
+                        reason = terminated.getReason();
+                    } else if (terminated != null) {
+                        if (terminated.getSignal() != null && terminated.getSignal() != 0) {
+                            reason = String.format("Signal:%d", terminated.getSignal());
+                        } else {
+                            reason = String.format("ExitCode:%d", terminated.getExitCode());
+                        }
+                    } else if (container.isReady() && containerState.getRunning() != null) {
+                        hasRunning = true;
+                        readyContainers++;
+                    }
+
+                    // change pod status back to "Running" if there is at least one container still reporting as "Running" status
+                    if ("Completed".equals(reason) && hasRunning) {
+                        reason = "Running";
+                    }
+                }
+            }
+        }
+
+        if (pod.getMetadata()
+                .getDeletionTimestamp() != null) {
+            reason = "NodeLost".equals(podStatus.getReason()) ? "Unknown" : "Terminating";
+        }
+
+        ready = String.format("%d/%d", readyContainers, podSpec.getContainers()
+                .size());
+    }
+
+    private boolean processInitContainerStatuses(V1PodSpec podSpec, List<V1ContainerStatus> initContainerStatuses) {
+        for (int i = 0; i < initContainerStatuses.size(); i++) {
+            V1ContainerStatus container = initContainerStatuses.get(i);
+            restarts += container.getRestartCount();
+
+            V1ContainerState containerState = container.getState();
+            V1ContainerStateTerminated terminated = containerState.getTerminated();
+            V1ContainerStateWaiting waiting = containerState.getWaiting();
+            if (terminated != null && terminated.getExitCode() == 0) {
+                continue;
+            } else if (terminated != null) {
+                // initialization is failed
+                if (isNotBlank(terminated.getReason())) {
+                    reason = "Init:" + terminated.getReason();
+                } else if (terminated.getSignal() != null && terminated.getSignal() != 0) {
+                    reason = String.format("Init:Signal:%d", terminated.getSignal());
+                } else {
+                    reason = String.format("Init:ExitCode:%d", terminated.getExitCode());
+                }
+            } else if (waiting != null && isNotBlank(waiting.getReason()) && !waiting.getReason()
+                    .equals("PodInitializing")) {
+                reason = "Init:" + waiting.getReason();
+            } else {
+                reason = String.format("Init:%d/%d", i, podSpec.getInitContainers()
+                        .size());
+            }
+            return true;
+        }
+        return false;
+    }
+}
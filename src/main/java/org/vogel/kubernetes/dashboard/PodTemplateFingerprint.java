@@ -0,0 +1,74 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1PodSpec;
+import io.kubernetes.client.models.V1PodTemplateSpec;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compares pod templates the way the deployment controller does, ignoring the pod-template-hash label.  The template's
+ * own objects are shared rather than copied, so they must not be modified while a fingerprint refers to them.
+ */
+public final class PodTemplateFingerprint {
+    private static final String POD_TEMPLATE_HASH = "pod-template-hash";
+
+    private final V1ObjectMeta metadata;
+    private final V1PodSpec spec;
+    private final int hash;
+
+    private PodTemplateFingerprint(V1ObjectMeta metadata, V1PodSpec spec) {
+        this.metadata = metadata;
+        this.spec = spec;
+        hash = Objects.hash(metadata, spec);
+    }
+
+    public static PodTemplateFingerprint of(V1PodTemplateSpec template) {
+        V1ObjectMeta metadata = template.getMetadata();
+        return new PodTemplateFingerprint(metadata == null ? null : withoutHash(metadata), template.getSpec());
+    }
+
+    private static V1ObjectMeta withoutHash(V1ObjectMeta metadata) {
+        Map<String, String> labels = metadata.getLabels();
+        if (labels != null && labels.containsKey(POD_TEMPLATE_HASH)) {
+            labels = new HashMap<>(labels);
+            labels.remove(POD_TEMPLATE_HASH);
+        }
+
+        return new V1ObjectMeta().annotations(metadata.getAnnotations())
+                .clusterName(metadata.getClusterName())
+                .creationTimestamp(metadata.getCreationTimestamp())
+                .deletionGracePeriodSeconds(metadata.getDeletionGracePeriodSeconds())
+                .deletionTimestamp(metadata.getDeletionTimestamp())
+                .finalizers(metadata.getFinalizers())
+                .generateName(metadata.getGenerateName())
+                .generation(metadata.getGeneration())
+                .initializers(metadata.getInitializers())
+                .labels(labels)
+                .name(metadata.getName())
+                .namespace(metadata.getNamespace())
+                .ownerReferences(metadata.getOwnerReferences())
+                .resourceVersion(metadata.getResourceVersion())
+                .selfLink(metadata.getSelfLink())
+                .uid(metadata.getUid());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PodTemplateFingerprint that = (PodTemplateFingerprint) o;
+        return hash == that.hash && Objects.equals(metadata, that.metadata) && Objects.equals(spec, that.spec);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,76 @@
+package org.vogel.kubernetes.dashboard;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1beta2ReplicaSet;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.vogel.kubernetes.dashboard.cache.KubernetesCache;
+import org.vogel.kubernetes.dashboard.cache.ResourceCache;
+import org.vogel.kubernetes.dashboard.cache.ResourceCacheListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.stream.Collectors.toSet;
+
+/**
+ * Template fingerprints of replica sets, kept per uid until the replica set changes.  Only replica sets seen while the
+ * cache is synced are kept, since entries leave when the cache sees their replica set deleted.
+ */
+@Component
+public class PodTemplateFingerprints implements ResourceCacheListener<V1beta2ReplicaSet> {
+
+    private ResourceCache<V1beta2ReplicaSet> replicaSetCache;
+    private ConcurrentMap<String, Entry> fingerprints = new ConcurrentHashMap<>();
+
+    public PodTemplateFingerprints(KubernetesCache cache) {
+        replicaSetCache = cache.getReplicaSets();
+        replicaSetCache.addListener(this);
+    }
+
+    public PodTemplateFingerprint get(V1beta2ReplicaSet replicaSet) {
+        V1ObjectMeta metadata = replicaSet.getMetadata();
+        String uid = metadata.getUid();
+        String resourceVersion = metadata.getResourceVersion();
+        if (!replicaSetCache.hasSynced() || uid == null || resourceVersion == null) {
+            return PodTemplateFingerprint.of(replicaSet.getSpec()
+                                                     .getTemplate());
+        }
+
+        Entry entry = fingerprints.get(uid);
+        if (entry == null || !resourceVersion.equals(entry.resourceVersion)) {
+            entry = new Entry(resourceVersion, PodTemplateFingerprint.of(replicaSet.getSpec()
+                                                                                 .getTemplate()));
+            fingerprints.put(uid, entry);
+        }
+        return entry.fingerprint;
+    }
+
+    public int size() {
+        return fingerprints.size();
+    }
+
+    @Override
+    public void onDelete(V1beta2ReplicaSet replicaSet) {
+        fingerprints.remove(replicaSet.getMetadata()
+                                    .getUid());
+    }
+
+    @Override
+    public void onReplace(List<V1beta2ReplicaSet> replicaSets) {
+        Set<String> uids = replicaSets.stream()
+                .map(rs -> rs.getMetadata()
+                        .getUid())
+                .collect(toSet());
+        fingerprints.keySet()
+                .retainAll(uids);
+    }
+
+    @AllArgsConstructor
+    private static class Entry {
+        private String resourceVersion;
+        private PodTemplateFingerprint fingerprint;
+    }
+}
@@ -1,11 +1,13 @@
 package org.vogel.kubernetes.dashboard;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -18,6 +20,16 @@ public class Requirement {
     private String key;
     private String operation;
     private List<String> values;
+    @Getter(AccessLevel.NONE)
+    private Operator operator;
+    @Getter(AccessLevel.NONE)
+    private String[] sortedValues;
+    @Getter(AccessLevel.NONE)
+    private long bound;
+
+    private enum Operator {
+        IN, NOT_IN, EXISTS, DOES_NOT_EXIST, GREATER_THAN, LESS_THAN
+    }
 
     public Requirement(String key, String operation, List<String> values) throws RequirementException {
         validateLabelKey(key);
@@ -28,8 +40,71 @@ public class Requirement {
 
         this.key = key;
         this.operation = operation;
-        this.values = values;
+        // copied so sorting never touches the caller's list, which may belong to a shared cached object
+        this.values = new ArrayList<>(values);
         Collections.sort(this.values);
+        compile();
+    }
+
+    /**
+     * Evaluates the requirement against a set of labels the same way the API server does.  A missing label satisfies
+     * the negative operators and fails the others.
+     */
+    public boolean matches(Map<String, String> labels) {
+        String value = labels == null ? null : labels.get(key);
+        switch (operator) {
+            case IN:
+                return value != null && Arrays.binarySearch(sortedValues, value) >= 0;
+            case NOT_IN:
+                return value == null || Arrays.binarySearch(sortedValues, value) < 0;
+            case EXISTS:
+                return value != null;
+            case DOES_NOT_EXIST:
+                return value == null;
+            case GREATER_THAN:
+                return isInteger(value) && Long.parseLong(value) > bound;
+            case LESS_THAN:
+                return isInteger(value) && Long.parseLong(value) < bound;
+            default:
+                return false;
+        }
+    }
+
+    private void compile() {
+        sortedValues = values.toArray(new String[0]);
+        if (equalsAny(operation, "=", "==", "in")) {
+            operator = Operator.IN;
+        } else if (equalsAny(operation, "!=", "notin")) {
+            operator = Operator.NOT_IN;
+        } else if (operation.equals("exists")) {
+            operator = Operator.EXISTS;
+        } else if (operation.equals("!")) {
+            operator = Operator.DOES_NOT_EXIST;
+        } else if (operation.equals("gt")) {
+            operator = Operator.GREATER_THAN;
+            bound = Long.parseLong(values.get(0));
+        } else {
+            operator = Operator.LESS_THAN;
+            bound = Long.parseLong(values.get(0));
+        }
+    }
+
+    // checked up front so that label values which are not numbers never cost an exception
+    private static boolean isInteger(String value) {
+        if (value == null || value.isEmpty() || value.length() > 18) {
+            return false;
+        }
+        int start = value.charAt(0) == '-' ? 1 : 0;
+        if (start == value.length()) {
+            return false;
+        }
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
     }
 
     public String string() {
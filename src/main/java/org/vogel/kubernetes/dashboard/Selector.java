@@ -1,16 +1,68 @@
 package org.vogel.kubernetes.dashboard;
 
+import io.kubernetes.client.models.V1LabelSelector;
+import io.kubernetes.client.models.V1LabelSelectorRequirement;
 import lombok.Getter;
 
+import javax.annotation.Nullable;
+import javax.validation.constraints.NotNull;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static org.apache.commons.lang3.StringUtils.isBlank;
 
 @Getter
 public class Selector {
+    private static final Pattern SET_REQUIREMENT = Pattern.compile("^(\\S+)\\s+(in|notin)\\s*\\((.*)\\)$");
+    private static final Pattern VALUE_REQUIREMENT = Pattern.compile("^([^=!<>\\s]+)\\s*(==|=|!=|<|>)\\s*(.*)$");
+    private static final Pattern KEY = Pattern.compile("^(!?)\\s*([^=!<>\\s(),]+)$");
+
     private List<Requirement> requirements = new ArrayList<>();
 
+    /**
+     * Parses the selector syntax of kubectl's -l option, e.g. {@code app=web,tier in (frontend,edge),!canary}.
+     */
+    public static Selector parse(@Nullable String text) throws RequirementException {
+        Selector selector = new Selector();
+        if (isBlank(text)) {
+            return selector;
+        }
+
+        for (String term : splitTerms(text)) {
+            selector.add(parseRequirement(term.trim()));
+        }
+        return selector;
+    }
+
+    public static Selector of(@Nullable Map<String, String> matchLabels) throws RequirementException {
+        Selector selector = new Selector();
+        if (matchLabels != null) {
+            for (Map.Entry<String, String> entry : matchLabels.entrySet()) {
+                List<String> values = Collections.singletonList(entry.getValue());
+                selector.add(new Requirement(entry.getKey(), "=", values));
+            }
+        }
+        return selector;
+    }
+
+    public static Selector of(@NotNull V1LabelSelector labelSelector) throws RequirementException {
+        Selector selector = of(labelSelector.getMatchLabels());
+        if (labelSelector.getMatchExpressions() != null) {
+            for (V1LabelSelectorRequirement expression : labelSelector.getMatchExpressions()) {
+                String op = convertOperatorValue(expression);
+                selector.add(new Requirement(expression.getKey(), op, expression.getValues()));
+            }
+        }
+        return selector;
+    }
+
     public void add(Requirement requirement) {
         requirements.add(requirement);
     }
@@ -19,6 +71,100 @@ public class Selector {
         return requirements.isEmpty();
     }
 
+    /**
+     * True when the labels satisfy every requirement, so an empty selector matches everything.
+     */
+    public boolean matches(Map<String, String> labels) {
+        for (int i = 0; i < requirements.size(); i++) {
+            if (!requirements.get(i)
+                    .matches(labels)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> splitTerms(String text) throws RequirementException {
+        List<String> terms = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                terms.add(text.substring(start, i));
+                start = i + 1;
+            }
+            if (depth < 0 || depth > 1) {
+                throw new RequirementException(String.format("unbalanced parentheses in selector %s", text));
+            }
+        }
+        if (depth != 0) {
+            throw new RequirementException(String.format("unbalanced parentheses in selector %s", text));
+        }
+        terms.add(text.substring(start));
+        return terms;
+    }
+
+    private static Requirement parseRequirement(String term) throws RequirementException {
+        Matcher matcher = SET_REQUIREMENT.matcher(term);
+        if (matcher.matches()) {
+            List<String> values = Arrays.stream(matcher.group(3)
+                                                        .split(","))
+                    .map(String::trim)
+                    .filter(value -> !value.isEmpty())
+                    .collect(toList());
+            return new Requirement(matcher.group(1), matcher.group(2), values);
+        }
+
+        matcher = VALUE_REQUIREMENT.matcher(term);
+        if (matcher.matches()) {
+            String op = matcher.group(2);
+            if (op.equals(">")) {
+                op = "gt";
+            } else if (op.equals("<")) {
+                op = "lt";
+            }
+            return new Requirement(matcher.group(1), op, Collections.singletonList(matcher.group(3)
+                                                                                          .trim()));
+        }
+
+        matcher = KEY.matcher(term);
+        if (matcher.matches()) {
+            String op = matcher.group(1)
+                    .isEmpty() ? "exists" : "!";
+            return new Requirement(matcher.group(2), op, Collections.emptyList());
+        }
+
+        throw new RequirementException(String.format("unable to parse requirement %s", term));
+    }
+
+    private static String convertOperatorValue(V1LabelSelectorRequirement expression) throws RequirementException {
+        String op;
+        switch (expression.getOperator()) {
+            case "In":
+                op = "in";
+                break;
+            case "NotIn":
+                op = "notin";
+                break;
+            case "Exists":
+                op = "exists";
+                break;
+            case "DoesNotExist":
+                op = "!";
+                break;
+            default:
+                String msg = String.format("%s is not a valid pod selector operator",
+                                           expression.getOperator());
+                throw new RequirementException(msg);
+        }
+        return op;
+    }
+
     public String string() {
         return requirements.stream()
                 .map(Requirement::string)
@@ -0,0 +1,406 @@
+package org.vogel.kubernetes.dashboard.api;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.kubernetes.client.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.vogel.kubernetes.dashboard.ApiCall;
+import org.vogel.kubernetes.dashboard.ETags;
+import org.vogel.kubernetes.dashboard.Event;
+import org.vogel.kubernetes.dashboard.KubernetesUtils;
+import org.vogel.kubernetes.dashboard.Page;
+import org.vogel.kubernetes.dashboard.PageExecutor;
+import org.vogel.kubernetes.dashboard.Pod;
+import org.vogel.kubernetes.dashboard.PodSummary;
+import org.vogel.kubernetes.dashboard.RequirementException;
+import org.vogel.kubernetes.dashboard.Selector;
+import org.vogel.kubernetes.dashboard.configmap.ConfigMap;
+import org.vogel.kubernetes.dashboard.deployment.Deployment;
+import org.vogel.kubernetes.dashboard.deployment.DeploymentSummary;
+import org.vogel.kubernetes.dashboard.ingress.Ingress;
+import org.vogel.kubernetes.dashboard.persistentvolume.PersistentVolume;
+import org.vogel.kubernetes.dashboard.persistentvolumeclaim.PersistentVolumeClaim;
+import org.vogel.kubernetes.dashboard.replicaset.ReplicaSet;
+import org.vogel.kubernetes.dashboard.replicaset.ReplicaSetSummary;
+import org.vogel.kubernetes.dashboard.service.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
+
+/**
+ * The view models of the pages as JSON, for tools.  Lists are paged the way the pages are, take a {@code fields}
+ * parameter naming the fields to return and are written to the response an item at a time.
+ * <p>
+ * Like the pages, the calls to the API server are made on the {@link PageExecutor}, so a slow API server does not
+ * hold the request threads, and are turned away with a 503 once too many are waiting.
+ */
+@Slf4j
+@RestController
+@RequestMapping(value = "/api/v1", produces = MediaType.APPLICATION_JSON_VALUE)
+public class ApiController {
+    // events of cluster scoped objects are recorded in the default namespace
+    private static final String CLUSTER_EVENTS_NAMESPACE = "default";
+
+    private KubernetesUtils kubeUtils;
+
+    private JsonViewWriter jsonWriter;
+
+    private PageExecutor pageExecutor;
+
+    public ApiController(KubernetesUtils kubeUtils, JsonViewWriter jsonWriter, PageExecutor pageExecutor) {
+        this.kubeUtils = kubeUtils;
+        this.jsonWriter = jsonWriter;
+        this.pageExecutor = pageExecutor;
+    }
+
+    @GetMapping("/namespaces")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> listNamespaces() {
+        log.debug("In listNamespaces");
+        return pageExecutor.render(() -> {
+            try {
+                List<String> namespaces = kubeUtils.getNamespaces();
+                ObjectWriter writer = jsonWriter.projection(String.class, null);
+                return json(HttpStatus.OK, out -> jsonWriter.writeList(out, namespaces, writer));
+            } catch (ApiException e) {
+                return error("namespaces", e);
+            }
+        });
+    }
+
+    @GetMapping("/namespaces/{namespace}/pods")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> listPods(
+            WebRequest request, @PathVariable("namespace") String namespace,
+            @RequestParam(value = "limit", defaultValue = Page.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "continue", required = false) String continueToken,
+            @RequestParam(value = "labelSelector", required = false) String labelSelector,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In listPods with namespace: {}", namespace);
+        return list(request, "pods", PodSummary.class, fields, continueToken, labelSelector,
+                    selector -> kubeUtils.getPodsPage(namespace, selector, limit, continueToken));
+    }
+
+    @GetMapping("/namespaces/{namespace}/pods/{name}")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> getPod(
+            WebRequest request, @PathVariable("namespace") String namespace, @PathVariable String name,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In getPod with namespace: {} and pod: {}", namespace, name);
+        return object(request, "pods", namespace, name, Pod.class, fields, () -> kubeUtils.getPod(namespace, name));
+    }
+
+    @GetMapping("/namespaces/{namespace}/pods/{name}/events")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> listPodEvents(
+            WebRequest request, @PathVariable("namespace") String namespace, @PathVariable String name,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In listPodEvents with namespace: {} and pod: {}", namespace, name);
+        return events(request, "pods", namespace, name, fields, () -> kubeUtils.getPodEvents(namespace, name));
+    }
+
+    @GetMapping("/namespaces/{namespace}/deployments")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> listDeployments(
+            WebRequest request, @PathVariable("namespace") String namespace,
+            @RequestParam(value = "limit", defaultValue = Page.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "continue", required = false) String continueToken,
+            @RequestParam(value = "labelSelector", required = false) String labelSelector,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In listDeployments with namespace: {}", namespace);
+        return list(request, "deployments", DeploymentSummary.class, fields, continueToken, labelSelector,
+                    selector -> kubeUtils.getDeploymentsPage(namespace, selector, limit, continueToken));
+    }
+
+    @GetMapping("/namespaces/{namespace}/deployments/{name}")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> getDeployment(
+            WebRequest request, @PathVariable("namespace") String namespace, @PathVariable String name,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In getDeployment with namespace: {} and deployment: {}", namespace, name);
+        return object(request, "deployments", namespace, name, Deployment.class, fields,
+                      () -> kubeUtils.getDeployment(namespace, name));
+    }
+
+    @GetMapping("/namespaces/{namespace}/deployments/{name}/events")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> listDeploymentEvents(
+            WebRequest request, @PathVariable("namespace") String namespace, @PathVariable String name,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In listDeploymentEvents with namespace: {} and deployment: {}", namespace, name);
+        return events(request, "deployments", namespace, name, fields,
+                      () -> kubeUtils.getDeploymentEvents(namespace, name));
+    }
+
+    @GetMapping("/namespaces/{namespace}/replicasets")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> listReplicaSets(
+            WebRequest request, @PathVariable("namespace") String namespace,
+            @RequestParam(value = "limit", defaultValue = Page.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "continue", required = false) String continueToken,
+            @RequestParam(value = "labelSelector", required = false) String labelSelector,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In listReplicaSets with namespace: {}", namespace);
+        return list(request, "replicasets", ReplicaSetSummary.class, fields, continueToken, labelSelector,
+                    selector -> kubeUtils.getReplicaSetsPage(namespace, selector, limit, continueToken));
+    }
+
+    @GetMapping("/namespaces/{namespace}/replicasets/{name}")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> getReplicaSet(
+            WebRequest request, @PathVariable("namespace") String namespace, @PathVariable String name,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In getReplicaSet with namespace: {} and replica set: {}", namespace, name);
+        return object(request, "replicasets", namespace, name, ReplicaSet.class, fields,
+                      () -> kubeUtils.getReplicaSet(namespace, name));
+    }
+
+    @GetMapping("/namespaces/{namespace}/replicasets/{name}/events")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> listReplicaSetEvents(
+            WebRequest request, @PathVariable("namespace") String namespace, @PathVariable String name,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In listReplicaSetEvents with namespace: {} and replica set: {}", namespace, name);
+        return events(request, "replicasets", namespace, name, fields,
+                      () -> kubeUtils.getReplicaSetEvents(namespace, name));
+    }
+
+    @GetMapping("/namespaces/{namespace}/services")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> listServices(
+            WebRequest request, @PathVariable("namespace") String namespace,
+            @RequestParam(value = "limit", defaultValue = Page.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "continue", required = false) String continueToken,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In listServices with namespace: {}", namespace);
+        return list(request, "services", Service.class, fields, continueToken, null,
+                    selector -> kubeUtils.getServicesPage(namespace, limit, continueToken));
+    }
+
+    @GetMapping("/namespaces/{namespace}/services/{name}")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> getService(
+            WebRequest request, @PathVariable("namespace") String namespace, @PathVariable String name,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In getService with namespace: {} and service: {}", namespace, name);
+        return object(request, "services", namespace, name, Service.class, fields,
+                      () -> kubeUtils.getService(namespace, name));
+    }
+
+    @GetMapping("/namespaces/{namespace}/services/{name}/events")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> listServiceEvents(
+            WebRequest request, @PathVariable("namespace") String namespace, @PathVariable String name,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In listServiceEvents with namespace: {} and service: {}", namespace, name);
+        return events(request, "services", namespace, name, fields, () -> kubeUtils.getServiceEvents(namespace, name));
+    }
+
+    @GetMapping("/namespaces/{namespace}/ingresses")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> listIngresses(
+            WebRequest request, @PathVariable("namespace") String namespace,
+            @RequestParam(value = "limit", defaultValue = Page.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "continue", required = false) String continueToken,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In listIngresses with namespace: {}", namespace);
+        return list(request, "ingresses", Ingress.class, fields, continueToken, null,
+                    selector -> kubeUtils.getIngressesPage(namespace, limit, continueToken));
+    }
+
+    @GetMapping("/namespaces/{namespace}/ingresses/{name}")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> getIngress(
+            WebRequest request, @PathVariable("namespace") String namespace, @PathVariable String name,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In getIngress with namespace: {} and ingress: {}", namespace, name);
+        return object(request, "ingresses", namespace, name, Ingress.class, fields,
+                      () -> kubeUtils.getIngress(namespace, name));
+    }
+
+    @GetMapping("/namespaces/{namespace}/ingresses/{name}/events")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> listIngressEvents(
+            WebRequest request, @PathVariable("namespace") String namespace, @PathVariable String name,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In listIngressEvents with namespace: {} and ingress: {}", namespace, name);
+        return events(request, "ingresses", namespace, name, fields, () -> kubeUtils.getIngressEvents(namespace, name));
+    }
+
+    @GetMapping("/namespaces/{namespace}/configmaps")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> listConfigMaps(
+            WebRequest request, @PathVariable("namespace") String namespace,
+            @RequestParam(value = "limit", defaultValue = Page.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "continue", required = false) String continueToken,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In listConfigMaps with namespace: {}", namespace);
+        return list(request, "configmaps", ConfigMap.class, fields, continueToken, null,
+                    selector -> kubeUtils.getConfigMapsPage(namespace, limit, continueToken));
+    }
+
+    @GetMapping("/namespaces/{namespace}/configmaps/{name}")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> getConfigMap(
+            WebRequest request, @PathVariable("namespace") String namespace, @PathVariable String name,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In getConfigMap with namespace: {} and config map: {}", namespace, name);
+        return object(request, "configmaps", namespace, name, ConfigMap.class, fields,
+                      () -> kubeUtils.getConfigMap(namespace, name));
+    }
+
+    @GetMapping("/namespaces/{namespace}/configmaps/{name}/events")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> listConfigMapEvents(
+            WebRequest request, @PathVariable("namespace") String namespace, @PathVariable String name,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In listConfigMapEvents with namespace: {} and config map: {}", namespace, name);
+        return events(request, "configmaps", namespace, name, fields,
+                      () -> kubeUtils.getConfigMapEvents(namespace, name));
+    }
+
+    @GetMapping("/namespaces/{namespace}/persistentvolumeclaims")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> listPersistentVolumeClaims(
+            WebRequest request, @PathVariable("namespace") String namespace,
+            @RequestParam(value = "limit", defaultValue = Page.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "continue", required = false) String continueToken,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In listPersistentVolumeClaims with namespace: {}", namespace);
+        return list(request, "persistentvolumeclaims", PersistentVolumeClaim.class, fields, continueToken, null,
+                    selector -> kubeUtils.getPersistentVolumeClaimsPage(namespace, limit, continueToken));
+    }
+
+    @GetMapping("/namespaces/{namespace}/persistentvolumeclaims/{name}")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> getPersistentVolumeClaim(
+            WebRequest request, @PathVariable("namespace") String namespace, @PathVariable String name,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In getPersistentVolumeClaim with namespace: {} and persistent volume claim: {}", namespace, name);
+        return object(request, "persistentvolumeclaims", namespace, name, PersistentVolumeClaim.class, fields,
+                      () -> kubeUtils.getPersistentVolumeClaim(namespace, name));
+    }
+
+    @GetMapping("/namespaces/{namespace}/persistentvolumeclaims/{name}/events")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> listPersistentVolumeClaimEvents(
+            WebRequest request, @PathVariable("namespace") String namespace, @PathVariable String name,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In listPersistentVolumeClaimEvents with namespace: {} and persistent volume claim: {}", namespace,
+                  name);
+        return events(request, "persistentvolumeclaims", namespace, name, fields,
+                      () -> kubeUtils.getPersistentVolumeClaimEvents(namespace, name));
+    }
+
+    @GetMapping("/persistentvolumes")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> listPersistentVolumes(
+            WebRequest request, @RequestParam(value = "limit", defaultValue = Page.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "continue", required = false) String continueToken,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In listPersistentVolumes");
+        return list(request, "persistentvolumes", PersistentVolume.class, fields, continueToken, null,
+                    selector -> kubeUtils.getPersistentVolumesPage(limit, continueToken));
+    }
+
+    @GetMapping("/persistentvolumes/{name}")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> getPersistentVolume(
+            WebRequest request, @PathVariable String name,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In getPersistentVolume with persistent volume: {}", name);
+        return object(request, "persistentvolumes", null, name, PersistentVolume.class, fields,
+                      () -> kubeUtils.getPersistentVolume(name));
+    }
+
+    @GetMapping("/persistentvolumes/{name}/events")
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> listPersistentVolumeEvents(
+            WebRequest request, @PathVariable String name,
+            @RequestParam(value = "fields", required = false) String fields) {
+        log.debug("In listPersistentVolumeEvents with persistent volume: {}", name);
+        return events(request, "persistentvolumes", null, name, fields,
+                      () -> kubeUtils.getPersistentVolumeEvents(CLUSTER_EVENTS_NAMESPACE, name));
+    }
+
+    @FunctionalInterface
+    private interface PageCall {
+        Page<?> call(Selector selector) throws ApiException;
+    }
+
+    private CompletableFuture<ResponseEntity<StreamingResponseBody>> list(
+            WebRequest request, String kind, Class<?> type, String fields, String continueToken, String labelSelector,
+            PageCall pageCall) {
+        ObjectWriter writer;
+        Selector selector;
+        try {
+            writer = jsonWriter.projection(type, fields);
+            selector = Selector.parse(labelSelector);
+        } catch (IllegalArgumentException | RequirementException e) {
+            return completedFuture(message(HttpStatus.BAD_REQUEST, e.getMessage()));
+        }
+        if (ETags.checkNotModified(request, kubeUtils.getListVersion(kind, continueToken))) {
+            return null;
+        }
+
+        return pageExecutor.render(() -> {
+            try {
+                Page<?> page = pageCall.call(selector);
+                return json(HttpStatus.OK, out -> jsonWriter.writePage(out, page, writer));
+            } catch (ApiException e) {
+                return error(kind, e);
+            }
+        });
+    }
+
+    private CompletableFuture<ResponseEntity<StreamingResponseBody>> object(
+            WebRequest request, String kind, String namespace, String name, Class<?> type, String fields,
+            ApiCall<?> objectCall) {
+        ObjectWriter writer;
+        try {
+            writer = jsonWriter.projection(type, fields);
+        } catch (IllegalArgumentException e) {
+            return completedFuture(message(HttpStatus.BAD_REQUEST, e.getMessage()));
+        }
+        if (ETags.checkNotModified(request, kubeUtils.getObjectVersion(kind, namespace, name))) {
+            return null;
+        }
+
+        return pageExecutor.render(() -> {
+            try {
+                Object object = objectCall.call();
+                return json(HttpStatus.OK, out -> jsonWriter.writeObject(out, object, writer));
+            } catch (ApiException e) {
+                return error(kind + " " + name, e);
+            }
+        });
+    }
+
+    private CompletableFuture<ResponseEntity<StreamingResponseBody>> events(
+            WebRequest request, String kind, String namespace, String name, String fields,
+            ApiCall<List<Event>> eventsCall) {
+        ObjectWriter writer;
+        try {
+            writer = jsonWriter.projection(Event.class, fields);
+        } catch (IllegalArgumentException e) {
+            return completedFuture(message(HttpStatus.BAD_REQUEST, e.getMessage()));
+        }
+        // the object's version covers its events
+        if (ETags.checkNotModified(request, kubeUtils.getObjectVersion(kind, namespace, name))) {
+            return null;
+        }
+
+        return pageExecutor.render(() -> {
+            try {
+                List<Event> events = eventsCall.call();
+                return json(HttpStatus.OK, out -> jsonWriter.writeList(out, events, writer));
+            } catch (ApiException e) {
+                return error("events of " + kind + " " + name, e);
+            }
+        });
+    }
+
+    private ResponseEntity<StreamingResponseBody> error(String what, ApiException e) {
+        log.error("Error getting {}", what, e);
+        String message = defaultIfBlank(e.getResponseBody(), "Error getting " + what);
+        return message(e.getCode() == HttpStatus.NOT_FOUND.value() ? HttpStatus.NOT_FOUND : HttpStatus.BAD_GATEWAY,
+                       message);
+    }
+
+    private ResponseEntity<StreamingResponseBody> message(HttpStatus status, String message) {
+        return json(status, out -> jsonWriter.writeMessage(out, message));
+    }
+
+    private ResponseEntity<StreamingResponseBody> json(HttpStatus status, StreamingResponseBody body) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .body(body);
+    }
+}
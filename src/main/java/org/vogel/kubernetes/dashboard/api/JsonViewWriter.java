@@ -0,0 +1,157 @@
+package org.vogel.kubernetes.dashboard.api;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import org.joda.time.ReadableInstant;
+import org.springframework.stereotype.Component;
+import org.vogel.kubernetes.dashboard.Event;
+import org.vogel.kubernetes.dashboard.Page;
+import org.vogel.kubernetes.dashboard.Pod;
+import org.vogel.kubernetes.dashboard.PodSummary;
+import org.vogel.kubernetes.dashboard.configmap.ConfigMap;
+import org.vogel.kubernetes.dashboard.deployment.Deployment;
+import org.vogel.kubernetes.dashboard.deployment.DeploymentSummary;
+import org.vogel.kubernetes.dashboard.ingress.Ingress;
+import org.vogel.kubernetes.dashboard.persistentvolume.PersistentVolume;
+import org.vogel.kubernetes.dashboard.persistentvolumeclaim.PersistentVolumeClaim;
+import org.vogel.kubernetes.dashboard.replicaset.ReplicaSet;
+import org.vogel.kubernetes.dashboard.replicaset.ReplicaSetSummary;
+import org.vogel.kubernetes.dashboard.service.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static java.util.stream.Collectors.toCollection;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * Writes the view models as JSON straight to a response, one item at a time, so a large page is never held as one
+ * string or tree.  Null values are left out.
+ * <p>
+ * A projection names the top level fields to write, e.g. {@code name,ready,status}, and is applied while serializing,
+ * so the fields left out are never looked at.  Nested objects, like a pod's containers, are written whole.
+ */
+@Component
+public class JsonViewWriter {
+    static final String FIELDS_FILTER = "fields";
+    private static final List<Class<?>> VIEW_MODELS = Arrays.asList(Pod.class, PodSummary.class, Deployment.class,
+                                                                    DeploymentSummary.class, ReplicaSet.class,
+                                                                    ReplicaSetSummary.class, Service.class,
+                                                                    Ingress.class, ConfigMap.class,
+                                                                    PersistentVolume.class,
+                                                                    PersistentVolumeClaim.class, Event.class);
+
+    private final ObjectMapper mapper;
+
+    public JsonViewWriter(ObjectMapper objectMapper) {
+        mapper = objectMapper.copy()
+                .registerModule(new SimpleModule("joda-time").addSerializer(ReadableInstant.class,
+                                                                            ToStringSerializer.instance))
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        mapper.getFactory()
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        VIEW_MODELS.forEach(type -> mapper.addMixIn(type, Projected.class));
+    }
+
+    /**
+     * Returns a writer of the view model type that writes only the comma separated fields, or every field when there
+     * are none.
+     *
+     * @throws IllegalArgumentException if the type has no field of one of the names
+     */
+    public ObjectWriter projection(Class<?> type, String fields) {
+        if (isBlank(fields)) {
+            return writer(SimpleBeanPropertyFilter.serializeAll());
+        }
+
+        Set<String> names = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(toCollection(LinkedHashSet::new));
+        Set<String> known = getFields(type);
+        for (String name : names) {
+            if (!known.contains(name)) {
+                throw new IllegalArgumentException(String.format("Unknown field %s, the fields are %s", name,
+                                                                 String.join(",", known)));
+            }
+        }
+        return writer(SimpleBeanPropertyFilter.filterOutAllExcept(names));
+    }
+
+    public void writePage(OutputStream out, Page<?> page, ObjectWriter writer) throws IOException {
+        try (JsonGenerator generator = mapper.getFactory()
+                .createGenerator(out)) {
+            generator.writeStartObject();
+            writeItems(generator, page.getItems(), writer);
+            if (page.hasMore()) {
+                generator.writeStringField("continue", page.getContinueToken());
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    public void writeList(OutputStream out, List<?> items, ObjectWriter writer) throws IOException {
+        try (JsonGenerator generator = mapper.getFactory()
+                .createGenerator(out)) {
+            generator.writeStartObject();
+            writeItems(generator, items, writer);
+            generator.writeEndObject();
+        }
+    }
+
+    public void writeObject(OutputStream out, Object object, ObjectWriter writer) throws IOException {
+        try (JsonGenerator generator = mapper.getFactory()
+                .createGenerator(out)) {
+            writer.writeValue(generator, object);
+        }
+    }
+
+    public void writeMessage(OutputStream out, String message) throws IOException {
+        try (JsonGenerator generator = mapper.getFactory()
+                .createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("message", message);
+            generator.writeEndObject();
+        }
+    }
+
+    private void writeItems(JsonGenerator generator, List<?> items, ObjectWriter writer) throws IOException {
+        generator.writeArrayFieldStart("items");
+        for (Object item : items) {
+            writer.writeValue(generator, item);
+        }
+        generator.writeEndArray();
+    }
+
+    private ObjectWriter writer(SimpleBeanPropertyFilter filter) {
+        return mapper.writer(new SimpleFilterProvider().addFilter(FIELDS_FILTER, filter));
+    }
+
+    private Set<String> getFields(Class<?> type) {
+        return mapper.getSerializationConfig()
+                .introspect(mapper.constructType(type))
+                .findProperties()
+                .stream()
+                .map(BeanPropertyDefinition::getName)
+                .collect(toCollection(TreeSet::new));
+    }
+
+    @JsonFilter(FIELDS_FILTER)
+    private abstract static class Projected {
+    }
+}
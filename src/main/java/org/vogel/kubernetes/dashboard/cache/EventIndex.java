@@ -0,0 +1,194 @@
+package org.vogel.kubernetes.dashboard.cache;
+
+import io.kubernetes.client.models.V1Event;
+import io.kubernetes.client.models.V1ObjectReference;
+import org.joda.time.DateTime;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.nullsFirst;
+import static java.util.stream.Collectors.toList;
+import static org.apache.commons.lang3.StringUtils.defaultString;
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+
+/**
+ * Events grouped by the object they involve, so a describe page finds its events with a hash lookup instead of
+ * filtering every event of the namespace.  Each object keeps only its most recent events, ordered by last timestamp.
+ */
+public class EventIndex implements ResourceCacheListener<V1Event> {
+    private static final Comparator<V1Event> BY_LAST_TIMESTAMP = comparing(EventIndex::timestampOf,
+                                                                           nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(event -> event.getMetadata()
+                    .getName());
+
+    private final int maxEventsPerObject;
+    private volatile ConcurrentMap<String, EventBuffer> objects = new ConcurrentHashMap<>();
+    private volatile ConcurrentMap<String, String> objectKeys = new ConcurrentHashMap<>();
+    private volatile boolean synced;
+
+    public EventIndex(int maxEventsPerObject) {
+        this.maxEventsPerObject = maxEventsPerObject;
+    }
+
+    public boolean hasSynced() {
+        return synced;
+    }
+
+    /**
+     * Returns the events involving the named object, oldest first.  Events of earlier objects with the same name are
+     * included, callers that know the uid should use {@link #get(String)} instead.
+     */
+    public List<V1Event> get(String namespace, String kind, String name) {
+        EventBuffer buffer = objects.get(objectKey(namespace, kind, name));
+        if (buffer == null) {
+            return new ArrayList<>();
+        }
+        return buffer.list();
+    }
+
+    /**
+     * Returns the events involving the object with the uid, oldest first.
+     */
+    public List<V1Event> get(String uid) {
+        String key = objectKeys.get(uid);
+        EventBuffer buffer = key == null ? null : objects.get(key);
+        if (buffer == null) {
+            return new ArrayList<>();
+        }
+        return buffer.list()
+                .stream()
+                .filter(event -> uid.equals(event.getInvolvedObject()
+                                                    .getUid()))
+                .collect(toList());
+    }
+
+    public int size() {
+        return objects.size();
+    }
+
+    @Override
+    public void onAdd(V1Event event) {
+        add(objects, objectKeys, event);
+    }
+
+    @Override
+    public void onUpdate(V1Event oldEvent, V1Event newEvent) {
+        remove(oldEvent);
+        add(objects, objectKeys, newEvent);
+    }
+
+    @Override
+    public void onDelete(V1Event event) {
+        remove(event);
+    }
+
+    @Override
+    public void onReplace(List<V1Event> events) {
+        ConcurrentMap<String, EventBuffer> newObjects = new ConcurrentHashMap<>();
+        ConcurrentMap<String, String> newObjectKeys = new ConcurrentHashMap<>();
+        events.forEach(event -> add(newObjects, newObjectKeys, event));
+        objects = newObjects;
+        objectKeys = newObjectKeys;
+        synced = true;
+    }
+
+    private void add(ConcurrentMap<String, EventBuffer> objects, ConcurrentMap<String, String> objectKeys,
+                     V1Event event) {
+        V1ObjectReference involvedObject = event.getInvolvedObject();
+        if (involvedObject == null) {
+            return;
+        }
+
+        String key = objectKey(event);
+        objects.computeIfAbsent(key, k -> new EventBuffer())
+                .put(event, maxEventsPerObject);
+        if (!isEmpty(involvedObject.getUid())) {
+            objectKeys.put(involvedObject.getUid(), key);
+        }
+    }
+
+    private void remove(V1Event event) {
+        V1ObjectReference involvedObject = event.getInvolvedObject();
+        if (involvedObject == null) {
+            return;
+        }
+
+        String key = objectKey(event);
+        EventBuffer buffer = objects.computeIfPresent(key, (k, events) -> events.remove(event) ? null : events);
+        String uid = involvedObject.getUid();
+        if (!isEmpty(uid) && (buffer == null || !buffer.involves(uid))) {
+            objectKeys.remove(uid, key);
+        }
+    }
+
+    private static String objectKey(V1Event event) {
+        // the event's own namespace, where describe pages look even for the events of cluster scoped objects
+        V1ObjectReference involvedObject = event.getInvolvedObject();
+        return objectKey(event.getMetadata()
+                                 .getNamespace(), involvedObject.getKind(), involvedObject.getName());
+    }
+
+    private static String objectKey(String namespace, String kind, String name) {
+        return String.join("/", defaultString(namespace), defaultString(kind), defaultString(name));
+    }
+
+    private static DateTime timestampOf(V1Event event) {
+        if (event.getLastTimestamp() != null) {
+            return event.getLastTimestamp();
+        }
+        if (event.getFirstTimestamp() != null) {
+            return event.getFirstTimestamp();
+        }
+        return event.getMetadata()
+                .getCreationTimestamp();
+    }
+
+    private static class EventBuffer {
+        private final Map<String, V1Event> byName = new HashMap<>();
+        private final TreeSet<V1Event> ordered = new TreeSet<>(BY_LAST_TIMESTAMP);
+
+        synchronized void put(V1Event event, int maxEvents) {
+            V1Event previous = byName.put(event.getMetadata()
+                                                  .getName(), event);
+            if (previous != null) {
+                ordered.remove(previous);
+            }
+            ordered.add(event);
+            while (ordered.size() > maxEvents) {
+                V1Event oldest = ordered.pollFirst();
+                byName.remove(oldest.getMetadata()
+                                      .getName());
+            }
+        }
+
+        /**
+         * Removes the event, returning whether the buffer is now empty.
+         */
+        synchronized boolean remove(V1Event event) {
+            V1Event previous = byName.remove(event.getMetadata()
+                                                     .getName());
+            if (previous != null) {
+                ordered.remove(previous);
+            }
+            return byName.isEmpty();
+        }
+
+        synchronized boolean involves(String uid) {
+            return ordered.stream()
+                    .anyMatch(event -> uid.equals(event.getInvolvedObject()
+                                                          .getUid()));
+        }
+
+        synchronized List<V1Event> list() {
+            return new ArrayList<>(ordered);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.vogel.kubernetes.dashboard.cache;
+
+import io.kubernetes.client.models.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.vogel.kubernetes.dashboard.client.ApiResource;
+import org.vogel.kubernetes.dashboard.client.ResourceClient;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+@Getter
+public class KubernetesCache {
+    private static final int WATCH_TIMEOUT_SECONDS = 300;
+
+    private final boolean enabled;
+    private final ResourceCache<V1Namespace> namespaces;
+    private final ResourceCache<V1Pod> pods;
+    private final ResourceCache<V1beta2ReplicaSet> replicaSets;
+    private final ResourceCache<V1beta2Deployment> deployments;
+    private final ResourceCache<V1Service> services;
+    private final ResourceCache<V1Endpoints> endpoints;
+    private final ResourceCache<V1beta1Ingress> ingresses;
+    private final ResourceCache<V1ConfigMap> configMaps;
+    private final ResourceCache<V1PersistentVolume> persistentVolumes;
+    private final ResourceCache<V1PersistentVolumeClaim> persistentVolumeClaims;
+    private final ResourceCache<V1Event> events;
+    private final OwnerIndex<V1Pod> podsByController;
+    private final OwnerIndex<V1beta2ReplicaSet> replicaSetsByController;
+    private final LabelIndex<V1Pod> podLabels;
+    private final LabelIndex<V1beta2ReplicaSet> replicaSetLabels;
+    private final LabelIndex<V1beta2Deployment> deploymentLabels;
+    private final EventIndex eventsByObject;
+    @Getter(AccessLevel.NONE)
+    private ExecutorService executor;
+
+    public KubernetesCache(ResourceClient resources, @Value("${kube.cache.enabled:true}") boolean enabled,
+                           @Value("${kube.cache.events-per-object:100}") int eventsPerObject) {
+        this.enabled = enabled;
+        namespaces = createCache(resources, ApiResource.NAMESPACES, V1Namespace::getMetadata);
+        pods = createCache(resources, ApiResource.PODS, V1Pod::getMetadata);
+        replicaSets = createCache(resources, ApiResource.REPLICA_SETS, V1beta2ReplicaSet::getMetadata);
+        deployments = createCache(resources, ApiResource.DEPLOYMENTS, V1beta2Deployment::getMetadata);
+        services = createCache(resources, ApiResource.SERVICES, V1Service::getMetadata);
+        endpoints = createCache(resources, ApiResource.ENDPOINTS, V1Endpoints::getMetadata);
+        ingresses = createCache(resources, ApiResource.INGRESSES, V1beta1Ingress::getMetadata);
+        configMaps = createCache(resources, ApiResource.CONFIG_MAPS, V1ConfigMap::getMetadata);
+        persistentVolumes = createCache(resources, ApiResource.PERSISTENT_VOLUMES, V1PersistentVolume::getMetadata);
+        persistentVolumeClaims = createCache(resources, ApiResource.PERSISTENT_VOLUME_CLAIMS,
+                                             V1PersistentVolumeClaim::getMetadata);
+        events = createCache(resources, ApiResource.EVENTS, V1Event::getMetadata);
+
+        podsByController = new OwnerIndex<>(V1Pod::getMetadata);
+        pods.addListener(podsByController);
+        replicaSetsByController = new OwnerIndex<>(V1beta2ReplicaSet::getMetadata);
+        replicaSets.addListener(replicaSetsByController);
+        podLabels = new LabelIndex<>(V1Pod::getMetadata);
+        pods.addListener(podLabels);
+        replicaSetLabels = new LabelIndex<>(V1beta2ReplicaSet::getMetadata);
+        replicaSets.addListener(replicaSetLabels);
+        deploymentLabels = new LabelIndex<>(V1beta2Deployment::getMetadata);
+        deployments.addListener(deploymentLabels);
+        eventsByObject = new EventIndex(eventsPerObject);
+        events.addListener(eventsByObject);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Kubernetes cache is disabled, all requests will go to the API server");
+            return;
+        }
+        List<ResourceCache<?>> caches = getCaches();
+        executor = Executors.newFixedThreadPool(caches.size(), runnable -> {
+            Thread thread = new Thread(runnable, "kube-cache");
+            thread.setDaemon(true);
+            return thread;
+        });
+        caches.forEach(executor::submit);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            getCaches().forEach(ResourceCache::stop);
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean hasSynced() {
+        return getCaches().stream()
+                .allMatch(ResourceCache::hasSynced);
+    }
+
+    public Map<String, Boolean> getSyncStatus() {
+        Map<String, Boolean> status = new LinkedHashMap<>();
+        getCaches().forEach(cache -> status.put(cache.getKind(), cache.hasSynced()));
+        return status;
+    }
+
+    /**
+     * Returns the cache of the kind, named the way the API names its resources, e.g. {@code replicasets}.
+     */
+    public ResourceCache<?> getCache(String kind) {
+        return getCaches().stream()
+                .filter(resourceCache -> resourceCache.getKind()
+                        .equals(kind))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No cache of " + kind));
+    }
+
+    private static <T, L> ResourceCache<T> createCache(ResourceClient resources, ApiResource<T, L> resource,
+                                                       Function<T, V1ObjectMeta> metadataOf) {
+        return new ResourceCache<>(resource.getPlural(), metadataOf, () -> {
+            L list = resources.list(resource, null, null, null, null, null);
+            String resourceVersion = resource.getListMetadataOf()
+                    .apply(list)
+                    .getResourceVersion();
+            return new ResourceList<>(resource.getItemsOf()
+                                              .apply(list), resourceVersion);
+        }, rv -> resources.watch(resource, null, rv, WATCH_TIMEOUT_SECONDS));
+    }
+
+    private List<ResourceCache<?>> getCaches() {
+        return Arrays.asList(namespaces, pods, replicaSets, deployments, services, endpoints, ingresses, configMaps,
+                             persistentVolumes, persistentVolumeClaims, events);
+    }
+}
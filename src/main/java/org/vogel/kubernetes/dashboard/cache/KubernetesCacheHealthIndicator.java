@@ -0,0 +1,30 @@
+package org.vogel.kubernetes.dashboard.cache;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+@Component
+public class KubernetesCacheHealthIndicator implements HealthIndicator {
+
+    private KubernetesCache cache;
+
+    public KubernetesCacheHealthIndicator(KubernetesCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public Health health() {
+        if (!cache.isEnabled()) {
+            return Health.up()
+                    .withDetail("enabled", false)
+                    .build();
+        }
+
+        // pages fall back to the API server until a cache has synced, so syncing never makes the app unhealthy
+        Health.Builder builder = cache.hasSynced() ? Health.up() : Health.unknown();
+        return builder.withDetail("enabled", true)
+                .withDetails(cache.getSyncStatus())
+                .build();
+    }
+}
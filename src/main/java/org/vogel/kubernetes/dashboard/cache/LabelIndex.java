@@ -0,0 +1,280 @@
+package org.vogel.kubernetes.dashboard.cache;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import org.vogel.kubernetes.dashboard.Page;
+import org.vogel.kubernetes.dashboard.Requirement;
+import org.vogel.kubernetes.dashboard.Selector;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.apache.commons.collections4.MapUtils.emptyIfNull;
+import static org.apache.commons.lang3.StringUtils.defaultString;
+import static org.apache.commons.lang3.StringUtils.equalsAny;
+
+/**
+ * Inverted index from label key and value to the names of the objects carrying it, per namespace, each kept sorted.
+ * A selection walks, in name order, the names of the equality, set or exists requirement that selects the fewest and
+ * checks the labels of each of their objects against the whole selector, so a page reads about as many names as it
+ * holds rather than the whole selection.
+ */
+public class LabelIndex<T> implements ResourceCacheListener<T> {
+    private final Function<T, V1ObjectMeta> metadataOf;
+    private volatile ConcurrentMap<String, Postings<T>> namespaces = new ConcurrentHashMap<>();
+    private volatile boolean synced;
+
+    public LabelIndex(Function<T, V1ObjectMeta> metadataOf) {
+        this.metadataOf = metadataOf;
+    }
+
+    public boolean hasSynced() {
+        return synced;
+    }
+
+    /**
+     * Returns the objects of the namespace matching the selector, sorted by name.
+     */
+    public List<T> select(String namespace, Selector selector) {
+        return page(namespace, selector, null, Integer.MAX_VALUE).getItems();
+    }
+
+    /**
+     * Pages through {@link #select} the same way {@link ResourceCache#page} pages through a namespace.
+     */
+    public Page<T> page(String namespace, Selector selector, String after, int limit) {
+        List<T> items = new ArrayList<>();
+        Postings<T> postings = namespaces.get(defaultString(namespace));
+        if (postings == null) {
+            return new Page<>(items, null);
+        }
+
+        String last = null;
+        Iterator<String> names = postings.candidates(selector, after);
+        while (names.hasNext()) {
+            String name = names.next();
+            T object = postings.objects.get(name);
+            if (object == null || !selector.matches(metadataOf.apply(object)
+                                                             .getLabels())) {
+                continue;
+            }
+            if (items.size() == limit) {
+                return new Page<>(items, last);
+            }
+            items.add(object);
+            last = name;
+        }
+        return new Page<>(items, null);
+    }
+
+    @Override
+    public void onAdd(T object) {
+        add(namespaces, object);
+    }
+
+    @Override
+    public void onUpdate(T oldObject, T newObject) {
+        remove(oldObject);
+        add(namespaces, newObject);
+    }
+
+    @Override
+    public void onDelete(T object) {
+        remove(object);
+    }
+
+    @Override
+    public void onReplace(List<T> objects) {
+        ConcurrentMap<String, Postings<T>> newNamespaces = new ConcurrentHashMap<>();
+        objects.forEach(object -> add(newNamespaces, object));
+        namespaces = newNamespaces;
+        synced = true;
+    }
+
+    private void add(ConcurrentMap<String, Postings<T>> namespaces, T object) {
+        V1ObjectMeta metadata = metadataOf.apply(object);
+        namespaces.computeIfAbsent(defaultString(metadata.getNamespace()), ns -> new Postings<>())
+                .add(metadata.getName(), emptyIfNull(metadata.getLabels()), object);
+    }
+
+    private void remove(T object) {
+        V1ObjectMeta metadata = metadataOf.apply(object);
+        Postings<T> postings = namespaces.get(defaultString(metadata.getNamespace()));
+        if (postings != null) {
+            postings.remove(metadata.getName(), emptyIfNull(metadata.getLabels()));
+        }
+    }
+
+    private static class Postings<T> {
+        private final ConcurrentNavigableMap<String, T> objects = new ConcurrentSkipListMap<>();
+        private final ConcurrentMap<String, ConcurrentMap<String, Names>> labels = new ConcurrentHashMap<>();
+
+        void add(String name, Map<String, String> objectLabels, T object) {
+            objects.put(name, object);
+            objectLabels.forEach((key, value) -> labels.computeIfAbsent(key, k -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(value, v -> new Names())
+                    .add(name));
+        }
+
+        void remove(String name, Map<String, String> objectLabels) {
+            objects.remove(name);
+            // empty postings are dropped so churning labels such as pod-template-hash do not pile up
+            objectLabels.forEach((key, value) -> labels.computeIfPresent(key, (k, values) -> {
+                values.computeIfPresent(value, (v, names) -> {
+                    names.remove(name);
+                    return names.isEmpty() ? null : names;
+                });
+                return values.isEmpty() ? null : values;
+            }));
+        }
+
+        /**
+         * Names that can match, in order, after {@code after}: those the positive requirement selecting the fewest
+         * selects, or every name when the selector has none.
+         */
+        Iterator<String> candidates(Selector selector, String after) {
+            List<Names> smallest = null;
+            long smallestSize = Long.MAX_VALUE;
+            for (Requirement requirement : selector.getRequirements()) {
+                List<Names> selected = select(requirement);
+                if (selected == null) {
+                    continue;
+                }
+                long size = selected.stream()
+                        .mapToLong(Names::size)
+                        .sum();
+                if (size < smallestSize) {
+                    smallest = selected;
+                    smallestSize = size;
+                }
+            }
+            if (smallest == null) {
+                return tail(objects.navigableKeySet(), after);
+            }
+            if (smallest.size() == 1) {
+                return tail(smallest.get(0).sorted, after);
+            }
+
+            List<Iterator<String>> tails = new ArrayList<>();
+            smallest.forEach(names -> tails.add(tail(names.sorted, after)));
+            return new Merge(tails);
+        }
+
+        /**
+         * Returns the names carrying each value the requirement selects, or null when it is not an equality, set or
+         * exists requirement.
+         */
+        private List<Names> select(Requirement requirement) {
+            String operation = requirement.getOperation();
+            if (!equalsAny(operation, "=", "==", "in", "exists")) {
+                return null;
+            }
+
+            List<Names> result = new ArrayList<>();
+            Map<String, Names> values = labels.get(requirement.getKey());
+            if (values == null) {
+                return result;
+            }
+            if (operation.equals("exists")) {
+                result.addAll(values.values());
+            } else {
+                for (String value : requirement.getValues()) {
+                    Names names = values.get(value);
+                    if (names != null) {
+                        result.add(names);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private static Iterator<String> tail(NavigableSet<String> names, String after) {
+            return (after == null ? names : names.tailSet(after, false)).iterator();
+        }
+    }
+
+    /**
+     * The sorted names of the objects carrying one label value, with their count, which a skip list would have to
+     * walk to find.
+     */
+    private static class Names {
+        private final NavigableSet<String> sorted = new ConcurrentSkipListSet<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        void add(String name) {
+            if (sorted.add(name)) {
+                size.incrementAndGet();
+            }
+        }
+
+        void remove(String name) {
+            if (sorted.remove(name)) {
+                size.decrementAndGet();
+            }
+        }
+
+        boolean isEmpty() {
+            return sorted.isEmpty();
+        }
+
+        int size() {
+            return size.get();
+        }
+    }
+
+    /**
+     * Merges sorted name iterators into one.  An object has one value per label key, so the names of the values of a
+     * key never repeat.
+     */
+    private static class Merge implements Iterator<String> {
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing(head -> head.name));
+
+        Merge(Collection<Iterator<String>> iterators) {
+            iterators.forEach(this::advance);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public String next() {
+            Head head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            advance(head.rest);
+            return head.name;
+        }
+
+        private void advance(Iterator<String> iterator) {
+            if (iterator.hasNext()) {
+                heads.add(new Head(iterator.next(), iterator));
+            }
+        }
+
+        private static class Head {
+            private final String name;
+            private final Iterator<String> rest;
+
+            Head(String name, Iterator<String> rest) {
+                this.name = name;
+                this.rest = rest;
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.vogel.kubernetes.dashboard.cache;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+@Getter
+public class NamespaceList {
+    private List<String> names;
+    private String version;
+    private long loadedAt;
+
+    public NamespaceList(List<String> names, long loadedAt) {
+        List<String> sorted = new ArrayList<>(names);
+        Collections.sort(sorted);
+        this.names = Collections.unmodifiableList(sorted);
+        // only the names show up in the dropdown, so status changes on a namespace keep the same version
+        version = String.format("%d-%08x", sorted.size(), String.join(",", sorted)
+                .hashCode());
+        this.loadedAt = loadedAt;
+    }
+}
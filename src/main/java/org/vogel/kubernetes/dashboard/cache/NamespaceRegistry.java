@@ -0,0 +1,93 @@
+package org.vogel.kubernetes.dashboard.cache;
+
+import io.kubernetes.client.ApiException;
+import io.kubernetes.client.models.V1Namespace;
+import io.kubernetes.client.models.V1NamespaceList;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.vogel.kubernetes.dashboard.client.ApiResource;
+import org.vogel.kubernetes.dashboard.client.ResourceClient;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+
+@Slf4j
+@Component
+public class NamespaceRegistry implements ResourceCacheListener<V1Namespace> {
+
+    private ResourceClient resources;
+    private ResourceCache<V1Namespace> namespaceCache;
+    private long refreshMillis;
+    private volatile NamespaceList watched;
+    private volatile NamespaceList polled;
+
+    public NamespaceRegistry(KubernetesCache cache, ResourceClient resources,
+                             @Value("${kube.namespaces.refresh-seconds:30}") long refreshSeconds) {
+        this.resources = resources;
+        namespaceCache = cache.getNamespaces();
+        refreshMillis = TimeUnit.SECONDS.toMillis(refreshSeconds);
+        namespaceCache.addListener(this);
+    }
+
+    public List<String> getNamespaces() throws ApiException {
+        return current().getNames();
+    }
+
+    /**
+     * Returns the version of the namespace list held, or null when getting a current one would take an API call.
+     */
+    public String getVersion() {
+        NamespaceList current = namespaceCache.hasSynced() ? watched : polled;
+        if (current == null || !namespaceCache.hasSynced() &&
+                System.currentTimeMillis() - current.getLoadedAt() > refreshMillis) {
+            return null;
+        }
+        return current.getVersion();
+    }
+
+    public NamespaceList current() throws ApiException {
+        NamespaceList current = watched;
+        if (namespaceCache.hasSynced() && current != null) {
+            return current;
+        }
+
+        current = polled;
+        if (current == null || System.currentTimeMillis() - current.getLoadedAt() > refreshMillis) {
+            V1NamespaceList namespaceList = resources.list(ApiResource.NAMESPACES, null, null, null, null, null);
+            current = new NamespaceList(namespaceList.getItems()
+                                                .stream()
+                                                .map(ns -> ns.getMetadata()
+                                                        .getName())
+                                                .collect(toList()), System.currentTimeMillis());
+            polled = current;
+        }
+        return current;
+    }
+
+    @Override
+    public void onAdd(V1Namespace namespace) {
+        rebuild();
+    }
+
+    @Override
+    public void onDelete(V1Namespace namespace) {
+        rebuild();
+    }
+
+    @Override
+    public void onReplace(List<V1Namespace> namespaces) {
+        rebuild();
+    }
+
+    private void rebuild() {
+        watched = new NamespaceList(namespaceCache.list()
+                                            .stream()
+                                            .map(ns -> ns.getMetadata()
+                                                    .getName())
+                                            .collect(toList()), System.currentTimeMillis());
+        log.debug("Namespace list is now version {}", watched.getVersion());
+    }
+}
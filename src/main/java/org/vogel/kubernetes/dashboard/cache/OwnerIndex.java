@@ -0,0 +1,110 @@
+package org.vogel.kubernetes.dashboard.cache;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1OwnerReference;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import static org.apache.commons.collections4.CollectionUtils.emptyIfNull;
+
+/**
+ * Objects of one cache grouped by the uid of their controller, kept up to date from the cache's events.
+ */
+public class OwnerIndex<T> implements ResourceCacheListener<T> {
+    private final Function<T, V1ObjectMeta> metadataOf;
+    private volatile ConcurrentMap<String, ConcurrentMap<String, T>> children = new ConcurrentHashMap<>();
+    private volatile ConcurrentMap<String, V1OwnerReference> controllers = new ConcurrentHashMap<>();
+    private volatile boolean synced;
+
+    public OwnerIndex(Function<T, V1ObjectMeta> metadataOf) {
+        this.metadataOf = metadataOf;
+    }
+
+    public static Optional<V1OwnerReference> controllerOf(V1ObjectMeta metadata) {
+        return emptyIfNull(metadata.getOwnerReferences()).stream()
+                .filter(owner -> Boolean.TRUE.equals(owner.isController()))
+                .findFirst();
+    }
+
+    public boolean hasSynced() {
+        return synced;
+    }
+
+    public List<T> getChildren(String controllerUid) {
+        Map<String, T> owned = children.get(controllerUid);
+        if (owned == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(owned.values());
+    }
+
+    public V1OwnerReference getController(String uid) {
+        return controllers.get(uid);
+    }
+
+    @Override
+    public void onAdd(T object) {
+        add(children, controllers, object);
+    }
+
+    @Override
+    public void onUpdate(T oldObject, T newObject) {
+        String oldController = controllerUid(oldObject);
+        if (oldController != null && !oldController.equals(controllerUid(newObject))) {
+            remove(oldObject);
+        }
+        add(children, controllers, newObject);
+    }
+
+    @Override
+    public void onDelete(T object) {
+        remove(object);
+    }
+
+    @Override
+    public void onReplace(List<T> objects) {
+        ConcurrentMap<String, ConcurrentMap<String, T>> newChildren = new ConcurrentHashMap<>();
+        ConcurrentMap<String, V1OwnerReference> newControllers = new ConcurrentHashMap<>();
+        objects.forEach(object -> add(newChildren, newControllers, object));
+        children = newChildren;
+        controllers = newControllers;
+        synced = true;
+    }
+
+    private void add(ConcurrentMap<String, ConcurrentMap<String, T>> children,
+                     ConcurrentMap<String, V1OwnerReference> controllers, T object) {
+        V1ObjectMeta metadata = metadataOf.apply(object);
+        Optional<V1OwnerReference> controller = controllerOf(metadata);
+        if (controller.isPresent()) {
+            children.computeIfAbsent(controller.get()
+                                             .getUid(), uid -> new ConcurrentHashMap<>())
+                    .put(metadata.getUid(), object);
+            controllers.put(metadata.getUid(), controller.get());
+        } else {
+            controllers.remove(metadata.getUid());
+        }
+    }
+
+    private void remove(T object) {
+        V1ObjectMeta metadata = metadataOf.apply(object);
+        String controllerUid = controllerUid(object);
+        if (controllerUid != null) {
+            children.computeIfPresent(controllerUid, (uid, owned) -> {
+                owned.remove(metadata.getUid());
+                return owned.isEmpty() ? null : owned;
+            });
+        }
+        controllers.remove(metadata.getUid());
+    }
+
+    private String controllerUid(T object) {
+        return controllerOf(metadataOf.apply(object)).map(V1OwnerReference::getUid)
+                .orElse(null);
+    }
+}
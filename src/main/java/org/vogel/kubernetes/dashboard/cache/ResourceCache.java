@@ -0,0 +1,234 @@
+package org.vogel.kubernetes.dashboard.cache;
+
+import io.kubernetes.client.ApiException;
+import io.kubernetes.client.models.V1ObjectMeta;
+import lombok.extern.slf4j.Slf4j;
+import org.vogel.kubernetes.dashboard.Page;
+import org.vogel.kubernetes.dashboard.client.ApiWatch;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.apache.commons.lang3.StringUtils.defaultString;
+
+/**
+ * In-memory copy of one kind of object kept current by a list followed by a watch.  Only the cache thread writes to
+ * the store; readers get copies of the lists but share the objects, so they must not modify them.
+ */
+@Slf4j
+public class ResourceCache<T> implements Runnable {
+    private static final long MAX_RETRY_DELAY_SECONDS = 30;
+
+    private final String kind;
+    private final Function<T, V1ObjectMeta> metadataOf;
+    private final Lister<T> lister;
+    private final Watcher<T> watcher;
+    private final List<ResourceCacheListener<T>> listeners = new CopyOnWriteArrayList<>();
+    private volatile ConcurrentMap<String, ConcurrentNavigableMap<String, T>> store = new ConcurrentHashMap<>();
+    private volatile String resourceVersion;
+    private volatile boolean synced;
+    private volatile boolean running;
+    private volatile ApiWatch<T> watch;
+
+    @FunctionalInterface
+    public interface Lister<T> {
+        ResourceList<T> list() throws ApiException;
+    }
+
+    @FunctionalInterface
+    public interface Watcher<T> {
+        ApiWatch<T> watch(String resourceVersion) throws ApiException;
+    }
+
+    public ResourceCache(String kind, Function<T, V1ObjectMeta> metadataOf, Lister<T> lister, Watcher<T> watcher) {
+        this.kind = kind;
+        this.metadataOf = metadataOf;
+        this.lister = lister;
+        this.watcher = watcher;
+    }
+
+    public void addListener(ResourceCacheListener<T> listener) {
+        listeners.add(listener);
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public boolean hasSynced() {
+        return synced;
+    }
+
+    public String getResourceVersion() {
+        return resourceVersion;
+    }
+
+    public T get(String namespace, String name) {
+        Map<String, T> objects = store.get(defaultString(namespace));
+        if (objects == null) {
+            return null;
+        }
+        return objects.get(name);
+    }
+
+    public V1ObjectMeta getMetadata(String namespace, String name) {
+        T object = get(namespace, name);
+        return object == null ? null : metadataOf.apply(object);
+    }
+
+    public List<T> list(String namespace) {
+        Map<String, T> objects = store.get(defaultString(namespace));
+        if (objects == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(objects.values());
+    }
+
+    /**
+     * Returns up to {@code limit} objects in name order starting after {@code after}.  The continue token of the page
+     * is the name of its last object when more objects follow.
+     */
+    public Page<T> page(String namespace, String after, int limit) {
+        ConcurrentNavigableMap<String, T> objects = store.get(defaultString(namespace));
+        List<T> items = new ArrayList<>();
+        if (objects == null) {
+            return new Page<>(items, null);
+        }
+
+        Map<String, T> remaining = after == null ? objects : objects.tailMap(after, false);
+        String last = null;
+        for (Map.Entry<String, T> entry : remaining.entrySet()) {
+            if (items.size() == limit) {
+                return new Page<>(items, last);
+            }
+            items.add(entry.getValue());
+            last = entry.getKey();
+        }
+        return new Page<>(items, null);
+    }
+
+    public List<T> list() {
+        List<T> result = new ArrayList<>();
+        new ConcurrentSkipListMap<>(store).values()
+                .forEach(objects -> result.addAll(objects.values()));
+        return result;
+    }
+
+    public int size() {
+        return store.values()
+                .stream()
+                .mapToInt(Map::size)
+                .sum();
+    }
+
+    @Override
+    public void run() {
+        running = true;
+        long retryDelay = 1;
+        while (running) {
+            try {
+                if (resourceVersion == null) {
+                    relist();
+                }
+                watchChanges();
+                retryDelay = 1;
+            } catch (ApiException | RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Error watching {}, retrying in {}s", kind, retryDelay, e);
+                resourceVersion = null;
+                try {
+                    TimeUnit.SECONDS.sleep(retryDelay);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread()
+                            .interrupt();
+                    break;
+                }
+                retryDelay = Math.min(retryDelay * 2, MAX_RETRY_DELAY_SECONDS);
+            }
+        }
+        log.debug("Stopped watching {}", kind);
+    }
+
+    public void stop() {
+        running = false;
+        ApiWatch<T> current = watch;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    void relist() throws ApiException {
+        ResourceList<T> resourceList = lister.list();
+        replace(resourceList.getItems(), resourceList.getResourceVersion());
+        log.debug("Listed {} {} at resource version {}", resourceList.getItems()
+                .size(), kind, resourceVersion);
+    }
+
+    void replace(List<T> items, String listResourceVersion) {
+        ConcurrentMap<String, ConcurrentNavigableMap<String, T>> newStore = new ConcurrentHashMap<>();
+        for (T item : items) {
+            V1ObjectMeta metadata = metadataOf.apply(item);
+            newStore.computeIfAbsent(defaultString(metadata.getNamespace()), ns -> new ConcurrentSkipListMap<>())
+                    .put(metadata.getName(), item);
+        }
+        store = newStore;
+        resourceVersion = listResourceVersion;
+        synced = true;
+        listeners.forEach(listener -> listener.onReplace(items));
+    }
+
+    void apply(String type, T item) {
+        V1ObjectMeta metadata = metadataOf.apply(item);
+        String namespace = defaultString(metadata.getNamespace());
+        switch (type) {
+            case "ADDED":
+            case "MODIFIED":
+                T previous = store.computeIfAbsent(namespace, ns -> new ConcurrentSkipListMap<>())
+                        .put(metadata.getName(), item);
+                if (previous == null) {
+                    listeners.forEach(listener -> listener.onAdd(item));
+                } else {
+                    listeners.forEach(listener -> listener.onUpdate(previous, item));
+                }
+                break;
+            case "DELETED":
+                Map<String, T> objects = store.get(namespace);
+                T removed = objects == null ? null : objects.remove(metadata.getName());
+                listeners.forEach(listener -> listener.onDelete(removed == null ? item : removed));
+                break;
+            default:
+                log.debug("Ignoring {} event for {}", type, kind);
+        }
+        resourceVersion = metadata.getResourceVersion();
+    }
+
+    private void watchChanges() throws ApiException {
+        try (ApiWatch<T> changes = watcher.watch(resourceVersion)) {
+            watch = changes;
+            for (ApiWatch.Event<T> event = changes.next(); event != null; event = changes.next()) {
+                if ("ERROR".equals(event.getType())) {
+                    // usually 410 Gone once our resource version has been compacted away
+                    log.debug("Watch of {} returned {}, relisting", kind, event.getStatus());
+                    resourceVersion = null;
+                    return;
+                }
+                apply(event.getType(), event.getObject());
+            }
+        } catch (IOException e) {
+            throw new ApiException(e);
+        } finally {
+            watch = null;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.vogel.kubernetes.dashboard.cache;
+
+import java.util.List;
+
+public interface ResourceCacheListener<T> {
+    default void onAdd(T object) {
+    }
+
+    default void onUpdate(T oldObject, T newObject) {
+    }
+
+    default void onDelete(T object) {
+    }
+
+    default void onReplace(List<T> objects) {
+    }
+}
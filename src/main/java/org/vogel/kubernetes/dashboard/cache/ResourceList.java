@@ -0,0 +1,13 @@
+package org.vogel.kubernetes.dashboard.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+public class ResourceList<T> {
+    private List<T> items;
+    private String resourceVersion;
+}
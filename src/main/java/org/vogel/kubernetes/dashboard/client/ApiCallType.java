@@ -0,0 +1,23 @@
+package org.vogel.kubernetes.dashboard.client;
+
+/**
+ * The kinds of API server calls, which differ in how long the server may take to answer them.
+ */
+public enum ApiCallType {
+    /**
+     * Reading one object.
+     */
+    READ,
+    /**
+     * Listing objects, which can take a while for a large namespace.
+     */
+    LIST,
+    /**
+     * Reading a log up to its end.
+     */
+    LOG,
+    /**
+     * Watches and followed logs, which stay open and can go quiet for as long as nothing changes.
+     */
+    WATCH
+}
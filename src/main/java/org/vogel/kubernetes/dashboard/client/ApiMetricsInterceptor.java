@@ -0,0 +1,194 @@
+package org.vogel.kubernetes.dashboard.client;
+
+import com.squareup.okhttp.HttpUrl;
+import com.squareup.okhttp.Interceptor;
+import com.squareup.okhttp.MediaType;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+import com.squareup.okhttp.ResponseBody;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okio.Buffer;
+import okio.BufferedSource;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every API server call of one type: the time until the response headers came in, the bytes of the response
+ * body as it is read and the calls that failed.  Calls are told apart by verb and resource, e.g. {@code list pods} or
+ * {@code get pods/log}, never by namespace or name, so the number of meters stays small.
+ * <p>
+ * The body is counted when it is read to its end or closed, so the bytes of a watch or followed log are recorded once
+ * it ends.
+ */
+public class ApiMetricsInterceptor implements Interceptor {
+    static final String REQUESTS = "kube.api.requests";
+    static final String RECEIVED = "kube.api.received";
+    static final String ERRORS = "kube.api.errors";
+
+    private final MeterRegistry registry;
+    private final ApiCallType type;
+
+    public ApiMetricsInterceptor(MeterRegistry registry, ApiCallType type) {
+        this.registry = registry;
+        this.type = type;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        String verb = verbOf(request);
+        String resource = resourceOf(request.httpUrl());
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(request);
+        } catch (IOException | RuntimeException e) {
+            record(verb, resource, "IO_ERROR", start);
+            errors(verb, resource, e.getClass()
+                    .getSimpleName()).increment();
+            throw e;
+        }
+
+        String status = String.valueOf(response.code());
+        record(verb, resource, status, start);
+        if (!response.isSuccessful()) {
+            errors(verb, resource, status).increment();
+        }
+        ResponseBody body = response.body();
+        if (body == null) {
+            return response;
+        }
+        DistributionSummary received = DistributionSummary.builder(RECEIVED)
+                .description("Bytes of API server response bodies")
+                .baseUnit("bytes")
+                .tags("type", type.name(), "verb", verb, "resource", resource)
+                .register(registry);
+        return response.newBuilder()
+                .body(new CountingBody(body, received))
+                .build();
+    }
+
+    static String verbOf(Request request) {
+        if (!"GET".equals(request.method())) {
+            return request.method()
+                    .toLowerCase();
+        }
+        HttpUrl url = request.httpUrl();
+        if ("true".equals(url.queryParameter("watch"))) {
+            return "watch";
+        }
+        List<String> segments = resourceSegments(url);
+        return segments != null && segments.size() == 1 ? "list" : "get";
+    }
+
+    /**
+     * Returns the resource a URL is for, e.g. {@code pods} for {@code /api/v1/namespaces/default/pods/web-1} and
+     * {@code pods/log} for its log.  A URL outside the resource APIs is returned as its path.
+     */
+    static String resourceOf(HttpUrl url) {
+        List<String> segments = resourceSegments(url);
+        if (segments == null || segments.isEmpty()) {
+            return url.encodedPath();
+        }
+        return segments.size() > 2 ? segments.get(0) + "/" + segments.get(2) : segments.get(0);
+    }
+
+    /**
+     * Returns the segments of the path after the API group, version and namespace, or null when it is not a resource
+     * path.
+     */
+    private static List<String> resourceSegments(HttpUrl url) {
+        List<String> segments = url.pathSegments();
+        int start;
+        if (segments.size() >= 2 && "api".equals(segments.get(0))) {
+            start = 2;
+        } else if (segments.size() >= 3 && "apis".equals(segments.get(0))) {
+            start = 3;
+        } else {
+            return null;
+        }
+        // a namespaced resource, not the namespaces themselves
+        if (segments.size() > start + 2 && "namespaces".equals(segments.get(start))) {
+            start += 2;
+        }
+        return segments.subList(start, segments.size());
+    }
+
+    private void record(String verb, String resource, String status, long start) {
+        Timer.builder(REQUESTS)
+                .description("Time until the API server's response headers came in")
+                .tags("type", type.name(), "verb", verb, "resource", resource, "status", status)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private Counter errors(String verb, String resource, String error) {
+        return Counter.builder(ERRORS)
+                .description("API server calls that failed")
+                .tags("type", type.name(), "verb", verb, "resource", resource, "error", error)
+                .register(registry);
+    }
+
+    private static class CountingBody extends ResponseBody {
+        private final ResponseBody body;
+        private final DistributionSummary received;
+        private BufferedSource source;
+        private long count;
+        private boolean recorded;
+
+        CountingBody(ResponseBody body, DistributionSummary received) {
+            this.body = body;
+            this.received = received;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return body.contentType();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return body.contentLength();
+        }
+
+        @Override
+        public BufferedSource source() throws IOException {
+            if (source == null) {
+                source = Okio.buffer(new ForwardingSource(body.source()) {
+                    @Override
+                    public long read(Buffer sink, long byteCount) throws IOException {
+                        long read = super.read(sink, byteCount);
+                        if (read == -1) {
+                            done();
+                        } else {
+                            count += read;
+                        }
+                        return read;
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        done();
+                        super.close();
+                    }
+                });
+            }
+            return source;
+        }
+
+        private void done() {
+            if (!recorded) {
+                recorded = true;
+                received.record(count);
+            }
+        }
+    }
+}
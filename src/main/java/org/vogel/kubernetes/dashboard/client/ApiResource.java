@@ -0,0 +1,93 @@
+package org.vogel.kubernetes.dashboard.client;
+
+import com.google.protobuf.Descriptors.Descriptor;
+import io.kubernetes.client.models.*;
+import io.kubernetes.client.proto.V1;
+import io.kubernetes.client.proto.V1beta1Extensions;
+import io.kubernetes.client.proto.V1beta2Apps;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A kind of built-in object the dashboard reads: where the API serves it, and the protobuf messages and models of
+ * one object and of a list of them.
+ */
+@Getter
+public final class ApiResource<T, L> {
+    public static final ApiResource<V1Namespace, V1NamespaceList> NAMESPACES = new ApiResource<>(
+            "/api/v1", "namespaces", V1.Namespace.getDescriptor(), V1Namespace.class, V1.NamespaceList.getDescriptor(),
+            V1NamespaceList.class, V1NamespaceList::getItems, V1NamespaceList::getMetadata);
+    public static final ApiResource<V1Pod, V1PodList> PODS = new ApiResource<>(
+            "/api/v1", "pods", V1.Pod.getDescriptor(), V1Pod.class, V1.PodList.getDescriptor(), V1PodList.class,
+            V1PodList::getItems, V1PodList::getMetadata);
+    public static final ApiResource<V1beta2ReplicaSet, V1beta2ReplicaSetList> REPLICA_SETS = new ApiResource<>(
+            "/apis/apps/v1beta2", "replicasets", V1beta2Apps.ReplicaSet.getDescriptor(), V1beta2ReplicaSet.class,
+            V1beta2Apps.ReplicaSetList.getDescriptor(), V1beta2ReplicaSetList.class, V1beta2ReplicaSetList::getItems,
+            V1beta2ReplicaSetList::getMetadata);
+    public static final ApiResource<V1beta2Deployment, V1beta2DeploymentList> DEPLOYMENTS = new ApiResource<>(
+            "/apis/apps/v1beta2", "deployments", V1beta2Apps.Deployment.getDescriptor(), V1beta2Deployment.class,
+            V1beta2Apps.DeploymentList.getDescriptor(), V1beta2DeploymentList.class, V1beta2DeploymentList::getItems,
+            V1beta2DeploymentList::getMetadata);
+    public static final ApiResource<V1Service, V1ServiceList> SERVICES = new ApiResource<>(
+            "/api/v1", "services", V1.Service.getDescriptor(), V1Service.class, V1.ServiceList.getDescriptor(),
+            V1ServiceList.class, V1ServiceList::getItems, V1ServiceList::getMetadata);
+    public static final ApiResource<V1Endpoints, V1EndpointsList> ENDPOINTS = new ApiResource<>(
+            "/api/v1", "endpoints", V1.Endpoints.getDescriptor(), V1Endpoints.class, V1.EndpointsList.getDescriptor(),
+            V1EndpointsList.class, V1EndpointsList::getItems, V1EndpointsList::getMetadata);
+    public static final ApiResource<V1beta1Ingress, V1beta1IngressList> INGRESSES = new ApiResource<>(
+            "/apis/extensions/v1beta1", "ingresses", V1beta1Extensions.Ingress.getDescriptor(), V1beta1Ingress.class,
+            V1beta1Extensions.IngressList.getDescriptor(), V1beta1IngressList.class, V1beta1IngressList::getItems,
+            V1beta1IngressList::getMetadata);
+    public static final ApiResource<V1ConfigMap, V1ConfigMapList> CONFIG_MAPS = new ApiResource<>(
+            "/api/v1", "configmaps", V1.ConfigMap.getDescriptor(), V1ConfigMap.class, V1.ConfigMapList.getDescriptor(),
+            V1ConfigMapList.class, V1ConfigMapList::getItems, V1ConfigMapList::getMetadata);
+    public static final ApiResource<V1PersistentVolume, V1PersistentVolumeList> PERSISTENT_VOLUMES =
+            new ApiResource<>("/api/v1", "persistentvolumes", V1.PersistentVolume.getDescriptor(),
+                              V1PersistentVolume.class, V1.PersistentVolumeList.getDescriptor(),
+                              V1PersistentVolumeList.class, V1PersistentVolumeList::getItems,
+                              V1PersistentVolumeList::getMetadata);
+    public static final ApiResource<V1PersistentVolumeClaim, V1PersistentVolumeClaimList> PERSISTENT_VOLUME_CLAIMS =
+            new ApiResource<>("/api/v1", "persistentvolumeclaims", V1.PersistentVolumeClaim.getDescriptor(),
+                              V1PersistentVolumeClaim.class, V1.PersistentVolumeClaimList.getDescriptor(),
+                              V1PersistentVolumeClaimList.class, V1PersistentVolumeClaimList::getItems,
+                              V1PersistentVolumeClaimList::getMetadata);
+    public static final ApiResource<V1Event, V1EventList> EVENTS = new ApiResource<>(
+            "/api/v1", "events", V1.Event.getDescriptor(), V1Event.class, V1.EventList.getDescriptor(),
+            V1EventList.class, V1EventList::getItems, V1EventList::getMetadata);
+
+    private final String groupPath;
+    private final String plural;
+    private final Descriptor descriptor;
+    private final Class<T> type;
+    private final Descriptor listDescriptor;
+    private final Class<L> listType;
+    private final Function<L, List<T>> itemsOf;
+    private final Function<L, V1ListMeta> listMetadataOf;
+
+    private ApiResource(String groupPath, String plural, Descriptor descriptor, Class<T> type,
+                        Descriptor listDescriptor, Class<L> listType, Function<L, List<T>> itemsOf,
+                        Function<L, V1ListMeta> listMetadataOf) {
+        this.groupPath = groupPath;
+        this.plural = plural;
+        this.descriptor = descriptor;
+        this.type = type;
+        this.listDescriptor = listDescriptor;
+        this.listType = listType;
+        this.itemsOf = itemsOf;
+        this.listMetadataOf = listMetadataOf;
+    }
+
+    /**
+     * Returns the path of the objects of the namespace, or of all of them when the namespace is null.
+     */
+    public String pathOf(String namespace) {
+        return namespace == null ? groupPath + "/" + plural : groupPath + "/namespaces/" + namespace + "/" + plural;
+    }
+
+    @Override
+    public String toString() {
+        return plural;
+    }
+}
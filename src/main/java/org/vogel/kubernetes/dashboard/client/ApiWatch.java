@@ -0,0 +1,64 @@
+package org.vogel.kubernetes.dashboard.client;
+
+import com.squareup.okhttp.ResponseBody;
+import io.kubernetes.client.models.V1Status;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import okio.BufferedSource;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * The changes a watch of the API server sends, read one at a time in whichever format the server answered with.
+ */
+@Slf4j
+public class ApiWatch<T> implements Closeable {
+    private final ResponseBody body;
+    private final EventReader<T> reader;
+
+    @FunctionalInterface
+    interface EventReader<T> {
+        /**
+         * Returns the next change in the source, or null once the server has ended the watch.
+         */
+        Event<T> read(BufferedSource source) throws IOException;
+    }
+
+    ApiWatch(ResponseBody body, EventReader<T> reader) {
+        this.body = body;
+        this.reader = reader;
+    }
+
+    /**
+     * Waits for the next change and returns it, or null once the server has ended the watch.
+     */
+    public Event<T> next() throws IOException {
+        return reader.read(body.source());
+    }
+
+    /**
+     * Ends the watch, which also ends a {@link #next()} waiting on another thread.
+     */
+    @Override
+    public void close() {
+        try {
+            body.close();
+        } catch (IOException e) {
+            log.debug("Error closing watch", e);
+        }
+    }
+
+    /**
+     * One change: {@code ADDED}, {@code MODIFIED} or {@code DELETED} with the object, or {@code ERROR} with the
+     * status the server ended the watch with.
+     */
+    @AllArgsConstructor
+    @Getter
+    public static class Event<T> {
+        private final String type;
+        private final T object;
+        private final V1Status status;
+    }
+}
@@ -0,0 +1,84 @@
+package org.vogel.kubernetes.dashboard.client;
+
+import com.squareup.okhttp.ConnectionPool;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Protocol;
+import io.kubernetes.client.ApiClient;
+import io.kubernetes.client.apis.AppsV1beta2Api;
+import io.kubernetes.client.apis.CoreV1Api;
+import io.kubernetes.client.apis.ExtensionsV1beta1Api;
+import io.kubernetes.client.util.Config;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The API server clients, one per type of call.  They share one connection pool, so connections are kept alive and
+ * reused across all of them, and speak HTTP/2 when the server and the JVM can.  Each type has its own read timeout;
+ * watches and followed logs have none, since they can go quiet for as long as the cluster does.  Every call is
+ * recorded by an {@link ApiMetricsInterceptor}.
+ */
+@Component
+public class KubernetesClients {
+    private final Map<ApiCallType, ApiClient> clients = new EnumMap<>(ApiCallType.class);
+    private final Map<ApiCallType, CoreV1Api> coreApis = new EnumMap<>(ApiCallType.class);
+    private final Map<ApiCallType, AppsV1beta2Api> appsApis = new EnumMap<>(ApiCallType.class);
+    private final Map<ApiCallType, ExtensionsV1beta1Api> extensionsApis = new EnumMap<>(ApiCallType.class);
+
+    public KubernetesClients(MeterRegistry registry,
+                             @Value("${kube.client.max-idle-connections:10}") int maxIdleConnections,
+                             @Value("${kube.client.keep-alive-seconds:300}") long keepAliveSeconds,
+                             @Value("${kube.client.connect-timeout-seconds:10}") long connectTimeoutSeconds,
+                             @Value("${kube.client.read-timeout-seconds:30}") long readTimeoutSeconds,
+                             @Value("${kube.client.list-timeout-seconds:60}") long listTimeoutSeconds,
+                             @Value("${kube.client.log-timeout-seconds:60}") long logTimeoutSeconds)
+            throws IOException {
+        OkHttpClient base = Config.defaultClient()
+                .getHttpClient();
+        base.setConnectionPool(new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS));
+        base.setProtocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1));
+        base.setConnectTimeout(connectTimeoutSeconds, TimeUnit.SECONDS);
+
+        Map<ApiCallType, Long> readTimeouts = new EnumMap<>(ApiCallType.class);
+        readTimeouts.put(ApiCallType.READ, readTimeoutSeconds);
+        readTimeouts.put(ApiCallType.LIST, listTimeoutSeconds);
+        readTimeouts.put(ApiCallType.LOG, logTimeoutSeconds);
+        readTimeouts.put(ApiCallType.WATCH, 0L);
+        for (ApiCallType type : ApiCallType.values()) {
+            // a client of its own carries the credentials, the copy of the base one the pool and TLS settings
+            ApiClient client = Config.defaultClient();
+            OkHttpClient httpClient = base.clone();
+            httpClient.setReadTimeout(readTimeouts.get(type), TimeUnit.SECONDS);
+            httpClient.interceptors()
+                    .add(new ApiMetricsInterceptor(registry, type));
+            client.setHttpClient(httpClient);
+
+            clients.put(type, client);
+            coreApis.put(type, new CoreV1Api(client));
+            appsApis.put(type, new AppsV1beta2Api(client));
+            extensionsApis.put(type, new ExtensionsV1beta1Api(client));
+        }
+    }
+
+    public ApiClient client(ApiCallType type) {
+        return clients.get(type);
+    }
+
+    public CoreV1Api core(ApiCallType type) {
+        return coreApis.get(type);
+    }
+
+    public AppsV1beta2Api apps(ApiCallType type) {
+        return appsApis.get(type);
+    }
+
+    public ExtensionsV1beta1Api extensions(ApiCallType type) {
+        return extensionsApis.get(type);
+    }
+}
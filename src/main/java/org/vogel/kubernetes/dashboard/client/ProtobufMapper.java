@@ -0,0 +1,461 @@
+package org.vogel.kubernetes.dashboard.client;
+
+import com.google.gson.annotations.SerializedName;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.Descriptors.Descriptor;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.WireFormat;
+import io.kubernetes.client.custom.IntOrString;
+import io.kubernetes.client.custom.Quantity;
+import io.kubernetes.client.models.V1ListMeta;
+import lombok.extern.slf4j.Slf4j;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Decodes the API server's protobuf straight into the client's models, the same ones the JSON is read into, without
+ * building the generated messages first.  The Kubernetes messages name their fields the way the JSON does, so each
+ * proto field goes to the model field serialized under its name, and the plan of which field number goes where is
+ * worked out once per message type.
+ * <p>
+ * A struct embedded in another is a field of its own in protobuf, e.g. a probe's {@code handler}, where the JSON and
+ * the models have its fields inline, so a message field the model has no field for is read into the model itself.
+ * <p>
+ * The messages always carry their strings and numbers, where the JSON leaves most of them out when empty.  A single
+ * empty string is left out here too so the models come out the same either way; empty lists and maps keep the
+ * model's default.
+ */
+@Slf4j
+public class ProtobufMapper {
+    private static final String TIME = "k8s.io.apimachinery.pkg.apis.meta.v1.Time";
+    private static final String MICRO_TIME = "k8s.io.apimachinery.pkg.apis.meta.v1.MicroTime";
+    private static final String INT_OR_STRING = "k8s.io.apimachinery.pkg.util.intstr.IntOrString";
+    private static final String QUANTITY = "k8s.io.apimachinery.pkg.api.resource.Quantity";
+    /**
+     * String fields the servers send that the messages the client was generated from predate, by number.
+     */
+    private static final Map<String, Map<Integer, String>> NEWER_FIELDS = Map.of(
+            "k8s.io.apimachinery.pkg.apis.meta.v1.ListMeta", Map.of(3, "continue"));
+
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Descriptor, Plan>> plans = new ConcurrentHashMap<>();
+
+    /**
+     * Decodes the encoded message of the descriptor's type into a model of the type.
+     */
+    public <T> T map(ByteString bytes, Descriptor descriptor, Class<T> type) throws IOException {
+        CodedInputStream input = bytes.newCodedInput();
+        input.setSizeLimit(Integer.MAX_VALUE);
+        return type.cast(planOf(descriptor, type).read(input));
+    }
+
+    /**
+     * Decodes a list message of the descriptor's type up to the input's limit, handing each item to the consumer as
+     * soon as it is decoded, and returns the list's metadata.
+     */
+    <T> V1ListMeta mapList(CodedInputStream input, Descriptor listDescriptor, Class<T> type,
+                           Consumer<? super T> consumer) throws IOException {
+        FieldDescriptor metadata = listDescriptor.findFieldByName("metadata");
+        FieldDescriptor items = listDescriptor.findFieldByName("items");
+        Plan metadataPlan = planOf(metadata.getMessageType(), V1ListMeta.class);
+        Plan itemPlan = planOf(items.getMessageType(), type);
+        V1ListMeta listMeta = null;
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            int number = WireFormat.getTagFieldNumber(tag);
+            if (number == metadata.getNumber()) {
+                listMeta = (V1ListMeta) readMessage(input, metadataPlan::read);
+            } else if (number == items.getNumber()) {
+                consumer.accept(type.cast(readMessage(input, itemPlan::read)));
+            } else {
+                input.skipField(tag);
+            }
+        }
+        return listMeta;
+    }
+
+    private Plan planOf(Descriptor descriptor, Class<?> type) {
+        return plans.computeIfAbsent(type, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(descriptor, key -> new Plan(descriptor, type));
+    }
+
+    private static Map<String, Field> serializedFields(Class<?> type) {
+        Map<String, Field> fields = new HashMap<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                SerializedName name = field.getAnnotation(SerializedName.class);
+                if (name != null && !Modifier.isStatic(field.getModifiers())) {
+                    field.setAccessible(true);
+                    fields.putIfAbsent(name.value(), field);
+                }
+            }
+        }
+        return fields;
+    }
+
+    @FunctionalInterface
+    private interface Reader {
+        Object read(CodedInputStream input) throws IOException;
+    }
+
+    /**
+     * Returns the reader of one value of the field as the type, or null when the model cannot hold it.
+     */
+    private Reader readerOf(FieldDescriptor descriptor, Type type) {
+        if (!(type instanceof Class)) {
+            return null;
+        }
+        Class<?> target = (Class<?>) type;
+        switch (descriptor.getType()) {
+            case STRING:
+                return target == String.class ? CodedInputStream::readString : null;
+            case INT32:
+                if (target == Integer.class) {
+                    return CodedInputStream::readInt32;
+                }
+                return target == Long.class ? input -> (long) input.readInt32() : null;
+            case INT64:
+                if (target == Long.class) {
+                    return CodedInputStream::readInt64;
+                }
+                return target == Integer.class ? input -> (int) input.readInt64() : null;
+            case DOUBLE:
+                return target == Double.class ? CodedInputStream::readDouble : null;
+            case FLOAT:
+                return target == Float.class ? CodedInputStream::readFloat : null;
+            case BOOL:
+                return target == Boolean.class ? CodedInputStream::readBool : null;
+            case BYTES:
+                if (target == byte[].class) {
+                    return CodedInputStream::readByteArray;
+                }
+                return target == String.class ? input -> input.readBytes()
+                        .toStringUtf8() : null;
+            case MESSAGE:
+                Reader reader = messageReaderOf(descriptor.getMessageType(), target);
+                return reader == null ? null : input -> readMessage(input, reader);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the reader of the fields of a message, up to the limit of its length.
+     */
+    private Reader messageReaderOf(Descriptor descriptor, Class<?> target) {
+        switch (descriptor.getFullName()) {
+            case TIME:
+            case MICRO_TIME:
+                return target == DateTime.class ? ProtobufMapper::readTime : null;
+            case INT_OR_STRING:
+                return target == IntOrString.class ? ProtobufMapper::readIntOrString : null;
+            case QUANTITY:
+                if (target == Quantity.class) {
+                    return input -> Quantity.fromString(readQuantity(input));
+                }
+                // some models, e.g. an empty dir's size limit, keep the quantity as it was written
+                return target == String.class ? ProtobufMapper::readQuantity : null;
+            default:
+                break;
+        }
+        if (!target.getName()
+                .startsWith("io.kubernetes.client.models.")) {
+            return null;
+        }
+        return new Reader() {
+            // resolved on first use, since the types can nest themselves
+            private Plan plan;
+
+            @Override
+            public Object read(CodedInputStream input) throws IOException {
+                if (plan == null) {
+                    plan = planOf(descriptor, target);
+                }
+                return plan.read(input);
+            }
+        };
+    }
+
+    private static Object readMessage(CodedInputStream input, Reader reader) throws IOException {
+        int limit = input.pushLimit(input.readRawVarint32());
+        Object value = reader.read(input);
+        input.popLimit(limit);
+        return value;
+    }
+
+    private static DateTime readTime(CodedInputStream input) throws IOException {
+        long seconds = 0;
+        int nanos = 0;
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1:
+                    seconds = input.readInt64();
+                    break;
+                case 2:
+                    nanos = input.readInt32();
+                    break;
+                default:
+                    input.skipField(tag);
+            }
+        }
+        return new DateTime(seconds * 1000 + nanos / 1000000);
+    }
+
+    private static IntOrString readIntOrString(CodedInputStream input) throws IOException {
+        long kind = 0;
+        int intVal = 0;
+        String strVal = "";
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case 1:
+                    kind = input.readInt64();
+                    break;
+                case 2:
+                    intVal = input.readInt32();
+                    break;
+                case 3:
+                    strVal = input.readString();
+                    break;
+                default:
+                    input.skipField(tag);
+            }
+        }
+        return kind == 1 ? new IntOrString(strVal) : new IntOrString(intVal);
+    }
+
+    private static String readQuantity(CodedInputStream input) throws IOException {
+        String string = "";
+        for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+            if (WireFormat.getTagFieldNumber(tag) == 1) {
+                string = input.readString();
+            } else {
+                input.skipField(tag);
+            }
+        }
+        return string;
+    }
+
+    private class Plan {
+        private final Constructor<?> constructor;
+        private final Mapping[] mappings;
+
+        Plan(Descriptor descriptor, Class<?> type) {
+            try {
+                constructor = type.getConstructor();
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException(type + " cannot be created", e);
+            }
+            Map<String, Field> fields = serializedFields(type);
+            Map<Integer, String> newerFields = NEWER_FIELDS.getOrDefault(descriptor.getFullName(), Map.of());
+            int maxNumber = newerFields.keySet()
+                    .stream()
+                    .mapToInt(Integer::intValue)
+                    .max()
+                    .orElse(0);
+            for (FieldDescriptor fieldDescriptor : descriptor.getFields()) {
+                maxNumber = Math.max(maxNumber, fieldDescriptor.getNumber());
+            }
+            mappings = new Mapping[maxNumber + 1];
+
+            for (FieldDescriptor fieldDescriptor : descriptor.getFields()) {
+                Field field = fields.get(fieldDescriptor.getName());
+                Mapping mapping;
+                if (field != null) {
+                    mapping = mappingOf(fieldDescriptor, field);
+                } else if (fieldDescriptor.getJavaType() == FieldDescriptor.JavaType.MESSAGE &&
+                        !fieldDescriptor.isRepeated()) {
+                    mapping = new InlineMapping(fieldDescriptor.getMessageType(), type);
+                } else {
+                    mapping = null;
+                }
+                if (mapping == null) {
+                    log.debug("Leaving out {} of {}", fieldDescriptor.getFullName(), type.getSimpleName());
+                } else {
+                    mappings[fieldDescriptor.getNumber()] = mapping;
+                }
+            }
+            newerFields.forEach((number, name) -> {
+                Field field = fields.get(name);
+                if (field != null && field.getType() == String.class) {
+                    mappings[number] = new FieldMapping(field, CodedInputStream::readString);
+                }
+            });
+        }
+
+        private Mapping mappingOf(FieldDescriptor descriptor, Field field) {
+            Type type = field.getGenericType();
+            if (descriptor.isMapField()) {
+                if (!(type instanceof ParameterizedType) || field.getType() != Map.class) {
+                    return null;
+                }
+                Descriptor entry = descriptor.getMessageType();
+                Reader key = readerOf(entry.findFieldByName("key"), String.class);
+                Reader value = readerOf(entry.findFieldByName("value"), ((ParameterizedType) type)
+                        .getActualTypeArguments()[1]);
+                return key == null || value == null ? null : new MapMapping(field, key, value);
+            }
+            if (descriptor.isRepeated()) {
+                if (!(type instanceof ParameterizedType) || field.getType() != List.class) {
+                    return null;
+                }
+                Reader reader = readerOf(descriptor, ((ParameterizedType) type).getActualTypeArguments()[0]);
+                return reader == null ? null : new ListMapping(field, reader, descriptor.isPackable());
+            }
+            Reader reader = readerOf(descriptor, type);
+            return reader == null ? null : new FieldMapping(field, reader);
+        }
+
+        Object read(CodedInputStream input) throws IOException {
+            Object model;
+            try {
+                model = constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(constructor.getDeclaringClass() + " cannot be created", e);
+            }
+            readInto(input, model);
+            return model;
+        }
+
+        void readInto(CodedInputStream input, Object model) throws IOException {
+            for (int tag = input.readTag(); tag != 0; tag = input.readTag()) {
+                int number = WireFormat.getTagFieldNumber(tag);
+                Mapping mapping = number < mappings.length ? mappings[number] : null;
+                if (mapping == null) {
+                    input.skipField(tag);
+                } else {
+                    try {
+                        mapping.read(input, tag, model);
+                    } catch (IllegalAccessException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+        }
+    }
+
+    private interface Mapping {
+        void read(CodedInputStream input, int tag, Object model) throws IOException, IllegalAccessException;
+    }
+
+    private class InlineMapping implements Mapping {
+        private final Descriptor descriptor;
+        private final Class<?> type;
+        private Plan plan;
+
+        InlineMapping(Descriptor descriptor, Class<?> type) {
+            this.descriptor = descriptor;
+            this.type = type;
+        }
+
+        @Override
+        public void read(CodedInputStream input, int tag, Object model) throws IOException {
+            if (plan == null) {
+                plan = planOf(descriptor, type);
+            }
+            int limit = input.pushLimit(input.readRawVarint32());
+            plan.readInto(input, model);
+            input.popLimit(limit);
+        }
+    }
+
+    private static class FieldMapping implements Mapping {
+        private final Field field;
+        private final Reader reader;
+
+        FieldMapping(Field field, Reader reader) {
+            this.field = field;
+            this.reader = reader;
+        }
+
+        @Override
+        public void read(CodedInputStream input, int tag, Object model) throws IOException, IllegalAccessException {
+            Object value = reader.read(input);
+            if (!"".equals(value)) {
+                field.set(model, value);
+            }
+        }
+    }
+
+    private static class ListMapping implements Mapping {
+        private final Field field;
+        private final Reader reader;
+        private final boolean packable;
+
+        ListMapping(Field field, Reader reader, boolean packable) {
+            this.field = field;
+            this.reader = reader;
+            this.packable = packable;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void read(CodedInputStream input, int tag, Object model) throws IOException, IllegalAccessException {
+            // the models start out with either no list or an empty one of their own
+            List<Object> values = (List<Object>) field.get(model);
+            if (values == null) {
+                values = new ArrayList<>();
+                field.set(model, values);
+            }
+            if (packable && WireFormat.getTagWireType(tag) == WireFormat.WIRETYPE_LENGTH_DELIMITED) {
+                int limit = input.pushLimit(input.readRawVarint32());
+                while (input.getBytesUntilLimit() > 0) {
+                    values.add(reader.read(input));
+                }
+                input.popLimit(limit);
+            } else {
+                values.add(reader.read(input));
+            }
+        }
+    }
+
+    private static class MapMapping implements Mapping {
+        private final Field field;
+        private final Reader key;
+        private final Reader value;
+
+        MapMapping(Field field, Reader key, Reader value) {
+            this.field = field;
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void read(CodedInputStream input, int tag, Object model) throws IOException, IllegalAccessException {
+            Map<Object, Object> values = (Map<Object, Object>) field.get(model);
+            if (values == null) {
+                values = new HashMap<>();
+                field.set(model, values);
+            }
+            Object entryKey = "";
+            Object entryValue = null;
+            int limit = input.pushLimit(input.readRawVarint32());
+            for (int entryTag = input.readTag(); entryTag != 0; entryTag = input.readTag()) {
+                switch (WireFormat.getTagFieldNumber(entryTag)) {
+                    case 1:
+                        entryKey = key.read(input);
+                        break;
+                    case 2:
+                        entryValue = value.read(input);
+                        break;
+                    default:
+                        input.skipField(entryTag);
+                }
+            }
+            input.popLimit(limit);
+            values.put(entryKey, entryValue);
+        }
+    }
+}
@@ -7,9 +7,16 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.vogel.kubernetes.dashboard.Description;
+import org.vogel.kubernetes.dashboard.ETags;
 import org.vogel.kubernetes.dashboard.KubernetesUtils;
+import org.vogel.kubernetes.dashboard.Page;
+import org.vogel.kubernetes.dashboard.PageExecutor;
 
 import javax.validation.constraints.NotNull;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Controller
@@ -18,39 +25,59 @@ public class ConfigMapController {
 
     private KubernetesUtils kubeUtils;
 
-    public ConfigMapController(KubernetesUtils kubeUtils) {
+    private PageExecutor pageExecutor;
+
+    public ConfigMapController(KubernetesUtils kubeUtils, PageExecutor pageExecutor) {
         this.kubeUtils = kubeUtils;
+        this.pageExecutor = pageExecutor;
     }
 
     @GetMapping
-    public String listConfigMaps(Model model, @PathVariable("namespace") String namespace) {
+    public CompletableFuture<String> listConfigMaps(
+            Model model, WebRequest request, @PathVariable("namespace") String namespace,
+            @RequestParam(value = "limit", defaultValue = Page.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "continue", required = false) String continueToken) {
         log.debug("In listConfigMaps with namespace: {}", namespace);
-        try {
-            model.addAttribute("configMaps", kubeUtils.getConfigMaps(namespace));
-            model.addAttribute("namespace", namespace);
-            model.addAttribute("namespaces", kubeUtils.getNamespaces());
-            return "config_maps";
-        } catch (ApiException e) {
-            log.error("Error getting list of config maps", e);
-            return "error";
+        if (ETags.checkNotModified(request, kubeUtils.getListVersion("configmaps", continueToken),
+                                   kubeUtils.getNamespacesVersion())) {
+            return null;
         }
+        return pageExecutor.render(() -> {
+            try {
+                Page<ConfigMap> page = kubeUtils.getConfigMapsPage(namespace, limit, continueToken);
+                model.addAttribute("configMaps", page.getItems());
+                model.addAttribute("limit", limit);
+                model.addAttribute("continueToken", page.getContinueToken());
+                model.addAttribute("namespace", namespace);
+                model.addAttribute("namespaces", kubeUtils.getNamespaces());
+                return "config_maps";
+            } catch (ApiException e) {
+                log.error("Error getting list of config maps", e);
+                return "error";
+            }
+        });
     }
 
     @GetMapping("/{configMapName}")
-    public String describeConfigMap(Model model, @PathVariable("namespace") @NotNull String namespace,
-                                    @PathVariable @NotNull String configMapName) {
+    public CompletableFuture<String> describeConfigMap(Model model, WebRequest request,
+                                                       @PathVariable("namespace") @NotNull String namespace,
+                                                       @PathVariable @NotNull String configMapName) {
         log.debug("In describeConfigMap with namespace: {} and config map: {}", namespace, configMapName);
-        try {
-            ConfigMap configMap = kubeUtils.getConfigMap(namespace, configMapName);
-            model.addAttribute("configMap", configMap);
-            model.addAttribute("configMapName", configMapName);
-            model.addAttribute("events",
-                               kubeUtils.getEvents(namespace, "ConfigMap", configMapName, configMap.getUid()));
-            model.addAttribute("namespace", namespace);
-            return "config_map_describe";
-        } catch (ApiException e) {
-            log.error("Error getting config maps", e);
-            return "error";
+        if (ETags.checkNotModified(request, kubeUtils.getObjectVersion("configmaps", namespace, configMapName))) {
+            return null;
         }
+        return pageExecutor.render(() -> {
+            try {
+                Description<ConfigMap> description = kubeUtils.describeConfigMap(namespace, configMapName);
+                model.addAttribute("configMap", description.getObject());
+                model.addAttribute("configMapName", configMapName);
+                model.addAttribute("events", description.getEvents());
+                model.addAttribute("namespace", namespace);
+                return "config_map_describe";
+            } catch (ApiException e) {
+                log.error("Error getting config maps", e);
+                return "error";
+            }
+        });
     }
 }
@@ -7,9 +7,18 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.vogel.kubernetes.dashboard.Description;
+import org.vogel.kubernetes.dashboard.ETags;
 import org.vogel.kubernetes.dashboard.KubernetesUtils;
+import org.vogel.kubernetes.dashboard.Page;
+import org.vogel.kubernetes.dashboard.PageExecutor;
+import org.vogel.kubernetes.dashboard.RequirementException;
+import org.vogel.kubernetes.dashboard.Selector;
 
 import javax.validation.constraints.NotNull;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Controller
@@ -18,39 +27,69 @@ public class DeploymentController {
 
     private KubernetesUtils kubeUtils;
 
-    public DeploymentController(KubernetesUtils kubeUtils) {
+    private PageExecutor pageExecutor;
+
+    public DeploymentController(KubernetesUtils kubeUtils, PageExecutor pageExecutor) {
         this.kubeUtils = kubeUtils;
+        this.pageExecutor = pageExecutor;
     }
 
     @GetMapping
-    public String listDeployments(Model model, @PathVariable("namespace") String namespace) {
+    public CompletableFuture<String> listDeployments(
+            Model model, WebRequest request, @PathVariable("namespace") String namespace,
+            @RequestParam(value = "limit", defaultValue = Page.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "continue", required = false) String continueToken,
+            @RequestParam(value = "labelSelector", required = false) String labelSelector) {
         log.debug("In listDeployments with namespace: {}", namespace);
-        try {
-            model.addAttribute("deployments", kubeUtils.getDeployments(namespace));
-            model.addAttribute("namespace", namespace);
-            model.addAttribute("namespaces", kubeUtils.getNamespaces());
-            return "deployments";
-        } catch (ApiException e) {
-            log.error("Error getting list of deployments", e);
-            return "error";
+        // read before the page, which the live updates then bring forward from this version
+        String listVersion = kubeUtils.getListVersion("deployments", continueToken);
+        if (ETags.checkNotModified(request, listVersion, kubeUtils.getNamespacesVersion())) {
+            return null;
         }
+        return pageExecutor.render(() -> {
+            Selector selector = new Selector();
+            try {
+                selector = Selector.parse(labelSelector);
+            } catch (RequirementException e) {
+                model.addAttribute("labelSelectorError", e.getMessage());
+            }
+            try {
+                Page<DeploymentSummary> page = kubeUtils.getDeploymentsPage(namespace, selector, limit, continueToken);
+                model.addAttribute("deployments", page.getItems());
+                model.addAttribute("limit", limit);
+                model.addAttribute("continueToken", page.getContinueToken());
+                model.addAttribute("labelSelector", labelSelector);
+                model.addAttribute("listVersion", listVersion);
+                model.addAttribute("namespace", namespace);
+                model.addAttribute("namespaces", kubeUtils.getNamespaces());
+                return "deployments";
+            } catch (ApiException e) {
+                log.error("Error getting list of deployments", e);
+                return "error";
+            }
+        });
     }
 
     @GetMapping("/{deploymentName}")
-    public String describeDeployment(Model model, @PathVariable("namespace") @NotNull String namespace,
-                                     @PathVariable @NotNull String deploymentName) {
+    public CompletableFuture<String> describeDeployment(Model model, WebRequest request,
+                                                        @PathVariable("namespace") @NotNull String namespace,
+                                                        @PathVariable @NotNull String deploymentName) {
         log.debug("In describeDeployment with namespace: {} and deployment: {}", namespace, deploymentName);
-        try {
-            Deployment deployment = kubeUtils.getDeployment(namespace, deploymentName);
-            model.addAttribute("deployment", deployment);
-            model.addAttribute("deploymentName", deploymentName);
-            model.addAttribute("events",
-                               kubeUtils.getEvents(namespace, "Deployment", deploymentName, deployment.getUid()));
-            model.addAttribute("namespace", namespace);
-            return "deployment_describe";
-        } catch (ApiException e) {
-            log.error("Error getting deployment", e);
-            return "error";
+        if (ETags.checkNotModified(request, kubeUtils.getObjectVersion("deployments", namespace, deploymentName))) {
+            return null;
         }
+        return pageExecutor.render(() -> {
+            try {
+                Description<Deployment> description = kubeUtils.describeDeployment(namespace, deploymentName);
+                model.addAttribute("deployment", description.getObject());
+                model.addAttribute("deploymentName", deploymentName);
+                model.addAttribute("events", description.getEvents());
+                model.addAttribute("namespace", namespace);
+                return "deployment_describe";
+            } catch (ApiException e) {
+                log.error("Error getting deployment", e);
+                return "error";
+            }
+        });
     }
 }
@@ -0,0 +1,30 @@
+package org.vogel.kubernetes.dashboard.deployment;
+
+import io.kubernetes.client.models.V1beta2Deployment;
+import io.kubernetes.client.models.V1beta2DeploymentStatus;
+import lombok.Getter;
+import org.vogel.kubernetes.dashboard.MetadataSummary;
+
+import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
+
+/**
+ * The columns of a deployment on the list pages, leaving out the pod template and conditions of the
+ * {@link Deployment} the describe page shows.
+ */
+@Getter
+public class DeploymentSummary extends MetadataSummary {
+    private int desired;
+    private int current;
+    private int updated;
+    private int available;
+
+    public DeploymentSummary(V1beta2Deployment deployment) {
+        super(deployment.getMetadata());
+        V1beta2DeploymentStatus deploymentStatus = deployment.getStatus();
+        desired = deployment.getSpec()
+                .getReplicas();
+        current = defaultIfNull(deploymentStatus.getReplicas(), 0);
+        updated = defaultIfNull(deploymentStatus.getUpdatedReplicas(), 0);
+        available = defaultIfNull(deploymentStatus.getAvailableReplicas(), 0);
+    }
+}
@@ -14,7 +14,6 @@ import java.util.List;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.StringUtils.*;
-import static org.vogel.kubernetes.dashboard.FormatUtils.describeBackend;
 import static org.vogel.kubernetes.dashboard.FormatUtils.joinListWithCommas;
 
 @Getter
@@ -43,6 +42,7 @@ public class Ingress extends Metadata {
 
     public Ingress(V1beta1Ingress ingress, KubernetesUtils kubernetesUtils) throws ApiException {
         this(ingress);
+        IngressBackendResolver backendResolver = new IngressBackendResolver(kubernetesUtils);
         V1beta1IngressSpec ingressSpec = ingress.getSpec();
         V1beta1IngressBackend backend = ingressSpec.getBackend();
         String serviceName;
@@ -63,7 +63,7 @@ public class Ingress extends Metadata {
             }
             ns = getNamespace();
         }
-        String describeBackend = describeBackend(ns, serviceName, servicePort, kubernetesUtils);
+        String describeBackend = backendResolver.describe(ns, serviceName, servicePort);
         defaultBackend = String.format("%s:%s (%s)", serviceName, servicePort, describeBackend);
         List<V1beta1IngressRule> ingressRules = ingressSpec.getRules();
         rules = new ArrayList<>();
@@ -71,7 +71,7 @@ public class Ingress extends Metadata {
             if (rule.getHttp() == null) {
                 continue;
             }
-            rules.add(new IngressRule(rule, ns, kubernetesUtils));
+            rules.add(new IngressRule(rule, ns, backendResolver));
         }
     }
 
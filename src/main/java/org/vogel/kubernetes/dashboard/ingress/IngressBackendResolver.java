@@ -0,0 +1,71 @@
+package org.vogel.kubernetes.dashboard.ingress;
+
+import io.kubernetes.client.ApiException;
+import io.kubernetes.client.models.V1Endpoints;
+import io.kubernetes.client.models.V1ObjectMeta;
+import io.kubernetes.client.models.V1Service;
+import org.vogel.kubernetes.dashboard.KubernetesUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.vogel.kubernetes.dashboard.FormatUtils.describeBackend;
+
+/**
+ * Resolves the backends of one ingress.  The services and endpoints of a namespace are listed once, the first time a
+ * backend in it is described, so the number of calls does not grow with the number of paths.
+ */
+public class IngressBackendResolver {
+    private final KubernetesUtils kubernetesUtils;
+    private final Map<String, Map<String, V1Service>> services = new HashMap<>();
+    private final Map<String, Map<String, V1Endpoints>> endpoints = new HashMap<>();
+    private final Map<String, String> descriptions = new HashMap<>();
+
+    public IngressBackendResolver(KubernetesUtils kubernetesUtils) {
+        this.kubernetesUtils = kubernetesUtils;
+    }
+
+    public String describe(String namespace, String serviceName, String servicePort) throws ApiException {
+        String key = String.join("/", namespace, serviceName, servicePort);
+        String description = descriptions.get(key);
+        if (description == null) {
+            description = describeBackend(getServices(namespace).get(serviceName),
+                                          getEndpoints(namespace).get(serviceName), servicePort);
+            descriptions.put(key, description);
+        }
+
+        return description;
+    }
+
+    private Map<String, V1Service> getServices(String namespace) throws ApiException {
+        Map<String, V1Service> namespaceServices = services.get(namespace);
+        if (namespaceServices == null) {
+            namespaceServices = byName(kubernetesUtils.getKubeServices(namespace), V1Service::getMetadata);
+            services.put(namespace, namespaceServices);
+        }
+
+        return namespaceServices;
+    }
+
+    private Map<String, V1Endpoints> getEndpoints(String namespace) throws ApiException {
+        Map<String, V1Endpoints> namespaceEndpoints = endpoints.get(namespace);
+        if (namespaceEndpoints == null) {
+            namespaceEndpoints = byName(kubernetesUtils.getKubeEndpoints(namespace), V1Endpoints::getMetadata);
+            endpoints.put(namespace, namespaceEndpoints);
+        }
+
+        return namespaceEndpoints;
+    }
+
+    private <T> Map<String, T> byName(List<T> items, Function<T, V1ObjectMeta> metadataOf) {
+        Map<String, T> result = new HashMap<>();
+        for (T item : items) {
+            result.put(metadataOf.apply(item)
+                               .getName(), item);
+        }
+
+        return result;
+    }
+}
@@ -7,9 +7,16 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.vogel.kubernetes.dashboard.Description;
+import org.vogel.kubernetes.dashboard.ETags;
 import org.vogel.kubernetes.dashboard.KubernetesUtils;
+import org.vogel.kubernetes.dashboard.Page;
+import org.vogel.kubernetes.dashboard.PageExecutor;
 
 import javax.validation.constraints.NotNull;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Controller
@@ -18,38 +25,59 @@ public class IngressController {
 
     private KubernetesUtils kubeUtils;
 
-    public IngressController(KubernetesUtils kubeUtils) {
+    private PageExecutor pageExecutor;
+
+    public IngressController(KubernetesUtils kubeUtils, PageExecutor pageExecutor) {
         this.kubeUtils = kubeUtils;
+        this.pageExecutor = pageExecutor;
     }
 
     @GetMapping
-    public String listIngresses(Model model, @PathVariable("namespace") String namespace) {
+    public CompletableFuture<String> listIngresses(
+            Model model, WebRequest request, @PathVariable("namespace") String namespace,
+            @RequestParam(value = "limit", defaultValue = Page.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "continue", required = false) String continueToken) {
         log.debug("In listIngresses with namespace: {}", namespace);
-        try {
-            model.addAttribute("ingresses", kubeUtils.getIngresses(namespace));
-            model.addAttribute("namespace", namespace);
-            model.addAttribute("namespaces", kubeUtils.getNamespaces());
-            return "ingresses";
-        } catch (ApiException e) {
-            log.error("Error getting list of ingresses", e);
-            return "error";
+        if (ETags.checkNotModified(request, kubeUtils.getListVersion("ingresses", continueToken),
+                                   kubeUtils.getNamespacesVersion())) {
+            return null;
         }
+        return pageExecutor.render(() -> {
+            try {
+                Page<Ingress> page = kubeUtils.getIngressesPage(namespace, limit, continueToken);
+                model.addAttribute("ingresses", page.getItems());
+                model.addAttribute("limit", limit);
+                model.addAttribute("continueToken", page.getContinueToken());
+                model.addAttribute("namespace", namespace);
+                model.addAttribute("namespaces", kubeUtils.getNamespaces());
+                return "ingresses";
+            } catch (ApiException e) {
+                log.error("Error getting list of ingresses", e);
+                return "error";
+            }
+        });
     }
 
     @GetMapping("/{ingressName}")
-    public String describeIngress(Model model, @PathVariable("namespace") @NotNull String namespace,
-                                  @PathVariable @NotNull String ingressName) {
+    public CompletableFuture<String> describeIngress(Model model, WebRequest request,
+                                                     @PathVariable("namespace") @NotNull String namespace,
+                                                     @PathVariable @NotNull String ingressName) {
         log.debug("In describeIngress with namespace: {} and ingress: {}", namespace, ingressName);
-        try {
-            Ingress ingress = kubeUtils.getIngress(namespace, ingressName);
-            model.addAttribute("ingress", ingress);
-            model.addAttribute("ingressName", ingressName);
-            model.addAttribute("events", kubeUtils.getEvents(namespace, "Ingress", ingressName, ingress.getUid()));
-            model.addAttribute("namespace", namespace);
-            return "ingress_describe";
-        } catch (ApiException e) {
-            log.error("Error getting ingress", e);
-            return "error";
+        if (ETags.checkNotModified(request, kubeUtils.getObjectVersion("ingresses", namespace, ingressName))) {
+            return null;
         }
+        return pageExecutor.render(() -> {
+            try {
+                Description<Ingress> description = kubeUtils.describeIngress(namespace, ingressName);
+                model.addAttribute("ingress", description.getObject());
+                model.addAttribute("ingressName", ingressName);
+                model.addAttribute("events", description.getEvents());
+                model.addAttribute("namespace", namespace);
+                return "ingress_describe";
+            } catch (ApiException e) {
+                log.error("Error getting ingress", e);
+                return "error";
+            }
+        });
     }
 }
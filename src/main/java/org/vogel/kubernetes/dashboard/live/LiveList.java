@@ -0,0 +1,266 @@
+package org.vogel.kubernetes.dashboard.live;
+
+import io.kubernetes.client.models.V1ObjectMeta;
+import lombok.extern.slf4j.Slf4j;
+import org.vogel.kubernetes.dashboard.Selector;
+import org.vogel.kubernetes.dashboard.cache.ResourceCache;
+import org.vogel.kubernetes.dashboard.cache.ResourceCacheListener;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static org.apache.commons.lang3.StringUtils.defaultString;
+import static org.apache.commons.lang3.StringUtils.substringAfter;
+import static org.apache.commons.lang3.StringUtils.substringBefore;
+
+/**
+ * The most recent changes to one kind of cached object, kept as the cache's watch applies them so list pages can
+ * follow them instead of reloading.  A subscriber starts right after the version of the list it shows and is sent
+ * the rows that came into, changed in or left its namespace and label selector, from the sender pool at its own
+ * pace.
+ * <p>
+ * A relist replaces the whole list without saying what changed, and a subscriber that falls behind by more than the
+ * history holds has missed changes, so both are reset and have to load the list again.
+ */
+@Slf4j
+public class LiveList<T> implements ResourceCacheListener<T> {
+    private static final int MAX_BATCH_CHANGES = 100;
+
+    private final ResourceCache<T> cache;
+    private final Function<T, V1ObjectMeta> metadataOf;
+    private final Function<T, String> rowOf;
+    private final Executor senders;
+    private final String id;
+    private final Change<T>[] changes;
+    private final Map<LiveSubscriber, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private long next;
+    private long floor;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public LiveList(ResourceCache<T> cache, Function<T, V1ObjectMeta> metadataOf, Function<T, String> rowOf,
+                    int historySize, Executor senders) {
+        this.cache = cache;
+        this.metadataOf = metadataOf;
+        this.rowOf = rowOf;
+        this.senders = senders;
+        id = Long.toHexString(ThreadLocalRandom.current()
+                                      .nextLong());
+        changes = new Change[historySize];
+        cache.addListener(this);
+    }
+
+    /**
+     * Starts sending the changes to the objects of the namespace matching the selector.  A new subscriber starts
+     * after {@code version}, the version of the list it was shown; a reconnecting one after {@code lastPosition}, the
+     * position of the last change it got.  One that cannot be started where it asks is reset right away.
+     */
+    public void subscribe(LiveSubscriber subscriber, String namespace, Selector selector, String version,
+                          String lastPosition) {
+        if (!cache.hasSynced()) {
+            subscriber.close("The list is not cached, live updates are off");
+            return;
+        }
+
+        Long start = startOf(version, lastPosition);
+        if (start == null) {
+            subscriber.reset();
+            return;
+        }
+        Subscription subscription = new Subscription(subscriber, defaultString(namespace), selector, start);
+        subscriptions.put(subscriber, subscription);
+        schedule(subscription);
+    }
+
+    public void unsubscribe(LiveSubscriber subscriber) {
+        subscriptions.remove(subscriber);
+    }
+
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    @Override
+    public void onAdd(T object) {
+        append(null, object);
+    }
+
+    @Override
+    public void onUpdate(T oldObject, T newObject) {
+        append(oldObject, newObject);
+    }
+
+    @Override
+    public void onDelete(T object) {
+        append(object, null);
+    }
+
+    @Override
+    public void onReplace(List<T> objects) {
+        synchronized (this) {
+            // skipping a sequence puts every subscriber behind the history
+            next++;
+            floor = next;
+        }
+        subscriptions.values()
+                .forEach(this::schedule);
+    }
+
+    private void append(T oldObject, T newObject) {
+        // the cache moves to the change's version only after its listeners have run
+        Change<T> change = new Change<>(cache.getResourceVersion(), oldObject, newObject);
+        synchronized (this) {
+            change.sequence = next;
+            changes[(int) (next % changes.length)] = change;
+            next++;
+        }
+        subscriptions.values()
+                .forEach(this::schedule);
+    }
+
+    private synchronized long getOldest() {
+        return Math.max(floor, next - changes.length);
+    }
+
+    private synchronized Long startOf(String version, String lastPosition) {
+        if (lastPosition != null && id.equals(substringBefore(lastPosition, ":"))) {
+            try {
+                long last = Long.parseLong(substringAfter(lastPosition, ":"));
+                return last + 1 >= getOldest() && last < next ? last + 1 : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        if (version == null) {
+            return next;
+        }
+
+        for (long sequence = getOldest(); sequence < next; sequence++) {
+            if (version.equals(changes[(int) (sequence % changes.length)].previousVersion)) {
+                return sequence;
+            }
+        }
+        // a list newer than every change held is only current when the cache has not moved on since
+        return version.equals(cache.getResourceVersion()) ? next : null;
+    }
+
+    /**
+     * Returns up to {@code max} changes starting at {@code from}, or null when {@code from} is no longer held.
+     */
+    private synchronized List<Change<T>> read(long from, int max) {
+        if (from < getOldest()) {
+            return null;
+        }
+        List<Change<T>> result = new ArrayList<>();
+        for (long sequence = from; sequence < next && result.size() < max; sequence++) {
+            result.add(changes[(int) (sequence % changes.length)]);
+        }
+        return result;
+    }
+
+    private void schedule(Subscription subscription) {
+        if (subscription.scheduled.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscription));
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        boolean missed = false;
+        try {
+            List<Change<T>> batch = read(subscription.next, MAX_BATCH_CHANGES);
+            while (batch != null && !batch.isEmpty()) {
+                for (Change<T> change : batch) {
+                    send(subscription, change);
+                    subscription.next = change.sequence + 1;
+                }
+                batch = read(subscription.next, MAX_BATCH_CHANGES);
+            }
+            missed = batch == null;
+        } catch (IOException | RuntimeException e) {
+            log.debug("Dropping subscriber of {}", cache.getKind(), e);
+            subscriptions.remove(subscription.subscriber);
+            subscription.subscriber.close("Subscriber disconnected");
+            return;
+        } finally {
+            subscription.scheduled.set(false);
+        }
+
+        if (missed) {
+            if (subscriptions.remove(subscription.subscriber) != null) {
+                subscription.subscriber.reset();
+            }
+        } else if (subscription.next < nextSequence() && subscriptions.containsKey(subscription.subscriber)) {
+            // changes appended after the last read but before the flag was cleared
+            schedule(subscription);
+        }
+    }
+
+    private synchronized long nextSequence() {
+        return next;
+    }
+
+    private void send(Subscription subscription, Change<T> change) throws IOException {
+        boolean was = subscription.shows(change.oldObject);
+        boolean is = subscription.shows(change.newObject);
+        String position = id + ":" + change.sequence;
+        if (is) {
+            subscription.subscriber.send(was ? "modified" : "added", position, change.getRow(rowOf));
+        } else if (was) {
+            subscription.subscriber.send("deleted", position, metadataOf.apply(change.oldObject)
+                    .getUid());
+        }
+    }
+
+    private static class Change<T> {
+        private final String previousVersion;
+        private final T oldObject;
+        private final T newObject;
+        private long sequence;
+        private volatile String row;
+
+        Change(String previousVersion, T oldObject, T newObject) {
+            this.previousVersion = previousVersion;
+            this.oldObject = oldObject;
+            this.newObject = newObject;
+        }
+
+        // built once for all the subscribers it is sent to
+        String getRow(Function<T, String> rowOf) {
+            String result = row;
+            if (result == null) {
+                result = rowOf.apply(newObject);
+                row = result;
+            }
+            return result;
+        }
+    }
+
+    private class Subscription {
+        private final LiveSubscriber subscriber;
+        private final String namespace;
+        private final Selector selector;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long next;
+
+        Subscription(LiveSubscriber subscriber, String namespace, Selector selector, long next) {
+            this.subscriber = subscriber;
+            this.namespace = namespace;
+            this.selector = selector;
+            this.next = next;
+        }
+
+        boolean shows(T object) {
+            if (object == null) {
+                return false;
+            }
+            V1ObjectMeta metadata = metadataOf.apply(object);
+            return namespace.equals(defaultString(metadata.getNamespace())) && selector.matches(metadata.getLabels());
+        }
+    }
+}
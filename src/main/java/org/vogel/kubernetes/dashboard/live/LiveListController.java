@@ -0,0 +1,64 @@
+package org.vogel.kubernetes.dashboard.live;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.vogel.kubernetes.dashboard.RequirementException;
+import org.vogel.kubernetes.dashboard.Selector;
+
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follows the changes to the pods, deployments or replica sets a list page shows, so the page stays current without
+ * being reloaded.
+ */
+@Slf4j
+@Controller
+@RequestMapping("/live/namespaces/{namespace}")
+public class LiveListController {
+
+    private LiveLists liveLists;
+
+    private long timeoutMillis;
+
+    public LiveListController(LiveLists liveLists, @Value("${kube.live.timeout-minutes:30}") long timeoutMinutes) {
+        this.liveLists = liveLists;
+        timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+    }
+
+    @GetMapping(value = "/{kind:pods|deployments|replicasets}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter followList(@PathVariable("namespace") @NotNull String namespace,
+                                 @PathVariable("kind") @NotNull String kind,
+                                 @RequestParam(value = "labelSelector", required = false) String labelSelector,
+                                 @RequestParam(value = "version", required = false) String version,
+                                 @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.debug("In followList with namespace: {} and kind: {}", namespace, kind);
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        LiveSubscriber subscriber = new SseLiveSubscriber(emitter);
+        Selector selector;
+        try {
+            selector = Selector.parse(labelSelector);
+        } catch (RequirementException e) {
+            subscriber.close(e.getMessage());
+            return emitter;
+        }
+
+        LiveList<?> list = liveLists.getList(kind);
+        Runnable unsubscribe = () -> list.unsubscribe(subscriber);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+
+        // browsers send back the id of the last event they got when they reconnect
+        list.subscribe(subscriber, namespace, selector, version, lastEventId);
+        return emitter;
+    }
+}
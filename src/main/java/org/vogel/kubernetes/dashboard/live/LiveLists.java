@@ -0,0 +1,84 @@
+package org.vogel.kubernetes.dashboard.live;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.kubernetes.client.models.V1Pod;
+import io.kubernetes.client.models.V1beta2Deployment;
+import io.kubernetes.client.models.V1beta2ReplicaSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.vogel.kubernetes.dashboard.PodSummary;
+import org.vogel.kubernetes.dashboard.api.JsonViewWriter;
+import org.vogel.kubernetes.dashboard.cache.KubernetesCache;
+import org.vogel.kubernetes.dashboard.deployment.DeploymentSummary;
+import org.vogel.kubernetes.dashboard.replicaset.ReplicaSetSummary;
+
+import javax.annotation.PreDestroy;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The live lists of the pages that follow changes: pods, deployments and replica sets.  A row carries the uid of its
+ * object and the fields shown in the table.
+ */
+@Component
+public class LiveLists {
+    private final Map<String, LiveList<?>> lists = new HashMap<>();
+    private final ExecutorService senders;
+
+    public LiveLists(KubernetesCache cache, JsonViewWriter jsonViewWriter,
+                     @Value("${kube.live.history:1000}") int historySize,
+                     @Value("${kube.live.senders:4}") int senderThreads) {
+        AtomicInteger count = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "kube-live-sender-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        ObjectWriter podWriter = jsonViewWriter.projection(PodSummary.class, "uid,name,ready,reason,restarts,age");
+        lists.put("pods", new LiveList<>(cache.getPods(), V1Pod::getMetadata,
+                                         pod -> toJson(podWriter, new PodSummary(pod)), historySize, senders));
+        ObjectWriter deploymentWriter = jsonViewWriter.projection(DeploymentSummary.class,
+                                                                  "uid,name,desired,current,updated,available,age");
+        lists.put("deployments", new LiveList<>(cache.getDeployments(), V1beta2Deployment::getMetadata,
+                                                deployment -> toJson(deploymentWriter,
+                                                                     new DeploymentSummary(deployment)),
+                                                historySize, senders));
+        ObjectWriter replicaSetWriter = jsonViewWriter.projection(ReplicaSetSummary.class,
+                                                                  "uid,name,desired,current,ready,age");
+        lists.put("replicasets", new LiveList<>(cache.getReplicaSets(), V1beta2ReplicaSet::getMetadata,
+                                                replicaSet -> toJson(replicaSetWriter,
+                                                                     new ReplicaSetSummary(replicaSet)),
+                                                historySize, senders));
+    }
+
+    /**
+     * Returns the live list of the kind, named the way the API names its resources, e.g. {@code replicasets}.
+     */
+    public LiveList<?> getList(String kind) {
+        LiveList<?> list = lists.get(kind);
+        if (list == null) {
+            throw new IllegalArgumentException("No live list of " + kind);
+        }
+        return list;
+    }
+
+    @PreDestroy
+    public void stop() {
+        senders.shutdownNow();
+    }
+
+    private static <T> String toJson(ObjectWriter writer, T object) {
+        try {
+            return writer.writeValueAsString(object);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
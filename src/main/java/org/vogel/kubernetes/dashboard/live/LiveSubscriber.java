@@ -0,0 +1,24 @@
+package org.vogel.kubernetes.dashboard.live;
+
+import java.io.IOException;
+
+/**
+ * One browser following a list page.  Calls for the same subscriber never overlap.
+ */
+public interface LiveSubscriber {
+    /**
+     * Sends a row that was {@code added} to, {@code modified} in or {@code deleted} from the list.  The data of a
+     * deleted row is only its uid.
+     */
+    void send(String type, String position, String data) throws IOException;
+
+    /**
+     * Called when the changes since the list the subscriber shows are no longer known, after which none are sent.
+     */
+    void reset();
+
+    /**
+     * Called when no changes will be sent, with the reason shown to the user.
+     */
+    void close(String reason);
+}
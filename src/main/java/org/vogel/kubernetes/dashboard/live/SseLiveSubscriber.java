@@ -0,0 +1,48 @@
+package org.vogel.kubernetes.dashboard.live;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+import static org.springframework.web.servlet.mvc.method.annotation.SseEmitter.event;
+
+/**
+ * Sends the changes to a list as server-sent events named after the change, with the JSON of the row as their data.
+ * Their id is the position of the change so a reconnecting browser resumes where it left off.
+ */
+@Slf4j
+public class SseLiveSubscriber implements LiveSubscriber {
+    private final SseEmitter emitter;
+
+    public SseLiveSubscriber(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void send(String type, String position, String data) throws IOException {
+        emitter.send(event().id(position)
+                             .name(type)
+                             .data(data));
+    }
+
+    @Override
+    public void reset() {
+        end("reset", "The list has changed too much, reload it");
+    }
+
+    @Override
+    public void close(String reason) {
+        end("end", reason);
+    }
+
+    private void end(String name, String reason) {
+        try {
+            emitter.send(event().name(name)
+                                 .data(reason));
+            emitter.complete();
+        } catch (IOException | RuntimeException e) {
+            log.debug("Error closing live subscriber", e);
+        }
+    }
+}
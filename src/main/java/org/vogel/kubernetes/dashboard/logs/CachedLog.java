@@ -0,0 +1,351 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import io.kubernetes.client.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.vogel.kubernetes.dashboard.ApiCall;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * One container's log copied to append-only segment files, with the byte offset of every {@value #INDEX_INTERVAL}th
+ * line kept in memory.  A range of lines is read by jumping to the nearest indexed line before it and scanning the
+ * memory-mapped segments from there, so neither the log nor a full line index has to fit in the heap.
+ * <p>
+ * Lines never span segments: a segment is only closed at the end of a line, and lines longer than
+ * {@value #MAX_LINE_BYTES} bytes are split.
+ */
+@Slf4j
+public class CachedLog implements Runnable {
+    static final int INDEX_INTERVAL = 64;
+    static final int MAX_LINE_BYTES = 64 * 1024;
+    private static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+
+    private final String name;
+    private final Path directory;
+    private final ApiCall<InputStream> opener;
+    private final int segmentBytes;
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private long[] index = new long[1024];
+    private volatile long lineCount;
+    private volatile long byteCount;
+    private volatile boolean complete;
+    private volatile String error;
+    private volatile boolean closed;
+    private int readers;
+    private volatile long lastAccess = System.currentTimeMillis();
+    private volatile long completedAt;
+
+    public CachedLog(String name, Path directory, ApiCall<InputStream> opener) {
+        this(name, directory, opener, DEFAULT_SEGMENT_BYTES);
+    }
+
+    CachedLog(String name, Path directory, ApiCall<InputStream> opener, int segmentBytes) {
+        this.name = name;
+        this.directory = directory;
+        this.opener = opener;
+        this.segmentBytes = segmentBytes;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public long getLineCount() {
+        return lineCount;
+    }
+
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    public long getLastAccess() {
+        return lastAccess;
+    }
+
+    public long getCompletedAt() {
+        return completedAt;
+    }
+
+    /**
+     * Returns up to {@code count} lines starting at line {@code from}, or the last {@code count} lines copied so far
+     * when {@code from} is null.
+     */
+    public LogWindow read(Long from, int count) {
+        lastAccess = System.currentTimeMillis();
+        long total = lineCount;
+        long first = from == null ? Math.max(0, total - count) : Math.max(0, Math.min(from, total));
+        long last = Math.min(total, first + count);
+        List<String> lines = new ArrayList<>();
+        if (first < last) {
+            long position = offsetOf(first);
+            for (long line = first; line < last; line++) {
+                position = readLine(position, lines);
+            }
+        }
+
+        return new LogWindow(first, lines, total, complete, error);
+    }
+
+    @Override
+    public void run() {
+        try {
+            Files.createDirectories(directory);
+            try (InputStream in = opener.call()) {
+                copy(in);
+            }
+            complete = true;
+        } catch (ApiException e) {
+            log.warn("Error reading log of {}", name, e);
+            error = "Error reading log: " + (e.getResponseBody() == null ? e.getMessage() : e.getResponseBody());
+        } catch (IOException | RuntimeException e) {
+            if (!closed) {
+                log.warn("Error caching log of {}", name, e);
+                error = "Error reading log: " + e.getMessage();
+            }
+        } finally {
+            completedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Keeps the segment files until {@link #release()}, so a read that began before the log was closed can finish.
+     */
+    public synchronized void retain() {
+        readers++;
+    }
+
+    public synchronized void release() {
+        readers--;
+        if (closed && readers == 0) {
+            delete();
+        }
+    }
+
+    /**
+     * Deletes the segment files, or leaves that to the last read still using them.  A load still running stops at its
+     * next write.
+     */
+    public synchronized void close() {
+        closed = true;
+        if (readers == 0) {
+            delete();
+        }
+    }
+
+    private void delete() {
+        for (Segment segment : segments) {
+            try {
+                Files.deleteIfExists(segment.file);
+            } catch (IOException e) {
+                log.debug("Error deleting {}", segment.file, e);
+            }
+        }
+        try {
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            log.debug("Error deleting {}", directory, e);
+        }
+    }
+
+    private void copy(InputStream in) throws IOException {
+        Writer writer = new Writer();
+        try {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if (closed) {
+                    throw new IOException("Log cache closed");
+                }
+                for (int i = 0; i < read; i++) {
+                    writer.write(buffer[i]);
+                }
+                writer.publish();
+            }
+            writer.finish();
+        } finally {
+            writer.closeChannel();
+        }
+    }
+
+    private long offsetOf(long line) {
+        long position;
+        synchronized (this) {
+            position = index[(int) (line / INDEX_INTERVAL)];
+        }
+        for (long skip = line % INDEX_INTERVAL; skip > 0; skip--) {
+            position = readLine(position, null);
+        }
+        return position;
+    }
+
+    /**
+     * Reads the line starting at the offset into {@code lines}, or just skips it when that is null, and returns the
+     * offset of the next line.
+     */
+    private long readLine(long position, List<String> lines) {
+        Segment segment = segmentAt(position);
+        ByteBuffer buffer = segment.map();
+        int start = (int) (position - segment.start);
+        int end = start;
+        while (buffer.get(end) != '\n') {
+            end++;
+        }
+        if (lines != null) {
+            byte[] bytes = new byte[end - start];
+            ByteBuffer line = buffer.duplicate();
+            line.position(start);
+            line.get(bytes);
+            lines.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+        return position + end - start + 1;
+    }
+
+    private Segment segmentAt(long position) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) / 2;
+            if (segments.get(middle).start <= position) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return segments.get(low);
+    }
+
+    private synchronized void addIndexEntry(long line, long offset) {
+        int slot = (int) (line / INDEX_INTERVAL);
+        if (slot == index.length) {
+            index = Arrays.copyOf(index, index.length * 2);
+        }
+        index[slot] = offset;
+    }
+
+    /**
+     * Appends bytes to the current segment, tracking line starts.  Only the loading thread uses it; what it wrote
+     * becomes visible to readers when it publishes.
+     */
+    private class Writer {
+        private final ByteBuffer pending = ByteBuffer.allocate(64 * 1024);
+        private FileChannel channel;
+        private Segment segment;
+        private long offset;
+        private long lines;
+        private int lineBytes;
+
+        void write(byte b) throws IOException {
+            // split over long lines, but never inside a multi-byte character
+            if (lineBytes >= MAX_LINE_BYTES && b != '\n' && (b & 0xC0) != 0x80) {
+                put((byte) '\n');
+            }
+            put(b);
+        }
+
+        void finish() throws IOException {
+            if (lineBytes > 0) {
+                put((byte) '\n');
+            }
+            publish();
+        }
+
+        void publish() throws IOException {
+            flush();
+            if (segment != null) {
+                segment.length = offset - segment.start;
+            }
+            byteCount = offset;
+            lineCount = lines;
+        }
+
+        void closeChannel() throws IOException {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+
+        private void put(byte b) throws IOException {
+            if (segment == null) {
+                openSegment();
+            }
+            if (lineBytes == 0 && lines % INDEX_INTERVAL == 0) {
+                addIndexEntry(lines, offset);
+            }
+            if (!pending.hasRemaining()) {
+                flush();
+            }
+            pending.put(b);
+            offset++;
+            if (b == '\n') {
+                lines++;
+                lineBytes = 0;
+                if (offset - segment.start >= segmentBytes) {
+                    flush();
+                    channel.close();
+                    segment.length = offset - segment.start;
+                    segment = null;
+                }
+            } else {
+                lineBytes++;
+            }
+        }
+
+        private void flush() throws IOException {
+            pending.flip();
+            while (pending.hasRemaining()) {
+                channel.write(pending);
+            }
+            pending.clear();
+        }
+
+        private void openSegment() throws IOException {
+            Path file = directory.resolve(String.format("segment-%06d.log", segments.size()));
+            channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            segment = new Segment(file, offset);
+            segments.add(segment);
+        }
+    }
+
+    private static class Segment {
+        private final Path file;
+        private final long start;
+        private volatile long length;
+        private MappedByteBuffer buffer;
+
+        Segment(Path file, long start) {
+            this.file = file;
+            this.start = start;
+        }
+
+        /**
+         * Maps the part of the segment published so far, mapping it again when the segment has grown since.
+         */
+        synchronized ByteBuffer map() {
+            if (buffer == null || buffer.capacity() < length) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return buffer;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Consecutive lines of a followed log.  {@code skipped} counts the lines the viewer missed before the first one
+ * because they had already left the buffer.
+ */
+@AllArgsConstructor
+@Getter
+public class LogBatch {
+    private String logId;
+    private List<String> lines;
+    private long firstSequence;
+    private long skipped;
+
+    public long getLastSequence() {
+        return firstSequence + lines.size() - 1;
+    }
+
+    /**
+     * Identifies the last line across reconnects, see {@link LogRing#sequenceOf}.
+     */
+    public String getPosition() {
+        return logId + ":" + getLastSequence();
+    }
+
+    public boolean isEmpty() {
+        return lines.isEmpty() && skipped == 0;
+    }
+}
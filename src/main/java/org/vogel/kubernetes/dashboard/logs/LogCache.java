@@ -0,0 +1,146 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.vogel.kubernetes.dashboard.KubernetesUtils;
+import org.vogel.kubernetes.dashboard.LogOptions;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.stream.Collectors.toList;
+import static org.apache.commons.lang3.StringUtils.defaultString;
+
+/**
+ * Container logs copied to local disk the first time a range of them is asked for, so paging back and forth does not
+ * go to the kubelet again.  A copy is dropped once it is older than the time to live or, least recently used first,
+ * when the copies together take more than the configured space.
+ */
+@Slf4j
+@Component
+public class LogCache {
+    private final KubernetesUtils kubeUtils;
+    private final Path directory;
+    private final long maxBytes;
+    private final long ttlMillis;
+    private final ExecutorService loaders;
+    private final Map<String, CachedLog> logs = new LinkedHashMap<>();
+    private final AtomicInteger count = new AtomicInteger();
+
+    public LogCache(KubernetesUtils kubeUtils,
+                    @Value("${kube.logs.cache-dir:${java.io.tmpdir}/kube-dashboard-logs}") String directory,
+                    @Value("${kube.logs.cache-max-mb:2048}") long maxMegabytes,
+                    @Value("${kube.logs.cache-ttl-minutes:5}") long ttlMinutes,
+                    @Value("${kube.logs.cache-loaders:4}") int loaderThreads) {
+        this.kubeUtils = kubeUtils;
+        this.directory = Paths.get(directory, Long.toHexString(System.nanoTime()));
+        maxBytes = maxMegabytes * 1024 * 1024;
+        ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+        AtomicInteger threads = new AtomicInteger();
+        loaders = Executors.newFixedThreadPool(loaderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "kube-log-loader-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns a range of the container's log, starting to copy it if it is not cached.  {@code refresh} drops the
+     * cached copy first so lines written since it was made show up.
+     */
+    public LogWindow read(String namespace, String podName, String container, Long from, int count,
+                          boolean refresh) {
+        // another request may refresh or evict the copy while this one reads it
+        CachedLog cachedLog = get(namespace, podName, container, refresh);
+        try {
+            return cachedLog.read(from, count);
+        } finally {
+            cachedLog.release();
+        }
+    }
+
+    public synchronized int size() {
+        return logs.size();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        loaders.shutdownNow();
+        logs.values()
+                .forEach(CachedLog::close);
+        logs.clear();
+        try {
+            Files.deleteIfExists(directory);
+        } catch (IOException e) {
+            log.debug("Error deleting {}", directory, e);
+        }
+    }
+
+    private synchronized CachedLog get(String namespace, String podName, String container, boolean refresh) {
+        String key = String.join("/", namespace, podName, defaultString(container));
+        CachedLog cachedLog = logs.get(key);
+        if (cachedLog != null && (refresh || isExpired(cachedLog))) {
+            logs.remove(key)
+                    .close();
+            cachedLog = null;
+        }
+        if (cachedLog == null) {
+            LogOptions options = new LogOptions(container, null, null, null, false, false);
+            cachedLog = new CachedLog(key, directory.resolve(String.valueOf(count.incrementAndGet())),
+                                      () -> kubeUtils.streamPodLogs(namespace, podName, options));
+            logs.put(key, cachedLog);
+            loaders.execute(cachedLog);
+        }
+        evict(cachedLog);
+        cachedLog.retain();
+        return cachedLog;
+    }
+
+    private boolean isExpired(CachedLog cachedLog) {
+        long completedAt = cachedLog.getCompletedAt();
+        return completedAt > 0 && System.currentTimeMillis() - completedAt > ttlMillis;
+    }
+
+    private void evict(CachedLog keep) {
+        logs.values()
+                .removeIf(cachedLog -> {
+                    if (cachedLog != keep && isExpired(cachedLog)) {
+                        cachedLog.close();
+                        return true;
+                    }
+                    return false;
+                });
+
+        long bytes = logs.values()
+                .stream()
+                .mapToLong(CachedLog::getByteCount)
+                .sum();
+        List<Map.Entry<String, CachedLog>> byAccess = logs.entrySet()
+                .stream()
+                .filter(entry -> entry.getValue() != keep)
+                .sorted(Comparator.comparingLong(entry -> entry.getValue()
+                        .getLastAccess()))
+                .collect(toList());
+        for (Map.Entry<String, CachedLog> entry : byAccess) {
+            if (bytes <= maxBytes) {
+                break;
+            }
+            bytes -= entry.getValue()
+                    .getByteCount();
+            logs.remove(entry.getKey())
+                    .close();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.commons.lang3.StringUtils.trimToNull;
+
+@Slf4j
+@Controller
+@RequestMapping("/namespaces/{namespace}/pods/{podName}/logs/follow")
+public class LogFollowController {
+
+    private LogFollower logFollower;
+
+    private long timeoutMillis;
+
+    public LogFollowController(LogFollower logFollower,
+                               @Value("${kube.logs.follow-timeout-minutes:30}") long timeoutMinutes) {
+        this.logFollower = logFollower;
+        timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter followPodLogs(@PathVariable("namespace") @NotNull String namespace,
+                                    @PathVariable @NotNull String podName,
+                                    @RequestParam(value = "container", required = false) String container,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        log.debug("In followPodLogs with namespace: {} and pod: {}", namespace, podName);
+        String containerName = trimToNull(container);
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        LogViewer viewer = new SseLogViewer(emitter);
+        Runnable unfollow = () -> logFollower.unfollow(namespace, podName, containerName, viewer);
+        emitter.onCompletion(unfollow);
+        emitter.onTimeout(unfollow);
+        emitter.onError(e -> unfollow.run());
+
+        // browsers send back the id of the last event they got when they reconnect
+        logFollower.follow(namespace, podName, containerName, viewer, lastEventId);
+        return emitter;
+    }
+}
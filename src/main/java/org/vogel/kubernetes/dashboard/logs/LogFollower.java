@@ -0,0 +1,114 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.vogel.kubernetes.dashboard.KubernetesUtils;
+
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.apache.commons.lang3.StringUtils.defaultString;
+
+/**
+ * Shares one upstream follow stream per pod and container among everybody following it.  The stream is opened by the
+ * first viewer and closed when the last one leaves.
+ */
+@Slf4j
+@Component
+public class LogFollower {
+    private final KubernetesUtils kubeUtils;
+    private final int tailLines;
+    private final int bufferLines;
+    private final ThreadPoolExecutor readers;
+    private final ExecutorService senders;
+    private final ExecutorService writers;
+    private final long maxSendMillis;
+    private final Map<String, SharedLogStream> streams = new HashMap<>();
+
+    public LogFollower(KubernetesUtils kubeUtils, @Value("${kube.logs.follow-tail-lines:500}") int tailLines,
+                       @Value("${kube.logs.follow-buffer-lines:10000}") int bufferLines,
+                       @Value("${kube.logs.follow-streams:64}") int maxStreams,
+                       @Value("${kube.logs.follow-senders:8}") int senderThreads,
+                       @Value("${kube.logs.follow-send-timeout-seconds:10}") long sendTimeoutSeconds) {
+        this.kubeUtils = kubeUtils;
+        this.tailLines = tailLines;
+        this.bufferLines = Math.max(bufferLines, tailLines);
+        readers = new ThreadPoolExecutor(0, maxStreams, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                                         threadFactory("kube-log-reader-"));
+        senders = Executors.newFixedThreadPool(senderThreads, threadFactory("kube-log-sender-"));
+        // unbounded, but each stalled viewer holds a writer only until it is dropped and its connection times out
+        writers = Executors.newCachedThreadPool(threadFactory("kube-log-writer-"));
+        maxSendMillis = TimeUnit.SECONDS.toMillis(sendTimeoutSeconds);
+    }
+
+    /**
+     * Starts sending the log of the container to the viewer, joining the stream already open for it if there is one.
+     * {@code lastPosition} is the position of the last batch the viewer got before reconnecting, or null for a new
+     * viewer.
+     */
+    public synchronized void follow(String namespace, String podName, String container, LogViewer viewer,
+                                    String lastPosition) {
+        String key = String.join("/", namespace, podName, defaultString(container));
+        SharedLogStream stream = streams.get(key);
+        if (stream == null || stream.isEnded()) {
+            stream = new SharedLogStream(key, () -> kubeUtils.followPodLogs(namespace, podName, container, tailLines),
+                                         bufferLines, senders, writers, maxSendMillis);
+            try {
+                readers.execute(stream);
+            } catch (RejectedExecutionException e) {
+                log.warn("Too many followed logs, not following {}", key);
+                viewer.close("Too many logs are being followed, try again later");
+                return;
+            }
+            streams.put(key, stream);
+        }
+        stream.addViewer(viewer, tailLines, lastPosition);
+    }
+
+    public synchronized void unfollow(String namespace, String podName, String container, LogViewer viewer) {
+        String key = String.join("/", namespace, podName, defaultString(container));
+        SharedLogStream stream = streams.get(key);
+        if (stream == null) {
+            return;
+        }
+
+        stream.removeViewer(viewer);
+        if (stream.getViewerCount() == 0) {
+            stream.stop();
+            streams.remove(key);
+        }
+    }
+
+    public synchronized int getStreamCount() {
+        return streams.size();
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        streams.values()
+                .forEach(SharedLogStream::stop);
+        streams.clear();
+        readers.shutdownNow();
+        senders.shutdownNow();
+        writers.shutdownNow();
+    }
+
+    private static ThreadFactory threadFactory(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
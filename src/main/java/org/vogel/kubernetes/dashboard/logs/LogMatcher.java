@@ -0,0 +1,189 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Pattern;
+
+/**
+ * Decides whether a raw log line matches a search.  Lines are tested as UTF-8 bytes against a literal that every match
+ * must contain before anything is decoded, so the lines that cannot match, nearly all of them in a typical search,
+ * cost a byte scan and no allocation.  A literal search needs nothing else; a regular expression is only run on the
+ * lines that contain the longest literal it requires, when it has one.
+ * <p>
+ * Ignoring case folds ASCII letters only, the same as {@link Pattern#CASE_INSENSITIVE} does by itself.
+ */
+public class LogMatcher {
+    private static final int MIN_PREFILTER_LENGTH = 3;
+    // escapes followed by more than one character: code points, properties, back references
+    private static final Pattern LONG_ESCAPE = Pattern.compile("\\\\[xu0-9pPckN]");
+
+    private final byte[] literal;
+    private final boolean ignoreCase;
+    private final Pattern pattern;
+
+    private LogMatcher(byte[] literal, boolean ignoreCase, Pattern pattern) {
+        this.literal = literal;
+        this.ignoreCase = ignoreCase;
+        this.pattern = pattern;
+    }
+
+    /**
+     * Creates a matcher for the query, treating it as a regular expression when {@code regex} is set.
+     *
+     * @throws java.util.regex.PatternSyntaxException if the query is not a valid regular expression
+     */
+    public static LogMatcher of(String query, boolean regex, boolean ignoreCase) {
+        if (!regex) {
+            return new LogMatcher(toBytes(query, ignoreCase), ignoreCase, null);
+        }
+
+        Pattern pattern = Pattern.compile(query, ignoreCase ? Pattern.CASE_INSENSITIVE : 0);
+        String required = requiredLiteral(query);
+        byte[] literal = required.length() >= MIN_PREFILTER_LENGTH ? toBytes(required, ignoreCase) : null;
+        return new LogMatcher(literal, ignoreCase, pattern);
+    }
+
+    public boolean matches(byte[] line, int length) {
+        if (literal != null && indexOf(line, length) < 0) {
+            return false;
+        }
+        return pattern == null || pattern.matcher(new String(line, 0, length, StandardCharsets.UTF_8))
+                .find();
+    }
+
+    boolean hasPrefilter() {
+        return literal != null;
+    }
+
+    private int indexOf(byte[] line, int length) {
+        if (literal.length == 0) {
+            return 0;
+        }
+        byte first = literal[0];
+        int last = length - literal.length;
+        for (int i = 0; i <= last; i++) {
+            if (fold(line[i]) != first) {
+                continue;
+            }
+            int j = 1;
+            while (j < literal.length && fold(line[i + j]) == literal[j]) {
+                j++;
+            }
+            if (j == literal.length) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private byte fold(byte b) {
+        return ignoreCase && b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    private static byte[] toBytes(String text, boolean ignoreCase) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (ignoreCase) {
+            for (int i = 0; i < bytes.length; i++) {
+                if (bytes[i] >= 'A' && bytes[i] <= 'Z') {
+                    bytes[i] += 'a' - 'A';
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the longest run of literal characters every match of the regular expression must contain, or an empty
+     * string when it cannot tell.  Only top level text counts: anything in a group or a character class, anything
+     * made optional by a quantifier, and any expression with alternation or inline flags is left out.
+     */
+    static String requiredLiteral(String regex) {
+        if (regex.indexOf('|') >= 0 || regex.contains("(?") || regex.contains("\\Q") || LONG_ESCAPE.matcher(regex)
+                .find()) {
+            return "";
+        }
+
+        String longest = "";
+        StringBuilder run = new StringBuilder();
+        int depth = 0;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '[') {
+                i = endOfClass(regex, i);
+                longest = longer(longest, run);
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+                longest = longer(longest, run);
+                continue;
+            }
+            if (c == ')') {
+                depth--;
+                longest = longer(longest, run);
+                continue;
+            }
+            if (c == '?' || c == '*' || c == '{') {
+                // the character before the quantifier may not be there at all
+                if (run.length() > 0) {
+                    run.setLength(run.length() - 1);
+                }
+                longest = longer(longest, run);
+                if (c == '{') {
+                    int end = regex.indexOf('}', i);
+                    i = end < 0 ? regex.length() : end;
+                }
+                continue;
+            }
+            if (c == '+') {
+                // the character before is there, but may repeat, so the run cannot go on past it
+                longest = longer(longest, run);
+                continue;
+            }
+            if (c == '.' || c == '^' || c == '$') {
+                longest = longer(longest, run);
+                continue;
+            }
+
+            char literal = c;
+            if (c == '\\') {
+                if (i + 1 == regex.length() || Character.isLetterOrDigit(regex.charAt(i + 1))) {
+                    // \d, \s, \b, back references and the like are not literal text
+                    longest = longer(longest, run);
+                    i++;
+                    continue;
+                }
+                literal = regex.charAt(++i);
+            }
+            if (depth == 0) {
+                run.append(literal);
+            } else {
+                longest = longer(longest, run);
+            }
+        }
+
+        return longer(longest, run);
+    }
+
+    private static int endOfClass(String regex, int start) {
+        int i = start + 1;
+        if (i < regex.length() && regex.charAt(i) == '^') {
+            i++;
+        }
+        if (i < regex.length() && regex.charAt(i) == ']') {
+            i++;
+        }
+        while (i < regex.length() && regex.charAt(i) != ']') {
+            if (regex.charAt(i) == '\\') {
+                i++;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static String longer(String longest, StringBuilder run) {
+        String candidate = run.toString();
+        run.setLength(0);
+        return candidate.length() > longest.length() ? candidate : longest;
+    }
+}
@@ -0,0 +1,138 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import io.kubernetes.client.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.vogel.kubernetes.dashboard.ApiExecutor;
+import org.vogel.kubernetes.dashboard.KubernetesUtils;
+import org.vogel.kubernetes.dashboard.LogOptions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
+
+/**
+ * Opens the logs of the pods of a workload and merges them into one.  The logs are opened side by side, but no more
+ * than {@code kube.logs.merge-parallelism} at a time for one merge, so a large workload does not take every API
+ * thread.
+ */
+@Slf4j
+@Component
+public class LogMerger {
+    private final KubernetesUtils kubeUtils;
+    private final ApiExecutor apiExecutor;
+    private final int parallelism;
+    private final int maxPods;
+
+    public LogMerger(KubernetesUtils kubeUtils, ApiExecutor apiExecutor,
+                     @Value("${kube.logs.merge-parallelism:8}") int parallelism,
+                     @Value("${kube.logs.merge-max-pods:100}") int maxPods) {
+        this.kubeUtils = kubeUtils;
+        this.apiExecutor = apiExecutor;
+        this.parallelism = Math.max(1, parallelism);
+        this.maxPods = maxPods;
+    }
+
+    /**
+     * Opens the log of each pod with the options, adding timestamps to order the lines by.  A pod whose log cannot be
+     * opened shows up as an error at the top of the merged log instead of failing the others.
+     */
+    public MergedLog open(String namespace, List<String> podNames, LogOptions options) {
+        LogOptions withTimestamps = new LogOptions(options.getContainer(), options.getTailLines(),
+                                                   options.getSinceTime(), options.getLimitBytes(), true,
+                                                   options.isPrevious());
+        List<String> pods = podNames.size() > maxPods ? podNames.subList(0, maxPods) : podNames;
+
+        // each lane opens every parallelism-th pod in turn
+        int lanes = Math.min(parallelism, pods.size());
+        List<CompletableFuture<List<Opened>>> futures = new ArrayList<>();
+        for (int lane = 0; lane < lanes; lane++) {
+            int first = lane;
+            futures.add(apiExecutor.submit(() -> {
+                List<Opened> opened = new ArrayList<>();
+                try {
+                    for (int i = first; i < pods.size(); i += lanes) {
+                        opened.add(open(namespace, pods.get(i), withTimestamps));
+                    }
+                } catch (RuntimeException | Error e) {
+                    close(opened);
+                    throw e;
+                }
+                return opened;
+            }));
+        }
+
+        // wait for every lane before giving up on a failed one, so no log is left open behind the failure
+        List<Opened> opened = new ArrayList<>();
+        RuntimeException failure = null;
+        for (CompletableFuture<List<Opened>> future : futures) {
+            try {
+                opened.addAll(future.join());
+            } catch (RuntimeException e) {
+                failure = failure == null ? e : failure;
+            }
+        }
+        if (failure != null) {
+            close(opened);
+            throw failure;
+        }
+        opened.sort((a, b) -> a.podName.compareTo(b.podName));
+
+        MergedLog mergedLog = new MergedLog();
+        if (podNames.isEmpty()) {
+            mergedLog.addNotice("There are no pods");
+        } else if (pods.size() < podNames.size()) {
+            mergedLog.addNotice(String.format("Showing the logs of %d of %d pods", pods.size(), podNames.size()));
+        }
+        for (Opened podLog : opened) {
+            if (podLog.in != null) {
+                mergedLog.add(podLog.podName, podLog.in);
+            } else {
+                mergedLog.addNotice("[" + podLog.podName + "] " + podLog.error);
+            }
+        }
+        return mergedLog;
+    }
+
+    private Opened open(String namespace, String podName, LogOptions options) {
+        try {
+            return new Opened(podName, kubeUtils.streamPodLogs(namespace, podName, options), null);
+        } catch (ApiException e) {
+            log.warn("Error opening log of pod {}", podName, e);
+            return new Opened(podName, null, "Error reading log: " + defaultIfBlank(e.getResponseBody(),
+                                                                                    e.getMessage()));
+        } catch (RuntimeException e) {
+            log.warn("Error opening log of pod {}", podName, e);
+            return new Opened(podName, null, "Error reading log: " + e.getMessage());
+        }
+    }
+
+    private static void close(List<Opened> opened) {
+        for (Opened podLog : opened) {
+            if (podLog.in != null) {
+                try {
+                    podLog.in.close();
+                } catch (IOException e) {
+                    log.debug("Error closing log of {}", podLog.podName, e);
+                }
+            }
+        }
+    }
+
+    private static class Opened {
+        private final String podName;
+        private final InputStream in;
+        private final String error;
+
+        Opened(String podName, InputStream in, String error) {
+            this.podName = podName;
+            this.in = in;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.commons.lang3.StringUtils.substringAfter;
+import static org.apache.commons.lang3.StringUtils.substringBefore;
+
+/**
+ * Fixed number of the most recent lines of a log, each numbered by its position in the log.  Readers keep their own
+ * position, so a reader that falls behind by more than the capacity loses the oldest lines instead of holding up the
+ * writer.
+ */
+public class LogRing {
+    private final String id;
+    private final String[] lines;
+    private long next;
+
+    public LogRing(String id, int capacity) {
+        this.id = id;
+        lines = new String[capacity];
+    }
+
+    /**
+     * Returns the sequence of a line from the position of a batch, or null when the position belongs to another ring,
+     * such as the one of a stream opened before the browser lost its connection.
+     */
+    public Long sequenceOf(String position) {
+        if (position == null || !id.equals(substringBefore(position, ":"))) {
+            return null;
+        }
+        try {
+            return Long.valueOf(substringAfter(position, ":"));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public synchronized void append(String line) {
+        lines[(int) (next % lines.length)] = line;
+        next++;
+    }
+
+    /**
+     * The sequence the next appended line will get.
+     */
+    public synchronized long getNext() {
+        return next;
+    }
+
+    /**
+     * The sequence of the oldest line still held.
+     */
+    public synchronized long getOldest() {
+        return Math.max(0, next - lines.length);
+    }
+
+    /**
+     * Returns up to {@code max} lines starting at {@code from}, or at the oldest line held when {@code from} has
+     * already been overwritten.
+     */
+    public synchronized LogBatch read(long from, int max) {
+        long oldest = getOldest();
+        long first = Math.max(from, oldest);
+        long last = Math.min(next, first + max);
+        List<String> result = new ArrayList<>();
+        for (long sequence = first; sequence < last; sequence++) {
+            result.add(lines[(int) (sequence % lines.length)]);
+        }
+
+        return new LogBatch(id, result, first, Math.max(0, oldest - from));
+    }
+}
@@ -0,0 +1,201 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import io.kubernetes.client.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.vogel.kubernetes.dashboard.ApiCall;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Searches one container's log as it streams in, sending each match with the lines around it as soon as they have
+ * been read.  Only the current line and the lines kept for context are held, so memory does not grow with the log.
+ * Lines are split the way {@link CachedLog} splits them, so the line numbers sent can be looked up in the paged view.
+ */
+@Slf4j
+public class LogSearch implements Runnable {
+    private static final long PROGRESS_INTERVAL_MILLIS = 1000;
+
+    private final String name;
+    private final ApiCall<InputStream> opener;
+    private final LogMatcher matcher;
+    private final int maxMatches;
+    private final LogSearchViewer viewer;
+    private final ContextLines before;
+    private final int after;
+    private final byte[] line = new byte[CachedLog.MAX_LINE_BYTES + 4];
+    private volatile boolean cancelled;
+    private volatile InputStream input;
+    private int length;
+    private long lines;
+    private long bytes;
+    private long matches;
+    private int afterRemaining;
+
+    public LogSearch(String name, ApiCall<InputStream> opener, LogMatcher matcher, int context, int maxMatches,
+                     LogSearchViewer viewer) {
+        this.name = name;
+        this.opener = opener;
+        this.matcher = matcher;
+        this.maxMatches = maxMatches;
+        this.viewer = viewer;
+        before = new ContextLines(context);
+        after = context;
+    }
+
+    /**
+     * Stops the search, closing the log stream if it is waiting on it.  Nothing more is sent to the viewer.
+     */
+    public void cancel() {
+        cancelled = true;
+        InputStream in = input;
+        if (in != null) {
+            try {
+                in.close();
+            } catch (IOException | RuntimeException e) {
+                log.debug("Error closing log of {}", name, e);
+            }
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void run() {
+        if (cancelled) {
+            return;
+        }
+        try (InputStream in = opener.call()) {
+            input = in;
+            if (!cancelled && search(in)) {
+                viewer.end(progress());
+            }
+        } catch (ApiException e) {
+            log.warn("Error searching log of {}", name, e);
+            viewer.fail("Error reading log: " + (e.getResponseBody() == null ? e.getMessage() : e.getResponseBody()));
+        } catch (IOException | RuntimeException e) {
+            // a cancelled search, or a viewer that went away, ends up here with the stream closed under it
+            if (!cancelled) {
+                log.debug("Error searching log of {}", name, e);
+                viewer.fail("Error reading log: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reads the log until its end or the match limit, returning false when the search was cancelled first.
+     */
+    private boolean search(InputStream in) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long lastProgress = System.currentTimeMillis();
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (cancelled) {
+                return false;
+            }
+            bytes += read;
+            for (int i = 0; i < read; i++) {
+                byte b = buffer[i];
+                // split long lines where CachedLog does, never inside a multi-byte character
+                if (b == '\n' || length >= CachedLog.MAX_LINE_BYTES && (b & 0xC0) != 0x80) {
+                    if (!endLine()) {
+                        return true;
+                    }
+                }
+                if (b != '\n') {
+                    line[length++] = b;
+                }
+            }
+
+            // also notices a browser that went away while nothing matches
+            long now = System.currentTimeMillis();
+            if (now - lastProgress >= PROGRESS_INTERVAL_MILLIS) {
+                viewer.progress(progress());
+                lastProgress = now;
+            }
+        }
+        if (length > 0) {
+            endLine();
+        }
+
+        return !cancelled;
+    }
+
+    /**
+     * Handles the line just read, returning false once the match limit was reached and its context sent.
+     */
+    private boolean endLine() throws IOException {
+        lines++;
+        if (matches < maxMatches && matcher.matches(line, length)) {
+            matches++;
+            before.send();
+            send(true);
+            afterRemaining = after;
+        } else if (afterRemaining > 0) {
+            send(false);
+            afterRemaining--;
+        } else {
+            before.add(line, length, lines);
+        }
+        length = 0;
+
+        return matches < maxMatches || afterRemaining > 0;
+    }
+
+    private void send(boolean match) throws IOException {
+        viewer.send(new LogSearchLine(lines, decode(line, length), match));
+    }
+
+    private LogSearchProgress progress() {
+        return new LogSearchProgress(lines, bytes, matches, matches >= maxMatches);
+    }
+
+    private static String decode(byte[] bytes, int length) {
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The last few lines that did not match, reusing their buffers.
+     */
+    private class ContextLines {
+        private final byte[][] buffers;
+        private final int[] lengths;
+        private final long[] numbers;
+        private int next;
+        private int count;
+
+        ContextLines(int size) {
+            buffers = new byte[size][];
+            lengths = new int[size];
+            numbers = new long[size];
+        }
+
+        void add(byte[] line, int length, long number) {
+            if (buffers.length == 0) {
+                return;
+            }
+            if (buffers[next] == null || buffers[next].length < length) {
+                buffers[next] = new byte[Math.max(length, 256)];
+            }
+            System.arraycopy(line, 0, buffers[next], 0, length);
+            lengths[next] = length;
+            numbers[next] = number;
+            next = (next + 1) % buffers.length;
+            count = Math.min(count + 1, buffers.length);
+        }
+
+        /**
+         * Sends the lines kept, oldest first, and forgets them.
+         */
+        void send() throws IOException {
+            for (int i = count; i > 0; i--) {
+                int slot = (next - i + buffers.length) % buffers.length;
+                viewer.send(new LogSearchLine(numbers[slot], decode(buffers[slot], lengths[slot]), false));
+            }
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.PatternSyntaxException;
+
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+import static org.apache.commons.lang3.StringUtils.trimToNull;
+
+@Slf4j
+@Controller
+@RequestMapping("/namespaces/{namespace}/pods/{podName}/logs/search")
+public class LogSearchController {
+    static final int MAX_CONTEXT = 10;
+
+    private LogSearcher logSearcher;
+
+    private long timeoutMillis;
+
+    public LogSearchController(LogSearcher logSearcher,
+                               @Value("${kube.logs.search-timeout-minutes:10}") long timeoutMinutes) {
+        this.logSearcher = logSearcher;
+        timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter searchPodLogs(@PathVariable("namespace") @NotNull String namespace,
+                                    @PathVariable @NotNull String podName,
+                                    @RequestParam(value = "container", required = false) String container,
+                                    @RequestParam(value = "q", required = false) String query,
+                                    @RequestParam(value = "regex", defaultValue = "false") boolean regex,
+                                    @RequestParam(value = "ignoreCase", defaultValue = "false") boolean ignoreCase,
+                                    @RequestParam(value = "context", defaultValue = "2") int context) {
+        log.debug("In searchPodLogs with namespace: {} and pod: {}", namespace, podName);
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        LogSearchViewer viewer = new SseLogSearchViewer(emitter);
+        if (isEmpty(query)) {
+            viewer.fail("Enter the text to search for");
+            return emitter;
+        }
+        LogMatcher matcher;
+        try {
+            matcher = LogMatcher.of(query, regex, ignoreCase);
+        } catch (PatternSyntaxException e) {
+            viewer.fail("Invalid regular expression: " + e.getDescription());
+            return emitter;
+        }
+
+        LogSearch search = logSearcher.search(namespace, podName, trimToNull(container), matcher,
+                                              Math.max(0, Math.min(context, MAX_CONTEXT)), viewer);
+        // closing the browser's event source cancels the search
+        emitter.onCompletion(search::cancel);
+        emitter.onTimeout(search::cancel);
+        emitter.onError(e -> search.cancel());
+        return emitter;
+    }
+}
@@ -0,0 +1,16 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A line found by a log search, either a match or context around one.  Line numbers start at one and count lines the
+ * same way the paged log view does.
+ */
+@AllArgsConstructor
+@Getter
+public class LogSearchLine {
+    private long number;
+    private String text;
+    private boolean match;
+}
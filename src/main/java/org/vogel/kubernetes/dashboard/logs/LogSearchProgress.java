@@ -0,0 +1,17 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * How far a log search has got.  {@code limitReached} is set when it stopped at the most matches it sends instead of at
+ * the end of the log.
+ */
+@AllArgsConstructor
+@Getter
+public class LogSearchProgress {
+    private long lines;
+    private long bytes;
+    private long matches;
+    private boolean limitReached;
+}
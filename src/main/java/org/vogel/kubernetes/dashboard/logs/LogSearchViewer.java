@@ -0,0 +1,22 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import java.io.IOException;
+
+/**
+ * One browser waiting for the results of a log search.  Calls come from the searching thread only.
+ */
+public interface LogSearchViewer {
+    void send(LogSearchLine line) throws IOException;
+
+    void progress(LogSearchProgress progress) throws IOException;
+
+    /**
+     * Called once the whole log was searched or the match limit was reached.
+     */
+    void end(LogSearchProgress progress);
+
+    /**
+     * Called instead of {@link #end} when the search could not finish, with the reason shown to the user.
+     */
+    void fail(String reason);
+}
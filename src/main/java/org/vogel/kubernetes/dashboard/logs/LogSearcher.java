@@ -0,0 +1,65 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.vogel.kubernetes.dashboard.KubernetesUtils;
+import org.vogel.kubernetes.dashboard.LogOptions;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.apache.commons.lang3.StringUtils.defaultString;
+
+/**
+ * Runs log searches, each on its own thread reading its own stream of the log, up to a fixed number at once.
+ */
+@Slf4j
+@Component
+public class LogSearcher {
+    private final KubernetesUtils kubeUtils;
+    private final int maxMatches;
+    private final ThreadPoolExecutor searches;
+
+    public LogSearcher(KubernetesUtils kubeUtils, @Value("${kube.logs.search-max-matches:1000}") int maxMatches,
+                       @Value("${kube.logs.searches:8}") int maxSearches) {
+        this.kubeUtils = kubeUtils;
+        this.maxMatches = maxMatches;
+        AtomicInteger threads = new AtomicInteger();
+        searches = new ThreadPoolExecutor(0, maxSearches, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "kube-log-search-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts searching the container's log, sending what is found to the viewer.  The search returned can be
+     * cancelled when the viewer goes away.
+     */
+    public LogSearch search(String namespace, String podName, String container, LogMatcher matcher, int context,
+                            LogSearchViewer viewer) {
+        String key = String.join("/", namespace, podName, defaultString(container));
+        LogSearch search = new LogSearch(key, () -> kubeUtils.streamPodLogs(namespace, podName,
+                                                                            new LogOptions(container, null, null,
+                                                                                           null, false, false)),
+                                         matcher, context, maxMatches, viewer);
+        try {
+            searches.execute(search);
+        } catch (RejectedExecutionException e) {
+            log.warn("Too many log searches, not searching {}", key);
+            viewer.fail("Too many logs are being searched, try again later");
+        }
+
+        return search;
+    }
+
+    @PreDestroy
+    public void stop() {
+        searches.shutdownNow();
+    }
+}
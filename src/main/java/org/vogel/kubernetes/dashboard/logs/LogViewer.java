@@ -0,0 +1,15 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import java.io.IOException;
+
+/**
+ * One browser following a log.  Calls for the same viewer never overlap.
+ */
+public interface LogViewer {
+    void send(LogBatch batch) throws IOException;
+
+    /**
+     * Called once no more lines will come, with the reason shown to the user.
+     */
+    void close(String reason);
+}
@@ -0,0 +1,20 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * A range of lines of a cached log.  While the log is still being copied {@code totalLines} only counts the lines
+ * copied so far.
+ */
+@AllArgsConstructor
+@Getter
+public class LogWindow {
+    private long from;
+    private List<String> lines;
+    private long totalLines;
+    private boolean complete;
+    private String error;
+}
@@ -0,0 +1,38 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.constraints.NotNull;
+
+import static org.apache.commons.lang3.StringUtils.trimToNull;
+
+@Slf4j
+@RestController
+@RequestMapping("/namespaces/{namespace}/pods/{podName}/logs/lines")
+public class LogWindowController {
+    static final int MAX_COUNT = 5000;
+
+    private LogCache logCache;
+
+    public LogWindowController(LogCache logCache) {
+        this.logCache = logCache;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public LogWindow readPodLogLines(@PathVariable("namespace") @NotNull String namespace,
+                                     @PathVariable @NotNull String podName,
+                                     @RequestParam(value = "container", required = false) String container,
+                                     @RequestParam(value = "from", required = false) Long from,
+                                     @RequestParam(value = "count", defaultValue = "200") int count,
+                                     @RequestParam(value = "refresh", defaultValue = "false") boolean refresh) {
+        log.debug("In readPodLogLines with namespace: {} and pod: {}", namespace, podName);
+        return logCache.read(namespace, podName, trimToNull(container), from, Math.max(1, Math.min(count, MAX_COUNT)),
+                             refresh);
+    }
+}
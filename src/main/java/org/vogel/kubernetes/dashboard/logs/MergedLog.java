@@ -0,0 +1,148 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The logs of several pods merged into one, oldest line first.  The logs must have been read with timestamps, which
+ * the merge orders by.  Only the next line of each pod is held, so the merge takes as much memory for a long log as
+ * for a short one.
+ * <p>
+ * Each line is tagged with its pod: {@code [pod] timestamp text}.  A line without a timestamp, e.g. the second part of
+ * a split line, keeps the time of the line before it.
+ */
+@Slf4j
+public class MergedLog implements Closeable {
+    private static final Comparator<PodLog> BY_TIMESTAMP = Comparator.comparing((PodLog podLog) -> podLog.timestamp)
+            .thenComparingInt(podLog -> podLog.index);
+    private static final int FLUSH_LINES = 256;
+
+    private final List<PodLog> logs = new ArrayList<>();
+    private final List<String> notices = new ArrayList<>();
+
+    public void add(String podName, InputStream in) {
+        logs.add(new PodLog(podName, logs.size(), in));
+    }
+
+    /**
+     * Adds a line shown at the top of the merged log, e.g. for a pod whose log could not be opened.
+     */
+    public void addNotice(String notice) {
+        notices.add(notice);
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        for (String notice : notices) {
+            out.write((notice + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        PriorityQueue<PodLog> heads = new PriorityQueue<>(Math.max(1, logs.size()), BY_TIMESTAMP);
+        for (PodLog podLog : logs) {
+            if (podLog.next()) {
+                heads.add(podLog);
+            }
+        }
+        int lines = 0;
+        while (!heads.isEmpty()) {
+            PodLog podLog = heads.poll();
+            out.write(podLog.tag);
+            out.write(podLog.line, 0, podLog.length);
+            out.write('\n');
+            if (++lines % FLUSH_LINES == 0) {
+                out.flush();
+            }
+            if (podLog.next()) {
+                heads.add(podLog);
+            }
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() {
+        for (PodLog podLog : logs) {
+            try {
+                podLog.in.close();
+            } catch (IOException e) {
+                log.debug("Error closing log of {}", podLog.podName, e);
+            }
+        }
+    }
+
+    /**
+     * Reads one pod's log a line at a time.
+     */
+    private static class PodLog {
+        private final String podName;
+        private final int index;
+        private final InputStream in;
+        private final byte[] tag;
+        private final byte[] buffer = new byte[8192];
+        private final byte[] line = new byte[CachedLog.MAX_LINE_BYTES + 4];
+        private int position;
+        private int limit;
+        private int length;
+        private Instant timestamp = Instant.MIN;
+
+        PodLog(String podName, int index, InputStream in) {
+            this.podName = podName;
+            this.index = index;
+            this.in = in;
+            tag = ("[" + podName + "] ").getBytes(StandardCharsets.UTF_8);
+        }
+
+        /**
+         * Reads the next line, returning false at the end of the log.
+         */
+        boolean next() throws IOException {
+            length = 0;
+            while (true) {
+                if (position == limit) {
+                    limit = in.read(buffer);
+                    position = 0;
+                    if (limit == -1) {
+                        limit = 0;
+                        return length > 0 && parseTimestamp();
+                    }
+                }
+                byte b = buffer[position];
+                if (b == '\n') {
+                    position++;
+                    return parseTimestamp();
+                }
+                if (length >= CachedLog.MAX_LINE_BYTES && (b & 0xC0) != 0x80) {
+                    return parseTimestamp();
+                }
+                line[length++] = b;
+                position++;
+            }
+        }
+
+        private boolean parseTimestamp() {
+            int end = 0;
+            while (end < length && line[end] != ' ') {
+                end++;
+            }
+            // the shortest RFC 3339 time the kubelet writes is 2019-04-01T12:00:00Z
+            if (end >= 20 && end < 40) {
+                try {
+                    timestamp = Instant.parse(new String(line, 0, end, StandardCharsets.US_ASCII));
+                } catch (DateTimeParseException e) {
+                    // not a timestamp, the line sorts with the one before it
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import io.kubernetes.client.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.vogel.kubernetes.dashboard.ApiCall;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A single follow stream of one container's log shared by all of its viewers.  The reading thread only appends to the
+ * ring; every viewer is sent its lines from the sender pool at its own pace, skipping ahead when it falls too far
+ * behind.  A viewer whose send takes longer than the limit, such as a browser that stopped reading, is dropped; the
+ * send itself runs on the writer pool so it only holds a writer thread until its connection times out.
+ */
+@Slf4j
+public class SharedLogStream implements Runnable {
+    static final int MAX_LINE_LENGTH = 16 * 1024;
+    private static final int MAX_BATCH_LINES = 500;
+
+    private final String name;
+    private final ApiCall<InputStream> opener;
+    private final LogRing ring;
+    private final Executor senders;
+    private final Executor writers;
+    private final long maxSendMillis;
+    private final Map<LogViewer, Cursor> viewers = new ConcurrentHashMap<>();
+    private volatile InputStream upstream;
+    private volatile boolean stopped;
+    private volatile String endReason;
+
+    public SharedLogStream(String name, ApiCall<InputStream> opener, int bufferLines, Executor senders,
+                           Executor writers, long maxSendMillis) {
+        this.name = name;
+        this.opener = opener;
+        this.senders = senders;
+        this.writers = writers;
+        this.maxSendMillis = maxSendMillis;
+        ring = new LogRing(Long.toHexString(ThreadLocalRandom.current()
+                                                     .nextLong()), bufferLines);
+    }
+
+    /**
+     * Adds a viewer that starts with the last {@code tailLines} lines held, or right after {@code lastPosition} when
+     * it is resuming from a batch of this stream.
+     */
+    public void addViewer(LogViewer viewer, int tailLines, String lastPosition) {
+        Long lastSequence = ring.sequenceOf(lastPosition);
+        long start = lastSequence == null ? Math.max(ring.getOldest(), ring.getNext() - tailLines) :
+                Math.min(lastSequence + 1, ring.getNext());
+        Cursor cursor = new Cursor(viewer, start);
+        viewers.put(viewer, cursor);
+        schedule(cursor);
+    }
+
+    public void removeViewer(LogViewer viewer) {
+        viewers.remove(viewer);
+    }
+
+    public int getViewerCount() {
+        return viewers.size();
+    }
+
+    public boolean isEnded() {
+        return endReason != null;
+    }
+
+    /**
+     * Closes the upstream connection, which ends the reading thread.
+     */
+    public void stop() {
+        stopped = true;
+        closeUpstream();
+    }
+
+    @Override
+    public void run() {
+        String reason = "Log ended";
+        try (InputStream in = opener.call()) {
+            upstream = in;
+            if (stopped) {
+                return;
+            }
+            readLines(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (ApiException e) {
+            log.warn("Error following log of {}", name, e);
+            reason = "Error following log: " + (e.getResponseBody() == null ? e.getMessage() : e.getResponseBody());
+        } catch (IOException | RuntimeException e) {
+            if (!stopped) {
+                log.debug("Log stream of {} failed", name, e);
+                reason = "Log stream closed";
+            }
+        } finally {
+            upstream = null;
+            endReason = reason;
+            viewers.values()
+                    .forEach(this::schedule);
+        }
+    }
+
+    private void readLines(Reader reader) throws IOException {
+        char[] buffer = new char[8192];
+        StringBuilder line = new StringBuilder();
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                char c = buffer[i];
+                if (c == '\n' || line.length() == MAX_LINE_LENGTH) {
+                    ring.append(line.toString());
+                    line.setLength(0);
+                    if (c == '\n') {
+                        continue;
+                    }
+                }
+                // carriage returns would end the line early for an event stream
+                if (c != '\r') {
+                    line.append(c);
+                }
+            }
+            viewers.values()
+                    .forEach(this::schedule);
+        }
+        if (line.length() > 0) {
+            ring.append(line.toString());
+        }
+    }
+
+    private void schedule(Cursor cursor) {
+        if (cursor.scheduled.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(cursor));
+            } catch (RejectedExecutionException e) {
+                // the senders are shut down with the application, after the streams are stopped
+                log.debug("Not sending log of {}, shutting down", name);
+                cursor.scheduled.set(false);
+            }
+        }
+    }
+
+    private void drain(Cursor cursor) {
+        try {
+            LogBatch batch = ring.read(cursor.next, MAX_BATCH_LINES);
+            while (!batch.isEmpty()) {
+                if (!send(cursor, batch)) {
+                    return;
+                }
+                cursor.next = batch.getFirstSequence() + batch.getLines()
+                        .size();
+                batch = ring.read(cursor.next, MAX_BATCH_LINES);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Dropping viewer of {}", name, e);
+            if (viewers.remove(cursor.viewer) != null) {
+                cursor.viewer.close("Viewer disconnected");
+            }
+            return;
+        } finally {
+            cursor.scheduled.set(false);
+        }
+
+        if (endReason != null && cursor.next >= ring.getNext()) {
+            if (viewers.remove(cursor.viewer) != null) {
+                cursor.viewer.close(endReason);
+            }
+        } else if (cursor.next < ring.getNext() && viewers.containsKey(cursor.viewer)) {
+            // lines appended after the last read but before the flag was cleared
+            schedule(cursor);
+        }
+    }
+
+    /**
+     * Sends the batch, returning false when the viewer was dropped because the send took too long.
+     */
+    private boolean send(Cursor cursor, LogBatch batch) throws IOException {
+        CompletableFuture<Void> sent = CompletableFuture.runAsync(() -> {
+            try {
+                cursor.viewer.send(batch);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, writers);
+        try {
+            sent.get(maxSendMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            log.debug("Dropping viewer of {} that stopped reading", name);
+            if (viewers.remove(cursor.viewer) != null) {
+                // the viewer is closed once the send still running fails, so the two never overlap
+                sent.whenComplete((result, error) -> cursor.viewer.close("Viewer too slow"));
+            }
+            return false;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause()
+                    .getCause() : e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                    .interrupt();
+            throw new IOException("Interrupted sending log", e);
+        }
+    }
+
+    private void closeUpstream() {
+        InputStream in = upstream;
+        if (in != null) {
+            try {
+                in.close();
+            } catch (IOException e) {
+                log.debug("Error closing log stream of {}", name, e);
+            }
+        }
+    }
+
+    private static class Cursor {
+        private final LogViewer viewer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long next;
+
+        Cursor(LogViewer viewer, long next) {
+            this.viewer = viewer;
+            this.next = next;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+import static org.springframework.web.servlet.mvc.method.annotation.SseEmitter.event;
+
+/**
+ * Sends log search results as server-sent events: a {@code line} event per matching or context line, {@code progress}
+ * events while the search runs, and a final {@code end} or {@code failed} event.
+ */
+@Slf4j
+public class SseLogSearchViewer implements LogSearchViewer {
+    private final SseEmitter emitter;
+
+    public SseLogSearchViewer(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void send(LogSearchLine line) throws IOException {
+        emitter.send(event().name("line")
+                             .data(line, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void progress(LogSearchProgress progress) throws IOException {
+        emitter.send(event().name("progress")
+                             .data(progress, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void end(LogSearchProgress progress) {
+        complete(event().name("end")
+                         .data(progress, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void fail(String reason) {
+        // not "error", which browsers use for their own connection errors
+        complete(event().name("failed")
+                         .data(reason));
+    }
+
+    private void complete(SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+            emitter.complete();
+        } catch (IOException | RuntimeException e) {
+            log.debug("Error ending log search", e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+import static org.springframework.web.servlet.mvc.method.annotation.SseEmitter.event;
+
+/**
+ * Sends a followed log as server-sent events.  Each batch is one {@code lines} event with a data line per log line,
+ * and its id is the position of its last line so a reconnecting browser resumes where it left off.
+ */
+@Slf4j
+public class SseLogViewer implements LogViewer {
+    private final SseEmitter emitter;
+
+    public SseLogViewer(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void send(LogBatch batch) throws IOException {
+        if (batch.getSkipped() > 0) {
+            emitter.send(event().name("skipped")
+                                 .data(batch.getSkipped()));
+        }
+        if (!batch.getLines()
+                .isEmpty()) {
+            SseEmitter.SseEventBuilder event = event().id(batch.getPosition())
+                    .name("lines");
+            batch.getLines()
+                    .forEach(event::data);
+            emitter.send(event);
+        }
+    }
+
+    @Override
+    public void close(String reason) {
+        try {
+            emitter.send(event().name("end")
+                                 .data(reason));
+            emitter.complete();
+        } catch (IOException | RuntimeException e) {
+            log.debug("Error closing log viewer", e);
+        }
+    }
+}
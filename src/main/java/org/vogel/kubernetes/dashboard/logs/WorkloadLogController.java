@@ -0,0 +1,147 @@
+package org.vogel.kubernetes.dashboard.logs;
+
+import io.kubernetes.client.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.joda.time.DateTime;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.vogel.kubernetes.dashboard.ApiCall;
+import org.vogel.kubernetes.dashboard.KubernetesUtils;
+import org.vogel.kubernetes.dashboard.LogOptions;
+import org.vogel.kubernetes.dashboard.PageExecutor;
+
+import javax.validation.constraints.NotNull;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * The logs of all the pods of a deployment or replica set, merged by time.
+ */
+@Slf4j
+@Controller
+@RequestMapping("/namespaces/{namespace}")
+public class WorkloadLogController {
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+    static final int DEFAULT_TAIL_LINES = 100;
+
+    private KubernetesUtils kubeUtils;
+
+    private LogMerger logMerger;
+
+    private PageExecutor pageExecutor;
+
+    public WorkloadLogController(KubernetesUtils kubeUtils, LogMerger logMerger, PageExecutor pageExecutor) {
+        this.kubeUtils = kubeUtils;
+        this.logMerger = logMerger;
+        this.pageExecutor = pageExecutor;
+    }
+
+    @GetMapping("/deployments/{deploymentName}/logs")
+    public String showDeploymentLogs(Model model, @PathVariable("namespace") @NotNull String namespace,
+                                     @PathVariable @NotNull String deploymentName,
+                                     @RequestParam(value = "container", required = false) String container,
+                                     @RequestParam(value = "tailLines", required = false) Integer tailLines,
+                                     @RequestParam(value = "sinceTime", required = false) String sinceTime) {
+        log.debug("In showDeploymentLogs with namespace: {} and deployment: {}", namespace, deploymentName);
+        return showLogs(model, namespace, "Deployment", "deployments", deploymentName, container, tailLines,
+                        sinceTime);
+    }
+
+    @GetMapping(value = "/deployments/{deploymentName}/logs/raw", produces = MediaType.TEXT_PLAIN_VALUE)
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> streamDeploymentLogs(
+            @PathVariable("namespace") @NotNull String namespace, @PathVariable @NotNull String deploymentName,
+            @RequestParam(value = "container", required = false) String container,
+            @RequestParam(value = "tailLines", required = false) Integer tailLines,
+            @RequestParam(value = "sinceTime", required = false) String sinceTime) {
+        log.debug("In streamDeploymentLogs with namespace: {} and deployment: {}", namespace, deploymentName);
+        return streamLogs(namespace, "deployment " + deploymentName,
+                          () -> kubeUtils.getDeploymentPodNames(namespace, deploymentName), container, tailLines,
+                          sinceTime);
+    }
+
+    @GetMapping("/replicasets/{replicaSetName}/logs")
+    public String showReplicaSetLogs(Model model, @PathVariable("namespace") @NotNull String namespace,
+                                     @PathVariable @NotNull String replicaSetName,
+                                     @RequestParam(value = "container", required = false) String container,
+                                     @RequestParam(value = "tailLines", required = false) Integer tailLines,
+                                     @RequestParam(value = "sinceTime", required = false) String sinceTime) {
+        log.debug("In showReplicaSetLogs with namespace: {} and replica set: {}", namespace, replicaSetName);
+        return showLogs(model, namespace, "Replica Set", "replicasets", replicaSetName, container, tailLines,
+                        sinceTime);
+    }
+
+    @GetMapping(value = "/replicasets/{replicaSetName}/logs/raw", produces = MediaType.TEXT_PLAIN_VALUE)
+    public CompletableFuture<ResponseEntity<StreamingResponseBody>> streamReplicaSetLogs(
+            @PathVariable("namespace") @NotNull String namespace, @PathVariable @NotNull String replicaSetName,
+            @RequestParam(value = "container", required = false) String container,
+            @RequestParam(value = "tailLines", required = false) Integer tailLines,
+            @RequestParam(value = "sinceTime", required = false) String sinceTime) {
+        log.debug("In streamReplicaSetLogs with namespace: {} and replica set: {}", namespace, replicaSetName);
+        return streamLogs(namespace, "replica set " + replicaSetName,
+                          () -> kubeUtils.getReplicaSetPodNames(namespace, replicaSetName), container, tailLines,
+                          sinceTime);
+    }
+
+    private String showLogs(Model model, String namespace, String kind, String resource, String name,
+                            String container, Integer tailLines, String sinceTime) {
+        model.addAttribute("namespace", namespace);
+        model.addAttribute("kind", kind);
+        model.addAttribute("resource", resource);
+        model.addAttribute("name", name);
+        model.addAttribute("container", container);
+        model.addAttribute("tailLines", tailLines == null ? DEFAULT_TAIL_LINES : tailLines);
+        model.addAttribute("sinceTime", sinceTime);
+        return "workload_logs";
+    }
+
+    private CompletableFuture<ResponseEntity<StreamingResponseBody>> streamLogs(
+            String namespace, String workload, ApiCall<List<String>> podNames, String container, Integer tailLines,
+            String sinceTime) {
+        LogOptions options;
+        try {
+            options = new LogOptions(container, tailLines == null ? DEFAULT_TAIL_LINES : tailLines,
+                                     isBlank(sinceTime) ? null : DateTime.parse(sinceTime), null, true, false);
+        } catch (IllegalArgumentException e) {
+            return completedFuture(textResponse(HttpStatus.BAD_REQUEST, "Invalid sinceTime " + sinceTime));
+        }
+        // the pods are listed off the request thread, and their logs opened on the response thread
+        return pageExecutor.render(() -> {
+            List<String> pods;
+            try {
+                pods = podNames.call();
+            } catch (ApiException e) {
+                log.error("Error getting pods of {}", workload, e);
+                String message = defaultIfBlank(e.getResponseBody(), "Error getting pods of " + workload);
+                return textResponse(e.getCode() == HttpStatus.NOT_FOUND.value() ? HttpStatus.NOT_FOUND :
+                                            HttpStatus.BAD_GATEWAY, message);
+            }
+
+            return ResponseEntity.ok()
+                    .contentType(TEXT_PLAIN_UTF8)
+                    .body(out -> {
+                        try (MergedLog mergedLog = logMerger.open(namespace, pods, options)) {
+                            mergedLog.writeTo(out);
+                        }
+                    });
+        });
+    }
+
+    private ResponseEntity<StreamingResponseBody> textResponse(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(TEXT_PLAIN_UTF8)
+                .body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -7,9 +7,16 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.vogel.kubernetes.dashboard.Description;
+import org.vogel.kubernetes.dashboard.ETags;
 import org.vogel.kubernetes.dashboard.KubernetesUtils;
+import org.vogel.kubernetes.dashboard.Page;
+import org.vogel.kubernetes.dashboard.PageExecutor;
 
 import javax.validation.constraints.NotNull;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Controller
@@ -18,41 +25,62 @@ public class PersistentVolumeController {
 
     private KubernetesUtils kubeUtils;
 
-    public PersistentVolumeController(KubernetesUtils kubeUtils) {
+    private PageExecutor pageExecutor;
+
+    public PersistentVolumeController(KubernetesUtils kubeUtils, PageExecutor pageExecutor) {
         this.kubeUtils = kubeUtils;
+        this.pageExecutor = pageExecutor;
     }
 
     @GetMapping
-    public String listPersistentVolumes(Model model, @PathVariable("namespace") String namespace) {
+    public CompletableFuture<String> listPersistentVolumes(
+            Model model, WebRequest request, @PathVariable("namespace") String namespace,
+            @RequestParam(value = "limit", defaultValue = Page.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "continue", required = false) String continueToken) {
         log.debug("In listPersistentVolumes with namespace: {}", namespace);
-        try {
-            model.addAttribute("persistentVolumes", kubeUtils.getPersistentVolumes());
-            model.addAttribute("namespace", namespace);
-            model.addAttribute("namespaces", kubeUtils.getNamespaces());
-            return "persistent_volumes";
-        } catch (ApiException e) {
-            log.error("Error getting list of persistent volumes", e);
-            return "error";
+        if (ETags.checkNotModified(request, kubeUtils.getListVersion("persistentvolumes", continueToken),
+                                   kubeUtils.getNamespacesVersion())) {
+            return null;
         }
+        return pageExecutor.render(() -> {
+            try {
+                Page<PersistentVolume> page = kubeUtils.getPersistentVolumesPage(limit, continueToken);
+                model.addAttribute("persistentVolumes", page.getItems());
+                model.addAttribute("limit", limit);
+                model.addAttribute("continueToken", page.getContinueToken());
+                model.addAttribute("namespace", namespace);
+                model.addAttribute("namespaces", kubeUtils.getNamespaces());
+                return "persistent_volumes";
+            } catch (ApiException e) {
+                log.error("Error getting list of persistent volumes", e);
+                return "error";
+            }
+        });
     }
 
     @GetMapping("/{persistentVolumeName}")
-    public String describePersistentVolume(Model model, @PathVariable("namespace") @NotNull String namespace,
-                                           @PathVariable @NotNull String persistentVolumeName) {
+    public CompletableFuture<String> describePersistentVolume(Model model, WebRequest request,
+                                                              @PathVariable("namespace") @NotNull String namespace,
+                                                              @PathVariable @NotNull String persistentVolumeName) {
         log.debug("In describePersistentVolume with namespace: {} and persistent volume: {}", namespace,
                   persistentVolumeName);
-        try {
-            PersistentVolume persistentVolume = kubeUtils.getPersistentVolume(persistentVolumeName);
-            model.addAttribute("persistentVolume", persistentVolume);
-            model.addAttribute("persistentVolumeName", persistentVolumeName);
-            model.addAttribute("events",
-                               kubeUtils.getEvents(namespace, "PersistentVolume", persistentVolumeName,
-                                                   persistentVolume.getUid()));
-            model.addAttribute("namespace", namespace);
-            return "persistent_volume_describe";
-        } catch (ApiException e) {
-            log.error("Error getting persistent volume", e);
-            return "error";
+        if (ETags.checkNotModified(request,
+                                   kubeUtils.getObjectVersion("persistentvolumes", null, persistentVolumeName))) {
+            return null;
         }
+        return pageExecutor.render(() -> {
+            try {
+                Description<PersistentVolume> description = kubeUtils.describePersistentVolume(
+                        namespace, persistentVolumeName);
+                model.addAttribute("persistentVolume", description.getObject());
+                model.addAttribute("persistentVolumeName", persistentVolumeName);
+                model.addAttribute("events", description.getEvents());
+                model.addAttribute("namespace", namespace);
+                return "persistent_volume_describe";
+            } catch (ApiException e) {
+                log.error("Error getting persistent volume", e);
+                return "error";
+            }
+        });
     }
 }
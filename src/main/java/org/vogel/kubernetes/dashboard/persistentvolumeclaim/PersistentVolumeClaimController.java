@@ -7,9 +7,16 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.vogel.kubernetes.dashboard.Description;
+import org.vogel.kubernetes.dashboard.ETags;
 import org.vogel.kubernetes.dashboard.KubernetesUtils;
+import org.vogel.kubernetes.dashboard.Page;
+import org.vogel.kubernetes.dashboard.PageExecutor;
 
 import javax.validation.constraints.NotNull;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Controller
@@ -18,41 +25,63 @@ public class PersistentVolumeClaimController {
 
     private KubernetesUtils kubeUtils;
 
-    public PersistentVolumeClaimController(KubernetesUtils kubeUtils) {
+    private PageExecutor pageExecutor;
+
+    public PersistentVolumeClaimController(KubernetesUtils kubeUtils, PageExecutor pageExecutor) {
         this.kubeUtils = kubeUtils;
+        this.pageExecutor = pageExecutor;
     }
 
     @GetMapping
-    public String listPersistentVolumeClaims(Model model, @PathVariable("namespace") String namespace) {
+    public CompletableFuture<String> listPersistentVolumeClaims(
+            Model model, WebRequest request, @PathVariable("namespace") String namespace,
+            @RequestParam(value = "limit", defaultValue = Page.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "continue", required = false) String continueToken) {
         log.debug("In listPersistentVolumeClaims with namespace: {}", namespace);
-        try {
-            model.addAttribute("persistentVolumeClaims", kubeUtils.getPersistentVolumeClaims(namespace));
-            model.addAttribute("namespace", namespace);
-            model.addAttribute("namespaces", kubeUtils.getNamespaces());
-            return "persistent_volume_claims";
-        } catch (ApiException e) {
-            log.error("Error getting list of persistent volume claims", e);
-            return "error";
+        if (ETags.checkNotModified(request, kubeUtils.getListVersion("persistentvolumeclaims", continueToken),
+                                   kubeUtils.getNamespacesVersion())) {
+            return null;
         }
+        return pageExecutor.render(() -> {
+            try {
+                Page<PersistentVolumeClaim> page = kubeUtils.getPersistentVolumeClaimsPage(namespace, limit,
+                                                                                           continueToken);
+                model.addAttribute("persistentVolumeClaims", page.getItems());
+                model.addAttribute("limit", limit);
+                model.addAttribute("continueToken", page.getContinueToken());
+                model.addAttribute("namespace", namespace);
+                model.addAttribute("namespaces", kubeUtils.getNamespaces());
+                return "persistent_volume_claims";
+            } catch (ApiException e) {
+                log.error("Error getting list of persistent volume claims", e);
+                return "error";
+            }
+        });
     }
 
     @GetMapping("/{persistentVolumeClaimName}")
-    public String describePersistentVolumeClaim(Model model, @PathVariable("namespace") @NotNull String namespace,
-                                                @PathVariable @NotNull String persistentVolumeClaimName) {
+    public CompletableFuture<String> describePersistentVolumeClaim(
+            Model model, WebRequest request, @PathVariable("namespace") @NotNull String namespace,
+            @PathVariable @NotNull String persistentVolumeClaimName) {
         log.debug("In describePersistentVolumeClaim with namespace: {} and persistent volume claim: {}", namespace,
                   persistentVolumeClaimName);
-        try {
-            PersistentVolumeClaim persistentVolumeClaim = kubeUtils.getPersistentVolumeClaim(namespace, persistentVolumeClaimName);
-            model.addAttribute("persistentVolumeClaim", persistentVolumeClaim);
-            model.addAttribute("persistentVolumeClaimName", persistentVolumeClaimName);
-            model.addAttribute("events",
-                               kubeUtils.getEvents(namespace, "PersistentVolumeClaim", persistentVolumeClaimName,
-                                                   persistentVolumeClaim.getUid()));
-            model.addAttribute("namespace", namespace);
-            return "persistent_volume_claim_describe";
-        } catch (ApiException e) {
-            log.error("Error getting persistent volume", e);
-            return "error";
+        if (ETags.checkNotModified(request, kubeUtils.getObjectVersion("persistentvolumeclaims", namespace,
+                                                                       persistentVolumeClaimName))) {
+            return null;
         }
+        return pageExecutor.render(() -> {
+            try {
+                Description<PersistentVolumeClaim> description = kubeUtils.describePersistentVolumeClaim(
+                        namespace, persistentVolumeClaimName);
+                model.addAttribute("persistentVolumeClaim", description.getObject());
+                model.addAttribute("persistentVolumeClaimName", persistentVolumeClaimName);
+                model.addAttribute("events", description.getEvents());
+                model.addAttribute("namespace", namespace);
+                return "persistent_volume_claim_describe";
+            } catch (ApiException e) {
+                log.error("Error getting persistent volume", e);
+                return "error";
+            }
+        });
     }
 }
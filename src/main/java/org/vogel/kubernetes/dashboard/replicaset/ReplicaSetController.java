@@ -7,9 +7,18 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.vogel.kubernetes.dashboard.Description;
+import org.vogel.kubernetes.dashboard.ETags;
 import org.vogel.kubernetes.dashboard.KubernetesUtils;
+import org.vogel.kubernetes.dashboard.Page;
+import org.vogel.kubernetes.dashboard.PageExecutor;
+import org.vogel.kubernetes.dashboard.RequirementException;
+import org.vogel.kubernetes.dashboard.Selector;
 
 import javax.validation.constraints.NotNull;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Controller
@@ -18,39 +27,69 @@ public class ReplicaSetController {
 
     private KubernetesUtils kubeUtils;
 
-    public ReplicaSetController(KubernetesUtils kubeUtils) {
+    private PageExecutor pageExecutor;
+
+    public ReplicaSetController(KubernetesUtils kubeUtils, PageExecutor pageExecutor) {
         this.kubeUtils = kubeUtils;
+        this.pageExecutor = pageExecutor;
     }
 
     @GetMapping
-    public String listReplicaSets(Model model, @PathVariable("namespace") String namespace) {
+    public CompletableFuture<String> listReplicaSets(
+            Model model, WebRequest request, @PathVariable("namespace") String namespace,
+            @RequestParam(value = "limit", defaultValue = Page.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "continue", required = false) String continueToken,
+            @RequestParam(value = "labelSelector", required = false) String labelSelector) {
         log.debug("In listReplicaSets with namespace: {}", namespace);
-        try {
-            model.addAttribute("replicaSets", kubeUtils.getReplicaSets(namespace));
-            model.addAttribute("namespace", namespace);
-            model.addAttribute("namespaces", kubeUtils.getNamespaces());
-            return "replica_sets";
-        } catch (ApiException e) {
-            log.error("Error getting list of replica sets", e);
-            return "error";
+        // read before the page, which the live updates then bring forward from this version
+        String listVersion = kubeUtils.getListVersion("replicasets", continueToken);
+        if (ETags.checkNotModified(request, listVersion, kubeUtils.getNamespacesVersion())) {
+            return null;
         }
+        return pageExecutor.render(() -> {
+            Selector selector = new Selector();
+            try {
+                selector = Selector.parse(labelSelector);
+            } catch (RequirementException e) {
+                model.addAttribute("labelSelectorError", e.getMessage());
+            }
+            try {
+                Page<ReplicaSetSummary> page = kubeUtils.getReplicaSetsPage(namespace, selector, limit, continueToken);
+                model.addAttribute("replicaSets", page.getItems());
+                model.addAttribute("limit", limit);
+                model.addAttribute("continueToken", page.getContinueToken());
+                model.addAttribute("labelSelector", labelSelector);
+                model.addAttribute("listVersion", listVersion);
+                model.addAttribute("namespace", namespace);
+                model.addAttribute("namespaces", kubeUtils.getNamespaces());
+                return "replica_sets";
+            } catch (ApiException e) {
+                log.error("Error getting list of replica sets", e);
+                return "error";
+            }
+        });
     }
 
     @GetMapping("/{replicaSetName}")
-    public String describeReplicaSet(Model model, @PathVariable("namespace") @NotNull String namespace,
-                                     @PathVariable @NotNull String replicaSetName) {
+    public CompletableFuture<String> describeReplicaSet(Model model, WebRequest request,
+                                                        @PathVariable("namespace") @NotNull String namespace,
+                                                        @PathVariable @NotNull String replicaSetName) {
         log.debug("In describeReplicaSet with namespace: {} and replica set: {}", namespace, replicaSetName);
-        try {
-            ReplicaSet replicaSet = kubeUtils.getReplicaSet(namespace, replicaSetName);
-            model.addAttribute("replicaSet", replicaSet);
-            model.addAttribute("replicaSetName", replicaSetName);
-            model.addAttribute("events",
-                               kubeUtils.getEvents(namespace, "ReplicaSet", replicaSetName, replicaSet.getUid()));
-            model.addAttribute("namespace", namespace);
-            return "replica_set_describe";
-        } catch (ApiException e) {
-            log.error("Error getting replica set", e);
-            return "error";
+        if (ETags.checkNotModified(request, kubeUtils.getObjectVersion("replicasets", namespace, replicaSetName))) {
+            return null;
         }
+        return pageExecutor.render(() -> {
+            try {
+                Description<ReplicaSet> description = kubeUtils.describeReplicaSet(namespace, replicaSetName);
+                model.addAttribute("replicaSet", description.getObject());
+                model.addAttribute("replicaSetName", replicaSetName);
+                model.addAttribute("events", description.getEvents());
+                model.addAttribute("namespace", namespace);
+                return "replica_set_describe";
+            } catch (ApiException e) {
+                log.error("Error getting replica set", e);
+                return "error";
+            }
+        });
     }
 }
@@ -0,0 +1,28 @@
+package org.vogel.kubernetes.dashboard.replicaset;
+
+import io.kubernetes.client.models.V1beta2ReplicaSet;
+import io.kubernetes.client.models.V1beta2ReplicaSetStatus;
+import lombok.Getter;
+import org.vogel.kubernetes.dashboard.MetadataSummary;
+
+import static org.apache.commons.lang3.ObjectUtils.defaultIfNull;
+
+/**
+ * The columns of a replica set on the list pages, leaving out the pod template, owner and conditions of the
+ * {@link ReplicaSet} the describe page shows.
+ */
+@Getter
+public class ReplicaSetSummary extends MetadataSummary {
+    private int desired;
+    private int current;
+    private int ready;
+
+    public ReplicaSetSummary(V1beta2ReplicaSet replicaSet) {
+        super(replicaSet.getMetadata());
+        V1beta2ReplicaSetStatus replicaSetStatus = replicaSet.getStatus();
+        desired = replicaSet.getSpec()
+                .getReplicas();
+        current = replicaSetStatus.getReplicas();
+        ready = defaultIfNull(replicaSetStatus.getReadyReplicas(), 0);
+    }
+}
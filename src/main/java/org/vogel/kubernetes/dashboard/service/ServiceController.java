@@ -7,9 +7,16 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.vogel.kubernetes.dashboard.Description;
+import org.vogel.kubernetes.dashboard.ETags;
 import org.vogel.kubernetes.dashboard.KubernetesUtils;
+import org.vogel.kubernetes.dashboard.Page;
+import org.vogel.kubernetes.dashboard.PageExecutor;
 
 import javax.validation.constraints.NotNull;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Controller
@@ -18,38 +25,59 @@ public class ServiceController {
 
     private KubernetesUtils kubeUtils;
 
-    public ServiceController(KubernetesUtils kubeUtils) {
+    private PageExecutor pageExecutor;
+
+    public ServiceController(KubernetesUtils kubeUtils, PageExecutor pageExecutor) {
         this.kubeUtils = kubeUtils;
+        this.pageExecutor = pageExecutor;
     }
 
     @GetMapping
-    public String listServices(Model model, @PathVariable("namespace") String namespace) {
+    public CompletableFuture<String> listServices(
+            Model model, WebRequest request, @PathVariable("namespace") String namespace,
+            @RequestParam(value = "limit", defaultValue = Page.DEFAULT_LIMIT) int limit,
+            @RequestParam(value = "continue", required = false) String continueToken) {
         log.debug("In listServices with namespace: {}", namespace);
-        try {
-            model.addAttribute("services", kubeUtils.getServices(namespace));
-            model.addAttribute("namespace", namespace);
-            model.addAttribute("namespaces", kubeUtils.getNamespaces());
-            return "services";
-        } catch (ApiException e) {
-            log.error("Error getting list of services", e);
-            return "error";
+        if (ETags.checkNotModified(request, kubeUtils.getListVersion("services", continueToken),
+                                   kubeUtils.getNamespacesVersion())) {
+            return null;
         }
+        return pageExecutor.render(() -> {
+            try {
+                Page<Service> page = kubeUtils.getServicesPage(namespace, limit, continueToken);
+                model.addAttribute("services", page.getItems());
+                model.addAttribute("limit", limit);
+                model.addAttribute("continueToken", page.getContinueToken());
+                model.addAttribute("namespace", namespace);
+                model.addAttribute("namespaces", kubeUtils.getNamespaces());
+                return "services";
+            } catch (ApiException e) {
+                log.error("Error getting list of services", e);
+                return "error";
+            }
+        });
     }
 
     @GetMapping("/{serviceName}")
-    public String describeService(Model model, @PathVariable("namespace") @NotNull String namespace,
-                                  @PathVariable @NotNull String serviceName) {
+    public CompletableFuture<String> describeService(Model model, WebRequest request,
+                                                     @PathVariable("namespace") @NotNull String namespace,
+                                                     @PathVariable @NotNull String serviceName) {
         log.debug("In describeService with namespace: {} and service: {}", namespace, serviceName);
-        try {
-            Service service = kubeUtils.getService(namespace, serviceName);
-            model.addAttribute("service", service);
-            model.addAttribute("serviceName", serviceName);
-            model.addAttribute("events", kubeUtils.getEvents(namespace, "Service", serviceName, service.getUid()));
-            model.addAttribute("namespace", namespace);
-            return "service_describe";
-        } catch (ApiException e) {
-            log.error("Error getting service", e);
-            return "error";
+        if (ETags.checkNotModified(request, kubeUtils.getObjectVersion("services", namespace, serviceName))) {
+            return null;
         }
+        return pageExecutor.render(() -> {
+            try {
+                Description<Service> description = kubeUtils.describeService(namespace, serviceName);
+                model.addAttribute("service", description.getObject());
+                model.addAttribute("serviceName", serviceName);
+                model.addAttribute("events", description.getEvents());
+                model.addAttribute("namespace", namespace);
+                return "service_describe";
+            } catch (ApiException e) {
+                log.error("Error getting service", e);
+                return "error";
+            }
+        });
     }
 }
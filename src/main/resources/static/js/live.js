@@ -0,0 +1,92 @@
+// Keeps a list page current by following the changes to its rows instead of reloading it.  The rows are in name order
+// and keyed by uid; a new row is only shown when its name falls within this page.
+(function () {
+    var table = document.getElementById('live');
+    if (!table || !table.getAttribute('data-version')) {
+        // the page was not built from the cache, so there are no changes to follow
+        return;
+    }
+    var body = table.tBodies[0];
+    var params = new URLSearchParams(window.location.search);
+    var continued = params.has('continue');
+    var more = table.getAttribute('data-more') === 'true';
+    var query = new URLSearchParams();
+    if (params.get('labelSelector')) {
+        query.set('labelSelector', params.get('labelSelector'));
+    }
+    query.set('version', table.getAttribute('data-version'));
+
+    function rowOf(uid) {
+        return body.querySelector('tr[data-uid="' + uid + '"]');
+    }
+
+    function nameOf(tr) {
+        return tr.querySelector('[data-field="name"]').textContent;
+    }
+
+    function onPage(name) {
+        var rows = body.rows;
+        return !(continued && name < nameOf(rows[0])) && !(more && name > nameOf(rows[rows.length - 1]));
+    }
+
+    function fill(tr, row) {
+        var oldName = nameOf(tr);
+        tr.setAttribute('data-uid', row.uid);
+        tr.querySelectorAll('[data-field]').forEach(function (cell) {
+            var value = row[cell.getAttribute('data-field')];
+            cell.textContent = value === undefined ? '' : value;
+        });
+        if (oldName !== row.name) {
+            tr.querySelectorAll('a[href]').forEach(function (link) {
+                link.setAttribute('href', link.getAttribute('href').split('/').map(function (segment) {
+                    return segment === encodeURIComponent(oldName) ? encodeURIComponent(row.name) : segment;
+                }).join('/'));
+            });
+        }
+    }
+
+    function insert(row) {
+        var rows = body.rows;
+        if (rows.length === 0) {
+            // nothing to build the row from
+            window.location.reload();
+            return;
+        }
+        if (!onPage(row.name)) {
+            return;
+        }
+        var tr = rows[0].cloneNode(true);
+        fill(tr, row);
+        var before = Array.prototype.find.call(rows, function (other) {
+            return nameOf(other) > row.name;
+        });
+        body.insertBefore(tr, before || null);
+    }
+
+    function upsert(event) {
+        var row = JSON.parse(event.data);
+        var tr = rowOf(row.uid);
+        if (tr) {
+            fill(tr, row);
+        } else {
+            insert(row);
+        }
+    }
+
+    var source = new EventSource(table.getAttribute('data-src') + '?' + query);
+    source.addEventListener('added', upsert);
+    source.addEventListener('modified', upsert);
+    source.addEventListener('deleted', function (event) {
+        var tr = rowOf(event.data);
+        if (tr) {
+            body.removeChild(tr);
+        }
+    });
+    source.addEventListener('reset', function () {
+        source.close();
+        window.location.reload();
+    });
+    source.addEventListener('end', function () {
+        source.close();
+    });
+})();
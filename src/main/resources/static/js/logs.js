@@ -0,0 +1,244 @@
+// Shows a pod log one page at a time, as the whole log streamed in as it arrives, or followed as it is written, and
+// searches it on the server.  The log requests reuse the page's query string, so the form fields apply to them.
+(function () {
+    // followed logs drop their oldest lines past this many batches so a long running tab does not grow forever
+    var MAX_FOLLOW_NODES = 5000;
+    var PAGE_LINES = 200;
+    var output = document.getElementById('logs');
+    var decoder = new TextDecoder();
+
+    function append(text) {
+        if (text) {
+            output.appendChild(document.createTextNode(text));
+        }
+    }
+
+    function notice(text) {
+        var span = document.createElement('span');
+        span.className = 'notice';
+        span.textContent = text + '\n';
+        output.appendChild(span);
+    }
+
+    function atBottom() {
+        return window.innerHeight + window.pageYOffset >= document.body.offsetHeight - 20;
+    }
+
+    function follow() {
+        var source = new EventSource(output.getAttribute('data-follow-src') + window.location.search);
+        source.addEventListener('lines', function (event) {
+            var scroll = atBottom();
+            append(event.data + '\n');
+            while (output.childNodes.length > MAX_FOLLOW_NODES) {
+                output.removeChild(output.firstChild);
+            }
+            if (scroll) {
+                window.scrollTo(0, document.body.scrollHeight);
+            }
+        });
+        source.addEventListener('skipped', function (event) {
+            notice('... ' + event.data + ' lines skipped ...');
+        });
+        source.addEventListener('end', function (event) {
+            notice(event.data);
+            source.close();
+        });
+    }
+
+    function stream() {
+        fetch(output.getAttribute('data-src') + window.location.search).then(function (response) {
+            if (!response.ok) {
+                output.classList.add('error');
+            }
+            var reader = response.body.getReader();
+
+            function read() {
+                return reader.read().then(function (result) {
+                    if (result.done) {
+                        append(decoder.decode());
+                        return;
+                    }
+                    append(decoder.decode(result.value, {stream: true}));
+                    return read();
+                });
+            }
+
+            return read();
+        }).catch(function (error) {
+            output.classList.add('error');
+            append('\n' + error);
+        });
+    }
+
+    function pages() {
+        var status = document.getElementById('status');
+        var container = new URLSearchParams(window.location.search).get('container') || '';
+        var from = null;
+        var total = 0;
+
+        function load(start, refresh) {
+            var query = '?container=' + encodeURIComponent(container) + '&count=' + PAGE_LINES +
+                (start === null ? '' : '&from=' + start) + (refresh ? '&refresh=true' : '');
+            fetch(output.getAttribute('data-lines-src') + query).then(function (response) {
+                return response.json();
+            }).then(function (page) {
+                from = page.from;
+                total = page.totalLines;
+                output.textContent = page.lines.length ? page.lines.join('\n') + '\n' : '';
+                if (page.error) {
+                    status.textContent = page.error;
+                    output.classList.add('error');
+                    return;
+                }
+                output.classList.remove('error');
+                status.textContent = total === 0 ? 'No lines' : 'Lines ' + (from + 1) + '-' +
+                    (from + page.lines.length) + ' of ' + total + (page.complete ? '' : ' so far, loading...');
+                // the last page moves while the log is still being copied
+                if (!page.complete && start === null) {
+                    setTimeout(function () {
+                        load(null, false);
+                    }, 1000);
+                }
+            }).catch(function (error) {
+                output.classList.add('error');
+                status.textContent = String(error);
+            });
+        }
+
+        document.getElementById('pager').addEventListener('click', function (event) {
+            switch (event.target.getAttribute('data-page')) {
+                case 'first':
+                    load(0, false);
+                    break;
+                case 'previous':
+                    load(Math.max(0, from - PAGE_LINES), false);
+                    break;
+                case 'next':
+                    load(Math.min(from + PAGE_LINES, Math.max(0, total - 1)), false);
+                    break;
+                case 'last':
+                    load(null, false);
+                    break;
+                case 'line':
+                    var line = parseInt(document.getElementById('line').value, 10);
+                    if (line > 0) {
+                        load(line - 1, false);
+                    }
+                    break;
+                case 'reload':
+                    load(null, true);
+                    break;
+            }
+        });
+        // search results link to the page starting at their line
+        var start = parseInt(new URLSearchParams(window.location.search).get('line'), 10);
+        load(start > 0 ? start - 1 : null, false);
+    }
+
+    // pages always cover the whole log, so the fields that narrow it are only open to the other views
+    function viewOptions() {
+        var view = document.querySelector('select[name="view"]');
+
+        function update() {
+            ['tailLines', 'sinceTime', 'limitBytes'].forEach(function (name) {
+                view.form.elements[name].disabled = view.value === 'page';
+            });
+        }
+
+        view.addEventListener('change', update);
+        update();
+    }
+
+    function search() {
+        var form = document.getElementById('search');
+        var matches = document.getElementById('matches');
+        var status = document.getElementById('searchStatus');
+        var cancel = document.getElementById('cancelSearch');
+        var source = null;
+        var last = 0;
+
+        function stop(text) {
+            if (source) {
+                source.close();
+                source = null;
+            }
+            cancel.classList.add('d-none');
+            status.textContent = text;
+        }
+
+        function counts(progress) {
+            return progress.matches + ' matches in ' + progress.lines + ' lines';
+        }
+
+        function addLine(line) {
+            if (last && line.number > last + 1) {
+                matches.appendChild(document.createTextNode('--\n'));
+            }
+            last = line.number;
+            var params = new URLSearchParams(window.location.search);
+            params.set('view', 'page');
+            params.set('line', line.number);
+            var number = document.createElement('a');
+            number.className = 'line-number';
+            number.href = '?' + params.toString();
+            number.textContent = line.number;
+            var text = document.createElement('span');
+            if (line.match) {
+                text.className = 'match';
+            }
+            text.textContent = line.text;
+            matches.appendChild(number);
+            matches.appendChild(document.createTextNode(': '));
+            matches.appendChild(text);
+            matches.appendChild(document.createTextNode('\n'));
+        }
+
+        form.addEventListener('submit', function (event) {
+            event.preventDefault();
+            stop('Searching...');
+            matches.textContent = '';
+            matches.classList.remove('d-none', 'error');
+            last = 0;
+            var params = new URLSearchParams(new FormData(form));
+            params.set('container', new URLSearchParams(window.location.search).get('container') || '');
+            source = new EventSource(output.getAttribute('data-search-src') + '?' + params.toString());
+            cancel.classList.remove('d-none');
+            source.addEventListener('line', function (event) {
+                addLine(JSON.parse(event.data));
+            });
+            source.addEventListener('progress', function (event) {
+                status.textContent = 'Searching... ' + counts(JSON.parse(event.data));
+            });
+            source.addEventListener('end', function (event) {
+                var progress = JSON.parse(event.data);
+                stop(counts(progress) + (progress.limitReached ? ', stopped at the match limit' : ''));
+            });
+            source.addEventListener('failed', function (event) {
+                matches.classList.add('error');
+                stop(event.data);
+            });
+            // the browser would otherwise start the search over
+            source.onerror = function () {
+                if (source) {
+                    stop('Search interrupted');
+                }
+            };
+        });
+        cancel.addEventListener('click', function () {
+            stop('Cancelled');
+        });
+    }
+
+    if (document.getElementById('search')) {
+        search();
+    }
+    viewOptions();
+    var view = output.getAttribute('data-view');
+    if (view === 'follow') {
+        follow();
+    } else if (view === 'stream') {
+        stream();
+    } else {
+        pages();
+    }
+})();
@@ -0,0 +1,67 @@
+package org.vogel.kubernetes.dashboard
+
+import io.kubernetes.client.ApiException
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+
+class ApiExecutorSpec extends Specification {
+    def executor = new ApiExecutor(4, 1)
+
+    def cleanup() {
+        executor.stop()
+    }
+
+    def "calls run side by side"() {
+        given:
+        def bothStarted = new CountDownLatch(2)
+        ApiCall<String> call = {
+            bothStarted.countDown()
+            if (!bothStarted.await(1, TimeUnit.SECONDS)) {
+                throw new ApiException("other call never started")
+            }
+            "done"
+        }
+
+        when:
+        def first = executor.submit(call)
+        def second = executor.submit(call)
+        executor.await(first, second)
+
+        then:
+        first.join() == "done"
+        second.join() == "done"
+    }
+
+    def "api exception of a call is rethrown"() {
+        given:
+        def failed = executor.submit({ throw new ApiException(404, "not found") } as ApiCall)
+        def ok = executor.submit({ "ok" } as ApiCall)
+
+        when:
+        executor.await(failed, ok)
+
+        then:
+        def e = thrown(ApiException)
+        e.code == 404
+    }
+
+    def "calls past the deadline fail the page"() {
+        given:
+        def release = new CountDownLatch(1)
+        def slow = executor.submit({ release.await(); "late" } as ApiCall)
+
+        when:
+        executor.await(slow)
+
+        then:
+        def e = thrown(ApiException)
+        e.cause instanceof TimeoutException
+        slow.isCancelled()
+
+        cleanup:
+        release.countDown()
+    }
+}
@@ -5,16 +5,22 @@ import org.springframework.ui.Model
 import spock.lang.Specification
 
 class DashboardControllerSpec extends Specification {
+    def pages = new PageExecutor(1, 10)
+
+    def cleanup() {
+        pages.stop()
+    }
+
     def "test getting the index page"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def namespaces = ["default", "kube-system"]
         kubeUtil.getNamespaces() >> namespaces
-        def controller = new DashboardController(kubeUtil, "default")
+        def controller = new DashboardController(kubeUtil, pages, "default")
         def model = Mock(Model)
 
         when:
-        def result = controller.index(model)
+        def result = controller.index(model).get()
 
         then:
         result == "index"
@@ -27,11 +33,11 @@ class DashboardControllerSpec extends Specification {
         def kubeUtil = Mock(KubernetesUtils)
         def namespaces = ["default", "kube-system"]
         kubeUtil.getNamespaces() >> namespaces
-        def controller = new DashboardController(kubeUtil, "default")
+        def controller = new DashboardController(kubeUtil, pages, "default")
         def model = Mock(Model)
 
         when:
-        def result = controller.namespace(model, "kube-system")
+        def result = controller.namespace(model, "kube-system").get()
 
         then:
         result == "index"
@@ -43,11 +49,11 @@ class DashboardControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         kubeUtil.getNamespaces() >> { throw new ApiException() }
-        def controller = new DashboardController(kubeUtil, "default")
+        def controller = new DashboardController(kubeUtil, pages, "default")
         def model = Mock(Model)
 
         when:
-        def result = controller.namespace(model, "kube-system")
+        def result = controller.namespace(model, "kube-system").get()
 
         then:
         result == "error"
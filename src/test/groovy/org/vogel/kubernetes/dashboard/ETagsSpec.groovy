@@ -0,0 +1,76 @@
+package org.vogel.kubernetes.dashboard
+
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+import org.springframework.web.context.request.ServletWebRequest
+import spock.lang.Specification
+
+class ETagsSpec extends Specification {
+    static final long NOW = 1_555_000_000_000L
+
+    def "the same versions make the same ETag"() {
+        expect:
+        ETags.etag(NOW, "42", "7") == ETags.etag(NOW, "42", "7")
+        ETags.etag(NOW, "42", "7").startsWith('W/"')
+    }
+
+    def "a changed version makes a new ETag"() {
+        expect:
+        ETags.etag(NOW, "42", "7") != ETags.etag(NOW, "43", "7")
+        ETags.etag(NOW, "42", "7") != ETags.etag(NOW, "42", "8")
+    }
+
+    def "the ETag changes once ages may have moved on"() {
+        expect:
+        ETags.etag(NOW, "42") != ETags.etag(NOW + ETags.AGE_PRECISION_MILLIS, "42")
+    }
+
+    def "there is no ETag without every version"() {
+        expect:
+        ETags.etag(NOW, "42", null) == null
+    }
+
+    def "a request with the ETag is not modified"() {
+        given:
+        def servletRequest = new MockHttpServletRequest("GET", "/namespaces/default/pods")
+        servletRequest.addHeader("If-None-Match", ETags.etag(NOW, "42"))
+        def response = new MockHttpServletResponse()
+
+        when:
+        def notModified = ETags.checkNotModified(new ServletWebRequest(servletRequest, response), NOW, "42")
+
+        then:
+        notModified
+        response.status == 304
+        response.getHeader("ETag") == ETags.etag(NOW, "42")
+    }
+
+    def "a request with an old ETag gets the new one"() {
+        given:
+        def servletRequest = new MockHttpServletRequest("GET", "/namespaces/default/pods")
+        servletRequest.addHeader("If-None-Match", ETags.etag(NOW, "41"))
+        def response = new MockHttpServletResponse()
+
+        when:
+        def notModified = ETags.checkNotModified(new ServletWebRequest(servletRequest, response), NOW, "42")
+
+        then:
+        !notModified
+        response.status == 200
+        response.getHeader("ETag") == ETags.etag(NOW, "42")
+    }
+
+    def "a page that is not cached has no ETag"() {
+        given:
+        def servletRequest = new MockHttpServletRequest("GET", "/namespaces/default/pods")
+        servletRequest.addHeader("If-None-Match", "*")
+        def response = new MockHttpServletResponse()
+
+        when:
+        def notModified = ETags.checkNotModified(new ServletWebRequest(servletRequest, response), NOW, "42", null)
+
+        then:
+        !notModified
+        response.getHeader("ETag") == null
+    }
+}
@@ -0,0 +1,95 @@
+package org.vogel.kubernetes.dashboard
+
+import io.kubernetes.client.models.V1Container
+import io.kubernetes.client.models.V1ObjectMeta
+import io.kubernetes.client.models.V1OwnerReference
+import io.kubernetes.client.models.V1Pod
+import io.kubernetes.client.models.V1PodSpec
+import io.kubernetes.client.models.V1PodStatus
+import io.kubernetes.client.models.V1ResourceRequirements
+import io.kubernetes.client.models.V1beta2ReplicaSet
+import org.vogel.kubernetes.dashboard.cache.KubernetesCache
+import org.vogel.kubernetes.dashboard.cache.OwnerIndex
+import org.vogel.kubernetes.dashboard.cache.ResourceCache
+import spock.lang.Specification
+
+class KubernetesUtilsSpec extends Specification {
+    def cache = Mock(KubernetesCache)
+    def replicaSets = new ResourceCache<V1beta2ReplicaSet>("replicasets", { V1beta2ReplicaSet rs -> rs.metadata },
+                                                           { null }, { null })
+    def replicaSetsByController = new OwnerIndex<V1beta2ReplicaSet>({ V1beta2ReplicaSet rs -> rs.metadata })
+    def kubeUtils = new KubernetesUtils(null, null, cache, null, null, null)
+
+    def setup() {
+        replicaSets.addListener(replicaSetsByController)
+        cache.getReplicaSetsByController() >> replicaSetsByController
+    }
+
+    def "the controller chain of a pod goes up through its replica set to the deployment"() {
+        given:
+        replicaSets.replace([createReplicaSet("web-5d4f", reference("Deployment", "web"))], "1")
+
+        when:
+        def chain = kubeUtils.getControllerChain(createMetadata("web-5d4f-x2k9", reference("ReplicaSet", "web-5d4f")))
+
+        then:
+        chain.collect { "${it.kind}/${it.name}".toString() } == ["ReplicaSet/web-5d4f", "Deployment/web"]
+    }
+
+    def "an object without a controller has no chain"() {
+        expect:
+        kubeUtils.getControllerChain(createMetadata("web-1", null)).isEmpty()
+    }
+
+    def "a chain that goes round in a circle is cut short"() {
+        given:
+        replicaSets.replace([createReplicaSet("rs-a", reference("ReplicaSet", "rs-b")),
+                             createReplicaSet("rs-b", reference("ReplicaSet", "rs-a"))], "1")
+
+        when:
+        def chain = kubeUtils.getControllerChain(createMetadata("web-1", reference("ReplicaSet", "rs-a")))
+
+        then:
+        chain.size() == 8
+        chain*.name.take(3) == ["rs-a", "rs-b", "rs-a"]
+    }
+
+    def "the pod describe page shows the whole controller chain"() {
+        given:
+        def pods = new ResourceCache<V1Pod>("pods", { V1Pod pod -> pod.metadata }, { null }, { null })
+        pods.replace([new V1Pod().metadata(createMetadata("web-5d4f-x2k9", reference("ReplicaSet", "web-5d4f"))
+                                                   .namespace("default"))
+                              .spec(new V1PodSpec().containers([new V1Container().name("app")
+                                                                         .resources(new V1ResourceRequirements())]))
+                              .status(new V1PodStatus().phase("Running"))], "1")
+        cache.getPods() >> pods
+        replicaSets.replace([createReplicaSet("web-5d4f", reference("Deployment", "web"))], "1")
+
+        when:
+        def pod = kubeUtils.getPod("default", "web-5d4f-x2k9")
+
+        then:
+        pod.controlledBy == "ReplicaSet/web-5d4f"
+        pod.controllerChain == ["ReplicaSet/web-5d4f", "Deployment/web"]
+    }
+
+    private static V1beta2ReplicaSet createReplicaSet(String name, V1OwnerReference controller) {
+        new V1beta2ReplicaSet().metadata(createMetadata(name, controller).namespace("default"))
+    }
+
+    private static V1ObjectMeta createMetadata(String name, V1OwnerReference controller) {
+        def metadata = new V1ObjectMeta().name(name)
+                .uid(name)
+        if (controller != null) {
+            metadata.addOwnerReferencesItem(controller)
+        }
+        metadata
+    }
+
+    private static V1OwnerReference reference(String kind, String name) {
+        new V1OwnerReference().kind(kind)
+                .name(name)
+                .uid(name)
+                .controller(true)
+    }
+}
@@ -0,0 +1,41 @@
+package org.vogel.kubernetes.dashboard
+
+import org.joda.time.DateTime
+import spock.lang.Specification
+
+class LogOptionsSpec extends Specification {
+    def "since time is turned into seconds before now"() {
+        given:
+        def options = new LogOptions(null, null, DateTime.now().minusMinutes(5), null, false, false)
+
+        expect:
+        options.sinceSeconds in 300..302
+    }
+
+    def "since time in the future asks for the last second"() {
+        given:
+        def options = new LogOptions(null, null, DateTime.now().plusMinutes(5), null, false, false)
+
+        expect:
+        options.sinceSeconds == 1
+    }
+
+    def "no since time leaves the start open"() {
+        given:
+        def options = new LogOptions(null, null, null, null, false, false)
+
+        expect:
+        options.sinceSeconds == null
+    }
+
+    def "blank container means the default container"() {
+        expect:
+        new LogOptions(container, null, null, null, false, false).container == expected
+
+        where:
+        container || expected
+        null      || null
+        " "       || null
+        "app"     || "app"
+    }
+}
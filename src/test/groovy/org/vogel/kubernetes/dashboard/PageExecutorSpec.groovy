@@ -0,0 +1,58 @@
+package org.vogel.kubernetes.dashboard
+
+import org.springframework.http.HttpStatus
+import org.springframework.web.server.ResponseStatusException
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+
+class PageExecutorSpec extends Specification {
+    def executor = new PageExecutor(1, 1)
+
+    def cleanup() {
+        executor.stop()
+    }
+
+    def "pages are built off the request thread"() {
+        given:
+        def requestThread = Thread.currentThread()
+        def builtOn = null
+
+        when:
+        def view = executor.render({
+            builtOn = Thread.currentThread()
+            "pods"
+        }).get(1, TimeUnit.SECONDS)
+
+        then:
+        view == "pods"
+        builtOn != requestThread
+        builtOn.name.startsWith("kube-page-")
+    }
+
+    def "pages beyond the queue are turned away"() {
+        given:
+        def release = new CountDownLatch(1)
+        def running = executor.render({
+            release.await()
+            "pods"
+        })
+        def queued = executor.render({ "pods" })
+
+        when:
+        def rejected = executor.render({ "pods" })
+        rejected.get(1, TimeUnit.SECONDS)
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof ResponseStatusException
+        ((ResponseStatusException) e.cause).status == HttpStatus.SERVICE_UNAVAILABLE
+
+        cleanup:
+        release.countDown()
+        running.get(1, TimeUnit.SECONDS)
+        queued.get(1, TimeUnit.SECONDS)
+    }
+}
@@ -0,0 +1,26 @@
+package org.vogel.kubernetes.dashboard
+
+import spock.lang.Specification
+
+class PageSpec extends Specification {
+    def "map keeps the continue token"() {
+        given:
+        Page<Integer> page = new Page<>([1, 2, 3], "next")
+
+        when:
+        def mapped = page.map({ Integer i -> i.toString() })
+
+        then:
+        mapped.items == ["1", "2", "3"]
+        mapped.continueToken == "next"
+        mapped.hasMore()
+    }
+
+    def "last page has no more"() {
+        when:
+        Page<String> page = new Page<>(["a"], null)
+
+        then:
+        !page.hasMore()
+    }
+}
@@ -1,106 +1,385 @@
 package org.vogel.kubernetes.dashboard
 
 import io.kubernetes.client.ApiException
+import org.joda.time.DateTime
+import org.springframework.http.HttpStatus
 import org.springframework.ui.Model
+import org.springframework.web.context.request.WebRequest
 import spock.lang.Specification
 
+import java.util.zip.GZIPInputStream
+
 class PodControllerSpec extends Specification {
+    def pages = new PageExecutor(1, 10)
+
+    def cleanup() {
+        pages.stop()
+    }
+
     def "test getting a list of Pods"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        def resultPod = Mock(Pod)
+        def resultPod = Mock(PodSummary)
         def resultList = [resultPod]
-        kubeUtil.getPods("default") >> resultList
+        kubeUtil.getPodsPage("default", { it.empty }, 500, null) >> new Page(resultList, "cache:next")
         def namespaces = ["default", "kube-system"]
         kubeUtil.getNamespaces() >> namespaces
-        def controller = new PodController(kubeUtil)
+        def controller = new PodController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.listPods(model, "default")
+        def result = controller.listPods(model, request, "default", 500, null, null).get()
 
         then:
         result == "pods"
         1 * model.addAttribute("namespace", "default")
         1 * model.addAttribute("pods", resultList)
+        1 * model.addAttribute("limit", 500)
+        1 * model.addAttribute("continueToken", "cache:next")
         1 * model.addAttribute("namespaces", namespaces)
     }
 
     def "test getting a list of Pods with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getPods("default") >> { throw new ApiException() }
-        def controller = new PodController(kubeUtil)
+        kubeUtil.getPodsPage("default", _, 500, null) >> { throw new ApiException() }
+        def controller = new PodController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.listPods(model, "default")
+        def result = controller.listPods(model, request, "default", 500, null, null).get()
 
         then:
         result == "error"
     }
 
+    def "test getting a list of Pods filtered by label"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        def resultList = [Mock(PodSummary)]
+        kubeUtil.getNamespaces() >> ["default"]
+        def controller = new PodController(kubeUtil, pages)
+        def model = Mock(Model)
+        def request = Mock(WebRequest)
+
+        when:
+        def result = controller.listPods(model, request, "default", 500, null, "app=web").get()
+
+        then:
+        result == "pods"
+        1 * kubeUtil.getPodsPage("default", { it.string() == "app=web" }, 500, null) >> new Page(resultList, null)
+        1 * model.addAttribute("pods", resultList)
+        1 * model.addAttribute("labelSelector", "app=web")
+    }
+
+    def "test getting a list of Pods with a bad label filter"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        kubeUtil.getNamespaces() >> ["default"]
+        def controller = new PodController(kubeUtil, pages)
+        def model = Mock(Model)
+        def request = Mock(WebRequest)
+
+        when:
+        controller.listPods(model, request, "default", 500, null, "app in (web").get()
+
+        then:
+        1 * kubeUtil.getPodsPage("default", { it.empty }, 500, null) >> new Page([], null)
+        1 * model.addAttribute("labelSelectorError", "unbalanced parentheses in selector app in (web")
+    }
+
+    def "test getting a list of Pods that has not changed"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        kubeUtil.getListVersion("pods", null) >> "42"
+        kubeUtil.getNamespacesVersion() >> "7"
+        def controller = new PodController(kubeUtil, pages)
+        def model = Mock(Model)
+        def request = Mock(WebRequest)
+
+        when:
+        def result = controller.listPods(model, request, "default", 500, null, null)?.get()
+
+        then:
+        result == null
+        1 * request.checkNotModified({ it.startsWith('W/"') }) >> true
+        0 * kubeUtil.getPodsPage(*_)
+        0 * model.addAttribute(*_)
+    }
+
+    def "test getting a list of Pods that has changed"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        kubeUtil.getListVersion("pods", null) >> "43"
+        kubeUtil.getNamespacesVersion() >> "7"
+        kubeUtil.getNamespaces() >> ["default"]
+        def controller = new PodController(kubeUtil, pages)
+        def model = Mock(Model)
+        def request = Mock(WebRequest)
+
+        when:
+        def result = controller.listPods(model, request, "default", 500, null, null).get()
+
+        then:
+        result == "pods"
+        1 * request.checkNotModified(_) >> false
+        1 * kubeUtil.getPodsPage("default", _, 500, null) >> new Page([], null)
+        1 * model.addAttribute("listVersion", "43")
+    }
+
     def "test describing a Pod"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultPod = Mock(Pod)
-        kubeUtil.getPod("default", "my-pod") >> resultPod
-        def controller = new PodController(kubeUtil)
+        kubeUtil.describePod("default", "my-pod") >> new Description(resultPod, [])
+        def controller = new PodController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.describePod(model, "default", "my-pod")
+        def result = controller.describePod(model, request, "default", "my-pod").get()
 
         then:
         result == "pod_describe"
         1 * model.addAttribute("namespace", "default")
         1 * model.addAttribute("pod", resultPod)
         1 * model.addAttribute("podName", "my-pod")
+        1 * model.addAttribute("events", [])
     }
 
     def "test describing a Pod with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getPod("default", "my-pod") >> { throw new ApiException() }
-        def controller = new PodController(kubeUtil)
+        kubeUtil.describePod("default", "my-pod") >> { throw new ApiException() }
+        def controller = new PodController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.describePod(model, "default", "my-pod")
+        def result = controller.describePod(model, request, "default", "my-pod").get()
 
         then:
         result == "error"
     }
 
+    def "test describing a Pod that has not changed"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        kubeUtil.getObjectVersion("pods", "default", "my-pod") >> "42,43"
+        def controller = new PodController(kubeUtil, pages)
+        def model = Mock(Model)
+        def request = Mock(WebRequest)
+
+        when:
+        def result = controller.describePod(model, request, "default", "my-pod")?.get()
+
+        then:
+        result == null
+        1 * request.checkNotModified(_) >> true
+        0 * kubeUtil.describePod(*_)
+    }
+
+    def "test describing a Pod that is not cached"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        kubeUtil.describePod("default", "my-pod") >> new Description(Mock(Pod), [])
+        def controller = new PodController(kubeUtil, pages)
+        def model = Mock(Model)
+        def request = Mock(WebRequest)
+
+        when:
+        def result = controller.describePod(model, request, "default", "my-pod").get()
+
+        then:
+        result == "pod_describe"
+        0 * request.checkNotModified(_)
+    }
+
     def "test show a Pod log"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        def resultPod = "foo\n\tbar\n"
-        kubeUtil.getPodLogs("default", "my-pod") >> resultPod
-        def controller = new PodController(kubeUtil)
+        def controller = new PodController(kubeUtil, pages)
         def model = Mock(Model)
 
         when:
-        def result = controller.showPodLogs(model, "default", "my-pod")
+        def result = controller.showPodLogs(model, "default", "my-pod", "app", 100, null, null, "follow")
 
         then:
         result == "logs"
         1 * model.addAttribute("namespace", "default")
-        1 * model.addAttribute("logs", ["foo", "        bar"])
         1 * model.addAttribute("podName", "my-pod")
+        1 * model.addAttribute("container", "app")
+        1 * model.addAttribute("tailLines", 100)
+        1 * model.addAttribute("view", "follow")
+        0 * kubeUtil._
     }
 
-    def "test show a Pod log with exception"() {
+    def "test the Pod log view defaults to pages unless the log is narrowed"() {
         given:
-        def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getPodLogs("default", "my-pod") >> { throw new ApiException() }
-        def controller = new PodController(kubeUtil)
+        def controller = new PodController(Mock(KubernetesUtils), pages)
         def model = Mock(Model)
 
         when:
-        def result = controller.showPodLogs(model, "default", "my-pod")
+        controller.showPodLogs(model, "default", "my-pod", null, tailLines, sinceTime, limitBytes, view)
 
         then:
-        result == "error"
+        1 * model.addAttribute("view", expected)
+
+        where:
+        tailLines | sinceTime              | limitBytes | view     || expected
+        null      | null                   | null       | null     || "page"
+        null      | ""                     | null       | ""       || "page"
+        100       | null                   | null       | null     || "stream"
+        null      | "2019-04-01T12:00:00Z" | null       | null     || "stream"
+        null      | null                   | 1024       | null     || "stream"
+        100       | null                   | null       | "page"   || "page"
+        null      | null                   | null       | "follow" || "follow"
+    }
+
+    def "test streaming a Pod log"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        def logs = new ByteArrayInputStream("foo\n\tbar\n".bytes)
+        def controller = new PodController(kubeUtil, pages)
+        def out = new ByteArrayOutputStream()
+
+        when:
+        def result = controller.streamPodLogs("default", "my-pod", " ", 100, "2019-04-01T12:00:00Z", 1024).get()
+        result.body.writeTo(out)
+
+        then:
+        1 * kubeUtil.streamPodLogs("default", "my-pod", { LogOptions options ->
+            options.container == null && options.tailLines == 100 && options.limitBytes == 1024 &&
+                    options.sinceTime == DateTime.parse("2019-04-01T12:00:00Z")
+        }) >> logs
+        result.statusCode == HttpStatus.OK
+        out.toString() == "foo\n\tbar\n"
+        logs.available() == 0
+    }
+
+    def "test streaming a Pod log with exception"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        kubeUtil.streamPodLogs("default", "my-pod", _) >> { throw new ApiException(code, null, body) }
+        def controller = new PodController(kubeUtil, pages)
+        def out = new ByteArrayOutputStream()
+
+        when:
+        def result = controller.streamPodLogs("default", "my-pod", null, null, null, null).get()
+        result.body.writeTo(out)
+
+        then:
+        result.statusCode == status
+        out.toString() == message
+
+        where:
+        code | body                  || status                 | message
+        404  | "pod my-pod not found" || HttpStatus.NOT_FOUND   | "pod my-pod not found"
+        500  | null                  || HttpStatus.BAD_GATEWAY | "Error getting logs for pod my-pod"
+    }
+
+    def "test opening a Pod log off the request thread"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        def controller = new PodController(kubeUtil, pages)
+        String thread = null
+
+        when:
+        def result = controller.streamPodLogs("default", "my-pod", null, null, null, null).get()
+
+        then:
+        1 * kubeUtil.streamPodLogs("default", "my-pod", _) >> {
+            thread = Thread.currentThread().name
+            new ByteArrayInputStream(new byte[0])
+        }
+        result.statusCode == HttpStatus.OK
+        thread.startsWith("kube-page-")
+    }
+
+    def "test streaming a Pod log with an invalid since time"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        def controller = new PodController(kubeUtil, pages)
+
+        when:
+        def result = controller.streamPodLogs("default", "my-pod", null, null, "yesterday", null).get()
+
+        then:
+        result.statusCode == HttpStatus.BAD_REQUEST
+        0 * kubeUtil._
+    }
+
+    def "test downloading a Pod log compressed"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        def controller = new PodController(kubeUtil, pages)
+        def out = new ByteArrayOutputStream()
+
+        when:
+        def result = controller.downloadPodLogs("default", "my-pod", "app", true, "gzip, deflate, br").get()
+        result.body.writeTo(out)
+
+        then:
+        1 * kubeUtil.streamPodLogs("default", "my-pod", { LogOptions options ->
+            options.container == "app" && options.previous && options.tailLines == null
+        }) >> new ByteArrayInputStream(("line\n" * 1000).bytes)
+        result.statusCode == HttpStatus.OK
+        result.headers.getFirst("Content-Encoding") == "gzip"
+        result.headers.getFirst("Content-Disposition") == 'attachment; filename="my-pod-app-previous.log"'
+        result.headers.getFirst("Vary") == "Accept-Encoding"
+        out.size() < 1000
+        new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).text == "line\n" * 1000
+    }
+
+    def "test downloading a Pod log uncompressed"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        kubeUtil.streamPodLogs("default", "my-pod", _) >> new ByteArrayInputStream("line\n".bytes)
+        def controller = new PodController(kubeUtil, pages)
+        def out = new ByteArrayOutputStream()
+
+        when:
+        def result = controller.downloadPodLogs("default", "my-pod", null, false, acceptEncoding).get()
+        result.body.writeTo(out)
+
+        then:
+        !result.headers.containsKey("Content-Encoding")
+        result.headers.getFirst("Content-Disposition") == 'attachment; filename="my-pod.log"'
+        out.toString() == "line\n"
+
+        where:
+        acceptEncoding << [null, "identity", "gzip;q=0, deflate", "br"]
+    }
+
+    def "test downloading a Pod log with exception"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        kubeUtil.streamPodLogs("default", "my-pod", _) >> {
+            throw new ApiException(400, null, "previous terminated container not found")
+        }
+        def controller = new PodController(kubeUtil, pages)
+
+        when:
+        def result = controller.downloadPodLogs("default", "my-pod", null, true, "gzip").get()
+
+        then:
+        result.statusCode == HttpStatus.BAD_GATEWAY
+        !result.headers.containsKey("Content-Encoding")
+    }
+
+    def "test accepted encodings"() {
+        expect:
+        PodController.acceptsGzip(acceptEncoding) == expected
+
+        where:
+        acceptEncoding       || expected
+        "gzip"               || true
+        "deflate, GZIP;q=.5" || true
+        "gzip;q=0"           || false
+        "gzip;q=0.0, br"     || false
+        "*"                  || false
+        null                 || false
     }
 }
@@ -34,6 +34,20 @@ class PodStatusSpec extends Specification {
         podStatus.failed == 1
     }
 
+    def "create a PodStatus from owned pods"() {
+        given:
+        List<V1Pod> pods = [createPod("1234", "Running"), createPod("1234", "Running"), createPod("1234", "Pending")]
+
+        when:
+        def podStatus = new PodStatus(pods)
+
+        then:
+        podStatus.running == 2
+        podStatus.waiting == 1
+        podStatus.succeeded == 0
+        podStatus.failed == 0
+    }
+
     private V1Pod createPod(def uid, def phase) {
         V1Pod pod1 = Mock(V1Pod)
         V1ObjectMeta pod1Meta = Mock(V1ObjectMeta)
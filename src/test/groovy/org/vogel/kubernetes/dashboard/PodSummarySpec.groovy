@@ -0,0 +1,112 @@
+package org.vogel.kubernetes.dashboard
+
+import io.kubernetes.client.models.*
+import org.joda.time.DateTime
+import spock.lang.Specification
+
+class PodSummarySpec extends Specification {
+    def "a running pod counts its ready containers and restarts"() {
+        given:
+        def pod = createPod("Running", [
+                containerStatus(true, 2, new V1ContainerState().running(new V1ContainerStateRunning())),
+                containerStatus(false, 1, new V1ContainerState().running(new V1ContainerStateRunning()))])
+
+        when:
+        def summary = new PodSummary(pod)
+
+        then:
+        summary.name == "web-1"
+        summary.namespace == "default"
+        summary.uid == "uid-web-1"
+        summary.age == "1d"
+        summary.ready == "1/2"
+        summary.reason == "Running"
+        summary.status == "Running"
+        summary.restarts == 3
+    }
+
+    def "a waiting container gives its reason"() {
+        given:
+        def pod = createPod("Running", [
+                containerStatus(false, 5, new V1ContainerState().waiting(new V1ContainerStateWaiting()
+                                                                                 .reason("CrashLoopBackOff")))])
+
+        when:
+        def summary = new PodSummary(pod)
+
+        then:
+        summary.ready == "0/1"
+        summary.reason == "CrashLoopBackOff"
+        summary.status == "Running"
+        summary.restarts == 5
+    }
+
+    def "a terminated container without a reason gives its exit code"() {
+        given:
+        def pod = createPod("Failed", [
+                containerStatus(false, 0, new V1ContainerState().terminated(new V1ContainerStateTerminated()
+                                                                                    .exitCode(137)))])
+
+        expect:
+        new PodSummary(pod).reason == "ExitCode:137"
+    }
+
+    def "a pod still initializing gives the progress of its init containers"() {
+        given:
+        def pod = createPod("Pending", [
+                containerStatus(false, 0, new V1ContainerState().waiting(new V1ContainerStateWaiting()
+                                                                                 .reason("PodInitializing")))])
+        pod.spec.initContainers([new V1Container().name("init-1"), new V1Container().name("init-2")])
+        pod.status.initContainerStatuses([
+                containerStatus(false, 1, new V1ContainerState().terminated(new V1ContainerStateTerminated()
+                                                                                    .exitCode(0))),
+                containerStatus(false, 0, new V1ContainerState().running(new V1ContainerStateRunning()))])
+
+        when:
+        def summary = new PodSummary(pod)
+
+        then:
+        summary.reason == "Init:1/2"
+        summary.restarts == 1
+        summary.ready == "0/1"
+    }
+
+    def "a pod being deleted is terminating"() {
+        given:
+        def pod = createPod("Running", [
+                containerStatus(true, 0, new V1ContainerState().running(new V1ContainerStateRunning()))])
+        pod.metadata.deletionTimestamp(DateTime.now())
+
+        expect:
+        new PodSummary(pod).reason == "Terminating"
+    }
+
+    def "a pod being deleted from a lost node is unknown"() {
+        given:
+        def pod = createPod("Running", [])
+        pod.metadata.deletionTimestamp(DateTime.now())
+        pod.status.reason("NodeLost")
+
+        expect:
+        new PodSummary(pod).reason == "Unknown"
+    }
+
+    private static V1Pod createPod(String phase, List<V1ContainerStatus> containerStatuses) {
+        def containers = containerStatuses.collect { new V1Container().name(it.name) }
+        new V1Pod().metadata(new V1ObjectMeta().name("web-1")
+                                     .namespace("default")
+                                     .uid("uid-web-1")
+                                     .creationTimestamp(DateTime.now()
+                                                                .minusDays(1)))
+                .spec(new V1PodSpec().containers(containers))
+                .status(new V1PodStatus().phase(phase)
+                                .containerStatuses(containerStatuses))
+    }
+
+    private static V1ContainerStatus containerStatus(boolean ready, int restarts, V1ContainerState state) {
+        new V1ContainerStatus().name("app-" + restarts)
+                .ready(ready)
+                .restartCount(restarts)
+                .state(state)
+    }
+}
@@ -0,0 +1,50 @@
+package org.vogel.kubernetes.dashboard
+
+import io.kubernetes.client.models.V1Container
+import io.kubernetes.client.models.V1ObjectMeta
+import io.kubernetes.client.models.V1PodSpec
+import io.kubernetes.client.models.V1PodTemplateSpec
+import spock.lang.Specification
+
+class PodTemplateFingerprintSpec extends Specification {
+    def "templates differing only in pod-template-hash match"() {
+        given:
+        def deploymentTemplate = createTemplate(["app": "nginx"], "nginx:1.15")
+        def replicaSetTemplate = createTemplate(["app": "nginx", "pod-template-hash": "5c689d88bb"], "nginx:1.15")
+
+        expect:
+        PodTemplateFingerprint.of(deploymentTemplate) == PodTemplateFingerprint.of(replicaSetTemplate)
+        PodTemplateFingerprint.of(deploymentTemplate)
+                .hashCode() == PodTemplateFingerprint.of(replicaSetTemplate)
+                .hashCode()
+    }
+
+    def "templates with different specs do not match"() {
+        expect:
+        PodTemplateFingerprint.of(createTemplate(["app": "nginx"], "nginx:1.15")) !=
+                PodTemplateFingerprint.of(createTemplate(["app": "nginx", "pod-template-hash": "1"], "nginx:1.16"))
+    }
+
+    def "templates with different labels do not match"() {
+        expect:
+        PodTemplateFingerprint.of(createTemplate(["app": "nginx"], "nginx:1.15")) !=
+                PodTemplateFingerprint.of(createTemplate(["app": "web"], "nginx:1.15"))
+    }
+
+    def "the template labels are left alone"() {
+        given:
+        def template = createTemplate(["app": "nginx", "pod-template-hash": "5c689d88bb"], "nginx:1.15")
+
+        when:
+        PodTemplateFingerprint.of(template)
+
+        then:
+        template.metadata.labels == ["app": "nginx", "pod-template-hash": "5c689d88bb"]
+    }
+
+    private static V1PodTemplateSpec createTemplate(Map<String, String> labels, String image) {
+        new V1PodTemplateSpec().metadata(new V1ObjectMeta().labels(new HashMap<>(labels)))
+                .spec(new V1PodSpec().addContainersItem(new V1Container().name("nginx")
+                                                                .image(image)))
+    }
+}
@@ -0,0 +1,65 @@
+package org.vogel.kubernetes.dashboard
+
+import io.kubernetes.client.models.*
+import org.vogel.kubernetes.dashboard.cache.KubernetesCache
+import org.vogel.kubernetes.dashboard.cache.ResourceCache
+import spock.lang.Specification
+
+class PodTemplateFingerprintsSpec extends Specification {
+    def replicaSetCache = new ResourceCache<V1beta2ReplicaSet>("replicasets", { V1beta2ReplicaSet rs -> rs.metadata },
+                                                                { null }, { null })
+    def fingerprints = createFingerprints()
+
+    def "fingerprint is reused until the resource version changes"() {
+        given:
+        def replicaSet = createReplicaSet("uid-1", "1")
+        replicaSetCache.replace([replicaSet], "1")
+
+        when:
+        def first = fingerprints.get(replicaSet)
+        def second = fingerprints.get(replicaSet)
+        def changed = fingerprints.get(createReplicaSet("uid-1", "2"))
+
+        then:
+        first.is(second)
+        !first.is(changed)
+        fingerprints.size() == 1
+    }
+
+    def "deleted replica sets are forgotten"() {
+        given:
+        def replicaSet = createReplicaSet("uid-1", "1")
+        replicaSetCache.replace([replicaSet], "1")
+        fingerprints.get(replicaSet)
+
+        when:
+        replicaSetCache.apply("DELETED", replicaSet)
+
+        then:
+        fingerprints.size() == 0
+    }
+
+    def "nothing is kept before the cache syncs"() {
+        when:
+        fingerprints.get(createReplicaSet("uid-1", "1"))
+
+        then:
+        fingerprints.size() == 0
+    }
+
+    private PodTemplateFingerprints createFingerprints() {
+        KubernetesCache cache = Mock(KubernetesCache)
+        cache.getReplicaSets() >> replicaSetCache
+        new PodTemplateFingerprints(cache)
+    }
+
+    private static V1beta2ReplicaSet createReplicaSet(String uid, String resourceVersion) {
+        def template = new V1PodTemplateSpec().metadata(new V1ObjectMeta().labels(["app": "nginx"]))
+                .spec(new V1PodSpec())
+        new V1beta2ReplicaSet().metadata(new V1ObjectMeta().name("nginx")
+                                                 .namespace("default")
+                                                 .uid(uid)
+                                                 .resourceVersion(resourceVersion))
+                .spec(new V1beta2ReplicaSetSpec().template(template))
+    }
+}
@@ -248,4 +248,33 @@ class RequirementSpec extends Specification {
         def e = thrown(RequirementException)
         e.message == "invalid label key .example.com/foo:prefix part a DNS-1123 subdomain must consist of lower case alphanumeric characters, '-' or '.', and must start and end with an alphanumeric character (e.g. 'example.com' , regex used for validation is '[a-z0-9]([-a-z0-9]*[a-z0-9])?(\\.[a-z0-9]([-a-z0-9]*[a-z0-9])?)*')"
     }
+
+    def "requirements match labels like the API server"() {
+        expect:
+        new Requirement(key, operation, values).matches(labels) == result
+
+        where:
+        key   | operation | values         | labels                     || result
+        "app" | "="       | ["web"]        | ["app": "web"]             || true
+        "app" | "=="      | ["web"]        | ["app": "db"]              || false
+        "app" | "="       | ["web"]        | [:]                        || false
+        "app" | "!="      | ["web"]        | ["app": "db"]              || true
+        "app" | "!="      | ["web"]        | [:]                        || true
+        "app" | "!="      | ["web"]        | ["app": "web"]             || false
+        "app" | "in"      | ["web", "api"] | ["app": "api"]             || true
+        "app" | "in"      | ["web", "api"] | ["app": "db"]              || false
+        "app" | "notin"   | ["web", "api"] | ["app": "db"]              || true
+        "app" | "notin"   | ["web", "api"] | ["app": "web"]             || false
+        "app" | "notin"   | ["web", "api"] | null                       || true
+        "app" | "exists"  | []             | ["app": ""]                || true
+        "app" | "exists"  | []             | ["tier": "web"]            || false
+        "app" | "!"       | []             | ["tier": "web"]            || true
+        "app" | "!"       | []             | ["app": "web"]             || false
+        "gen" | "gt"      | ["3"]          | ["gen": "4"]               || true
+        "gen" | "gt"      | ["3"]          | ["gen": "3"]               || false
+        "gen" | "gt"      | ["3"]          | ["gen": "four"]            || false
+        "gen" | "lt"      | ["3"]          | ["gen": "2"]               || true
+        "gen" | "lt"      | ["3"]          | ["gen": "-1"]              || true
+        "gen" | "lt"      | ["3"]          | [:]                        || false
+    }
 }
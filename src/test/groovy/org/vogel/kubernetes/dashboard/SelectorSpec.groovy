@@ -1,5 +1,7 @@
 package org.vogel.kubernetes.dashboard
 
+import io.kubernetes.client.models.V1LabelSelector
+import io.kubernetes.client.models.V1LabelSelectorRequirement
 import spock.lang.Specification
 
 class SelectorSpec extends Specification {
@@ -26,4 +28,88 @@ class SelectorSpec extends Specification {
         selector.string() == "foo=bar"
         selector.requirements.size() == 1
     }
+
+    def "empty Selector matches everything"() {
+        expect:
+        new Selector().matches(["app": "web"])
+        new Selector().matches(null)
+    }
+
+    def "Selector matches only when every Requirement does"() {
+        given:
+        Selector selector = new Selector()
+        selector.add(new Requirement("app", "=", ["web"]))
+        selector.add(new Requirement("tier", "in", ["frontend", "edge"]))
+
+        expect:
+        selector.matches(["app": "web", "tier": "edge"])
+        !selector.matches(["app": "web", "tier": "backend"])
+        !selector.matches(["tier": "edge"])
+    }
+
+    def "create Selector from a label selector"() {
+        given:
+        V1LabelSelector labelSelector = new V1LabelSelector().matchLabels(["app": "web"])
+                .addMatchExpressionsItem(new V1LabelSelectorRequirement().key("tier")
+                                                 .operator("NotIn")
+                                                 .values(["db"]))
+
+        when:
+        Selector selector = Selector.of(labelSelector)
+
+        then:
+        selector.string() == "app=web,tier notin (db)"
+        selector.matches(["app": "web", "tier": "frontend"])
+        !selector.matches(["app": "web", "tier": "db"])
+    }
+
+    def "create Selector from a label selector with a bad operator"() {
+        given:
+        V1LabelSelector labelSelector = new V1LabelSelector().addMatchExpressionsItem(
+                new V1LabelSelectorRequirement().key("tier")
+                        .operator("Near")
+                        .values(["db"]))
+
+        when:
+        Selector.of(labelSelector)
+
+        then:
+        def e = thrown(RequirementException)
+        e.message == "Near is not a valid pod selector operator"
+    }
+
+    def "parse a selector string"() {
+        when:
+        Selector selector = Selector.parse("app=web, tier in (frontend, edge),!canary,release,env!=prod,gen>3")
+
+        then:
+        selector.requirements*.operation == ["=", "in", "!", "exists", "!=", "gt"]
+        selector.string() == "app=web,tier in (edge,frontend),!canary,release,env!=prod,gen>3"
+        selector.matches(["app": "web", "tier": "edge", "release": "1", "gen": "4"])
+        !selector.matches(["app": "web", "tier": "edge", "release": "1", "gen": "4", "canary": "true"])
+    }
+
+    def "parse a blank selector string"() {
+        expect:
+        Selector.parse(null).isEmpty()
+        Selector.parse("  ").isEmpty()
+    }
+
+    def "parse a selector string with unbalanced parentheses"() {
+        when:
+        Selector.parse("tier in (frontend")
+
+        then:
+        def e = thrown(RequirementException)
+        e.message == "unbalanced parentheses in selector tier in (frontend"
+    }
+
+    def "parse a selector string with a bad term"() {
+        when:
+        Selector.parse("app=web,=web")
+
+        then:
+        def e = thrown(RequirementException)
+        e.message == "unable to parse requirement =web"
+    }
 }
@@ -0,0 +1,237 @@
+package org.vogel.kubernetes.dashboard.api
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import io.kubernetes.client.ApiException
+import io.kubernetes.client.models.V1ConfigMap
+import io.kubernetes.client.models.V1ObjectMeta
+import org.springframework.http.HttpStatus
+import org.springframework.http.ResponseEntity
+import org.springframework.web.context.request.WebRequest
+import org.springframework.web.server.ResponseStatusException
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody
+import org.vogel.kubernetes.dashboard.Event
+import org.vogel.kubernetes.dashboard.KubernetesUtils
+import org.vogel.kubernetes.dashboard.Page
+import org.vogel.kubernetes.dashboard.PageExecutor
+import org.vogel.kubernetes.dashboard.configmap.ConfigMap
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.TimeUnit
+
+class ApiControllerSpec extends Specification {
+    def kubeUtil = Mock(KubernetesUtils)
+    def request = Mock(WebRequest)
+    def pages = new PageExecutor(1, 10)
+    def controller = new ApiController(kubeUtil, new JsonViewWriter(new ObjectMapper()), pages)
+
+    def cleanup() {
+        pages.stop()
+    }
+
+    def "test listing namespaces"() {
+        given:
+        kubeUtil.getNamespaces() >> ["default", "kube-system"]
+
+        when:
+        def response = controller.listNamespaces()
+                .get()
+
+        then:
+        response.statusCode == HttpStatus.OK
+        read(response) == [items: ["default", "kube-system"]]
+    }
+
+    def "test listing ConfigMaps with only some fields"() {
+        given:
+        kubeUtil.getConfigMapsPage("default", 2, null) >> new Page([createConfigMap("a"), createConfigMap("b")],
+                                                                   "cache:b")
+
+        when:
+        def response = controller.listConfigMaps(request, "default", 2, null, "name,dataSize")
+                .get()
+
+        then:
+        response.statusCode == HttpStatus.OK
+        read(response) == [items: [[name: "a", dataSize: 1], [name: "b", dataSize: 1]], continue: "cache:b"]
+    }
+
+    def "test listing Pods filtered by label"() {
+        when:
+        def response = controller.listPods(request, "default", 500, null, "app=web", "name")
+                .get()
+
+        then:
+        1 * kubeUtil.getPodsPage("default", { it.string() == "app=web" }, 500, null) >> new Page([], null)
+        read(response) == [items: []]
+    }
+
+    def "test listing Pods with a bad label filter"() {
+        when:
+        def response = controller.listPods(request, "default", 500, null, "app in (web", null)
+                .get()
+
+        then:
+        response.statusCode == HttpStatus.BAD_REQUEST
+        read(response) == [message: "unbalanced parentheses in selector app in (web"]
+        0 * kubeUtil.getPodsPage(*_)
+    }
+
+    def "test listing Deployments with an unknown field"() {
+        when:
+        def response = controller.listDeployments(request, "default", 500, null, null, "name,colour")
+                .get()
+
+        then:
+        response.statusCode == HttpStatus.BAD_REQUEST
+        read(response).message.startsWith("Unknown field colour")
+        0 * kubeUtil.getDeploymentsPage(*_)
+    }
+
+    def "test the API server is called off the request thread"() {
+        given:
+        def requestThread = Thread.currentThread()
+        def calledOn = null
+        kubeUtil.getConfigMap("default", "settings") >> {
+            calledOn = Thread.currentThread()
+            createConfigMap("settings")
+        }
+
+        when:
+        def response = controller.getConfigMap(request, "default", "settings", "name")
+                .get(1, TimeUnit.SECONDS)
+
+        then:
+        response.statusCode == HttpStatus.OK
+        calledOn != requestThread
+        calledOn.name.startsWith("kube-page-")
+    }
+
+    def "test calls beyond the queue are turned away"() {
+        given:
+        def busyPages = new PageExecutor(1, 1)
+        def busyController = new ApiController(kubeUtil, new JsonViewWriter(new ObjectMapper()), busyPages)
+        def release = new CountDownLatch(1)
+        kubeUtil.getConfigMap("default", "slow") >> {
+            release.await()
+            createConfigMap("slow")
+        }
+        def running = busyController.getConfigMap(request, "default", "slow", null)
+        def queued = busyController.getConfigMap(request, "default", "slow", null)
+
+        when:
+        busyController.getConfigMap(request, "default", "slow", null)
+                .get(1, TimeUnit.SECONDS)
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof ResponseStatusException
+        ((ResponseStatusException) e.cause).status == HttpStatus.SERVICE_UNAVAILABLE
+
+        cleanup:
+        release.countDown()
+        running.get(1, TimeUnit.SECONDS)
+        queued.get(1, TimeUnit.SECONDS)
+        busyPages.stop()
+    }
+
+    def "test listing Services that have not changed"() {
+        given:
+        kubeUtil.getListVersion("services", null) >> "42"
+
+        when:
+        def response = controller.listServices(request, "default", 500, null, null)
+
+        then:
+        response == null
+        1 * request.checkNotModified(_) >> true
+        0 * kubeUtil.getServicesPage(*_)
+    }
+
+    def "test getting a ConfigMap"() {
+        given:
+        kubeUtil.getConfigMap("default", "settings") >> createConfigMap("settings")
+
+        when:
+        def response = controller.getConfigMap(request, "default", "settings", "name,data")
+                .get()
+
+        then:
+        response.statusCode == HttpStatus.OK
+        read(response) == [name: "settings", data: [color: "blue"]]
+    }
+
+    def "test getting a Pod that does not exist"() {
+        given:
+        kubeUtil.getPod("default", "p1") >> { throw new ApiException(404, [:], 'pods "p1" not found') }
+
+        when:
+        def response = controller.getPod(request, "default", "p1", null)
+                .get()
+
+        then:
+        response.statusCode == HttpStatus.NOT_FOUND
+        read(response) == [message: 'pods "p1" not found']
+    }
+
+    def "test getting a Pod when the API server fails"() {
+        given:
+        kubeUtil.getPod("default", "p1") >> { throw new ApiException() }
+
+        when:
+        def response = controller.getPod(request, "default", "p1", null)
+                .get()
+
+        then:
+        response.statusCode == HttpStatus.BAD_GATEWAY
+        read(response) == [message: "Error getting pods p1"]
+    }
+
+    def "test listing the events of a ConfigMap"() {
+        given:
+        def event = Mock(Event)
+        event.reason >> "Created"
+        kubeUtil.getConfigMapEvents("default", "settings") >> [event]
+
+        when:
+        def response = controller.listConfigMapEvents(request, "default", "settings", "reason")
+                .get()
+
+        then:
+        response.statusCode == HttpStatus.OK
+        read(response) == [items: [[reason: "Created"]]]
+    }
+
+    def "test listing the events of a PersistentVolume"() {
+        when:
+        controller.listPersistentVolumeEvents(request, "pv-1", null)
+                .get()
+
+        then:
+        1 * kubeUtil.getPersistentVolumeEvents("default", "pv-1") >> []
+    }
+
+    def "test listing the events of a Pod does not describe it"() {
+        when:
+        def response = controller.listPodEvents(request, "default", "web-1", null)
+                .get()
+
+        then:
+        1 * kubeUtil.getPodEvents("default", "web-1") >> []
+        0 * kubeUtil.describePod(*_)
+        read(response) == [items: []]
+    }
+
+    private static Object read(ResponseEntity<StreamingResponseBody> response) {
+        def out = new ByteArrayOutputStream()
+        response.body.writeTo(out)
+        new ObjectMapper().readValue(out.toString("UTF-8"), Object)
+    }
+
+    private static ConfigMap createConfigMap(String name) {
+        new ConfigMap(new V1ConfigMap().metadata(new V1ObjectMeta().name(name)
+                                                         .namespace("default"))
+                              .data([color: "blue"]))
+    }
+}
@@ -0,0 +1,108 @@
+package org.vogel.kubernetes.dashboard.api
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import io.kubernetes.client.models.V1ConfigMap
+import io.kubernetes.client.models.V1ObjectMeta
+import org.joda.time.DateTime
+import org.joda.time.DateTimeZone
+import org.vogel.kubernetes.dashboard.Page
+import org.vogel.kubernetes.dashboard.configmap.ConfigMap
+import spock.lang.Specification
+
+class JsonViewWriterSpec extends Specification {
+    def jsonWriter = new JsonViewWriter(new ObjectMapper())
+
+    def "an object is written with every field that has a value"() {
+        when:
+        def json = writeObject(createConfigMap("settings"), null)
+
+        then:
+        json.name == "settings"
+        json.namespace == "default"
+        json.dataSize == 1
+        json.data == [color: "blue"]
+        json.creationTimestamp == "2019-04-01T12:00:00.000Z"
+        !json.containsKey("uid")
+    }
+
+    def "an object is written with only the fields asked for"() {
+        when:
+        def json = writeObject(createConfigMap("settings"), "name, dataSize")
+
+        then:
+        json == [name: "settings", dataSize: 1]
+    }
+
+    def "an unknown field is rejected"() {
+        when:
+        jsonWriter.projection(ConfigMap, "name,colour")
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message.startsWith("Unknown field colour, the fields are ")
+        e.message.contains("dataSize")
+    }
+
+    def "a page is written with its continue token"() {
+        given:
+        def out = new ByteArrayOutputStream()
+        def page = new Page([createConfigMap("a"), createConfigMap("b")], "cache:b")
+
+        when:
+        jsonWriter.writePage(out, page, jsonWriter.projection(ConfigMap, "name"))
+
+        then:
+        read(out) == [items: [[name: "a"], [name: "b"]], continue: "cache:b"]
+    }
+
+    def "the last page has no continue token"() {
+        given:
+        def out = new ByteArrayOutputStream()
+
+        when:
+        jsonWriter.writePage(out, new Page([createConfigMap("a")], null), jsonWriter.projection(ConfigMap, "name"))
+
+        then:
+        read(out) == [items: [[name: "a"]]]
+    }
+
+    def "a list of names is written as items"() {
+        given:
+        def out = new ByteArrayOutputStream()
+
+        when:
+        jsonWriter.writeList(out, ["default", "kube-system"], jsonWriter.projection(String, null))
+
+        then:
+        read(out) == [items: ["default", "kube-system"]]
+    }
+
+    def "a message is written as an object"() {
+        given:
+        def out = new ByteArrayOutputStream()
+
+        when:
+        jsonWriter.writeMessage(out, 'pods "p1" not found')
+
+        then:
+        read(out) == [message: 'pods "p1" not found']
+    }
+
+    private Map writeObject(Object object, String fields) {
+        def out = new ByteArrayOutputStream()
+        jsonWriter.writeObject(out, object, jsonWriter.projection(object.class, fields))
+        read(out) as Map
+    }
+
+    private static Object read(ByteArrayOutputStream out) {
+        new ObjectMapper().readValue(out.toString("UTF-8"), Object)
+    }
+
+    private static ConfigMap createConfigMap(String name) {
+        new ConfigMap(new V1ConfigMap().metadata(new V1ObjectMeta().name(name)
+                                                         .namespace("default")
+                                                         .creationTimestamp(new DateTime(2019, 4, 1, 12, 0,
+                                                                                         DateTimeZone.UTC)))
+                              .data([color: "blue"]))
+    }
+}
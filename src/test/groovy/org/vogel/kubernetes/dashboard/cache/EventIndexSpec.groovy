@@ -0,0 +1,105 @@
+package org.vogel.kubernetes.dashboard.cache
+
+import io.kubernetes.client.models.V1Event
+import io.kubernetes.client.models.V1ObjectMeta
+import io.kubernetes.client.models.V1ObjectReference
+import org.joda.time.DateTime
+import spock.lang.Specification
+
+class EventIndexSpec extends Specification {
+    def eventCache = new ResourceCache<V1Event>("events", { V1Event event -> event.metadata }, { null }, { null })
+    def index = createIndex(3)
+
+    def "events are grouped by involved object and sorted by last timestamp"() {
+        when:
+        eventCache.replace([createEvent("e1", "web", "uid-1", 30), createEvent("e2", "web", "uid-1", 10),
+                            createEvent("e3", "db", "uid-2", 20), createEvent("e4", "web", "uid-1", 20)], "1")
+
+        then:
+        index.hasSynced()
+        index.get("default", "Pod", "web")*.metadata*.name == ["e2", "e4", "e1"]
+        index.get("uid-1")*.metadata*.name == ["e2", "e4", "e1"]
+        index.get("default", "Pod", "db")*.metadata*.name == ["e3"]
+        index.get("default", "Pod", "cache").isEmpty()
+        index.get("uid-3").isEmpty()
+    }
+
+    def "lookup by uid leaves out events of an earlier object with the same name"() {
+        when:
+        eventCache.replace([createEvent("e1", "web", "uid-old", 10), createEvent("e2", "web", "uid-new", 20)], "1")
+
+        then:
+        index.get("default", "Pod", "web")*.metadata*.name == ["e1", "e2"]
+        index.get("uid-new")*.metadata*.name == ["e2"]
+    }
+
+    def "only the most recent events of an object are kept"() {
+        when:
+        eventCache.replace([createEvent("e1", "web", "uid-1", 10), createEvent("e2", "web", "uid-1", 20),
+                            createEvent("e3", "web", "uid-1", 30), createEvent("e4", "web", "uid-1", 40)], "1")
+
+        then:
+        index.get("uid-1")*.metadata*.name == ["e2", "e3", "e4"]
+    }
+
+    def "watch events keep the index current"() {
+        given:
+        eventCache.replace([createEvent("e1", "web", "uid-1", 10), createEvent("e2", "web", "uid-1", 20)], "1")
+
+        when:
+        eventCache.apply("MODIFIED", createEvent("e1", "web", "uid-1", 30))
+        eventCache.apply("ADDED", createEvent("e3", "db", "uid-2", 5))
+
+        then:
+        index.get("uid-1")*.metadata*.name == ["e2", "e1"]
+        index.get("uid-1")[1].lastTimestamp == timestamp(30)
+        index.get("uid-2")*.metadata*.name == ["e3"]
+
+        when:
+        eventCache.apply("DELETED", createEvent("e3", "db", "uid-2", 5))
+
+        then:
+        index.get("uid-2").isEmpty()
+        index.get("default", "Pod", "db").isEmpty()
+        index.size() == 1
+    }
+
+    def "events without a last timestamp are ordered by their first timestamp"() {
+        given:
+        def first = createEvent("e1", "web", "uid-1", 20)
+        first.lastTimestamp(null)
+                .firstTimestamp(timestamp(5))
+
+        when:
+        eventCache.replace([createEvent("e2", "web", "uid-1", 10), first], "1")
+
+        then:
+        index.get("uid-1")*.metadata*.name == ["e1", "e2"]
+    }
+
+    def "index is not synced before the first list"() {
+        expect:
+        !index.hasSynced()
+    }
+
+    private EventIndex createIndex(int maxEventsPerObject) {
+        def eventIndex = new EventIndex(maxEventsPerObject)
+        eventCache.addListener(eventIndex)
+        eventIndex
+    }
+
+    private static V1Event createEvent(String name, String objectName, String objectUid, int minute) {
+        new V1Event().metadata(new V1ObjectMeta().name(name)
+                                       .namespace("default")
+                                       .resourceVersion("1"))
+                .involvedObject(new V1ObjectReference().kind("Pod")
+                                        .namespace("default")
+                                        .name(objectName)
+                                        .uid(objectUid))
+                .lastTimestamp(timestamp(minute))
+    }
+
+    private static DateTime timestamp(int minute) {
+        new DateTime(2019, 4, 1, 12, 0).plusMinutes(minute)
+    }
+}
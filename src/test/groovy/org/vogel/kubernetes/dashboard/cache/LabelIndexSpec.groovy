@@ -0,0 +1,107 @@
+package org.vogel.kubernetes.dashboard.cache
+
+import io.kubernetes.client.models.V1ObjectMeta
+import io.kubernetes.client.models.V1Pod
+import org.vogel.kubernetes.dashboard.Selector
+import spock.lang.Specification
+
+class LabelIndexSpec extends Specification {
+    def podCache = new ResourceCache<V1Pod>("pods", { V1Pod pod -> pod.metadata }, { null }, { null })
+    def index = createIndex()
+
+    def setup() {
+        podCache.replace([createPod("web-1", ["app": "web", "tier": "frontend", "gen": "2"]),
+                          createPod("web-2", ["app": "web", "tier": "edge", "gen": "5"]),
+                          createPod("api-1", ["app": "api", "tier": "backend"]),
+                          createPod("db-1", ["app": "db"])], "1")
+    }
+
+    def "select by #selector"() {
+        expect:
+        index.select("default", Selector.parse(selector))*.metadata*.name == names
+
+        where:
+        selector                             || names
+        "app=web"                            || ["web-1", "web-2"]
+        "app in (api,db)"                    || ["api-1", "db-1"]
+        "app=web,tier=edge"                  || ["web-2"]
+        "tier"                               || ["api-1", "web-1", "web-2"]
+        "!tier"                              || ["db-1"]
+        "app!=web"                           || ["api-1", "db-1"]
+        "app notin (web,api)"                || ["db-1"]
+        "app=web,gen>3"                      || ["web-2"]
+        "app=nope"                           || []
+        ""                                   || ["api-1", "db-1", "web-1", "web-2"]
+    }
+
+    def "other namespaces are not selected"() {
+        expect:
+        index.select("kube-system", Selector.parse("app=web")).isEmpty()
+    }
+
+    def "label changes move objects between postings"() {
+        when:
+        podCache.apply("MODIFIED", createPod("web-1", ["app": "api"]))
+        podCache.apply("DELETED", createPod("web-2", ["app": "web", "tier": "edge", "gen": "5"]))
+        podCache.apply("ADDED", createPod("web-3", ["app": "web"]))
+
+        then:
+        index.select("default", Selector.parse("app=web"))*.metadata*.name == ["web-3"]
+        index.select("default", Selector.parse("app=api"))*.metadata*.name == ["api-1", "web-1"]
+        index.select("default", Selector.parse("tier=frontend")).isEmpty()
+    }
+
+    def "page through a selection"() {
+        given:
+        def selector = Selector.parse("tier")
+
+        when:
+        def first = index.page("default", selector, null, 2)
+        def second = index.page("default", selector, first.continueToken, 2)
+
+        then:
+        first.items*.metadata*.name == ["api-1", "web-1"]
+        first.continueToken == "web-1"
+        second.items*.metadata*.name == ["web-2"]
+        !second.hasMore()
+    }
+
+    def "page through a selection of #selector"() {
+        when:
+        def first = index.page("default", Selector.parse(selector), null, 2)
+        def second = index.page("default", Selector.parse(selector), first.continueToken, 2)
+
+        then:
+        first.items*.metadata*.name == firstNames
+        second.items*.metadata*.name == secondNames
+        !second.hasMore()
+
+        where:
+        selector                  || firstNames         | secondNames
+        "app in (web,api,db)"                 || ["api-1", "db-1"]  | ["web-1", "web-2"]
+        "app!=api"                            || ["db-1", "web-1"]  | ["web-2"]
+        "app,tier in (edge,backend,frontend)" || ["api-1", "web-1"] | ["web-2"]
+    }
+
+    def "a page continues after a name that has since been deleted"() {
+        given:
+        podCache.apply("DELETED", createPod("web-1", ["app": "web", "tier": "frontend", "gen": "2"]))
+
+        expect:
+        index.page("default", Selector.parse("app"), "web-1", 2).items*.metadata*.name == ["web-2"]
+    }
+
+    private LabelIndex<V1Pod> createIndex() {
+        def labelIndex = new LabelIndex<V1Pod>({ V1Pod pod -> pod.metadata })
+        podCache.addListener(labelIndex)
+        labelIndex
+    }
+
+    private static V1Pod createPod(String name, Map<String, String> labels) {
+        new V1Pod().metadata(new V1ObjectMeta().name(name)
+                                     .namespace("default")
+                                     .uid("uid-" + name)
+                                     .resourceVersion("1")
+                                     .labels(labels))
+    }
+}
@@ -0,0 +1,76 @@
+package org.vogel.kubernetes.dashboard.cache
+
+import io.kubernetes.client.models.V1Namespace
+import io.kubernetes.client.models.V1ObjectMeta
+import org.vogel.kubernetes.dashboard.client.ResourceClient
+import spock.lang.Specification
+
+class NamespaceRegistrySpec extends Specification {
+    def "namespaces come sorted from the synced cache"() {
+        given:
+        def namespaceCache = createCache()
+        def registry = createRegistry(namespaceCache)
+
+        when:
+        namespaceCache.replace([createNamespace("kube-system"), createNamespace("default")], "10")
+
+        then:
+        registry.namespaces == ["default", "kube-system"]
+    }
+
+    def "namespace list cannot be modified"() {
+        given:
+        def namespaceCache = createCache()
+        def registry = createRegistry(namespaceCache)
+        namespaceCache.replace([createNamespace("default")], "10")
+
+        when:
+        registry.namespaces.add("foo")
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
+    def "version changes only when the names change"() {
+        given:
+        def namespaceCache = createCache()
+        def registry = createRegistry(namespaceCache)
+        namespaceCache.replace([createNamespace("default")], "10")
+        def original = registry.version
+
+        when:
+        namespaceCache.apply("MODIFIED", createNamespace("default"))
+
+        then:
+        registry.version == original
+
+        when:
+        namespaceCache.apply("ADDED", createNamespace("team-a"))
+
+        then:
+        registry.version != original
+        registry.namespaces == ["default", "team-a"]
+
+        when:
+        namespaceCache.apply("DELETED", createNamespace("team-a"))
+
+        then:
+        registry.version == original
+        registry.namespaces == ["default"]
+    }
+
+    private NamespaceRegistry createRegistry(ResourceCache<V1Namespace> namespaceCache) {
+        KubernetesCache cache = Mock(KubernetesCache)
+        cache.getNamespaces() >> namespaceCache
+        new NamespaceRegistry(cache, Mock(ResourceClient), 30)
+    }
+
+    private static ResourceCache<V1Namespace> createCache() {
+        new ResourceCache<V1Namespace>("namespaces", { V1Namespace ns -> ns.metadata }, { null }, { null })
+    }
+
+    private static V1Namespace createNamespace(String name) {
+        new V1Namespace().metadata(new V1ObjectMeta().name(name)
+                                           .resourceVersion("1"))
+    }
+}
@@ -0,0 +1,83 @@
+package org.vogel.kubernetes.dashboard.cache
+
+import io.kubernetes.client.models.V1ObjectMeta
+import io.kubernetes.client.models.V1OwnerReference
+import io.kubernetes.client.models.V1Pod
+import spock.lang.Specification
+
+class OwnerIndexSpec extends Specification {
+    def podCache = new ResourceCache<V1Pod>("pods", { V1Pod pod -> pod.metadata }, { null }, { null })
+    def index = createIndex()
+
+    def "children are grouped by controller uid"() {
+        when:
+        podCache.replace([createPod("a", "rs-1"), createPod("b", "rs-1"), createPod("c", "rs-2"),
+                          createPod("d", null)], "1")
+
+        then:
+        index.hasSynced()
+        index.getChildren("rs-1")*.metadata*.name.sort() == ["a", "b"]
+        index.getChildren("rs-2")*.metadata*.name == ["c"]
+        index.getChildren("rs-3").isEmpty()
+        index.getController("uid-a").uid == "rs-1"
+        index.getController("uid-d") == null
+    }
+
+    def "watch events keep the index current"() {
+        given:
+        podCache.replace([createPod("a", "rs-1")], "1")
+
+        when:
+        podCache.apply("ADDED", createPod("b", "rs-1"))
+        podCache.apply("MODIFIED", createPod("a", "rs-2"))
+
+        then:
+        index.getChildren("rs-1")*.metadata*.name == ["b"]
+        index.getChildren("rs-2")*.metadata*.name == ["a"]
+        index.getController("uid-a").uid == "rs-2"
+
+        when:
+        podCache.apply("DELETED", createPod("b", "rs-1"))
+
+        then:
+        index.getChildren("rs-1").isEmpty()
+        index.getController("uid-b") == null
+    }
+
+    def "owner references that are not controllers are ignored"() {
+        given:
+        def pod = createPod("a", null)
+        pod.metadata.addOwnerReferencesItem(new V1OwnerReference().uid("rs-1")
+                                                    .controller(false))
+
+        when:
+        podCache.replace([pod], "1")
+
+        then:
+        index.getChildren("rs-1").isEmpty()
+    }
+
+    def "index is not synced before the first list"() {
+        expect:
+        !index.hasSynced()
+    }
+
+    private OwnerIndex<V1Pod> createIndex() {
+        def ownerIndex = new OwnerIndex<V1Pod>({ V1Pod pod -> pod.metadata })
+        podCache.addListener(ownerIndex)
+        ownerIndex
+    }
+
+    private static V1Pod createPod(String name, String controllerUid) {
+        def metadata = new V1ObjectMeta().name(name)
+                .namespace("default")
+                .uid("uid-" + name)
+                .resourceVersion("1")
+        if (controllerUid != null) {
+            metadata.addOwnerReferencesItem(new V1OwnerReference().kind("ReplicaSet")
+                                                    .uid(controllerUid)
+                                                    .controller(true))
+        }
+        new V1Pod().metadata(metadata)
+    }
+}
@@ -0,0 +1,161 @@
+package org.vogel.kubernetes.dashboard.cache
+
+import io.kubernetes.client.models.V1ObjectMeta
+import io.kubernetes.client.models.V1Pod
+import spock.lang.Specification
+
+class ResourceCacheSpec extends Specification {
+    def "new cache is not synced and empty"() {
+        when:
+        def cache = createCache()
+
+        then:
+        !cache.hasSynced()
+        cache.list("default").isEmpty()
+        cache.get("default", "pod-a") == null
+        cache.size() == 0
+    }
+
+    def "replace loads the store sorted by name within a namespace"() {
+        given:
+        def cache = createCache()
+
+        when:
+        cache.replace([createPod("default", "pod-b", "1"), createPod("kube-system", "dns", "2"),
+                       createPod("default", "pod-a", "3")], "10")
+
+        then:
+        cache.hasSynced()
+        cache.resourceVersion == "10"
+        cache.size() == 3
+        cache.list("default")*.metadata*.name == ["pod-a", "pod-b"]
+        cache.list("kube-system")*.metadata*.name == ["dns"]
+        cache.list()*.metadata*.name == ["pod-a", "pod-b", "dns"]
+        cache.get("default", "pod-b").metadata.resourceVersion == "1"
+    }
+
+    def "replace drops objects missing from the new list"() {
+        given:
+        def cache = createCache()
+        cache.replace([createPod("default", "pod-a", "1"), createPod("default", "pod-b", "2")], "10")
+
+        when:
+        cache.replace([createPod("default", "pod-b", "3")], "20")
+
+        then:
+        cache.list("default")*.metadata*.name == ["pod-b"]
+        cache.resourceVersion == "20"
+    }
+
+    def "apply watch events"() {
+        given:
+        def cache = createCache()
+        cache.replace([createPod("default", "pod-a", "1")], "10")
+
+        when:
+        cache.apply("ADDED", createPod("default", "pod-b", "11"))
+        cache.apply("MODIFIED", createPod("default", "pod-a", "12"))
+        cache.apply("DELETED", createPod("default", "pod-b", "13"))
+
+        then:
+        cache.list("default")*.metadata*.name == ["pod-a"]
+        cache.get("default", "pod-a").metadata.resourceVersion == "12"
+        cache.resourceVersion == "13"
+    }
+
+    def "cluster scoped objects are kept under the empty namespace"() {
+        given:
+        def cache = createCache()
+
+        when:
+        cache.replace([createPod(null, "pv-1", "1")], "10")
+
+        then:
+        cache.get(null, "pv-1") != null
+        cache.list(null).size() == 1
+        cache.list("").size() == 1
+    }
+
+    def "metadata of a cached object"() {
+        given:
+        def cache = createCache()
+        cache.replace([createPod("default", "pod-a", "1")], "10")
+
+        expect:
+        cache.getMetadata("default", "pod-a").resourceVersion == "1"
+        cache.getMetadata("default", "pod-b") == null
+    }
+
+    def "listeners are told about each change"() {
+        given:
+        def cache = createCache()
+        ResourceCacheListener<V1Pod> listener = Mock(ResourceCacheListener)
+        cache.addListener(listener)
+        def podA = createPod("default", "pod-a", "1")
+        def podA2 = createPod("default", "pod-a", "12")
+        def podB = createPod("default", "pod-b", "11")
+
+        when:
+        cache.replace([podA], "10")
+        cache.apply("ADDED", podB)
+        cache.apply("MODIFIED", podA2)
+        cache.apply("DELETED", createPod("default", "pod-b", "13"))
+
+        then:
+        1 * listener.onReplace([podA])
+        1 * listener.onAdd(podB)
+        1 * listener.onUpdate(podA, podA2)
+        1 * listener.onDelete(podB)
+    }
+
+    def "page walks a namespace in name order"() {
+        given:
+        def cache = createCache()
+        cache.replace([createPod("default", "pod-c", "1"), createPod("default", "pod-a", "2"),
+                       createPod("default", "pod-b", "3"), createPod("other", "pod-0", "4")], "10")
+
+        when:
+        def first = cache.page("default", null, 2)
+        def second = cache.page("default", first.continueToken, 2)
+
+        then:
+        first.items*.metadata*.name == ["pod-a", "pod-b"]
+        first.continueToken == "pod-b"
+        first.hasMore()
+        second.items*.metadata*.name == ["pod-c"]
+        second.continueToken == null
+        !second.hasMore()
+    }
+
+    def "page of an exactly full namespace has no continue token"() {
+        given:
+        def cache = createCache()
+        cache.replace([createPod("default", "pod-a", "1"), createPod("default", "pod-b", "2")], "10")
+
+        when:
+        def page = cache.page("default", null, 2)
+
+        then:
+        page.items.size() == 2
+        page.continueToken == null
+    }
+
+    def "page of an unknown namespace is empty"() {
+        when:
+        def page = createCache().page("missing", null, 10)
+
+        then:
+        page.items.isEmpty()
+        !page.hasMore()
+    }
+
+    private static ResourceCache<V1Pod> createCache() {
+        new ResourceCache<V1Pod>("pods", { V1Pod pod -> pod.metadata }, { null }, { null })
+    }
+
+    private static V1Pod createPod(String namespace, String name, String resourceVersion) {
+        new V1Pod().metadata(new V1ObjectMeta().namespace(namespace)
+                                     .name(name)
+                                     .resourceVersion(resourceVersion))
+    }
+}
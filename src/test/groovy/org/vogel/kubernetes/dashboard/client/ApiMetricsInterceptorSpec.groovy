@@ -0,0 +1,134 @@
+package org.vogel.kubernetes.dashboard.client
+
+import com.squareup.okhttp.HttpUrl
+import com.squareup.okhttp.Interceptor
+import com.squareup.okhttp.MediaType
+import com.squareup.okhttp.Protocol
+import com.squareup.okhttp.Request
+import com.squareup.okhttp.Response
+import com.squareup.okhttp.ResponseBody
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+class ApiMetricsInterceptorSpec extends Specification {
+    static final String SERVER = "https://kube.example.com"
+
+    def registry = new SimpleMeterRegistry()
+
+    def "calls are named by verb and resource"() {
+        given:
+        def request = new Request.Builder().url(SERVER + path)
+                .build()
+
+        expect:
+        ApiMetricsInterceptor.verbOf(request) == verb
+        ApiMetricsInterceptor.resourceOf(request.httpUrl()) == resource
+
+        where:
+        path                                                      || verb    | resource
+        "/api/v1/namespaces/default/pods"                         || "list"  | "pods"
+        "/api/v1/namespaces/default/pods/web-1"                   || "get"   | "pods"
+        "/api/v1/namespaces/default/pods/web-1/log?follow=true"   || "get"   | "pods/log"
+        "/api/v1/pods?watch=true&resourceVersion=10"              || "watch" | "pods"
+        "/api/v1/namespaces"                                      || "list"  | "namespaces"
+        "/api/v1/namespaces/default"                              || "get"   | "namespaces"
+        "/apis/apps/v1beta2/namespaces/default/deployments"       || "list"  | "deployments"
+        "/apis/extensions/v1beta1/namespaces/default/ingresses/a" || "get"   | "ingresses"
+        "/api/v1/persistentvolumes/pv-1"                          || "get"   | "persistentvolumes"
+        "/version"                                                || "get"   | "/version"
+    }
+
+    def "a call is timed and its body counted once it is read"() {
+        given:
+        def interceptor = new ApiMetricsInterceptor(registry, ApiCallType.LIST)
+        def chain = createChain("/api/v1/namespaces/default/pods", 200, '{"items":[]}')
+
+        when:
+        def response = interceptor.intercept(chain)
+
+        then:
+        def timer = registry.get(ApiMetricsInterceptor.REQUESTS)
+                .tags("type", "LIST", "verb", "list", "resource", "pods", "status", "200")
+                .timer()
+        timer.count() == 1
+        registry.find(ApiMetricsInterceptor.RECEIVED)
+                .summary()
+                .count() == 0
+
+        when:
+        def body = response.body()
+                .string()
+
+        then:
+        body == '{"items":[]}'
+        def received = registry.get(ApiMetricsInterceptor.RECEIVED)
+                .tags("type", "LIST", "verb", "list", "resource", "pods")
+                .summary()
+        received.count() == 1
+        received.totalAmount() == 12
+        registry.find(ApiMetricsInterceptor.ERRORS)
+                .counter() == null
+    }
+
+    def "a call the server fails is counted as an error"() {
+        given:
+        def interceptor = new ApiMetricsInterceptor(registry, ApiCallType.READ)
+        def chain = createChain("/api/v1/namespaces/default/pods/gone", 404, '{"reason":"NotFound"}')
+
+        when:
+        interceptor.intercept(chain)
+                .body()
+                .close()
+
+        then:
+        registry.get(ApiMetricsInterceptor.ERRORS)
+                .tags("type", "READ", "verb", "get", "resource", "pods", "error", "404")
+                .counter()
+                .count() == 1
+        registry.get(ApiMetricsInterceptor.REQUESTS)
+                .tags("status", "404")
+                .timer()
+                .count() == 1
+        registry.get(ApiMetricsInterceptor.RECEIVED)
+                .summary()
+                .count() == 1
+    }
+
+    def "a call that cannot reach the server is counted as an error"() {
+        given:
+        def interceptor = new ApiMetricsInterceptor(registry, ApiCallType.WATCH)
+        def chain = Mock(Interceptor.Chain)
+        chain.request() >> new Request.Builder().url(SERVER + "/api/v1/pods?watch=true")
+                .build()
+        chain.proceed(_) >> { throw new ConnectException("Connection refused") }
+
+        when:
+        interceptor.intercept(chain)
+
+        then:
+        thrown(ConnectException)
+        registry.get(ApiMetricsInterceptor.ERRORS)
+                .tags("type", "WATCH", "verb", "watch", "resource", "pods", "error", "ConnectException")
+                .counter()
+                .count() == 1
+        registry.get(ApiMetricsInterceptor.REQUESTS)
+                .tags("status", "IO_ERROR")
+                .timer()
+                .count() == 1
+    }
+
+    private Interceptor.Chain createChain(String path, int code, String body) {
+        def request = new Request.Builder().url(HttpUrl.parse(SERVER + path))
+                .build()
+        def response = new Response.Builder().request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("")
+                .body(ResponseBody.create(MediaType.parse("application/json"), body))
+                .build()
+        def chain = Mock(Interceptor.Chain)
+        chain.request() >> request
+        chain.proceed(request) >> response
+        chain
+    }
+}
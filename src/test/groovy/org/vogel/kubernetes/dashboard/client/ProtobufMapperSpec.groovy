@@ -0,0 +1,194 @@
+package org.vogel.kubernetes.dashboard.client
+
+import com.google.protobuf.Message
+import io.kubernetes.client.custom.IntOrString
+import io.kubernetes.client.custom.Quantity
+import io.kubernetes.client.models.V1Pod
+import io.kubernetes.client.models.V1PodList
+import io.kubernetes.client.models.V1Status
+import io.kubernetes.client.proto.IntStr
+import io.kubernetes.client.proto.Meta
+import io.kubernetes.client.proto.Resource
+import io.kubernetes.client.proto.V1
+import org.joda.time.DateTime
+import spock.lang.Specification
+
+class ProtobufMapperSpec extends Specification {
+    def mapper = new ProtobufMapper()
+
+    def "a pod is copied into the model"() {
+        given:
+        def message = createPod("web-1")
+
+        when:
+        def pod = map(message, V1Pod)
+
+        then:
+        pod.metadata.name == "web-1"
+        pod.metadata.namespace == "default"
+        pod.metadata.labels == [app: "web", tier: "front"]
+        pod.metadata.creationTimestamp == new DateTime(1546300800250L)
+        pod.spec.nodeName == "node-1"
+        pod.spec.restartPolicy == "Always"
+        pod.spec.terminationGracePeriodSeconds == 30L
+        pod.status.phase == "Running"
+
+        def container = pod.spec.containers[0]
+        container.name == "app"
+        container.args == ["--port", "8080"]
+        container.ports*.containerPort == [8080, 8443]
+        container.resources.limits == [cpu: Quantity.fromString("500m"), memory: Quantity.fromString("128Mi")]
+
+        def status = pod.status.containerStatuses[0]
+        status.ready
+        status.restartCount == 0
+    }
+
+    def "embedded structs are copied inline"() {
+        when:
+        def pod = map(createPod("web-1"), V1Pod)
+
+        then:
+        def probe = pod.spec.containers[0].livenessProbe
+        probe.httpGet.path == "/healthz"
+        probe.httpGet.port == new IntOrString("http")
+        probe.periodSeconds == 10
+        def volume = pod.spec.volumes[0]
+        volume.name == "config"
+        volume.configMap.name == "web-config"
+        volume.configMap.defaultMode == 420
+    }
+
+    def "int or string keeps its kind"() {
+        given:
+        def message = V1.Pod.newBuilder()
+                .setSpec(V1.PodSpec.newBuilder()
+                        .addContainers(V1.Container.newBuilder()
+                                .setName("app")
+                                .setReadinessProbe(V1.Probe.newBuilder()
+                                        .setHandler(V1.Handler.newBuilder()
+                                                .setTcpSocket(V1.TCPSocketAction.newBuilder()
+                                                        .setPort(IntStr.IntOrString.newBuilder()
+                                                                .setType(0)
+                                                                .setIntVal(8080)))))))
+                .build()
+
+        expect:
+        map(message, V1Pod).spec.containers[0].readinessProbe.tcpSocket.port == new IntOrString(8080)
+    }
+
+    def "empty strings, lists and maps are left out as the JSON does"() {
+        given:
+        def message = V1.Pod.newBuilder()
+                .setMetadata(Meta.ObjectMeta.newBuilder()
+                        .setName("web-1")
+                        .setGenerateName(""))
+                .setSpec(V1.PodSpec.newBuilder()
+                        .setNodeName(""))
+                .build()
+
+        when:
+        def pod = map(message, V1Pod)
+
+        then:
+        pod.metadata.name == "web-1"
+        pod.metadata.generateName == null
+        pod.metadata.labels == null
+        pod.spec.nodeName == null
+        pod.spec.containers == []
+        pod.status == null
+    }
+
+    def "a list is copied with its items and version"() {
+        given:
+        def message = V1.PodList.newBuilder()
+                .setMetadata(Meta.ListMeta.newBuilder()
+                        .setResourceVersion("42"))
+                .addItems(createPod("web-1"))
+                .addItems(createPod("web-2"))
+                .build()
+
+        when:
+        def list = map(message, V1PodList)
+
+        then:
+        list.metadata.resourceVersion == "42"
+        list.items*.metadata*.name == ["web-1", "web-2"]
+    }
+
+    def "a status is copied"() {
+        given:
+        def message = Meta.Status.newBuilder()
+                .setStatus("Failure")
+                .setMessage("too old resource version")
+                .setReason("Expired")
+                .setCode(410)
+                .build()
+
+        when:
+        def status = map(message, V1Status)
+
+        then:
+        status.status == "Failure"
+        status.message == "too old resource version"
+        status.reason == "Expired"
+        status.code == 410
+    }
+
+    private <T> T map(Message message, Class<T> type) {
+        mapper.map(message.toByteString(), message.descriptorForType, type)
+    }
+
+    static V1.Pod createPod(String name) {
+        V1.Pod.newBuilder()
+                .setMetadata(Meta.ObjectMeta.newBuilder()
+                        .setName(name)
+                        .setNamespace("default")
+                        .putLabels("app", "web")
+                        .putLabels("tier", "front")
+                        .setCreationTimestamp(Meta.Time.newBuilder()
+                                .setSeconds(1546300800L)
+                                .setNanos(250000000)))
+                .setSpec(V1.PodSpec.newBuilder()
+                        .setNodeName("node-1")
+                        .setRestartPolicy("Always")
+                        .setTerminationGracePeriodSeconds(30L)
+                        .addContainers(V1.Container.newBuilder()
+                                .setName("app")
+                                .addArgs("--port")
+                                .addArgs("8080")
+                                .addPorts(V1.ContainerPort.newBuilder()
+                                        .setContainerPort(8080))
+                                .addPorts(V1.ContainerPort.newBuilder()
+                                        .setContainerPort(8443))
+                                .setResources(V1.ResourceRequirements.newBuilder()
+                                        .putLimits("cpu", Resource.Quantity.newBuilder()
+                                                .setString("500m")
+                                                .build())
+                                        .putLimits("memory", Resource.Quantity.newBuilder()
+                                                .setString("128Mi")
+                                                .build()))
+                                .setLivenessProbe(V1.Probe.newBuilder()
+                                        .setHandler(V1.Handler.newBuilder()
+                                                .setHttpGet(V1.HTTPGetAction.newBuilder()
+                                                        .setPath("/healthz")
+                                                        .setPort(IntStr.IntOrString.newBuilder()
+                                                                .setType(1)
+                                                                .setStrVal("http"))))
+                                        .setPeriodSeconds(10)))
+                        .addVolumes(V1.Volume.newBuilder()
+                                .setName("config")
+                                .setVolumeSource(V1.VolumeSource.newBuilder()
+                                        .setConfigMap(V1.ConfigMapVolumeSource.newBuilder()
+                                                .setLocalObjectReference(V1.LocalObjectReference.newBuilder()
+                                                        .setName("web-config"))
+                                                .setDefaultMode(420)))))
+                .setStatus(V1.PodStatus.newBuilder()
+                        .setPhase("Running")
+                        .addContainerStatuses(V1.ContainerStatus.newBuilder()
+                                .setName("app")
+                                .setReady(true)
+                                .setRestartCount(0)))
+                .build()
+    }
+}
@@ -0,0 +1,318 @@
+package org.vogel.kubernetes.dashboard.client
+
+import com.google.protobuf.ByteString
+import com.google.protobuf.Message
+import com.google.protobuf.UnknownFieldSet
+import com.squareup.okhttp.Interceptor
+import com.squareup.okhttp.MediaType
+import com.squareup.okhttp.Protocol
+import com.squareup.okhttp.Request
+import com.squareup.okhttp.Response
+import com.squareup.okhttp.ResponseBody
+import io.kubernetes.client.ApiClient
+import io.kubernetes.client.ApiException
+import io.kubernetes.client.proto.Meta
+import io.kubernetes.client.proto.Runtime
+import io.kubernetes.client.proto.V1
+import okio.Buffer
+import spock.lang.Specification
+
+import java.util.function.Consumer
+
+class ResourceClientSpec extends Specification {
+    static final MediaType PROTOBUF = MediaType.parse(ResourceClient.PROTOBUF)
+    static final MediaType JSON = MediaType.parse("application/json")
+
+    def clients = Mock(KubernetesClients)
+    List<Request> requests = []
+    Closure<Response> server
+
+    def setup() {
+        def apiClient = new ApiClient()
+        apiClient.setBasePath("https://kube.example.com")
+        apiClient.getHttpClient()
+                .interceptors()
+                .add({ Interceptor.Chain chain ->
+                    requests << chain.request()
+                    server(chain.request())
+                } as Interceptor)
+        clients.client(_) >> apiClient
+    }
+
+    def "a list is asked for in protobuf and copied into the models"() {
+        given:
+        def resourceClient = new ResourceClient(clients, true)
+        def list = V1.PodList.newBuilder()
+                .setMetadata(Meta.ListMeta.newBuilder()
+                        .setResourceVersion("42"))
+                .addItems(createPod("web-1"))
+                .addItems(createPod("web-2"))
+                .build()
+        server = { request -> createResponse(request, 200, PROTOBUF, wrap(list)) }
+
+        when:
+        def pods = resourceClient.list(ApiResource.PODS, "default", "app=web", null, 2, null)
+
+        then:
+        pods.metadata.resourceVersion == "42"
+        pods.items*.metadata*.name == ["web-1", "web-2"]
+        def request = requests[0]
+        request.header("Accept") == "application/vnd.kubernetes.protobuf, application/json"
+        request.httpUrl()
+                .encodedPath() == "/api/v1/namespaces/default/pods"
+        request.httpUrl()
+                .queryParameter("labelSelector") == "app=web"
+        request.httpUrl()
+                .queryParameter("limit") == "2"
+        request.httpUrl()
+                .queryParameter("fieldSelector") == null
+    }
+
+    def "the continue token of a list is kept"() {
+        given:
+        def resourceClient = new ResourceClient(clients, true)
+        def token = UnknownFieldSet.Field.newBuilder()
+                .addLengthDelimited(ByteString.copyFromUtf8("next-page"))
+                .build()
+        def list = V1.PodList.newBuilder()
+                .setMetadata(Meta.ListMeta.newBuilder()
+                        .setResourceVersion("42")
+                        .setUnknownFields(UnknownFieldSet.newBuilder()
+                                .addField(3, token)
+                                .build()))
+                .build()
+        server = { request -> createResponse(request, 200, PROTOBUF, wrap(list)) }
+
+        when:
+        def pods = resourceClient.list(ApiResource.PODS, null, null, null, 1, null)
+
+        then:
+        pods.metadata._continue == "next-page"
+        requests[0].httpUrl()
+                .encodedPath() == "/api/v1/pods"
+    }
+
+    def "a protobuf list is streamed one item at a time"() {
+        given:
+        def resourceClient = new ResourceClient(clients, true)
+        def token = UnknownFieldSet.Field.newBuilder()
+                .addLengthDelimited(ByteString.copyFromUtf8("next-page"))
+                .build()
+        def list = V1.PodList.newBuilder()
+                .setMetadata(Meta.ListMeta.newBuilder()
+                        .setResourceVersion("42")
+                        .setUnknownFields(UnknownFieldSet.newBuilder()
+                                .addField(3, token)
+                                .build()))
+                .addItems(createPod("web-1"))
+                .addItems(createPod("web-2"))
+                .build()
+        server = { request -> createResponse(request, 200, PROTOBUF, wrap(list)) }
+        def names = []
+
+        when:
+        def listMeta = resourceClient.stream(ApiResource.PODS, "default", "app=web", null, 2, null) {
+            names << it.metadata.name
+        }
+
+        then:
+        names == ["web-1", "web-2"]
+        listMeta.resourceVersion == "42"
+        listMeta._continue == "next-page"
+        requests[0].httpUrl()
+                .queryParameter("labelSelector") == "app=web"
+    }
+
+    def "a JSON list is streamed one item at a time"() {
+        given:
+        def resourceClient = new ResourceClient(clients, true)
+        def body = '{"kind":"PodList","metadata":{"resourceVersion":"42","continue":"next-page"},' +
+                '"items":[{"metadata":{"name":"web-1"}},{"metadata":{"name":"web-2"}}],"extra":{"a":[1,2]}}'
+        server = { request -> createResponse(request, 200, JSON, body.bytes) }
+        def names = []
+
+        when:
+        def listMeta = resourceClient.stream(ApiResource.PODS, "default", null, null, null, null) {
+            names << it.metadata.name
+        }
+
+        then:
+        names == ["web-1", "web-2"]
+        listMeta.resourceVersion == "42"
+        listMeta._continue == "next-page"
+    }
+
+    def "a failed stream hands out nothing"() {
+        given:
+        def resourceClient = new ResourceClient(clients, true)
+        server = { request ->
+            createResponse(request, 403, JSON, '{"kind":"Status","message":"forbidden"}'.bytes)
+        }
+        def consumer = Mock(Consumer)
+
+        when:
+        resourceClient.stream(ApiResource.PODS, "default", null, null, null, null, consumer)
+
+        then:
+        def e = thrown(ApiException)
+        e.code == 403
+        0 * consumer._
+    }
+
+    def "JSON is read when the server does not speak protobuf"() {
+        given:
+        def resourceClient = new ResourceClient(clients, true)
+        server = { request ->
+            createResponse(request, 200, JSON, '{"metadata":{"name":"web-1","namespace":"default"}}'.bytes)
+        }
+
+        when:
+        def pod = resourceClient.read(ApiResource.PODS, "default", "web-1")
+
+        then:
+        pod.metadata.name == "web-1"
+        requests[0].httpUrl()
+                .encodedPath() == "/api/v1/namespaces/default/pods/web-1"
+    }
+
+    def "only JSON is asked for when protobuf is turned off"() {
+        given:
+        def resourceClient = new ResourceClient(clients, false)
+        server = { request -> createResponse(request, 200, JSON, '{"items":[]}'.bytes) }
+
+        when:
+        resourceClient.list(ApiResource.DEPLOYMENTS, "default", null, null, null, null)
+
+        then:
+        requests[0].header("Accept") == "application/json"
+        requests[0].httpUrl()
+                .encodedPath() == "/apis/apps/v1beta2/namespaces/default/deployments"
+    }
+
+    def "a failed call carries the message of the status"() {
+        given:
+        def resourceClient = new ResourceClient(clients, true)
+        def status = Meta.Status.newBuilder()
+                .setStatus("Failure")
+                .setMessage('pods "gone" not found')
+                .setCode(404)
+                .build()
+        server = { request -> createResponse(request, 404, PROTOBUF, wrap(status)) }
+
+        when:
+        resourceClient.read(ApiResource.PODS, "default", "gone")
+
+        then:
+        def e = thrown(ApiException)
+        e.code == 404
+        e.responseBody == 'pods "gone" not found'
+    }
+
+    def "a protobuf watch is read one change at a time"() {
+        given:
+        def resourceClient = new ResourceClient(clients, true)
+        def status = Meta.Status.newBuilder()
+                .setStatus("Failure")
+                .setMessage("too old resource version")
+                .setCode(410)
+                .build()
+        def frames = new Buffer()
+        writeFrame(frames, "ADDED", createPod("web-1"))
+        writeFrame(frames, "DELETED", createPod("web-2"))
+        writeFrame(frames, "ERROR", status)
+        server = { request -> createResponse(request, 200, PROTOBUF, frames.readByteArray()) }
+
+        when:
+        def watch = resourceClient.watch(ApiResource.PODS, null, "42", 300)
+        def added = watch.next()
+        def deleted = watch.next()
+        def error = watch.next()
+        def end = watch.next()
+        watch.close()
+
+        then:
+        added.type == "ADDED"
+        added.object.metadata.name == "web-1"
+        deleted.type == "DELETED"
+        deleted.object.metadata.name == "web-2"
+        error.type == "ERROR"
+        error.object == null
+        error.status.code == 410
+        end == null
+        def url = requests[0].httpUrl()
+        url.queryParameter("watch") == "true"
+        url.queryParameter("resourceVersion") == "42"
+        url.queryParameter("timeoutSeconds") == "300"
+    }
+
+    def "a JSON watch is read one change at a time"() {
+        given:
+        def resourceClient = new ResourceClient(clients, true)
+        def lines = '{"type":"MODIFIED","object":{"metadata":{"name":"web-1"}}}\n' +
+                '\n' +
+                '{"type":"ERROR","object":{"status":"Failure","code":410}}\n'
+        server = { request -> createResponse(request, 200, JSON, lines.bytes) }
+
+        when:
+        def watch = resourceClient.watch(ApiResource.PODS, "default", null, 300)
+        def modified = watch.next()
+        def error = watch.next()
+        def end = watch.next()
+
+        then:
+        modified.type == "MODIFIED"
+        modified.object.metadata.name == "web-1"
+        error.type == "ERROR"
+        error.status.code == 410
+        end == null
+        requests[0].httpUrl()
+                .queryParameter("resourceVersion") == null
+    }
+
+    def "an object without the envelope is rejected"() {
+        when:
+        ResourceClient.unwrap(createPod("web-1").toByteString())
+
+        then:
+        thrown(IOException)
+    }
+
+    private static V1.Pod createPod(String name) {
+        V1.Pod.newBuilder()
+                .setMetadata(Meta.ObjectMeta.newBuilder()
+                        .setName(name)
+                        .setNamespace("default"))
+                .build()
+    }
+
+    private static ByteString wrapObject(Message message) {
+        ResourceClient.MAGIC.concat(Runtime.Unknown.newBuilder()
+                                            .setRaw(message.toByteString())
+                                            .build()
+                                            .toByteString())
+    }
+
+    private static byte[] wrap(Message message) {
+        wrapObject(message).toByteArray()
+    }
+
+    private static void writeFrame(Buffer buffer, String type, Message object) {
+        def event = Meta.WatchEvent.newBuilder()
+                .setType(type)
+                .setObject(Runtime.RawExtension.newBuilder()
+                        .setRaw(wrapObject(object)))
+                .build()
+                .toByteArray()
+        buffer.writeInt(event.length)
+        buffer.write(event)
+    }
+
+    private static Response createResponse(Request request, int code, MediaType contentType, byte[] body) {
+        new Response.Builder().request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("")
+                .body(ResponseBody.create(contentType, body))
+                .build()
+    }
+}
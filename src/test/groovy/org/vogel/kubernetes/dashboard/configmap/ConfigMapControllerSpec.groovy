@@ -2,40 +2,54 @@ package org.vogel.kubernetes.dashboard.configmap
 
 import io.kubernetes.client.ApiException
 import org.springframework.ui.Model
+import org.springframework.web.context.request.WebRequest
+import org.vogel.kubernetes.dashboard.Description
 import org.vogel.kubernetes.dashboard.KubernetesUtils
+import org.vogel.kubernetes.dashboard.Page
+import org.vogel.kubernetes.dashboard.PageExecutor
 import spock.lang.Specification
 
 class ConfigMapControllerSpec extends Specification {
+    def pages = new PageExecutor(1, 10)
+
+    def cleanup() {
+        pages.stop()
+    }
+
     def "test getting a list of ConfigMaps"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultConfigMap = Mock(ConfigMap)
         def resultList = [resultConfigMap]
-        kubeUtil.getConfigMaps("default") >> resultList
+        kubeUtil.getConfigMapsPage("default", 500, null) >> new Page(resultList, "cache:next")
         def namespaces = ["default", "kube-system"]
         kubeUtil.getNamespaces() >> namespaces
-        def controller = new ConfigMapController(kubeUtil)
+        def controller = new ConfigMapController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.listConfigMaps(model, "default")
+        def result = controller.listConfigMaps(model, request, "default", 500, null).get()
 
         then:
         result == "config_maps"
         1 * model.addAttribute("namespace", "default")
         1 * model.addAttribute("configMaps", resultList)
+        1 * model.addAttribute("limit", 500)
+        1 * model.addAttribute("continueToken", "cache:next")
         1 * model.addAttribute("namespaces", namespaces)
     }
 
     def "test getting a list of ConfigMaps with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getConfigMaps("default") >> { throw new ApiException() }
-        def controller = new ConfigMapController(kubeUtil)
+        kubeUtil.getConfigMapsPage("default", 500, null) >> { throw new ApiException() }
+        def controller = new ConfigMapController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.listConfigMaps(model, "default")
+        def result = controller.listConfigMaps(model, request, "default", 500, null).get()
 
         then:
         result == "error"
@@ -45,29 +59,32 @@ class ConfigMapControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultConfigMap = Mock(ConfigMap)
-        kubeUtil.getConfigMap("default", "my-config-map") >> resultConfigMap
-        def controller = new ConfigMapController(kubeUtil)
+        kubeUtil.describeConfigMap("default", "my-config-map") >> new Description(resultConfigMap, [])
+        def controller = new ConfigMapController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.describeConfigMap(model, "default", "my-config-map")
+        def result = controller.describeConfigMap(model, request, "default", "my-config-map").get()
 
         then:
         result == "config_map_describe"
         1 * model.addAttribute("namespace", "default")
         1 * model.addAttribute("configMap", resultConfigMap)
         1 * model.addAttribute("configMapName", "my-config-map")
+        1 * model.addAttribute("events", [])
     }
 
     def "test describing a ConfigMap with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getConfigMap("default", "my-config-map") >> { throw new ApiException() }
-        def controller = new ConfigMapController(kubeUtil)
+        kubeUtil.describeConfigMap("default", "my-config-map") >> { throw new ApiException() }
+        def controller = new ConfigMapController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.describeConfigMap(model, "default", "my-config-map")
+        def result = controller.describeConfigMap(model, request, "default", "my-config-map").get()
 
         then:
         result == "error"
@@ -2,74 +2,126 @@ package org.vogel.kubernetes.dashboard.deployment
 
 import io.kubernetes.client.ApiException
 import org.springframework.ui.Model
+import org.springframework.web.context.request.WebRequest
+import org.vogel.kubernetes.dashboard.Description
 import org.vogel.kubernetes.dashboard.KubernetesUtils
+import org.vogel.kubernetes.dashboard.Page
+import org.vogel.kubernetes.dashboard.PageExecutor
 import org.vogel.kubernetes.dashboard.deployment.Deployment
 import org.vogel.kubernetes.dashboard.deployment.DeploymentController
 import spock.lang.Specification
 
 class DeploymentControllerSpec extends Specification {
+    def pages = new PageExecutor(1, 10)
+
+    def cleanup() {
+        pages.stop()
+    }
+
     def "test getting a list of Deployments"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        def resultDeployment = Mock(Deployment)
+        def resultDeployment = Mock(DeploymentSummary)
         def resultList = [resultDeployment]
-        kubeUtil.getDeployments("default") >> resultList
+        kubeUtil.getDeploymentsPage("default", { it.empty }, 500, null) >> new Page(resultList, "cache:next")
         def namespaces = ["default", "kube-system"]
         kubeUtil.getNamespaces() >> namespaces
-        def controller = new DeploymentController(kubeUtil)
+        def controller = new DeploymentController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.listDeployments(model, "default")
+        def result = controller.listDeployments(model, request, "default", 500, null, null).get()
 
         then:
         result == "deployments"
         1 * model.addAttribute("namespace", "default")
         1 * model.addAttribute("deployments", resultList)
+        1 * model.addAttribute("limit", 500)
+        1 * model.addAttribute("continueToken", "cache:next")
         1 * model.addAttribute("namespaces", namespaces)
     }
 
     def "test getting a list of Deployments with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getDeployments("default") >> { throw new ApiException() }
-        def controller = new DeploymentController(kubeUtil)
+        kubeUtil.getDeploymentsPage("default", _, 500, null) >> { throw new ApiException() }
+        def controller = new DeploymentController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.listDeployments(model, "default")
+        def result = controller.listDeployments(model, request, "default", 500, null, null).get()
 
         then:
         result == "error"
     }
 
+    def "test getting a list of Deployments filtered by label"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        def resultList = [Mock(DeploymentSummary)]
+        kubeUtil.getNamespaces() >> ["default"]
+        def controller = new DeploymentController(kubeUtil, pages)
+        def model = Mock(Model)
+        def request = Mock(WebRequest)
+
+        when:
+        def result = controller.listDeployments(model, request, "default", 500, null, "app=web").get()
+
+        then:
+        result == "deployments"
+        1 * kubeUtil.getDeploymentsPage("default", { it.string() == "app=web" }, 500, null) >> new Page(resultList, null)
+        1 * model.addAttribute("deployments", resultList)
+        1 * model.addAttribute("labelSelector", "app=web")
+    }
+
+    def "test getting a list of Deployments with a bad label filter"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        kubeUtil.getNamespaces() >> ["default"]
+        def controller = new DeploymentController(kubeUtil, pages)
+        def model = Mock(Model)
+        def request = Mock(WebRequest)
+
+        when:
+        controller.listDeployments(model, request, "default", 500, null, "app in (web").get()
+
+        then:
+        1 * kubeUtil.getDeploymentsPage("default", { it.empty }, 500, null) >> new Page([], null)
+        1 * model.addAttribute("labelSelectorError", "unbalanced parentheses in selector app in (web")
+    }
+
     def "test describing a Deployment"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultDeployment = Mock(Deployment)
-        kubeUtil.getDeployment("default", "my-deployment") >> resultDeployment
-        def controller = new DeploymentController(kubeUtil)
+        kubeUtil.describeDeployment("default", "my-deployment") >> new Description(resultDeployment, [])
+        def controller = new DeploymentController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.describeDeployment(model, "default", "my-deployment")
+        def result = controller.describeDeployment(model, request, "default", "my-deployment").get()
 
         then:
         result == "deployment_describe"
         1 * model.addAttribute("namespace", "default")
         1 * model.addAttribute("deployment", resultDeployment)
         1 * model.addAttribute("deploymentName", "my-deployment")
+        1 * model.addAttribute("events", [])
     }
 
     def "test describing a Deployment with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getDeployment("default", "my-deployment") >> { throw new ApiException() }
-        def controller = new DeploymentController(kubeUtil)
+        kubeUtil.describeDeployment("default", "my-deployment") >> { throw new ApiException() }
+        def controller = new DeploymentController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.describeDeployment(model, "default", "my-deployment")
+        def result = controller.describeDeployment(model, request, "default", "my-deployment").get()
 
         then:
         result == "error"
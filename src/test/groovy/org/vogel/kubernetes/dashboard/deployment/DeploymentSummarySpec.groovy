@@ -0,0 +1,52 @@
+package org.vogel.kubernetes.dashboard.deployment
+
+import io.kubernetes.client.models.V1ObjectMeta
+import io.kubernetes.client.models.V1beta2Deployment
+import io.kubernetes.client.models.V1beta2DeploymentSpec
+import io.kubernetes.client.models.V1beta2DeploymentStatus
+import org.joda.time.DateTime
+import spock.lang.Specification
+
+class DeploymentSummarySpec extends Specification {
+    def "create a DeploymentSummary"() {
+        given:
+        def deployment = new V1beta2Deployment().metadata(new V1ObjectMeta().name("web")
+                                                                  .namespace("default")
+                                                                  .uid("uid-web")
+                                                                  .creationTimestamp(DateTime.now()
+                                                                                             .minusDays(1)))
+                .spec(new V1beta2DeploymentSpec().replicas(3))
+                .status(new V1beta2DeploymentStatus().replicas(4)
+                                .updatedReplicas(2)
+                                .availableReplicas(1))
+
+        when:
+        def summary = new DeploymentSummary(deployment)
+
+        then:
+        summary.name == "web"
+        summary.namespace == "default"
+        summary.uid == "uid-web"
+        summary.age == "1d"
+        summary.desired == 3
+        summary.current == 4
+        summary.updated == 2
+        summary.available == 1
+    }
+
+    def "create a DeploymentSummary without a status"() {
+        given:
+        def deployment = new V1beta2Deployment().metadata(new V1ObjectMeta().name("web"))
+                .spec(new V1beta2DeploymentSpec().replicas(1))
+                .status(new V1beta2DeploymentStatus())
+
+        when:
+        def summary = new DeploymentSummary(deployment)
+
+        then:
+        summary.desired == 1
+        summary.current == 0
+        summary.updated == 0
+        summary.available == 0
+    }
+}
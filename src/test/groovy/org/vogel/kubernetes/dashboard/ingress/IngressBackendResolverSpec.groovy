@@ -0,0 +1,47 @@
+package org.vogel.kubernetes.dashboard.ingress
+
+import io.kubernetes.client.models.*
+import org.vogel.kubernetes.dashboard.KubernetesUtils
+import spock.lang.Specification
+
+class IngressBackendResolverSpec extends Specification {
+    def "lists each namespace once however many backends are described"() {
+        given:
+        def kubeUtils = Mock(KubernetesUtils)
+        def resolver = new IngressBackendResolver(kubeUtils)
+
+        when:
+        def first = resolver.describe("default", "foo", "http")
+        def second = resolver.describe("default", "foo", "http")
+        def third = resolver.describe("default", "bar", "80")
+
+        then:
+        1 * kubeUtils.getKubeServices("default") >> [service("foo", "http", 80), service("bar", "web", 80)]
+        1 * kubeUtils.getKubeEndpoints("default") >> [endpoints("foo", "http", 8080)]
+        first == "10.0.0.1:8080"
+        second == first
+        third == "<none>"
+    }
+
+    def "unknown service has no endpoints"() {
+        given:
+        def kubeUtils = Mock(KubernetesUtils)
+        kubeUtils.getKubeServices("kube-system") >> []
+        kubeUtils.getKubeEndpoints("kube-system") >> []
+        def resolver = new IngressBackendResolver(kubeUtils)
+
+        expect:
+        resolver.describe("kube-system", "default-http-backend", "80") == "<none>"
+    }
+
+    private static V1Service service(String name, String portName, int port) {
+        new V1Service().metadata(new V1ObjectMeta().name(name))
+                .spec(new V1ServiceSpec().addPortsItem(new V1ServicePort().name(portName).port(port)))
+    }
+
+    private static V1Endpoints endpoints(String name, String portName, int port) {
+        def subset = new V1EndpointSubset().addAddressesItem(new V1EndpointAddress().ip("10.0.0.1"))
+                .addPortsItem(new V1EndpointPort().name(portName).port(port))
+        new V1Endpoints().metadata(new V1ObjectMeta().name(name)).addSubsetsItem(subset)
+    }
+}
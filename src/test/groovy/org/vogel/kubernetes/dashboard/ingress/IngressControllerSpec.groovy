@@ -2,40 +2,54 @@ package org.vogel.kubernetes.dashboard.ingress
 
 import io.kubernetes.client.ApiException
 import org.springframework.ui.Model
+import org.springframework.web.context.request.WebRequest
+import org.vogel.kubernetes.dashboard.Description
 import org.vogel.kubernetes.dashboard.KubernetesUtils
+import org.vogel.kubernetes.dashboard.Page
+import org.vogel.kubernetes.dashboard.PageExecutor
 import spock.lang.Specification
 
 class IngressControllerSpec extends Specification {
+    def pages = new PageExecutor(1, 10)
+
+    def cleanup() {
+        pages.stop()
+    }
+
     def "test getting a list of Ingresses"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultIngress = Mock(Ingress)
         def resultList = [resultIngress]
-        kubeUtil.getIngresses("default") >> resultList
+        kubeUtil.getIngressesPage("default", 500, null) >> new Page(resultList, "cache:next")
         def namespaces = ["default", "kube-system"]
         kubeUtil.getNamespaces() >> namespaces
-        def controller = new IngressController(kubeUtil)
+        def controller = new IngressController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.listIngresses(model, "default")
+        def result = controller.listIngresses(model, request, "default", 500, null).get()
 
         then:
         result == "ingresses"
         1 * model.addAttribute("namespace", "default")
         1 * model.addAttribute("ingresses", resultList)
+        1 * model.addAttribute("limit", 500)
+        1 * model.addAttribute("continueToken", "cache:next")
         1 * model.addAttribute("namespaces", namespaces)
     }
 
     def "test getting a list of Ingresses with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getIngresses("default") >> { throw new ApiException() }
-        def controller = new IngressController(kubeUtil)
+        kubeUtil.getIngressesPage("default", 500, null) >> { throw new ApiException() }
+        def controller = new IngressController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.listIngresses(model, "default")
+        def result = controller.listIngresses(model, request, "default", 500, null).get()
 
         then:
         result == "error"
@@ -45,29 +59,32 @@ class IngressControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultIngress = Mock(Ingress)
-        kubeUtil.getIngress("default", "my-ingress") >> resultIngress
-        def controller = new IngressController(kubeUtil)
+        kubeUtil.describeIngress("default", "my-ingress") >> new Description(resultIngress, [])
+        def controller = new IngressController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.describeIngress(model, "default", "my-ingress")
+        def result = controller.describeIngress(model, request, "default", "my-ingress").get()
 
         then:
         result == "ingress_describe"
         1 * model.addAttribute("namespace", "default")
         1 * model.addAttribute("ingress", resultIngress)
         1 * model.addAttribute("ingressName", "my-ingress")
+        1 * model.addAttribute("events", [])
     }
 
     def "test describing a Ingress with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getIngress("default", "my-ingress") >> { throw new ApiException() }
-        def controller = new IngressController(kubeUtil)
+        kubeUtil.describeIngress("default", "my-ingress") >> { throw new ApiException() }
+        def controller = new IngressController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.describeIngress(model, "default", "my-ingress")
+        def result = controller.describeIngress(model, request, "default", "my-ingress").get()
 
         then:
         result == "error"
@@ -14,7 +14,7 @@ class IngressRuleSpec extends Specification {
         KubernetesUtils kubeUtils = Mock(KubernetesUtils)
 
         when:
-        def rule = new IngressRule(kubeIngRule, "default", kubeUtils)
+        def rule = new IngressRule(kubeIngRule, "default", new IngressBackendResolver(kubeUtils))
 
         then:
         rule.host == "*"
@@ -39,19 +39,18 @@ class IngressRuleSpec extends Specification {
         httpIngRule.setPaths(ingressPaths)
         kubeIngRule.setHttp(httpIngRule)
         KubernetesUtils kubeUtils = Mock(KubernetesUtils)
-        V1EndpointsList endpointsList = Mock(V1EndpointsList)
         List<V1Endpoints> endpoints = new ArrayList<>()
-        endpointsList.getItems() >> endpoints
-        kubeUtils.getEndpoint(_, _) >> endpointsList
+        kubeUtils.getKubeEndpoints(_) >> endpoints
         V1Service service = Mock(V1Service)
+        service.metadata >> new V1ObjectMeta().name("bar")
         V1ServiceSpec serviceSpec = Mock(V1ServiceSpec)
         List<V1ServicePort> ports = new ArrayList<>()
         serviceSpec.ports >> ports
         service.spec >> serviceSpec
-        kubeUtils.getKubeService(_, _) >> service
+        kubeUtils.getKubeServices(_) >> [service]
 
         when:
-        def rule = new IngressRule(kubeIngRule, "default", kubeUtils)
+        def rule = new IngressRule(kubeIngRule, "default", new IngressBackendResolver(kubeUtils))
 
         then:
         rule.host == "www.abc.com"
@@ -78,19 +77,18 @@ class IngressRuleSpec extends Specification {
         httpIngRule.setPaths(ingressPaths)
         kubeIngRule.setHttp(httpIngRule)
         KubernetesUtils kubeUtils = Mock(KubernetesUtils)
-        V1EndpointsList endpointsList = Mock(V1EndpointsList)
         List<V1Endpoints> endpoints = new ArrayList<>()
-        endpointsList.getItems() >> endpoints
-        kubeUtils.getEndpoint(_, _) >> endpointsList
+        kubeUtils.getKubeEndpoints(_) >> endpoints
         V1Service service = Mock(V1Service)
+        service.metadata >> new V1ObjectMeta().name("bar")
         V1ServiceSpec serviceSpec = Mock(V1ServiceSpec)
         List<V1ServicePort> ports = new ArrayList<>()
         serviceSpec.ports >> ports
         service.spec >> serviceSpec
-        kubeUtils.getKubeService(_, _) >> service
+        kubeUtils.getKubeServices(_) >> [service]
 
         when:
-        def rule = new IngressRule(kubeIngRule, "default", kubeUtils)
+        def rule = new IngressRule(kubeIngRule, "default", new IngressBackendResolver(kubeUtils))
 
         then:
         rule.host == "www.abc.com"
@@ -216,16 +216,15 @@ class IngressSpec extends Specification {
         status.loadBalancer >> loadBalancer
         kubeIng.status >> status
         def kubeUtils = Mock(KubernetesUtils)
-        V1EndpointsList endpointsList = Mock(V1EndpointsList)
         List<V1Endpoints> endpoints = new ArrayList<>()
-        endpointsList.getItems() >> endpoints
-        kubeUtils.getEndpoint(_, _) >> endpointsList
+        kubeUtils.getKubeEndpoints(_) >> endpoints
         V1Service service = Mock(V1Service)
+        service.metadata >> new V1ObjectMeta().name("foo")
         V1ServiceSpec serviceSpec = Mock(V1ServiceSpec)
         List<V1ServicePort> ports = new ArrayList<>()
         serviceSpec.ports >> ports
         service.spec >> serviceSpec
-        kubeUtils.getKubeService(_, _) >> service
+        kubeUtils.getKubeServices(_) >> [service]
 
         when:
         def ingress = new Ingress(kubeIng, kubeUtils)
@@ -264,16 +263,15 @@ class IngressSpec extends Specification {
         status.loadBalancer >> loadBalancer
         kubeIng.status >> status
         def kubeUtils = Mock(KubernetesUtils)
-        V1EndpointsList endpointsList = Mock(V1EndpointsList)
         List<V1Endpoints> endpoints = new ArrayList<>()
-        endpointsList.getItems() >> endpoints
-        kubeUtils.getEndpoint(_, _) >> endpointsList
+        kubeUtils.getKubeEndpoints(_) >> endpoints
         V1Service service = Mock(V1Service)
+        service.metadata >> new V1ObjectMeta().name("foo")
         V1ServiceSpec serviceSpec = Mock(V1ServiceSpec)
         List<V1ServicePort> ports = new ArrayList<>()
         serviceSpec.ports >> ports
         service.spec >> serviceSpec
-        kubeUtils.getKubeService(_, _) >> service
+        kubeUtils.getKubeServices(_) >> [service]
 
         when:
         def ingress = new Ingress(kubeIng, kubeUtils)
@@ -309,16 +307,15 @@ class IngressSpec extends Specification {
         status.loadBalancer >> loadBalancer
         kubeIng.status >> status
         def kubeUtils = Mock(KubernetesUtils)
-        V1EndpointsList endpointsList = Mock(V1EndpointsList)
         List<V1Endpoints> endpoints = new ArrayList<>()
-        endpointsList.getItems() >> endpoints
-        kubeUtils.getEndpoint(_, _) >> endpointsList
+        kubeUtils.getKubeEndpoints(_) >> endpoints
         V1Service service = Mock(V1Service)
+        service.metadata >> new V1ObjectMeta().name("foo")
         V1ServiceSpec serviceSpec = Mock(V1ServiceSpec)
         List<V1ServicePort> ports = new ArrayList<>()
         serviceSpec.ports >> ports
         service.spec >> serviceSpec
-        kubeUtils.getKubeService(_, _) >> service
+        kubeUtils.getKubeServices(_) >> [service]
 
         when:
         def ingress = new Ingress(kubeIng, kubeUtils)
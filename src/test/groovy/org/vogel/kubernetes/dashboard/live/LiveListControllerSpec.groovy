@@ -0,0 +1,33 @@
+package org.vogel.kubernetes.dashboard.live
+
+import spock.lang.Specification
+
+class LiveListControllerSpec extends Specification {
+    def "test following a list of Pods"() {
+        given:
+        def liveLists = Mock(LiveLists)
+        def list = Mock(LiveList)
+        liveLists.getList("pods") >> list
+        def controller = new LiveListController(liveLists, 30)
+
+        when:
+        def result = controller.followList("default", "pods", "app=web", "42", "abc:7")
+
+        then:
+        1 * list.subscribe({ it instanceof SseLiveSubscriber }, "default", { it.string() == "app=web" }, "42",
+                           "abc:7")
+        result.timeout == 30 * 60 * 1000
+    }
+
+    def "test following a list with a bad label filter"() {
+        given:
+        def liveLists = Mock(LiveLists)
+        def controller = new LiveListController(liveLists, 30)
+
+        when:
+        controller.followList("default", "pods", "app in (web", "42", null)
+
+        then:
+        0 * liveLists._
+    }
+}
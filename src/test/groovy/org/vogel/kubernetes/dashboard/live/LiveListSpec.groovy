@@ -0,0 +1,183 @@
+package org.vogel.kubernetes.dashboard.live
+
+import io.kubernetes.client.models.V1ObjectMeta
+import io.kubernetes.client.models.V1Pod
+import org.vogel.kubernetes.dashboard.Selector
+import org.vogel.kubernetes.dashboard.cache.ResourceCache
+import spock.lang.Specification
+
+class LiveListSpec extends Specification {
+    def cache = new ResourceCache<V1Pod>("pods", { V1Pod pod -> pod.metadata }, { null }, { null })
+    def list = new LiveList<V1Pod>(cache, { V1Pod pod -> pod.metadata }, { V1Pod pod ->
+        pod.metadata.name + "@" + pod.metadata.resourceVersion
+    }, 3, { Runnable task -> task.run() })
+
+    def "a subscriber is sent the changes after the version of its list"() {
+        given:
+        cache.replace([createPod("default", "pod-a", "1", [:])], "10")
+        def subscriber = new RecordingSubscriber()
+        list.subscribe(subscriber, "default", new Selector(), "10", null)
+
+        when:
+        cache.apply("ADDED", createPod("default", "pod-b", "11", [:]))
+        cache.apply("MODIFIED", createPod("default", "pod-a", "12", [:]))
+        cache.apply("DELETED", createPod("default", "pod-b", "13", [:]))
+
+        then:
+        subscriber.changes == ["added pod-b@11", "modified pod-a@12", "deleted uid-pod-b"]
+        subscriber.positions.size() == 3
+    }
+
+    def "changes outside the namespace and selector are not sent"() {
+        given:
+        cache.replace([createPod("default", "pod-a", "1", [app: "web"])], "10")
+        def subscriber = new RecordingSubscriber()
+        list.subscribe(subscriber, "default", Selector.parse("app=web"), "10", null)
+
+        when:
+        cache.apply("ADDED", createPod("other", "pod-b", "11", [app: "web"]))
+        cache.apply("MODIFIED", createPod("default", "pod-a", "12", [app: "db"]))
+        cache.apply("MODIFIED", createPod("default", "pod-a", "13", [app: "db", tier: "1"]))
+        cache.apply("MODIFIED", createPod("default", "pod-a", "14", [app: "web"]))
+
+        then:
+        subscriber.changes == ["deleted uid-pod-a", "added pod-a@14"]
+    }
+
+    def "a subscriber to an older list is caught up from the history"() {
+        given:
+        cache.replace([], "10")
+        cache.apply("ADDED", createPod("default", "pod-a", "11", [:]))
+        cache.apply("ADDED", createPod("default", "pod-b", "12", [:]))
+        def subscriber = new RecordingSubscriber()
+
+        when:
+        list.subscribe(subscriber, "default", new Selector(), "11", null)
+
+        then:
+        subscriber.changes == ["added pod-b@12"]
+
+        when:
+        def current = new RecordingSubscriber()
+        list.subscribe(current, "default", new Selector(), "12", null)
+
+        then:
+        current.changes.empty
+        list.subscriberCount == 2
+    }
+
+    def "a reconnecting subscriber resumes after its last position"() {
+        given:
+        cache.replace([], "10")
+        def subscriber = new RecordingSubscriber()
+        list.subscribe(subscriber, "default", new Selector(), "10", null)
+        cache.apply("ADDED", createPod("default", "pod-a", "11", [:]))
+        list.unsubscribe(subscriber)
+        cache.apply("ADDED", createPod("default", "pod-b", "12", [:]))
+        def reconnected = new RecordingSubscriber()
+
+        when:
+        list.subscribe(reconnected, "default", new Selector(), "10", subscriber.positions[0])
+
+        then:
+        reconnected.changes == ["added pod-b@12"]
+    }
+
+    def "a subscriber whose list is no longer in the history is reset"() {
+        given:
+        cache.replace([], "10")
+        (11..15).each { cache.apply("ADDED", createPod("default", "pod-$it", "$it", [:])) }
+        def subscriber = new RecordingSubscriber()
+
+        when:
+        list.subscribe(subscriber, "default", new Selector(), "11", null)
+
+        then:
+        subscriber.reset
+        subscriber.changes.empty
+        list.subscriberCount == 0
+    }
+
+    def "a relist resets every subscriber"() {
+        given:
+        cache.replace([], "10")
+        def subscriber = new RecordingSubscriber()
+        list.subscribe(subscriber, "default", new Selector(), "10", null)
+
+        when:
+        cache.replace([createPod("default", "pod-a", "20", [:])], "20")
+
+        then:
+        subscriber.reset
+        list.subscriberCount == 0
+
+        when:
+        def fresh = new RecordingSubscriber()
+        list.subscribe(fresh, "default", new Selector(), "20", null)
+
+        then:
+        !fresh.reset
+        list.subscriberCount == 1
+    }
+
+    def "a subscriber is closed while the list is not cached"() {
+        given:
+        def subscriber = new RecordingSubscriber()
+
+        when:
+        list.subscribe(subscriber, "default", new Selector(), null, null)
+
+        then:
+        subscriber.closed == "The list is not cached, live updates are off"
+        list.subscriberCount == 0
+    }
+
+    def "a subscriber that fails is dropped"() {
+        given:
+        cache.replace([], "10")
+        def subscriber = new RecordingSubscriber(failing: true)
+        list.subscribe(subscriber, "default", new Selector(), "10", null)
+
+        when:
+        cache.apply("ADDED", createPod("default", "pod-a", "11", [:]))
+
+        then:
+        subscriber.closed == "Subscriber disconnected"
+        list.subscriberCount == 0
+    }
+
+    private static V1Pod createPod(String namespace, String name, String resourceVersion, Map<String, String> labels) {
+        new V1Pod().metadata(new V1ObjectMeta().namespace(namespace)
+                                     .name(name)
+                                     .uid("uid-" + name)
+                                     .resourceVersion(resourceVersion)
+                                     .labels(labels))
+    }
+
+    static class RecordingSubscriber implements LiveSubscriber {
+        def changes = []
+        def positions = []
+        def reset = false
+        def closed
+        def failing = false
+
+        @Override
+        void send(String type, String position, String data) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe")
+            }
+            changes << "$type $data".toString()
+            positions << position
+        }
+
+        @Override
+        void reset() {
+            reset = true
+        }
+
+        @Override
+        void close(String reason) {
+            closed = reason
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.vogel.kubernetes.dashboard.logs
+
+import io.kubernetes.client.ApiException
+import spock.lang.Specification
+
+import java.nio.file.Files
+
+class CachedLogSpec extends Specification {
+    def directory = Files.createTempDirectory("cached-log").resolve("log")
+
+    def "ranges of lines are read from the copy"() {
+        given:
+        def cachedLog = load(lines(1000), 1024 * 1024)
+
+        when:
+        def window = cachedLog.read(from, 3)
+
+        then:
+        window.from == expectedFrom
+        window.lines == expectedLines
+        window.totalLines == 1000
+        window.complete
+        window.error == null
+
+        where:
+        from || expectedFrom | expectedLines
+        0L   || 0            | ["line 0", "line 1", "line 2"]
+        63L  || 63           | ["line 63", "line 64", "line 65"]
+        130L || 130          | ["line 130", "line 131", "line 132"]
+        998L || 998          | ["line 998", "line 999"]
+        2000 || 1000         | []
+        null || 997          | ["line 997", "line 998", "line 999"]
+    }
+
+    def "lines are read across segments"() {
+        given:
+        def cachedLog = load(lines(500), 100)
+
+        when:
+        def window = cachedLog.read(190, 20)
+
+        then:
+        window.lines == (190..209).collect { "line $it".toString() }
+        Files.list(directory).count() > 10
+    }
+
+    def "long lines are split and a missing last newline is added"() {
+        given:
+        def longLine = "x" * (CachedLog.MAX_LINE_BYTES + 10)
+        def cachedLog = load("first\n${longLine}\nlast", 1024 * 1024)
+
+        when:
+        def window = cachedLog.read(0, 10)
+
+        then:
+        window.lines == ["first", "x" * CachedLog.MAX_LINE_BYTES, "x" * 10, "last"]
+        cachedLog.lineCount == 4
+    }
+
+    def "multi-byte characters are not split"() {
+        given:
+        def line = "a" * (CachedLog.MAX_LINE_BYTES - 1) + "éb"
+        def cachedLog = load(line + "\n", 1024 * 1024)
+
+        when:
+        def window = cachedLog.read(0, 10)
+
+        then:
+        window.lines == ["a" * (CachedLog.MAX_LINE_BYTES - 1) + "é", "b"]
+    }
+
+    def "empty lines are kept"() {
+        given:
+        def cachedLog = load("a\n\n\nb\n", 1024 * 1024)
+
+        expect:
+        cachedLog.read(0, 10).lines == ["a", "", "", "b"]
+    }
+
+    def "an error opening the log is reported"() {
+        given:
+        def cachedLog = new CachedLog("default/web", directory, {
+            throw new ApiException("Not Found", 404, [:], "pod not found")
+        })
+
+        when:
+        cachedLog.run()
+        def window = cachedLog.read(null, 10)
+
+        then:
+        !window.complete
+        window.error == "Error reading log: pod not found"
+        window.lines.isEmpty()
+        cachedLog.completedAt > 0
+    }
+
+    def "closing deletes the copy"() {
+        given:
+        def cachedLog = load(lines(100), 100)
+
+        when:
+        cachedLog.close()
+
+        then:
+        !Files.exists(directory)
+    }
+
+    def "a log closed during a read keeps its copy until the read is done"() {
+        given:
+        def cachedLog = load(lines(500), 100)
+        cachedLog.retain()
+
+        when:
+        cachedLog.close()
+        def window = cachedLog.read(190, 20)
+
+        then:
+        window.lines == (190..209).collect { "line $it".toString() }
+        Files.exists(directory)
+
+        when:
+        cachedLog.release()
+
+        then:
+        !Files.exists(directory)
+    }
+
+    private CachedLog load(String text, int segmentBytes) {
+        def cachedLog = new CachedLog("default/web", directory,
+                                      { new ByteArrayInputStream(text.getBytes("UTF-8")) }, segmentBytes)
+        cachedLog.run()
+        cachedLog
+    }
+
+    private static String lines(int count) {
+        (0..<count).collect { "line $it\n" }.join()
+    }
+}
@@ -0,0 +1,113 @@
+package org.vogel.kubernetes.dashboard.logs
+
+import org.vogel.kubernetes.dashboard.KubernetesUtils
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.nio.file.Files
+
+class LogCacheSpec extends Specification {
+    def conditions = new PollingConditions(timeout: 5)
+    def kubeUtils = Mock(KubernetesUtils)
+    def directory = Files.createTempDirectory("log-cache")
+
+    def "repeated reads load the log once"() {
+        given:
+        def cache = new LogCache(kubeUtils, directory.toString(), 10, 5, 1)
+
+        when:
+        def first = read(cache, "web", 0, false)
+        def second = read(cache, "web", 1, false)
+
+        then:
+        1 * kubeUtils.streamPodLogs("default", "web", { it.container == "app" }) >> stream("a\nb\nc\n")
+        first.lines == ["a", "b"]
+        second.lines == ["b", "c"]
+        cache.size() == 1
+
+        cleanup:
+        cache.stop()
+    }
+
+    def "refresh loads the log again"() {
+        given:
+        def cache = new LogCache(kubeUtils, directory.toString(), 10, 5, 1)
+        kubeUtils.streamPodLogs(*_) >>> [stream("a\n"), stream("a\nb\n")]
+        read(cache, "web", 0, false)
+
+        when:
+        def window = read(cache, "web", 0, true)
+
+        then:
+        window.lines == ["a", "b"]
+
+        cleanup:
+        cache.stop()
+    }
+
+    def "least recently read logs are dropped past the size limit"() {
+        given:
+        def cache = new LogCache(kubeUtils, directory.toString(), 1, 5, 1)
+        kubeUtils.streamPodLogs(*_) >> { stream(("x" * 1000 + "\n") * 600) }
+
+        when:
+        read(cache, "web", 0, false)
+        read(cache, "db", 0, false)
+
+        then:
+        cache.size() == 1
+        read(cache, "db", 0, false).totalLines == 600
+
+        cleanup:
+        cache.stop()
+    }
+
+    def "expired logs are dropped"() {
+        given:
+        def cache = new LogCache(kubeUtils, directory.toString(), 10, 0, 1)
+        kubeUtils.streamPodLogs(*_) >> { stream("a\n") }
+        read(cache, "web", 0, false)
+        Thread.sleep(10)
+
+        when:
+        read(cache, "db", 0, false)
+
+        then:
+        cache.size() == 1
+
+        cleanup:
+        cache.stop()
+    }
+
+    def "the copy a refresh replaces is deleted once no read holds it"() {
+        given:
+        def cache = new LogCache(kubeUtils, directory.toString(), 10, 5, 1)
+        kubeUtils.streamPodLogs(*_) >>> [stream("a\n"), stream("a\nb\n")]
+        read(cache, "web", 0, false)
+
+        when:
+        read(cache, "web", 0, true)
+
+        then:
+        Files.walk(directory)
+                .filter { Files.isRegularFile(it) }
+                .collect { it.parent.fileName.toString() } == ["2"]
+
+        cleanup:
+        cache.stop()
+    }
+
+    private LogWindow read(LogCache cache, String podName, Long from, boolean refresh) {
+        LogWindow window = null
+        conditions.eventually {
+            window = cache.read("default", podName, "app", from, 2, refresh)
+            refresh = false
+            assert window.complete
+        }
+        window
+    }
+
+    private static InputStream stream(String text) {
+        new ByteArrayInputStream(text.bytes)
+    }
+}
@@ -0,0 +1,18 @@
+package org.vogel.kubernetes.dashboard.logs
+
+import spock.lang.Specification
+
+class LogFollowControllerSpec extends Specification {
+    def "test following a Pod log"() {
+        given:
+        def logFollower = Mock(LogFollower)
+        def controller = new LogFollowController(logFollower, 30)
+
+        when:
+        def result = controller.followPodLogs("default", "my-pod", " ", "abc:41")
+
+        then:
+        1 * logFollower.follow("default", "my-pod", null, { it instanceof SseLogViewer }, "abc:41")
+        result.timeout == 30 * 60 * 1000
+    }
+}
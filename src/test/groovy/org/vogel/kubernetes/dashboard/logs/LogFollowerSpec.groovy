@@ -0,0 +1,71 @@
+package org.vogel.kubernetes.dashboard.logs
+
+import org.vogel.kubernetes.dashboard.KubernetesUtils
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+class LogFollowerSpec extends Specification {
+    def conditions = new PollingConditions(timeout: 5)
+    def kubeUtils = Mock(KubernetesUtils)
+    def follower = new LogFollower(kubeUtils, 100, 1000, 2, 2, 10)
+
+    def cleanup() {
+        follower.stop()
+    }
+
+    def "viewers of the same container share one upstream stream"() {
+        given:
+        def opened = 0
+        kubeUtils.followPodLogs("default", "web", null, 100) >> {
+            opened++
+            new PipedInputStream(new PipedOutputStream())
+        }
+
+        when:
+        follower.follow("default", "web", null, Mock(LogViewer), null)
+        follower.follow("default", "web", null, Mock(LogViewer), null)
+
+        then:
+        conditions.eventually {
+            assert opened == 1
+        }
+        follower.streamCount == 1
+    }
+
+    def "the upstream stream is closed when the last viewer leaves"() {
+        given:
+        def upstream = new PipedOutputStream()
+        kubeUtils.followPodLogs(*_) >> new PipedInputStream(upstream)
+        def first = Mock(LogViewer)
+        def second = Mock(LogViewer)
+        follower.follow("default", "web", "app", first, null)
+        follower.follow("default", "web", "app", second, null)
+
+        when:
+        follower.unfollow("default", "web", "app", first)
+
+        then:
+        follower.streamCount == 1
+
+        when:
+        follower.unfollow("default", "web", "app", second)
+
+        then:
+        follower.streamCount == 0
+    }
+
+    def "viewers are turned away once the stream limit is reached"() {
+        given:
+        kubeUtils.followPodLogs(*_) >> { new PipedInputStream(new PipedOutputStream()) }
+        def viewer = Mock(LogViewer)
+        follower.follow("default", "a", null, Mock(LogViewer), null)
+        follower.follow("default", "b", null, Mock(LogViewer), null)
+
+        when:
+        follower.follow("default", "c", null, viewer, null)
+
+        then:
+        1 * viewer.close("Too many logs are being followed, try again later")
+        follower.streamCount == 2
+    }
+}
@@ -0,0 +1,74 @@
+package org.vogel.kubernetes.dashboard.logs
+
+import spock.lang.Specification
+
+import java.util.regex.PatternSyntaxException
+
+class LogMatcherSpec extends Specification {
+    def "lines are matched"() {
+        given:
+        def matcher = LogMatcher.of(query, regex, ignoreCase)
+
+        expect:
+        matches(matcher, line) == expected
+
+        where:
+        query                | regex | ignoreCase | line                                      || expected
+        "Exception"          | false | false      | "java.lang.IllegalStateException: boom"   || true
+        "Exception"          | false | false      | "java.lang.IllegalStateexception: boom"   || false
+        "exception"          | false | true       | "java.lang.IllegalStateException: boom"   || true
+        "a.b"                | false | false      | "axb"                                     || false
+        "a.b"                | false | false      | "see a.b"                                 || true
+        "été"                | false | false      | "un été chaud"                            || true
+        "ÉTÉ"                | false | true       | "un été chaud"                            || false
+        "Exception"          | false | false      | "Exc"                                     || false
+        "timeout after \\d+" | true  | false      | "timeout after 30s"                       || true
+        "timeout after \\d+" | true  | false      | "timeout after s"                         || false
+        "TIMEOUT after \\d+" | true  | true       | "timeout After 30s"                       || true
+        "colou?r"            | true  | false      | "color"                                   || true
+        "ab{2}cd"            | true  | false      | "abbcd"                                   || true
+        "(?i)error"          | true  | false      | "ERROR"                                   || true
+        "error|warn"         | true  | false      | "warning"                                 || true
+    }
+
+    def "the literal every match must contain is found"() {
+        expect:
+        LogMatcher.requiredLiteral(regex) == expected
+
+        where:
+        regex                       || expected
+        "Exception"                 || "Exception"
+        "timeout after \\d+ms"      || "timeout after "
+        "colou?r"                   || "colo"
+        "ab*cdef"                   || "cdef"
+        "ab+cd"                     || "ab"
+        "ab{2,3}c"                  || "a"
+        "[Ee]xception in thread"    || "xception in thread"
+        "(foo)?barbaz"              || "barbaz"
+        "\\[main\\] ERROR"          || "[main] ERROR"
+        "error|warn"                || ""
+        "(?i)error"                 || ""
+        "\\x41BCD"                  || ""
+        "^\\s*at com\\.example\\."  || "at com.example."
+    }
+
+    def "regular expressions without a long enough literal are not prefiltered"() {
+        expect:
+        LogMatcher.of("a.b", true, false).hasPrefilter() == false
+        LogMatcher.of("abc.d", true, false).hasPrefilter()
+        LogMatcher.of("abc", false, false).hasPrefilter()
+    }
+
+    def "invalid regular expressions are rejected"() {
+        when:
+        LogMatcher.of("a(b", true, false)
+
+        then:
+        thrown(PatternSyntaxException)
+    }
+
+    private static boolean matches(LogMatcher matcher, String line) {
+        def bytes = (line + "padding").getBytes("UTF-8")
+        matcher.matches(bytes, bytes.length - "padding".length())
+    }
+}
@@ -0,0 +1,130 @@
+package org.vogel.kubernetes.dashboard.logs
+
+import io.kubernetes.client.ApiException
+import org.vogel.kubernetes.dashboard.ApiExecutor
+import org.vogel.kubernetes.dashboard.KubernetesUtils
+import org.vogel.kubernetes.dashboard.LogOptions
+import spock.lang.Specification
+
+import java.util.concurrent.CompletionException
+
+class LogMergerSpec extends Specification {
+    def kubeUtils = Mock(KubernetesUtils)
+    def apiExecutor = new ApiExecutor(8, 10)
+
+    def cleanup() {
+        apiExecutor.stop()
+    }
+
+    def "the log of every pod is opened with timestamps"() {
+        given:
+        def merger = new LogMerger(kubeUtils, apiExecutor, 2, 100)
+        def options = new LogOptions("app", 10, null, null, false, false)
+
+        when:
+        def mergedLog = merger.open("default", ["web-1", "web-2", "web-3"], options)
+
+        then:
+        3 * kubeUtils.streamPodLogs("default", _, { it.timestamps && it.container == "app" && it.tailLines == 10 }) >> {
+            String namespace, String podName, LogOptions podOptions ->
+                stream("2019-04-01T12:00:0${podName[-1]}Z ${podName}\n")
+        }
+        write(mergedLog) == "[web-1] 2019-04-01T12:00:01Z web-1\n[web-2] 2019-04-01T12:00:02Z web-2\n" +
+                "[web-3] 2019-04-01T12:00:03Z web-3\n"
+    }
+
+    def "the logs are opened by no more threads than the parallelism"() {
+        given:
+        def merger = new LogMerger(kubeUtils, apiExecutor, 2, 100)
+        def threads = Collections.synchronizedSet(new HashSet())
+
+        when:
+        merger.open("default", (1..6).collect { "web-$it".toString() }, options())
+
+        then:
+        6 * kubeUtils.streamPodLogs(*_) >> {
+            threads << Thread.currentThread()
+            stream("")
+        }
+        threads.size() == 2
+    }
+
+    def "pods whose log cannot be opened are reported"() {
+        given:
+        def merger = new LogMerger(kubeUtils, apiExecutor, 2, 100)
+        kubeUtils.streamPodLogs("default", "web-1", _) >> stream("2019-04-01T12:00:01Z a\n")
+        kubeUtils.streamPodLogs("default", "web-2", _) >> { throw new ApiException(400, [:], "container not found") }
+
+        when:
+        def mergedLog = merger.open("default", ["web-1", "web-2"], options())
+
+        then:
+        write(mergedLog) == "[web-2] Error reading log: container not found\n[web-1] 2019-04-01T12:00:01Z a\n"
+    }
+
+    def "a pod whose log fails unexpectedly is reported like the others"() {
+        given:
+        def merger = new LogMerger(kubeUtils, apiExecutor, 2, 100)
+        kubeUtils.streamPodLogs("default", "web-1", _) >> stream("2019-04-01T12:00:01Z a\n")
+        kubeUtils.streamPodLogs("default", "web-2", _) >> { throw new IllegalStateException("pool shut down") }
+
+        when:
+        def mergedLog = merger.open("default", ["web-1", "web-2"], options())
+
+        then:
+        write(mergedLog) == "[web-2] Error reading log: pool shut down\n[web-1] 2019-04-01T12:00:01Z a\n"
+    }
+
+    def "the logs already opened are closed when a lane fails"() {
+        given:
+        def merger = new LogMerger(kubeUtils, apiExecutor, 2, 100)
+        def web1 = Spy(ByteArrayInputStream, constructorArgs: ["".bytes])
+        def web3 = Spy(ByteArrayInputStream, constructorArgs: ["".bytes])
+        kubeUtils.streamPodLogs("default", "web-1", _) >> web1
+        kubeUtils.streamPodLogs("default", "web-2", _) >> { throw new OutOfMemoryError("no more buffers") }
+        kubeUtils.streamPodLogs("default", "web-3", _) >> web3
+
+        when:
+        merger.open("default", ["web-1", "web-2", "web-3"], options())
+
+        then:
+        thrown(CompletionException)
+        1 * web1.close()
+        1 * web3.close()
+    }
+
+    def "only the most pods are merged"() {
+        given:
+        def merger = new LogMerger(kubeUtils, apiExecutor, 2, 2)
+
+        when:
+        def mergedLog = merger.open("default", ["web-1", "web-2", "web-3"], options())
+
+        then:
+        2 * kubeUtils.streamPodLogs(*_) >> { stream("") }
+        write(mergedLog) == "Showing the logs of 2 of 3 pods\n"
+    }
+
+    def "a workload without pods says so"() {
+        given:
+        def merger = new LogMerger(kubeUtils, apiExecutor, 2, 100)
+
+        expect:
+        write(merger.open("default", [], options())) == "There are no pods\n"
+    }
+
+    private static LogOptions options() {
+        new LogOptions(null, null, null, null, false, false)
+    }
+
+    private static String write(MergedLog mergedLog) {
+        def out = new ByteArrayOutputStream()
+        mergedLog.writeTo(out)
+        mergedLog.close()
+        out.toString("UTF-8")
+    }
+
+    private static InputStream stream(String text) {
+        new ByteArrayInputStream(text.bytes)
+    }
+}
@@ -0,0 +1,66 @@
+package org.vogel.kubernetes.dashboard.logs
+
+import spock.lang.Specification
+
+class LogRingSpec extends Specification {
+    def ring = new LogRing("abc", 3)
+
+    def "lines are read back in order from a sequence"() {
+        given:
+        ["a", "b", "c"].each { ring.append(it) }
+
+        when:
+        def batch = ring.read(1, 10)
+
+        then:
+        batch.lines == ["b", "c"]
+        batch.firstSequence == 1
+        batch.lastSequence == 2
+        batch.skipped == 0
+        batch.position == "abc:2"
+    }
+
+    def "a reader behind the oldest line skips ahead"() {
+        given:
+        ["a", "b", "c", "d", "e"].each { ring.append(it) }
+
+        when:
+        def batch = ring.read(0, 10)
+
+        then:
+        ring.oldest == 2
+        ring.next == 5
+        batch.lines == ["c", "d", "e"]
+        batch.firstSequence == 2
+        batch.skipped == 2
+    }
+
+    def "reads are limited to the batch size"() {
+        given:
+        ["a", "b", "c"].each { ring.append(it) }
+
+        expect:
+        ring.read(0, 2).lines == ["a", "b"]
+    }
+
+    def "a reader that is caught up gets an empty batch"() {
+        given:
+        ring.append("a")
+
+        expect:
+        ring.read(1, 10).empty
+    }
+
+    def "positions only resolve for the ring that made them"() {
+        expect:
+        ring.sequenceOf(position) == sequence
+
+        where:
+        position || sequence
+        "abc:41" || 41
+        "def:41" || null
+        "abc:x"  || null
+        "41"     || null
+        null     || null
+    }
+}
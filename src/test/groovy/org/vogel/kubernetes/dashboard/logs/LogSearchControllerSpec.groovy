@@ -0,0 +1,34 @@
+package org.vogel.kubernetes.dashboard.logs
+
+import spock.lang.Specification
+
+class LogSearchControllerSpec extends Specification {
+    def logSearcher = Mock(LogSearcher)
+    def controller = new LogSearchController(logSearcher, 10)
+
+    def "test searching a Pod log"() {
+        when:
+        def result = controller.searchPodLogs("default", "my-pod", " ", "error", false, true, 50)
+
+        then:
+        1 * logSearcher.search("default", "my-pod", null, { it instanceof LogMatcher }, LogSearchController.MAX_CONTEXT,
+                               { it instanceof SseLogSearchViewer }) >> Mock(LogSearch)
+        result.timeout == 10 * 60 * 1000
+    }
+
+    def "test searching a Pod log with an invalid regular expression"() {
+        when:
+        controller.searchPodLogs("default", "my-pod", null, "a(b", true, false, 2)
+
+        then:
+        0 * logSearcher.search(*_)
+    }
+
+    def "test searching a Pod log without a query"() {
+        when:
+        controller.searchPodLogs("default", "my-pod", null, "", false, false, 2)
+
+        then:
+        0 * logSearcher.search(*_)
+    }
+}
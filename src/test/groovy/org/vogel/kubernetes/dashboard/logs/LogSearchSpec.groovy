@@ -0,0 +1,110 @@
+package org.vogel.kubernetes.dashboard.logs
+
+import io.kubernetes.client.ApiException
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+class LogSearchSpec extends Specification {
+    def viewer = Mock(LogSearchViewer)
+    def sent = []
+
+    def setup() {
+        viewer.send(_) >> { LogSearchLine line -> sent << "${line.number}${line.match ? ':' : '-'}${line.text}" }
+    }
+
+    def "matches are sent with the lines around them"() {
+        given:
+        def search = search("a\nb\nerror 1\nc\nd\ne\nf\nerror 2\nerror 3\ng\nh\ni\n", 2, 100)
+
+        when:
+        search.run()
+
+        then:
+        sent == ["1-a", "2-b", "3:error 1", "4-c", "5-d", "6-e", "7-f", "8:error 2", "9:error 3", "10-g", "11-h"]
+        1 * viewer.end({ it.lines == 12 && it.matches == 3 && !it.limitReached })
+    }
+
+    def "lines without context are sent alone"() {
+        given:
+        def search = search("a\nerror\nb\nerror", 0, 100)
+
+        when:
+        search.run()
+
+        then:
+        sent == ["2:error", "4:error"]
+        1 * viewer.end({ it.lines == 4 && it.bytes == 15 })
+    }
+
+    def "the search stops after the most matches and their context"() {
+        given:
+        def search = search("error 1\nerror 2\na\nerror 3\n", 1, 2)
+
+        when:
+        search.run()
+
+        then:
+        sent == ["1:error 1", "2:error 2", "3-a"]
+        1 * viewer.end({ it.matches == 2 && it.limitReached })
+    }
+
+    def "line numbers count long lines the way the cached log splits them"() {
+        given:
+        def search = search("x" * (CachedLog.MAX_LINE_BYTES + 5) + "error\nerror\n", 0, 100)
+
+        when:
+        search.run()
+
+        then:
+        sent == ["2:xxxxxerror", "3:error"]
+    }
+
+    def "errors opening the log are reported"() {
+        given:
+        def search = new LogSearch("default/web", {
+            throw new ApiException("Not Found", 404, [:], "pod not found")
+        }, LogMatcher.of("error", false, false), 2, 100, viewer)
+
+        when:
+        search.run()
+
+        then:
+        1 * viewer.fail("Error reading log: pod not found")
+        0 * viewer.end(_)
+    }
+
+    def "a cancelled search stops reading and sends nothing more"() {
+        given:
+        def upstream = new PipedOutputStream()
+        def input = new PipedInputStream(upstream) {
+            @Override
+            void close() {
+                upstream.close()
+                super.close()
+            }
+        }
+        def search = new LogSearch("default/web", { input }, LogMatcher.of("error", false, false), 0, 100, viewer)
+        def thread = new Thread(search)
+        thread.start()
+        upstream.write("error\n".bytes)
+        upstream.flush()
+        new PollingConditions(timeout: 5).eventually {
+            assert sent == ["1:error"]
+        }
+
+        when:
+        search.cancel()
+        thread.join(5000)
+
+        then:
+        !thread.alive
+        search.cancelled
+        0 * viewer.end(_)
+        0 * viewer.fail(_)
+    }
+
+    private LogSearch search(String log, int context, int maxMatches) {
+        new LogSearch("default/web", { new ByteArrayInputStream(log.bytes) }, LogMatcher.of("error", false, false),
+                      context, maxMatches, viewer)
+    }
+}
@@ -0,0 +1,48 @@
+package org.vogel.kubernetes.dashboard.logs
+
+import org.vogel.kubernetes.dashboard.KubernetesUtils
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+class LogSearcherSpec extends Specification {
+    def kubeUtils = Mock(KubernetesUtils)
+
+    def "the container's log is searched"() {
+        given:
+        def searcher = new LogSearcher(kubeUtils, 100, 2)
+        def viewer = Mock(LogSearchViewer)
+        def ended = false
+        viewer.end(_) >> { ended = true }
+
+        when:
+        searcher.search("default", "web", "app", LogMatcher.of("b", false, false), 0, viewer)
+        new PollingConditions(timeout: 5).eventually {
+            assert ended
+        }
+
+        then:
+        1 * kubeUtils.streamPodLogs("default", "web", { it.container == "app" }) >> new ByteArrayInputStream("a\nb\n".bytes)
+        1 * viewer.send({ it.number == 2 && it.text == "b" })
+
+        cleanup:
+        searcher.stop()
+    }
+
+    def "searches past the limit are turned away"() {
+        given:
+        def searcher = new LogSearcher(kubeUtils, 100, 1)
+        kubeUtils.streamPodLogs(*_) >> new PipedInputStream(new PipedOutputStream())
+        def viewer = Mock(LogSearchViewer)
+
+        when:
+        def first = searcher.search("default", "web", null, LogMatcher.of("b", false, false), 0, Mock(LogSearchViewer))
+        searcher.search("default", "db", null, LogMatcher.of("b", false, false), 0, viewer)
+
+        then:
+        1 * viewer.fail("Too many logs are being searched, try again later")
+
+        cleanup:
+        first.cancel()
+        searcher.stop()
+    }
+}
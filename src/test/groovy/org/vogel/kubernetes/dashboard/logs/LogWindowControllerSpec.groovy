@@ -0,0 +1,25 @@
+package org.vogel.kubernetes.dashboard.logs
+
+import spock.lang.Specification
+
+class LogWindowControllerSpec extends Specification {
+    def "test reading a range of Pod log lines"() {
+        given:
+        def logCache = Mock(LogCache)
+        def controller = new LogWindowController(logCache)
+        def window = new LogWindow(10, ["a"], 11, true, null)
+
+        when:
+        def result = controller.readPodLogLines("default", "my-pod", " ", 10, count, false)
+
+        then:
+        1 * logCache.read("default", "my-pod", null, 10, expectedCount, false) >> window
+        result == window
+
+        where:
+        count  || expectedCount
+        200    || 200
+        0      || 1
+        100000 || LogWindowController.MAX_COUNT
+    }
+}
@@ -0,0 +1,78 @@
+package org.vogel.kubernetes.dashboard.logs
+
+import spock.lang.Specification
+
+class MergedLogSpec extends Specification {
+    def "lines of all pods are merged by timestamp and tagged with their pod"() {
+        given:
+        def mergedLog = new MergedLog()
+        mergedLog.add("web-1", stream("2019-04-01T12:00:00.5Z a1\n2019-04-01T12:00:02Z a2\n"))
+        mergedLog.add("web-2", stream("2019-04-01T12:00:00.25Z b1\n2019-04-01T12:00:01.123456789Z b2\n" +
+                                              "2019-04-01T12:00:03Z b3"))
+        mergedLog.add("web-3", stream(""))
+
+        expect:
+        write(mergedLog) == "[web-2] 2019-04-01T12:00:00.25Z b1\n" +
+                "[web-1] 2019-04-01T12:00:00.5Z a1\n" +
+                "[web-2] 2019-04-01T12:00:01.123456789Z b2\n" +
+                "[web-1] 2019-04-01T12:00:02Z a2\n" +
+                "[web-2] 2019-04-01T12:00:03Z b3\n"
+    }
+
+    def "lines with the same timestamp keep the order of the pods"() {
+        given:
+        def mergedLog = new MergedLog()
+        mergedLog.add("web-1", stream("2019-04-01T12:00:00Z a1\n"))
+        mergedLog.add("web-2", stream("2019-04-01T12:00:00Z b1\n"))
+
+        expect:
+        write(mergedLog) == "[web-1] 2019-04-01T12:00:00Z a1\n[web-2] 2019-04-01T12:00:00Z b1\n"
+    }
+
+    def "lines without a timestamp stay after the line before them"() {
+        given:
+        def mergedLog = new MergedLog()
+        mergedLog.add("web-1", stream("2019-04-01T12:00:00Z a1\n  at Main.main\n2019-04-01T12:00:05Z a2\n"))
+        mergedLog.add("web-2", stream("2019-04-01T12:00:01Z b1\n"))
+
+        expect:
+        write(mergedLog) == "[web-1] 2019-04-01T12:00:00Z a1\n[web-1]   at Main.main\n" +
+                "[web-2] 2019-04-01T12:00:01Z b1\n[web-1] 2019-04-01T12:00:05Z a2\n"
+    }
+
+    def "notices come first"() {
+        given:
+        def mergedLog = new MergedLog()
+        mergedLog.addNotice("[web-2] Error reading log: container not found")
+        mergedLog.add("web-1", stream("2019-04-01T12:00:00Z a1\n"))
+
+        expect:
+        write(mergedLog) == "[web-2] Error reading log: container not found\n[web-1] 2019-04-01T12:00:00Z a1\n"
+    }
+
+    def "closing closes every log"() {
+        given:
+        def first = Mock(InputStream)
+        def second = Mock(InputStream)
+        def mergedLog = new MergedLog()
+        mergedLog.add("web-1", first)
+        mergedLog.add("web-2", second)
+
+        when:
+        mergedLog.close()
+
+        then:
+        1 * first.close()
+        1 * second.close()
+    }
+
+    private static String write(MergedLog mergedLog) {
+        def out = new ByteArrayOutputStream()
+        mergedLog.writeTo(out)
+        out.toString("UTF-8")
+    }
+
+    private static InputStream stream(String text) {
+        new ByteArrayInputStream(text.getBytes("UTF-8"))
+    }
+}
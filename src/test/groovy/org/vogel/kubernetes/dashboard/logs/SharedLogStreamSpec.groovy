@@ -0,0 +1,291 @@
+package org.vogel.kubernetes.dashboard.logs
+
+import io.kubernetes.client.ApiException
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+
+class SharedLogStreamSpec extends Specification {
+    def conditions = new PollingConditions(timeout: 5)
+    def upstream = new PipedOutputStream()
+    // closing the stream ends a blocked read the way closing a socket does
+    def input = new PipedInputStream(upstream) {
+        @Override
+        void close() throws IOException {
+            upstream.close()
+            super.close()
+        }
+    }
+    def opened = 0
+    def stream = new SharedLogStream("default/web/", {
+        opened++
+        input
+    }, 4, { Runnable task -> task.run() }, { Runnable task -> task.run() }, 1000)
+
+    def "all viewers get the lines of the single upstream stream"() {
+        given:
+        def first = new RecordingViewer()
+        def second = new RecordingViewer()
+        stream.addViewer(first, 10, null)
+        stream.addViewer(second, 10, null)
+        def reader = start()
+
+        when:
+        write("one\ntwo\n")
+
+        then:
+        conditions.eventually {
+            assert first.lines == ["one", "two"]
+            assert second.lines == ["one", "two"]
+        }
+        opened == 1
+
+        when:
+        upstream.close()
+        reader.join(5000)
+
+        then:
+        first.closed == "Log ended"
+        second.closed == "Log ended"
+        stream.ended
+        stream.viewerCount == 0
+    }
+
+    def "a late viewer starts with the tail of the buffer"() {
+        given:
+        def early = new RecordingViewer()
+        stream.addViewer(early, 10, null)
+        start()
+        write("1\n2\n3\n")
+        conditions.eventually {
+            assert early.lines.size() == 3
+        }
+
+        when:
+        def late = new RecordingViewer()
+        stream.addViewer(late, 2, null)
+
+        then:
+        conditions.eventually {
+            assert late.lines == ["2", "3"]
+        }
+    }
+
+    def "a reconnecting viewer resumes after its last position"() {
+        given:
+        def viewer = new RecordingViewer()
+        stream.addViewer(viewer, 10, null)
+        start()
+        write("1\n2\n3\n")
+        conditions.eventually {
+            assert viewer.lines.size() == 3
+        }
+        def position = viewer.batches[0].position.replaceFirst(/:\d+$/, ":0")
+
+        when:
+        def resumed = new RecordingViewer()
+        stream.addViewer(resumed, 10, position)
+
+        then:
+        conditions.eventually {
+            assert resumed.lines == ["2", "3"]
+        }
+    }
+
+    def "a viewer that cannot keep up skips the lines that left the buffer"() {
+        given:
+        def pending = []
+        def slowStream = new SharedLogStream("default/web/", { input }, 4,
+                                             { Runnable task -> pending << task }, { Runnable task -> task.run() },
+                                             1000)
+        def slow = new RecordingViewer()
+        slowStream.addViewer(slow, 10, null)
+        def reader = new Thread(slowStream)
+        reader.daemon = true
+        reader.start()
+
+        when:
+        write("1\n2\n3\n4\n5\n6\n")
+        upstream.close()
+        reader.join(5000)
+        while (pending) {
+            pending.remove(0).run()
+        }
+
+        then:
+        slow.batches[0].skipped == 2
+        slow.lines == ["3", "4", "5", "6"]
+        slow.closed == "Log ended"
+    }
+
+    def "a viewer whose connection fails is dropped"() {
+        given:
+        def broken = new RecordingViewer(failNext: true)
+        def healthy = new RecordingViewer()
+        stream.addViewer(broken, 10, null)
+        stream.addViewer(healthy, 10, null)
+        start()
+
+        when:
+        write("one\n")
+
+        then:
+        conditions.eventually {
+            assert healthy.lines == ["one"]
+            assert stream.viewerCount == 1
+        }
+        broken.closed == "Viewer disconnected"
+    }
+
+    def "a viewer that stops reading is dropped without holding up the others"() {
+        given:
+        def writers = Executors.newCachedThreadPool()
+        def stalling = new SharedLogStream("default/web/", {
+            opened++
+            input
+        }, 4, { Runnable task -> task.run() }, writers, 100)
+        def release = new CountDownLatch(1)
+        def stalled = new RecordingViewer(stall: release)
+        def healthy = new RecordingViewer()
+        stalling.addViewer(stalled, 10, null)
+        stalling.addViewer(healthy, 10, null)
+        def reader = new Thread(stalling)
+        reader.daemon = true
+        reader.start()
+
+        when:
+        write("one\n")
+
+        then:
+        conditions.eventually {
+            assert healthy.lines == ["one"]
+            assert stalling.viewerCount == 1
+        }
+        stalled.closed == null
+
+        when:
+        release.countDown()
+
+        then:
+        conditions.eventually {
+            assert stalled.closed == "Viewer too slow"
+        }
+
+        cleanup:
+        writers.shutdownNow()
+    }
+
+    def "long lines are split and carriage returns dropped"() {
+        given:
+        def viewer = new RecordingViewer()
+        stream.addViewer(viewer, 10, null)
+        start()
+
+        when:
+        write("x" * (SharedLogStream.MAX_LINE_LENGTH + 1) + "\r\n")
+
+        then:
+        conditions.eventually {
+            assert viewer.lines*.size() == [SharedLogStream.MAX_LINE_LENGTH, 1]
+        }
+    }
+
+    def "viewers are told when the log cannot be opened"() {
+        given:
+        def failing = new SharedLogStream("default/web/", {
+            throw new ApiException(400, null, "container not found")
+        }, 4, { Runnable task -> task.run() }, { Runnable task -> task.run() }, 1000)
+        def viewer = new RecordingViewer()
+        failing.addViewer(viewer, 10, null)
+
+        when:
+        failing.run()
+
+        then:
+        viewer.closed == "Error following log: container not found"
+        failing.ended
+    }
+
+    def "a stream ending after the senders are shut down ends quietly"() {
+        given:
+        def ending = new SharedLogStream("default/web/", { input }, 4,
+                                         { Runnable task -> throw new RejectedExecutionException("shut down") },
+                                         { Runnable task -> task.run() }, 1000)
+        ending.addViewer(new RecordingViewer(), 10, null)
+        upstream.close()
+
+        when:
+        ending.run()
+
+        then:
+        noExceptionThrown()
+        ending.ended
+    }
+
+    def "stopping closes the upstream stream"() {
+        given:
+        def viewer = new RecordingViewer()
+        stream.addViewer(viewer, 10, null)
+        def reader = start()
+        write("one\n")
+        conditions.eventually {
+            assert viewer.lines == ["one"]
+        }
+
+        when:
+        stream.removeViewer(viewer)
+        stream.stop()
+        reader.join(5000)
+
+        then:
+        !reader.alive
+        viewer.closed == null
+    }
+
+    private Thread start() {
+        def thread = new Thread(stream)
+        thread.daemon = true
+        thread.start()
+        conditions.eventually {
+            assert opened == 1
+        }
+        thread
+    }
+
+    private void write(String text) {
+        upstream.write(text.bytes)
+        upstream.flush()
+    }
+
+    static class RecordingViewer implements LogViewer {
+        List<LogBatch> batches = new CopyOnWriteArrayList<>()
+        volatile String closed
+        volatile boolean failNext
+        CountDownLatch stall
+
+        List<String> getLines() {
+            batches.collectMany { it.lines }
+        }
+
+        @Override
+        void send(LogBatch batch) throws IOException {
+            if (failNext) {
+                throw new IOException("broken pipe")
+            }
+            if (stall != null) {
+                stall.await()
+                throw new IOException("connection timed out")
+            }
+            batches << batch
+        }
+
+        @Override
+        void close(String reason) {
+            closed = reason
+        }
+    }
+}
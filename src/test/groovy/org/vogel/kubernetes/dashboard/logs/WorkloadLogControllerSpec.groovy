@@ -0,0 +1,85 @@
+package org.vogel.kubernetes.dashboard.logs
+
+import io.kubernetes.client.ApiException
+import org.springframework.http.HttpStatus
+import org.springframework.ui.Model
+import org.vogel.kubernetes.dashboard.KubernetesUtils
+import org.vogel.kubernetes.dashboard.LogOptions
+import org.vogel.kubernetes.dashboard.PageExecutor
+import spock.lang.Specification
+
+class WorkloadLogControllerSpec extends Specification {
+    def kubeUtils = Mock(KubernetesUtils)
+    def logMerger = Mock(LogMerger)
+    def pages = new PageExecutor(1, 10)
+    def controller = new WorkloadLogController(kubeUtils, logMerger, pages)
+
+    def cleanup() {
+        pages.stop()
+    }
+
+    def "test showing Deployment logs"() {
+        given:
+        def model = Mock(Model)
+
+        when:
+        def result = controller.showDeploymentLogs(model, "default", "web", "app", null, null)
+
+        then:
+        1 * model.addAttribute("kind", "Deployment")
+        1 * model.addAttribute("resource", "deployments")
+        1 * model.addAttribute("name", "web")
+        1 * model.addAttribute("tailLines", WorkloadLogController.DEFAULT_TAIL_LINES)
+        result == "workload_logs"
+    }
+
+    def "test streaming Deployment logs"() {
+        given:
+        def mergedLog = Mock(MergedLog)
+
+        when:
+        def result = controller.streamDeploymentLogs("default", "web", "app", 20, "2019-04-01T12:00:00Z").get()
+        result.body.writeTo(new ByteArrayOutputStream())
+
+        then:
+        1 * kubeUtils.getDeploymentPodNames("default", "web") >> ["web-1", "web-2"]
+        1 * logMerger.open("default", ["web-1", "web-2"], { LogOptions options ->
+            options.container == "app" && options.tailLines == 20 && options.sinceTime != null
+        }) >> mergedLog
+        1 * mergedLog.writeTo(_)
+        1 * mergedLog.close()
+        result.statusCode == HttpStatus.OK
+    }
+
+    def "test streaming ReplicaSet logs"() {
+        when:
+        def result = controller.streamReplicaSetLogs("default", "web-1234", null, null, null).get()
+        result.body.writeTo(new ByteArrayOutputStream())
+
+        then:
+        1 * kubeUtils.getReplicaSetPodNames("default", "web-1234") >> ["web-1234-a"]
+        1 * logMerger.open("default", ["web-1234-a"], { it.tailLines == WorkloadLogController.DEFAULT_TAIL_LINES }) >>
+                Mock(MergedLog)
+        result.statusCode == HttpStatus.OK
+    }
+
+    def "test streaming logs of a missing ReplicaSet"() {
+        given:
+        kubeUtils.getReplicaSetPodNames("default", "web-1234") >> { throw new ApiException(404, "not found") }
+
+        when:
+        def result = controller.streamReplicaSetLogs("default", "web-1234", null, null, null).get()
+
+        then:
+        result.statusCode == HttpStatus.NOT_FOUND
+        0 * logMerger.open(*_)
+    }
+
+    def "test streaming logs with an invalid time"() {
+        when:
+        def result = controller.streamDeploymentLogs("default", "web", null, null, "yesterday").get()
+
+        then:
+        result.statusCode == HttpStatus.BAD_REQUEST
+    }
+}
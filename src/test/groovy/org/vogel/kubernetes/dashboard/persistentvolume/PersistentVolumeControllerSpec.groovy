@@ -2,40 +2,54 @@ package org.vogel.kubernetes.dashboard.persistentvolume
 
 import io.kubernetes.client.ApiException
 import org.springframework.ui.Model
+import org.springframework.web.context.request.WebRequest
+import org.vogel.kubernetes.dashboard.Description
 import org.vogel.kubernetes.dashboard.KubernetesUtils
+import org.vogel.kubernetes.dashboard.Page
+import org.vogel.kubernetes.dashboard.PageExecutor
 import spock.lang.Specification
 
 class PersistentVolumeControllerSpec extends Specification {
+    def pages = new PageExecutor(1, 10)
+
+    def cleanup() {
+        pages.stop()
+    }
+
     def "test getting a list of PersistentVolumes"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultPersistentVolume = Mock(PersistentVolume)
         def resultList = [resultPersistentVolume]
-        kubeUtil.getPersistentVolumes() >> resultList
+        kubeUtil.getPersistentVolumesPage(500, null) >> new Page(resultList, "cache:next")
         def namespaces = ["default", "kube-system"]
         kubeUtil.getNamespaces() >> namespaces
-        def controller = new PersistentVolumeController(kubeUtil)
+        def controller = new PersistentVolumeController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.listPersistentVolumes(model, "default")
+        def result = controller.listPersistentVolumes(model, request, "default", 500, null).get()
 
         then:
         result == "persistent_volumes"
         1 * model.addAttribute("namespace", "default")
         1 * model.addAttribute("persistentVolumes", resultList)
+        1 * model.addAttribute("limit", 500)
+        1 * model.addAttribute("continueToken", "cache:next")
         1 * model.addAttribute("namespaces", namespaces)
     }
 
     def "test getting a list of PersistentVolumes with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getPersistentVolumes() >> { throw new ApiException() }
-        def controller = new PersistentVolumeController(kubeUtil)
+        kubeUtil.getPersistentVolumesPage(500, null) >> { throw new ApiException() }
+        def controller = new PersistentVolumeController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.listPersistentVolumes(model, "default")
+        def result = controller.listPersistentVolumes(model, request, "default", 500, null).get()
 
         then:
         result == "error"
@@ -45,29 +59,49 @@ class PersistentVolumeControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultPersistentVolume = Mock(PersistentVolume)
-        kubeUtil.getPersistentVolume("my-persistent-volume") >> resultPersistentVolume
-        def controller = new PersistentVolumeController(kubeUtil)
+        kubeUtil.describePersistentVolume("default", "my-persistent-volume") >> new Description(resultPersistentVolume, [])
+        def controller = new PersistentVolumeController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.describePersistentVolume(model, "default", "my-persistent-volume")
+        def result = controller.describePersistentVolume(model, request, "default", "my-persistent-volume").get()
 
         then:
         result == "persistent_volume_describe"
         1 * model.addAttribute("namespace", "default")
         1 * model.addAttribute("persistentVolume", resultPersistentVolume)
         1 * model.addAttribute("persistentVolumeName", "my-persistent-volume")
+        1 * model.addAttribute("events", [])
+    }
+
+    def "test describing a PersistentVolume that has not changed"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        kubeUtil.getObjectVersion("persistentvolumes", null, "my-persistent-volume") >> "42"
+        def controller = new PersistentVolumeController(kubeUtil, pages)
+        def model = Mock(Model)
+        def request = Mock(WebRequest)
+
+        when:
+        def result = controller.describePersistentVolume(model, request, "default", "my-persistent-volume")?.get()
+
+        then:
+        result == null
+        1 * request.checkNotModified(_) >> true
+        0 * kubeUtil.describePersistentVolume(*_)
     }
 
     def "test describing a PersistentVolume with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getPersistentVolume("my-persistent-volume") >> { throw new ApiException() }
-        def controller = new PersistentVolumeController(kubeUtil)
+        kubeUtil.describePersistentVolume("default", "my-persistent-volume") >> { throw new ApiException() }
+        def controller = new PersistentVolumeController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.describePersistentVolume(model, "default", "my-persistent-volume")
+        def result = controller.describePersistentVolume(model, request, "default", "my-persistent-volume").get()
 
         then:
         result == "error"
@@ -2,40 +2,54 @@ package org.vogel.kubernetes.dashboard.persistentvolumeclaim
 
 import io.kubernetes.client.ApiException
 import org.springframework.ui.Model
+import org.springframework.web.context.request.WebRequest
+import org.vogel.kubernetes.dashboard.Description
 import org.vogel.kubernetes.dashboard.KubernetesUtils
+import org.vogel.kubernetes.dashboard.Page
+import org.vogel.kubernetes.dashboard.PageExecutor
 import spock.lang.Specification
 
 class PersistentVolumeClaimControllerSpec extends Specification {
+    def pages = new PageExecutor(1, 10)
+
+    def cleanup() {
+        pages.stop()
+    }
+
     def "test getting a list of PersistentVolumeClaims"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultPersistentVolumeClaim = Mock(PersistentVolumeClaim)
         def resultList = [resultPersistentVolumeClaim]
-        kubeUtil.getPersistentVolumeClaims("default") >> resultList
+        kubeUtil.getPersistentVolumeClaimsPage("default", 500, null) >> new Page(resultList, "cache:next")
         def namespaces = ["default", "kube-system"]
         kubeUtil.getNamespaces() >> namespaces
-        def controller = new PersistentVolumeClaimController(kubeUtil)
+        def controller = new PersistentVolumeClaimController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.listPersistentVolumeClaims(model, "default")
+        def result = controller.listPersistentVolumeClaims(model, request, "default", 500, null).get()
 
         then:
         result == "persistent_volume_claims"
         1 * model.addAttribute("namespace", "default")
         1 * model.addAttribute("persistentVolumeClaims", resultList)
+        1 * model.addAttribute("limit", 500)
+        1 * model.addAttribute("continueToken", "cache:next")
         1 * model.addAttribute("namespaces", namespaces)
     }
 
     def "test getting a list of PersistentVolumeClaims with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getPersistentVolumeClaims("default") >> { throw new ApiException() }
-        def controller = new PersistentVolumeClaimController(kubeUtil)
+        kubeUtil.getPersistentVolumeClaimsPage("default", 500, null) >> { throw new ApiException() }
+        def controller = new PersistentVolumeClaimController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.listPersistentVolumeClaims(model, "default")
+        def result = controller.listPersistentVolumeClaims(model, request, "default", 500, null).get()
 
         then:
         result == "error"
@@ -45,29 +59,32 @@ class PersistentVolumeClaimControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultPersistentVolumeClaim = Mock(PersistentVolumeClaim)
-        kubeUtil.getPersistentVolumeClaim("default", "my-persistent-volume-claim") >> resultPersistentVolumeClaim
-        def controller = new PersistentVolumeClaimController(kubeUtil)
+        kubeUtil.describePersistentVolumeClaim("default", "my-persistent-volume-claim") >> new Description(resultPersistentVolumeClaim, [])
+        def controller = new PersistentVolumeClaimController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.describePersistentVolumeClaim(model, "default", "my-persistent-volume-claim")
+        def result = controller.describePersistentVolumeClaim(model, request, "default", "my-persistent-volume-claim").get()
 
         then:
         result == "persistent_volume_claim_describe"
         1 * model.addAttribute("namespace", "default")
         1 * model.addAttribute("persistentVolumeClaim", resultPersistentVolumeClaim)
         1 * model.addAttribute("persistentVolumeClaimName", "my-persistent-volume-claim")
+        1 * model.addAttribute("events", [])
     }
 
     def "test describing a PersistentVolumeClaim with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getPersistentVolumeClaim("default", "my-persistent-volume-claim") >> { throw new ApiException() }
-        def controller = new PersistentVolumeClaimController(kubeUtil)
+        kubeUtil.describePersistentVolumeClaim("default", "my-persistent-volume-claim") >> { throw new ApiException() }
+        def controller = new PersistentVolumeClaimController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.describePersistentVolumeClaim(model, "default", "my-persistent-volume-claim")
+        def result = controller.describePersistentVolumeClaim(model, request, "default", "my-persistent-volume-claim").get()
 
         then:
         result == "error"
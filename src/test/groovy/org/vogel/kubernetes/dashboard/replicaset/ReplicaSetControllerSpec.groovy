@@ -2,74 +2,126 @@ package org.vogel.kubernetes.dashboard.replicaset
 
 import io.kubernetes.client.ApiException
 import org.springframework.ui.Model
+import org.springframework.web.context.request.WebRequest
+import org.vogel.kubernetes.dashboard.Description
 import org.vogel.kubernetes.dashboard.KubernetesUtils
+import org.vogel.kubernetes.dashboard.Page
+import org.vogel.kubernetes.dashboard.PageExecutor
 import org.vogel.kubernetes.dashboard.replicaset.ReplicaSet
 import org.vogel.kubernetes.dashboard.replicaset.ReplicaSetController
 import spock.lang.Specification
 
 class ReplicaSetControllerSpec extends Specification {
+    def pages = new PageExecutor(1, 10)
+
+    def cleanup() {
+        pages.stop()
+    }
+
     def "test getting a list of ReplicaSets"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        def resultReplicaSet = Mock(ReplicaSet)
+        def resultReplicaSet = Mock(ReplicaSetSummary)
         def resultList = [resultReplicaSet]
-        kubeUtil.getReplicaSets("default") >> resultList
+        kubeUtil.getReplicaSetsPage("default", { it.empty }, 500, null) >> new Page(resultList, "cache:next")
         def namespaces = ["default", "kube-system"]
         kubeUtil.getNamespaces() >> namespaces
-        def controller = new ReplicaSetController(kubeUtil)
+        def controller = new ReplicaSetController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.listReplicaSets(model, "default")
+        def result = controller.listReplicaSets(model, request, "default", 500, null, null).get()
 
         then:
         result == "replica_sets"
         1 * model.addAttribute("namespace", "default")
         1 * model.addAttribute("replicaSets", resultList)
+        1 * model.addAttribute("limit", 500)
+        1 * model.addAttribute("continueToken", "cache:next")
         1 * model.addAttribute("namespaces", namespaces)
     }
 
     def "test getting a list of ReplicaSets with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getReplicaSets("default") >> { throw new ApiException() }
-        def controller = new ReplicaSetController(kubeUtil)
+        kubeUtil.getReplicaSetsPage("default", _, 500, null) >> { throw new ApiException() }
+        def controller = new ReplicaSetController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.listReplicaSets(model, "default")
+        def result = controller.listReplicaSets(model, request, "default", 500, null, null).get()
 
         then:
         result == "error"
     }
 
+    def "test getting a list of ReplicaSets filtered by label"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        def resultList = [Mock(ReplicaSetSummary)]
+        kubeUtil.getNamespaces() >> ["default"]
+        def controller = new ReplicaSetController(kubeUtil, pages)
+        def model = Mock(Model)
+        def request = Mock(WebRequest)
+
+        when:
+        def result = controller.listReplicaSets(model, request, "default", 500, null, "app=web").get()
+
+        then:
+        result == "replica_sets"
+        1 * kubeUtil.getReplicaSetsPage("default", { it.string() == "app=web" }, 500, null) >> new Page(resultList, null)
+        1 * model.addAttribute("replicaSets", resultList)
+        1 * model.addAttribute("labelSelector", "app=web")
+    }
+
+    def "test getting a list of ReplicaSets with a bad label filter"() {
+        given:
+        def kubeUtil = Mock(KubernetesUtils)
+        kubeUtil.getNamespaces() >> ["default"]
+        def controller = new ReplicaSetController(kubeUtil, pages)
+        def model = Mock(Model)
+        def request = Mock(WebRequest)
+
+        when:
+        controller.listReplicaSets(model, request, "default", 500, null, "app in (web").get()
+
+        then:
+        1 * kubeUtil.getReplicaSetsPage("default", { it.empty }, 500, null) >> new Page([], null)
+        1 * model.addAttribute("labelSelectorError", "unbalanced parentheses in selector app in (web")
+    }
+
     def "test describing a ReplicaSet"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultReplicaSet = Mock(ReplicaSet)
-        kubeUtil.getReplicaSet("default", "my-replica-set") >> resultReplicaSet
-        def controller = new ReplicaSetController(kubeUtil)
+        kubeUtil.describeReplicaSet("default", "my-replica-set") >> new Description(resultReplicaSet, [])
+        def controller = new ReplicaSetController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.describeReplicaSet(model, "default", "my-replica-set")
+        def result = controller.describeReplicaSet(model, request, "default", "my-replica-set").get()
 
         then:
         result == "replica_set_describe"
         1 * model.addAttribute("namespace", "default")
         1 * model.addAttribute("replicaSet", resultReplicaSet)
         1 * model.addAttribute("replicaSetName", "my-replica-set")
+        1 * model.addAttribute("events", [])
     }
 
     def "test describing a ReplicaSet with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getReplicaSet("default", "my-replica-set") >> { throw new ApiException() }
-        def controller = new ReplicaSetController(kubeUtil)
+        kubeUtil.describeReplicaSet("default", "my-replica-set") >> { throw new ApiException() }
+        def controller = new ReplicaSetController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.describeReplicaSet(model, "default", "my-replica-set")
+        def result = controller.describeReplicaSet(model, request, "default", "my-replica-set").get()
 
         then:
         result == "error"
@@ -0,0 +1,44 @@
+package org.vogel.kubernetes.dashboard.replicaset
+
+import io.kubernetes.client.models.V1ObjectMeta
+import io.kubernetes.client.models.V1beta2ReplicaSet
+import io.kubernetes.client.models.V1beta2ReplicaSetSpec
+import io.kubernetes.client.models.V1beta2ReplicaSetStatus
+import org.joda.time.DateTime
+import spock.lang.Specification
+
+class ReplicaSetSummarySpec extends Specification {
+    def "create a ReplicaSetSummary"() {
+        given:
+        def replicaSet = new V1beta2ReplicaSet().metadata(new V1ObjectMeta().name("web-5d4f")
+                                                                  .namespace("default")
+                                                                  .uid("uid-web-5d4f")
+                                                                  .creationTimestamp(DateTime.now()
+                                                                                             .minusDays(1)))
+                .spec(new V1beta2ReplicaSetSpec().replicas(3))
+                .status(new V1beta2ReplicaSetStatus().replicas(3)
+                                .readyReplicas(2))
+
+        when:
+        def summary = new ReplicaSetSummary(replicaSet)
+
+        then:
+        summary.name == "web-5d4f"
+        summary.namespace == "default"
+        summary.uid == "uid-web-5d4f"
+        summary.age == "1d"
+        summary.desired == 3
+        summary.current == 3
+        summary.ready == 2
+    }
+
+    def "create a ReplicaSetSummary with no pods ready"() {
+        given:
+        def replicaSet = new V1beta2ReplicaSet().metadata(new V1ObjectMeta().name("web-5d4f"))
+                .spec(new V1beta2ReplicaSetSpec().replicas(1))
+                .status(new V1beta2ReplicaSetStatus().replicas(1))
+
+        expect:
+        new ReplicaSetSummary(replicaSet).ready == 0
+    }
+}
@@ -2,40 +2,54 @@ package org.vogel.kubernetes.dashboard.service
 
 import io.kubernetes.client.ApiException
 import org.springframework.ui.Model
+import org.springframework.web.context.request.WebRequest
+import org.vogel.kubernetes.dashboard.Description
 import org.vogel.kubernetes.dashboard.KubernetesUtils
+import org.vogel.kubernetes.dashboard.Page
+import org.vogel.kubernetes.dashboard.PageExecutor
 import spock.lang.Specification
 
 class ServiceControllerSpec extends Specification {
+    def pages = new PageExecutor(1, 10)
+
+    def cleanup() {
+        pages.stop()
+    }
+
     def "test getting a list of Services"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultService = Mock(Service)
         def resultList = [resultService]
-        kubeUtil.getServices("default") >> resultList
+        kubeUtil.getServicesPage("default", 500, null) >> new Page(resultList, "cache:next")
         def namespaces = ["default", "kube-system"]
         kubeUtil.getNamespaces() >> namespaces
-        def controller = new ServiceController(kubeUtil)
+        def controller = new ServiceController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.listServices(model, "default")
+        def result = controller.listServices(model, request, "default", 500, null).get()
 
         then:
         result == "services"
         1 * model.addAttribute("namespace", "default")
         1 * model.addAttribute("services", resultList)
+        1 * model.addAttribute("limit", 500)
+        1 * model.addAttribute("continueToken", "cache:next")
         1 * model.addAttribute("namespaces", namespaces)
     }
 
     def "test getting a list of Services with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getServices("default") >> { throw new ApiException() }
-        def controller = new ServiceController(kubeUtil)
+        kubeUtil.getServicesPage("default", 500, null) >> { throw new ApiException() }
+        def controller = new ServiceController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.listServices(model, "default")
+        def result = controller.listServices(model, request, "default", 500, null).get()
 
         then:
         result == "error"
@@ -45,29 +59,32 @@ class ServiceControllerSpec extends Specification {
         given:
         def kubeUtil = Mock(KubernetesUtils)
         def resultService = Mock(Service)
-        kubeUtil.getService("default", "my-service") >> resultService
-        def controller = new ServiceController(kubeUtil)
+        kubeUtil.describeService("default", "my-service") >> new Description(resultService, [])
+        def controller = new ServiceController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.describeService(model, "default", "my-service")
+        def result = controller.describeService(model, request, "default", "my-service").get()
 
         then:
         result == "service_describe"
         1 * model.addAttribute("namespace", "default")
         1 * model.addAttribute("service", resultService)
         1 * model.addAttribute("serviceName", "my-service")
+        1 * model.addAttribute("events", [])
     }
 
     def "test describing a Service with exception"() {
         given:
         def kubeUtil = Mock(KubernetesUtils)
-        kubeUtil.getService("default", "my-service") >> { throw new ApiException() }
-        def controller = new ServiceController(kubeUtil)
+        kubeUtil.describeService("default", "my-service") >> { throw new ApiException() }
+        def controller = new ServiceController(kubeUtil, pages)
         def model = Mock(Model)
+        def request = Mock(WebRequest)
 
         when:
-        def result = controller.describeService(model, "default", "my-service")
+        def result = controller.describeService(model, request, "default", "my-service").get()
 
         then:
         result == "error"